@@ -0,0 +1,92 @@
+import com.gamesbykevin.yoshi.replay.ChecksumCompare;
+import com.gamesbykevin.yoshi.replay.ChecksumReader;
+import com.gamesbykevin.yoshi.replay.ChecksumWriter;
+import com.gamesbykevin.yoshi.replay.ReplayReader;
+import com.gamesbykevin.yoshi.simulation.Simulation;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+
+/**
+ * This file will write the checksums of a game without a window, or compare the checksums of 2 runs.<br>
+ * Arguments: record file mode difficulty seed [limit] [strategy]<br>
+ * Arguments: play file replay<br>
+ * Arguments: compare file1 file2
+ * @author GOD
+ */
+public final class StartChecksum
+{
+    //the default maximum number of updates per game (1 hour at 60 ups)
+    private static final long DEFAULT_LIMIT = 60 * 60 * 60;
+    
+    public static void main(String[] args)
+    {
+        try
+        {
+            if (args[0].equals("compare"))
+            {
+                final ChecksumReader reader1 = ChecksumReader.load(new File(args[1]));
+                final ChecksumReader reader2 = ChecksumReader.load(new File(args[2]));
+                
+                final ChecksumCompare compare = new ChecksumCompare(reader1, reader2);
+                
+                //display the first difference (if any)
+                if (compare.compare())
+                {
+                    System.out.println("Same, Ticks = " + compare.getTick());
+                }
+                else
+                {
+                    System.out.println("Different, Tick = " + compare.getTick());
+                    System.out.println(compare.getDiff());
+                }
+                
+                reader1.close();
+                reader2.close();
+                return;
+            }
+            
+            final Simulation simulation;
+            
+            if (args[0].equals("record"))
+            {
+                //create a computer controlled game
+                simulation = new Simulation(Integer.parseInt(args[2]), Integer.parseInt(args[3]), Long.parseLong(args[4]), true);
+                
+                //the cpu strategy, if not set each cpu uses the default for the difficulty
+                if (args.length > 6)
+                    simulation.getPlayers().setStrategy(args[6]);
+            }
+            else
+            {
+                //play the recorded game
+                simulation = new Simulation(ReplayReader.load(new File(args[2])));
+            }
+            
+            //write the checksums while the game is played
+            final ChecksumWriter checksums = simulation.checksum(new BufferedOutputStream(new FileOutputStream(new File(args[1]))));
+            
+            if (args[0].equals("record"))
+            {
+                simulation.run((args.length > 5) ? Long.parseLong(args[5]) : DEFAULT_LIMIT);
+            }
+            else
+            {
+                simulation.run(Long.MAX_VALUE);
+            }
+            
+            checksums.close();
+            
+            //display the result
+            System.out.println("Seed = " + simulation.getSeed() + ", Ticks = " + simulation.getTicks());
+            
+            //recycle objects
+            simulation.dispose();
+        }
+        catch (Exception e)
+        {
+            e.printStackTrace();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,75 @@
+import com.gamesbykevin.yoshi.replay.ReplayReader;
+import com.gamesbykevin.yoshi.replay.ReplayWriter;
+import com.gamesbykevin.yoshi.simulation.Simulation;
+
+import java.io.File;
+
+/**
+ * This file will record or play a replay without a window.<br>
+ * Arguments: play file [update to start from]<br>
+ * Arguments: record file mode difficulty seed [limit]
+ * @author GOD
+ */
+public final class StartReplay
+{
+    //the default maximum number of updates per game (1 hour at 60 ups)
+    private static final long DEFAULT_LIMIT = 60 * 60 * 60;
+    
+    public static void main(String[] args)
+    {
+        try
+        {
+            final File file = new File(args[1]);
+            
+            final Simulation simulation;
+            
+            if (args[0].equals("record"))
+            {
+                //create a computer controlled game
+                simulation = new Simulation(Integer.parseInt(args[2]), Integer.parseInt(args[3]), Long.parseLong(args[4]), true);
+                
+                //record the game
+                final ReplayWriter recorder = simulation.record();
+                simulation.run((args.length > 5) ? Long.parseLong(args[5]) : DEFAULT_LIMIT);
+                
+                //if the game didn't end, finish where we stopped
+                if (!recorder.hasFinished())
+                    recorder.finish(simulation.getTicks());
+                
+                recorder.save(file);
+            }
+            else
+            {
+                //play the recorded game
+                simulation = new Simulation(ReplayReader.load(file));
+                
+                //start from the update (if set)
+                if (args.length > 2)
+                {
+                    final long time = System.nanoTime();
+                    simulation.seek(Long.parseLong(args[2]));
+                    System.out.println("Seek = " + ((System.nanoTime() - time) / 1000000L) + "ms");
+                }
+                
+                simulation.run(Long.MAX_VALUE);
+            }
+            
+            //display the result
+            String result = "Seed = " + simulation.getSeed() + ", Ticks = " + simulation.getTicks();
+            
+            for (int index = 0; index < simulation.getPlayers().getPlayerCount(); index++)
+            {
+                result += ", Score = " + simulation.getScore(index);
+            }
+            
+            System.out.println(result);
+            
+            //recycle objects
+            simulation.dispose();
+        }
+        catch (Exception e)
+        {
+            e.printStackTrace();
+        }
+    }
+}
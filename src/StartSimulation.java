@@ -0,0 +1,63 @@
+import com.gamesbykevin.yoshi.player.CpuWeights;
+import com.gamesbykevin.yoshi.player.Player;
+import com.gamesbykevin.yoshi.player.Players;
+import com.gamesbykevin.yoshi.simulation.Batch;
+import com.gamesbykevin.yoshi.simulation.BatchResult;
+
+import java.io.File;
+
+/**
+ * This file will simulate computer controlled games without a window.<br>
+ * Arguments: mode difficulty seed [games] [limit] [threads] [strategy] [weights file]<br>
+ * The hand picked weights are used unless a weights file is passed in, so the results don't depend on where the simulation was started.
+ * @author GOD
+ */
+public final class StartSimulation
+{
+    //the default number of games to simulate
+    private static final int DEFAULT_GAMES = 1;
+    
+    //the default maximum number of updates per game (1 hour at 60 ups)
+    private static final long DEFAULT_LIMIT = 60 * 60 * 60;
+    
+    public static void main(String[] args)
+    {
+        try
+        {
+            //the game mode and difficulty
+            final int modeIndex = (args.length > 0) ? Integer.parseInt(args[0]) : Players.MODE_SINGLE_PLAYER_CPU;
+            final int difficultyIndex = (args.length > 1) ? Integer.parseInt(args[1]) : Player.INDEX_DIFFICULTY_EASY;
+            
+            //the seed of the first game, each game after will increase the seed
+            final long seed = (args.length > 2) ? Long.parseLong(args[2]) : System.nanoTime();
+            
+            //how many games, how long and how many threads
+            final int games = (args.length > 3) ? Integer.parseInt(args[3]) : DEFAULT_GAMES;
+            final long limit = (args.length > 4) ? Long.parseLong(args[4]) : DEFAULT_LIMIT;
+            final int threads = (args.length > 5) ? Integer.parseInt(args[5]) : Runtime.getRuntime().availableProcessors();
+            
+            //the cpu strategy, if not set (or "default") each cpu uses the default for the difficulty
+            final String strategy = (args.length > 6 && !args[6].equals("default")) ? args[6] : null;
+            
+            //the weights of every cpu, if not set each cpu uses the hand picked weights
+            final CpuWeights weights = (args.length > 7) ? CpuWeights.load(new File(args[7])) : null;
+            
+            //the time we started
+            final long time = System.nanoTime();
+            
+            //simulate the games
+            final BatchResult result = Batch.run(modeIndex, difficultyIndex, seed, games, limit, threads, strategy, weights);
+            
+            //display the results
+            System.out.println("Seed = " + seed + ", Games = " + result.getGames() + ", Game Overs = " + result.getGameOvers() + ", Seconds = " + ((System.nanoTime() - time) / 1000000000.0));
+            System.out.println("Score:  " + result.getScore().getDesc());
+            System.out.println("Yoshis: " + result.getYoshis().getDesc());
+            System.out.println("Drops:  " + result.getDrops().getDesc());
+            System.out.println("Ticks:  " + result.getTicks().getDesc());
+        }
+        catch (Exception e)
+        {
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+import com.gamesbykevin.yoshi.player.CpuWeights;
+import com.gamesbykevin.yoshi.player.Player;
+import com.gamesbykevin.yoshi.player.Players;
+import com.gamesbykevin.yoshi.simulation.Tuner;
+
+import java.io.File;
+
+/**
+ * This file will tune the cpu weights by simulating computer controlled games without a window.<br>
+ * After each generation the best weights are saved, so the cpu will load them the next time the game starts.<br>
+ * Arguments: mode difficulty seed [generations] [population] [games] [limit] [threads] [strategy] [file]
+ * @author GOD
+ */
+public final class StartTuner
+{
+    //the default number of generations
+    private static final int DEFAULT_GENERATIONS = 20;
+    
+    //the default number of games each set of weights plays each generation
+    private static final int DEFAULT_GAMES = 8;
+    
+    //the default maximum number of updates per game (10 minutes at 60 ups)
+    private static final long DEFAULT_LIMIT = 60 * 60 * 10;
+    
+    public static void main(String[] args)
+    {
+        try
+        {
+            //the game mode and difficulty
+            final int modeIndex = (args.length > 0) ? Integer.parseInt(args[0]) : Players.MODE_SINGLE_PLAYER_CPU;
+            final int difficultyIndex = (args.length > 1) ? Integer.parseInt(args[1]) : Player.INDEX_DIFFICULTY_HARD;
+            
+            //the seed of the first game, also used to mix and mutate the weights
+            final long seed = (args.length > 2) ? Long.parseLong(args[2]) : System.nanoTime();
+            
+            //how many generations, how many weights and how many games
+            final int generations = (args.length > 3) ? Integer.parseInt(args[3]) : DEFAULT_GENERATIONS;
+            final int population = (args.length > 4) ? Integer.parseInt(args[4]) : Tuner.DEFAULT_POPULATION;
+            final int games = (args.length > 5) ? Integer.parseInt(args[5]) : DEFAULT_GAMES;
+            
+            //how long and how many threads
+            final long limit = (args.length > 6) ? Long.parseLong(args[6]) : DEFAULT_LIMIT;
+            final int threads = (args.length > 7) ? Integer.parseInt(args[7]) : Runtime.getRuntime().availableProcessors();
+            
+            //the cpu strategy, if not set each cpu uses the default for the difficulty
+            final String strategy = (args.length > 8 && !args[8].equals("-")) ? args[8] : null;
+            
+            //where the weights are saved, the cpu loads this file when the game starts
+            final File file = new File((args.length > 9) ? args[9] : CpuWeights.FILE_NAME);
+            
+            //start from the saved weights (if they exist)
+            final CpuWeights start = (file.exists()) ? CpuWeights.load(file) : new CpuWeights();
+            
+            final Tuner tuner = new Tuner(modeIndex, difficultyIndex, seed, games, limit, threads, strategy, start, population, Tuner.DEFAULT_MUTATION);
+            
+            System.out.println("Seed = " + seed + ", Generations = " + generations + ", Population = " + population + ", Games = " + games);
+            System.out.println("Start:  " + start.getDesc());
+            
+            for (int generation = 0; generation < generations; generation++)
+            {
+                //the time we started
+                final long time = System.nanoTime();
+                
+                tuner.evolve();
+                
+                //the starting weights only play in the first generation
+                if (generation == 0)
+                    System.out.println("Start Fitness = " + tuner.getStartFitness());
+                
+                //display the results
+                System.out.println("Generation = " + tuner.getGeneration() + ", Best Fitness = " + tuner.getBestFitness() + ", Mean Fitness = " + tuner.getMeanFitness() + ", Seconds = " + ((System.nanoTime() - time) / 1000000000.0));
+                System.out.println("Best:   " + tuner.getBest().getDesc());
+                
+                //save after each generation, so the tuner can be stopped at any time
+                tuner.getBest().save(file, "Tuned for mode " + modeIndex + ", difficulty " + difficultyIndex + ", generation " + tuner.getGeneration());
+            }
+        }
+        catch (Exception e)
+        {
+            e.printStackTrace();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,421 @@
+package com.gamesbykevin.yoshi.board;
+
+import com.gamesbykevin.yoshi.board.piece.Piece;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A compact copy of the placed pieces on a board, stored in a few long values.<br>
+ * Each cell is 3 bits (0 is empty, otherwise the type + 1) and each column is stored from the bottom up.<br>
+ * Pieces can be dropped, matched, and yoshi's created the same as the board, without creating any objects.<br>
+ * This way the cpu can check many moves quickly.
+ * @author GOD
+ */
+public final class BitBoard 
+{
+    /**
+     * The value returned when there is no piece
+     */
+    public static final int EMPTY = -1;
+    
+    //the number of bits for each cell
+    private static final int CELL_BITS = 3;
+    
+    //the mask to read a single cell
+    private static final int CELL_MASK = (1 << CELL_BITS) - 1;
+    
+    //the number of bits for each column
+    private static final int COLUMN_BITS = CELL_BITS * Board.ROWS;
+    
+    //the mask to read a single column
+    private static final long COLUMN_MASK = (1L << COLUMN_BITS) - 1;
+    
+    //the number of columns stored in each long
+    private static final int COLUMNS_PER_WORD = Long.SIZE / COLUMN_BITS;
+    
+    //the number of long values needed for every column
+    private static final int WORDS = (Board.COLUMNS + COLUMNS_PER_WORD - 1) / COLUMNS_PER_WORD;
+    
+    //the columns
+    private final long[] words;
+    
+    //has a piece been placed in the first row
+    private boolean lost = false;
+    
+    /**
+     * Create an empty board
+     */
+    public BitBoard()
+    {
+        this.words = new long[WORDS];
+    }
+    
+    /**
+     * Create a copy
+     * @param board The board we want to copy
+     */
+    public BitBoard(final BitBoard board)
+    {
+        this();
+        
+        set(board);
+    }
+    
+    /**
+     * Create from the pieces placed on the board
+     * @param board The board we want to copy
+     */
+    public BitBoard(final Board board)
+    {
+        this();
+        
+        set(board);
+    }
+    
+    /**
+     * Copy the board
+     * @param board The board we want to copy
+     */
+    public void set(final BitBoard board)
+    {
+        System.arraycopy(board.words, 0, words, 0, WORDS);
+        
+        this.lost = board.lost;
+    }
+    
+    /**
+     * Copy the pieces placed on the board.<br>
+     * Falling, destroyed and yoshi pieces are not included.<br>
+     * Pieces swapping columns are included in the column they are moving to.<br>
+     * When no pieces are swapping or out of bounds, the column profile of the board is used instead of checking every piece.
+     * @param board The board we want to copy
+     */
+    public void set(final Board board)
+    {
+        this.lost = false;
+        
+        //if every piece is at a cell, we can use the column profile of the board
+        if (!board.getIndex().hasOverflow() && board.getIndex().getSwappingCount() == 0)
+        {
+            for (int col = 0; col < Board.COLUMNS; col++)
+            {
+                final long rows = board.getIndex().getPlacedRows(col);
+                
+                long column = 0;
+                int height = 0;
+                
+                //add from the bottom up
+                for (int half = BoardIndex.HALF_ROWS - 1; half >= 0 && height < Board.ROWS; half--)
+                {
+                    if ((rows & (1L << half)) == 0)
+                        continue;
+                    
+                    final Piece piece = board.getPlacedPiece((half * Board.COLUMNS) + col);
+                    
+                    column |= (long)(piece.getType() + 1) << (height * CELL_BITS);
+                    height++;
+                }
+                
+                setColumn(col, column);
+                
+                //a piece in the first row loses
+                if (height >= Board.ROWS)
+                    this.lost = true;
+            }
+        }
+        else
+        {
+            setPieces(board.getPieces());
+        }
+        
+        //the board may have already lost
+        if (board.hasLost())
+            this.lost = true;
+    }
+    
+    /**
+     * Copy the placed pieces by checking every piece.<br>
+     * Pieces swapping columns are included in the column they are moving to.
+     * @param pieces The pieces on the board
+     */
+    private void setPieces(final List<Piece> pieces)
+    {
+        for (int col = 0; col < Board.COLUMNS; col++)
+        {
+            //the type of each piece by half row, so we can add them from the bottom up
+            long slots = 0;
+            
+            for (int i = 0; i < pieces.size(); i++)
+            {
+                final Piece piece = pieces.get(i);
+                
+                //only the placed pieces remain on the board
+                if (!piece.isPlaced() || piece.isDestroyed() || piece.isYoshi())
+                    continue;
+                
+                final int cell = BoardIndex.getCell(piece.getTargetCol(), Math.max(0, piece.getRow()));
+                
+                if (cell == BoardIndex.NO_CELL || cell % Board.COLUMNS != col)
+                    continue;
+                
+                slots |= (long)(piece.getType() + 1) << ((cell / Board.COLUMNS) * CELL_BITS);
+            }
+            
+            long column = 0;
+            int height = 0;
+            
+            //add from the bottom up
+            for (int half = BoardIndex.HALF_ROWS - 1; half >= 0; half--)
+            {
+                final long value = (slots >>> (half * CELL_BITS)) & CELL_MASK;
+                
+                if (value == 0 || height >= Board.ROWS)
+                    continue;
+                
+                column |= value << (height * CELL_BITS);
+                height++;
+            }
+            
+            setColumn(col, column);
+            
+            //a piece in the first row loses
+            if (height >= Board.ROWS)
+                this.lost = true;
+        }
+    }
+    
+    /**
+     * Copy the board with the columns in a different order
+     * @param board The board we want to copy, this can't be the same board
+     * @param order The column of the board to place at each column, the length must be the number of columns
+     */
+    public void set(final BitBoard board, final int[] order)
+    {
+        for (int col = 0; col < Board.COLUMNS; col++)
+        {
+            setColumn(col, board.getColumn(order[col]));
+        }
+        
+        this.lost = board.lost;
+    }
+    
+    /**
+     * Add the pieces to the board.<br>
+     * The pieces will be placed, the same as when the board is populated.
+     * @param board The board we want to add pieces to, which should be empty
+     * @throws Exception 
+     */
+    public void populate(final Board board) throws Exception
+    {
+        for (int col = 0; col < Board.COLUMNS; col++)
+        {
+            for (int index = 0; index < getHeight(col); index++)
+            {
+                //the first index is the bottom row
+                final int row = (Board.ROWS - 1) - index;
+                
+                final Piece piece = new Piece(getPiece(col, index));
+                piece.setCol(col);
+                piece.setRow(row);
+                piece.placePiece();
+                piece.setY(board.getStartPieceRowY() + (row * (BoardHelper.DROP_PIXEL_DISTANCE * 2)));
+                piece.setX(board.getStartPieceColumnX() + (col * BoardHelper.COLUMN_PIXEL_WIDTH));
+                
+                board.add(piece);
+            }
+        }
+    }
+    
+    /**
+     * Get the column
+     * @param col The column
+     * @return The cells of the column, 3 bits each starting at the bottom
+     */
+    public long getColumn(final int col)
+    {
+        return (words[col / COLUMNS_PER_WORD] >>> getShift(col)) & COLUMN_MASK;
+    }
+    
+    /**
+     * Set the column
+     * @param col The column
+     * @param column The cells of the column, 3 bits each starting at the bottom
+     */
+    private void setColumn(final int col, final long column)
+    {
+        final int shift = getShift(col);
+        final int word = col / COLUMNS_PER_WORD;
+        
+        words[word] = (words[word] & ~(COLUMN_MASK << shift)) | (column << shift);
+    }
+    
+    /**
+     * Get where the column is in the long value
+     * @param col The column
+     * @return The number of bits the column is shifted
+     */
+    private static int getShift(final int col)
+    {
+        return (col % COLUMNS_PER_WORD) * COLUMN_BITS;
+    }
+    
+    /**
+     * Get the number of pieces in the column
+     * @param col The column
+     * @return The height of the column
+     */
+    public int getHeight(final int col)
+    {
+        //the pieces are stacked from the bottom so the highest bit tells us the height
+        return ((Long.SIZE - Long.numberOfLeadingZeros(getColumn(col))) + CELL_BITS - 1) / CELL_BITS;
+    }
+    
+    /**
+     * Get the piece
+     * @param col The column
+     * @param index The index in the column, 0 is the bottom
+     * @return The type of piece, EMPTY if there is no piece
+     */
+    public int getPiece(final int col, final int index)
+    {
+        return (int)((getColumn(col) >>> (index * CELL_BITS)) & CELL_MASK) - 1;
+    }
+    
+    /**
+     * Get the top piece in the column
+     * @param col The column
+     * @return The type of piece, EMPTY if the column is empty
+     */
+    public int getTop(final int col)
+    {
+        final int height = getHeight(col);
+        
+        return (height > 0) ? getPiece(col, height - 1) : EMPTY;
+    }
+    
+    /**
+     * Count the pieces from the top of the column down to the first bottom shell.<br>
+     * This is the same as CpuHelper.getBottomShellCount.
+     * @param col The column
+     * @return The number of pieces including the bottom shell, 0 if there is no bottom shell
+     */
+    public int getBottomShellCount(final int col)
+    {
+        final int height = getHeight(col);
+        
+        for (int index = height - 1; index >= 0; index--)
+        {
+            if (getPiece(col, index) == Piece.TYPE_SHELL_BOTTOM)
+                return height - index;
+        }
+        
+        return 0;
+    }
+    
+    /**
+     * Swap the column with the column to the right
+     * @param leftCol The left column we want to swap
+     */
+    public void swap(final int leftCol)
+    {
+        final long left = getColumn(leftCol);
+        
+        setColumn(leftCol, getColumn(leftCol + 1));
+        setColumn(leftCol + 1, left);
+    }
+    
+    /**
+     * Drop a piece in the column.<br>
+     * This is the same as the piece being placed on the board:<br>
+     * A top shell with a bottom shell below creates a yoshi, removing the pieces from the top shell to the bottom shell.<br>
+     * Any other top shell is destroyed.<br>
+     * A piece that matches the top piece will destroy both.<br>
+     * Otherwise the piece is placed, if placed in the first row the board has lost.
+     * @param col The column
+     * @param type The type of piece
+     * @return The score the same as the player would receive
+     */
+    public int drop(final int col, final int type)
+    {
+        return drop(col, type, Board.SCORE_PIECE_MATCH, Board.SCORE_YOSHI_PIECE);
+    }
+    
+    /**
+     * Drop a piece in the column, using our own scores instead of the scores the player would receive
+     * @param col The column
+     * @param type The type of piece
+     * @param scoreMatch The score for each piece destroyed by a match
+     * @param scoreYoshi The score for each piece in a yoshi
+     * @return The score of the drop
+     */
+    public int drop(final int col, final int type, final int scoreMatch, final int scoreYoshi)
+    {
+        final long column = getColumn(col);
+        final int height = getHeight(col);
+        
+        if (type == Piece.TYPE_SHELL_TOP)
+        {
+            final int count = getBottomShellCount(col);
+            
+            //if there is no bottom shell, the top shell is destroyed
+            if (count == 0)
+                return scoreMatch;
+            
+            //remove the pieces down to the bottom shell
+            setColumn(col, column & ((1L << ((height - count) * CELL_BITS)) - 1));
+            
+            //the yoshi includes the top shell
+            return scoreYoshi * (count + 1);
+        }
+        
+        //if the pieces match they are both destroyed
+        if (height > 0 && getPiece(col, height - 1) == type)
+        {
+            setColumn(col, column & ((1L << ((height - 1) * CELL_BITS)) - 1));
+            return scoreMatch * 2;
+        }
+        
+        //if there is no room the board has lost
+        if (height >= Board.ROWS)
+        {
+            this.lost = true;
+            return Board.SCORE_NONE;
+        }
+        
+        //place the piece on top
+        setColumn(col, column | ((long)(type + 1) << (height * CELL_BITS)));
+        
+        //if placed in the first row, we lost
+        if (height + 1 >= Board.ROWS)
+            this.lost = true;
+        
+        return Board.SCORE_NONE;
+    }
+    
+    /**
+     * Did we lose?
+     * @return true if a piece was placed in the first row, false otherwise
+     */
+    public boolean hasLost()
+    {
+        return this.lost;
+    }
+    
+    @Override
+    public boolean equals(final Object object)
+    {
+        if (!(object instanceof BitBoard))
+            return false;
+        
+        final BitBoard board = (BitBoard)object;
+        
+        return (lost == board.lost && Arrays.equals(words, board.words));
+    }
+    
+    @Override
+    public int hashCode()
+    {
+        return (Arrays.hashCode(words) * 31) + (lost ? 1 : 0);
+    }
+}
@@ -7,7 +7,9 @@ import com.gamesbykevin.yoshi.board.piece.Piece;
 import com.gamesbykevin.yoshi.engine.Engine;
 import com.gamesbykevin.yoshi.entity.Entity;
 import com.gamesbykevin.yoshi.player.Player;
+import com.gamesbykevin.yoshi.render.FrameBuilder;
 import com.gamesbykevin.yoshi.shared.IElement;
+import com.gamesbykevin.yoshi.shared.Snapshot;
 
 import java.awt.Graphics;
 import java.util.ArrayList;
@@ -43,9 +45,18 @@ public final class Board extends Sprite implements IElement
     //the pieces in the game
     private List<Piece> pieces;
     
+    //the pieces removed when restoring a snapshot, so they can be reused
+    private List<Piece> spare;
+    
+    //the pieces by location, so we don't have to check every piece
+    private BoardIndex index;
+    
     //the timer to determine how often we apply gravity
     private Timer timer;
     
+    //the objects notified of events on this board
+    private List<IBoardListener> listeners;
+    
     /**
      * The amount of time at which we apply gravity when we have a yoshi
      */
@@ -65,6 +76,9 @@ public final class Board extends Sprite implements IElement
     //the default time delay
     private final long delay;
     
+    //how far we are from the previous update to the current when drawing the pieces
+    private double alpha = 1;
+    
     public Board(final int difficultyIndex) throws Exception
     {
         //set the bounds
@@ -72,6 +86,13 @@ public final class Board extends Sprite implements IElement
         
         //create a new list for the pieces
         this.pieces = new ArrayList<>();
+        this.spare = new ArrayList<>();
+        
+        //create the index for the piece locations
+        this.index = new BoardIndex();
+        
+        //create a new list for the listeners
+        this.listeners = new ArrayList<>();
         
         //create gravity timer with a time delay dependant on the diffuculty
         switch (difficultyIndex)
@@ -159,11 +180,19 @@ public final class Board extends Sprite implements IElement
     public void dispose()
     {
         timer = null;
+        index = null;
+        
+        if (listeners != null)
+        {
+            listeners.clear();
+            listeners = null;
+        }
         
         if (pieces != null)
         {
             for (int i = 0; i < pieces.size(); i++)
             {
+                pieces.get(i).setBoard(null);
                 pieces.get(i).dispose();
                 pieces.set(i, null);
             }
@@ -171,6 +200,17 @@ public final class Board extends Sprite implements IElement
             pieces.clear();
             pieces = null;
         }
+        
+        if (spare != null)
+        {
+            for (int i = 0; i < spare.size(); i++)
+            {
+                spare.get(i).dispose();
+            }
+            
+            spare.clear();
+            spare = null;
+        }
     }
     
     /**
@@ -184,6 +224,73 @@ public final class Board extends Sprite implements IElement
         
         //add the piece to our list
         getPieces().add(piece);
+        
+        //the piece will now notify the board when it changes
+        piece.setBoard(this);
+        
+        //start tracking the piece
+        track(piece);
+    }
+    
+    /**
+     * Start tracking the piece location and state.<br>
+     * This is called by the piece after it changes.
+     * @param piece The piece we want to track
+     */
+    public void track(final Piece piece)
+    {
+        index.add(piece);
+    }
+    
+    /**
+     * Stop tracking the piece location and state.<br>
+     * This is called by the piece before it changes.
+     * @param piece The piece we no longer want to track
+     */
+    public void untrack(final Piece piece)
+    {
+        index.remove(piece);
+    }
+    
+    /**
+     * Get the index of the pieces on this board
+     * @return The object tracking the location and state of each piece
+     */
+    protected BoardIndex getIndex()
+    {
+        return this.index;
+    }
+    
+    /**
+     * Add a listener to be notified of events on this board
+     * @param listener The object we want to notify
+     */
+    public void addListener(final IBoardListener listener)
+    {
+        listeners.add(listener);
+    }
+    
+    /**
+     * Remove the listener so it is no longer notified of events on this board
+     * @param listener The object we no longer want to notify
+     */
+    public void removeListener(final IBoardListener listener)
+    {
+        listeners.remove(listener);
+    }
+    
+    /**
+     * Notify all listeners of the event
+     * @param event The event that occurred
+     * @param value The value of the event (count, size, etc...)
+     * @throws Exception If a listener has an issue handling the event
+     */
+    protected void notifyListeners(final BoardEvent event, final int value) throws Exception
+    {
+        for (int i = 0; i < listeners.size(); i++)
+        {
+            listeners.get(i).onBoardEvent(this, event, value);
+        }
     }
     
     /**
@@ -203,9 +310,21 @@ public final class Board extends Sprite implements IElement
     {
         for (int i = 0; i < getPieces().size(); i++)
         {
+            //get the current piece
+            final Piece tmp = getPieces().get(i);
+            
             //if this piece has the location, return true
-            if (getPieces().get(i).getId() == piece.getId())
+            if (tmp.getId() == piece.getId())
+            {
+                //only pieces added to this board are in the index
+                if (tmp.getBoard() == this)
+                {
+                    untrack(tmp);
+                    tmp.setBoard(null);
+                }
+                
                 getPieces().remove(i);
+            }
         }
     }
     
@@ -228,6 +347,55 @@ public final class Board extends Sprite implements IElement
      * @return The piece at the specified location. If not found null is returned.
      */
     public Piece getPiece(final double col, final double row, final UUID id)
+    {
+        //get the cell for this location
+        final int cell = BoardIndex.getCell(col, row);
+        
+        //if the location isn't a cell, only pieces outside of a cell can be here
+        if (cell == BoardIndex.NO_CELL)
+            return (index.hasOverflow()) ? findPiece(col, row, id) : null;
+        
+        switch (index.getCount(cell))
+        {
+            //no pieces here
+            case 0:
+                return null;
+                
+            //only 1 piece here
+            case 1:
+                
+                //get the piece in the cell
+                Piece piece = index.getPiece(cell);
+                
+                //if the piece isn't stored, locate it once
+                if (piece == null)
+                {
+                    piece = findPiece(col, row, Piece.NO_ID);
+                    
+                    //no piece was found
+                    if (piece == null)
+                        return null;
+                    
+                    index.setPiece(cell, piece);
+                }
+                
+                //make sure we aren't checking our own piece
+                return (id == null || piece.getId() != id) ? piece : null;
+                
+            //if more than 1 piece shares the cell check all pieces
+            default:
+                return findPiece(col, row, id);
+        }
+    }
+    
+    /**
+     * Check every piece for the location.
+     * @param col Column
+     * @param row Row
+     * @param id The unique key identifying the piece we don't want to check
+     * @return The first piece at the specified location. If not found null is returned.
+     */
+    private Piece findPiece(final double col, final double row, final UUID id)
     {
         for (int i = 0; i < getPieces().size(); i++)
         {
@@ -247,6 +415,162 @@ public final class Board extends Sprite implements IElement
         return null;
     }
     
+    /**
+     * Get the number of placed pieces in the column.<br>
+     * Destroyed pieces and pieces part of a yoshi are not counted.
+     * @param col The column we want to check
+     * @return The height of the column
+     */
+    public int getColumnHeight(final int col)
+    {
+        return Long.bitCount(index.getPlacedRows(col));
+    }
+    
+    /**
+     * Get the top placed piece in the column.<br>
+     * Destroyed pieces and pieces part of a yoshi can be the top piece, while the column height and bottom shell count skip them.
+     * @param col The column we want to check
+     * @return The placed piece in the highest row, if none found null is returned
+     */
+    public Piece getColumnTop(final int col)
+    {
+        final long rows = index.getTopRows(col);
+        
+        //there are no placed pieces in this column
+        if (rows == 0)
+            return null;
+        
+        //the first bit is the top of the board
+        return getTopPiece((Long.numberOfTrailingZeros(rows) * COLUMNS) + col);
+    }
+    
+    /**
+     * Count the placed pieces from the top of the column down to the first bottom shell.<br>
+     * Destroyed pieces and pieces part of a yoshi are not counted.
+     * @param col The column we want to check
+     * @return The number of pieces including the bottom shell, if the bottom shell does not exist return 0
+     */
+    public int getColumnBottomShellCount(final int col)
+    {
+        //make sure we know which pieces are bottom shells
+        findPlacedPieces();
+        
+        final long shells = index.getBottomShells(col);
+        
+        //there is no bottom shell in this column
+        if (shells == 0)
+            return 0;
+        
+        //count every placed piece up to and including the first bottom shell
+        return Long.bitCount(index.getPlacedRows(col) & ((2L << Long.numberOfTrailingZeros(shells)) - 1));
+    }
+    
+    /**
+     * Get the zobrist hash of the board.<br>
+     * The hash is updated as each piece is added, removed, moved or changed, so this doesn't check any pieces.<br>
+     * Boards with the same pieces in the same locations and states have the same hash.
+     * @return The hash of the type, state and location of every piece
+     */
+    public long getHash()
+    {
+        return index.getHash();
+    }
+    
+    /**
+     * Get the placed piece in the cell
+     * @param cell The cell we want to check
+     * @return The first placed piece in the cell, if none found null is returned
+     */
+    protected Piece getPlacedPiece(final int cell)
+    {
+        //if the piece isn't stored, locate it once
+        if (index.isUnknown(cell))
+            findPlacedPiece(cell);
+        
+        return index.getPlacedPiece(cell);
+    }
+    
+    /**
+     * Get the placed piece in the cell, including destroyed pieces and pieces part of a yoshi
+     * @param cell The cell we want to check
+     * @return The first placed piece in the cell, if none found null is returned
+     */
+    private Piece getTopPiece(final int cell)
+    {
+        //if the placed piece is the only piece in the cell, use the stored piece
+        if (index.getCount(cell) == 1)
+        {
+            //get the piece in the cell
+            Piece piece = index.getPiece(cell);
+            
+            //if the piece isn't stored, locate it once
+            if (piece == null)
+            {
+                piece = findTopPiece(cell);
+                index.setPiece(cell, piece);
+            }
+            
+            return piece;
+        }
+        
+        //if more than 1 piece shares the cell check all pieces
+        return findTopPiece(cell);
+    }
+    
+    /**
+     * Check every piece for the first placed piece in the cell, including destroyed pieces and pieces part of a yoshi
+     * @param cell The cell we want to check
+     * @return The first placed piece in the cell, if none found null is returned
+     */
+    private Piece findTopPiece(final int cell)
+    {
+        for (int i = 0; i < getPieces().size(); i++)
+        {
+            //get the current piece
+            final Piece piece = getPieces().get(i);
+            
+            if (piece.isPlaced() && BoardIndex.getCell(piece.getCol(), piece.getRow()) == cell)
+                return piece;
+        }
+        
+        //a piece was not found return null
+        return null;
+    }
+    
+    /**
+     * Locate every placed piece that is no longer stored in the index
+     */
+    private void findPlacedPieces()
+    {
+        if (!index.hasUnknown())
+            return;
+        
+        for (int cell = 0; cell < BoardIndex.CELLS; cell++)
+        {
+            if (index.isUnknown(cell))
+                findPlacedPiece(cell);
+        }
+    }
+    
+    /**
+     * Check every piece for the first placed piece in the cell, and store it in the index
+     * @param cell The cell we want to check
+     */
+    private void findPlacedPiece(final int cell)
+    {
+        for (int i = 0; i < getPieces().size(); i++)
+        {
+            //get the current piece
+            final Piece piece = getPieces().get(i);
+            
+            if (BoardIndex.isPlaced(piece) && BoardIndex.getCell(piece.getCol(), piece.getRow()) == cell)
+            {
+                index.setPlacedPiece(cell, piece);
+                return;
+            }
+        }
+    }
+    
     /**
      * Make the timer expire so gravity can be applied.<br>
      * Note: if the player can't swap the columns, gravity won't be applied
@@ -254,7 +578,7 @@ public final class Board extends Sprite implements IElement
     public void applyGravity()
     {
         //if we can swap columns, we can also apply gravity
-        if (BoardHelper.canSwapColumns(getPieces()))
+        if (BoardHelper.canSwapColumns(this))
             getTimer().setRemaining(Entity.DELAY_NONE);
     }
     
@@ -271,14 +595,22 @@ public final class Board extends Sprite implements IElement
     /**
      * Now that our game is over, record the result
      * @param lose True if the player controlling this board lost, false if they won
+     * @throws Exception If a listener has an issue handling the event
      */
-    public void setGameResult(final boolean lose)
+    public void setGameResult(final boolean lose) throws Exception
     {
+        //did we already lose
+        final boolean lost = hasGameOver() && hasLost();
+        
         //store our win/lose result
         this.lose = lose;
         
         //flag the game as over
         this.gameover = true;
+        
+        //notify the first time we lose
+        if (!lost && hasLost())
+            notifyListeners(BoardEvent.GameLost, Entity.NO_COUNT);
     }
     
     public boolean hasGameOver()
@@ -286,6 +618,85 @@ public final class Board extends Sprite implements IElement
         return this.gameover;
     }
     
+    /**
+     * Write the state of the board and each piece to the snapshot
+     * @param snapshot Where we want to write
+     */
+    public void snapshot(final Snapshot snapshot)
+    {
+        snapshot.writeBoolean(hasLost());
+        snapshot.writeBoolean(hasGameOver());
+        
+        //write the gravity timer
+        snapshot.writeLong(getTimer().getReset());
+        snapshot.writeLong(getTimer().getRemaining());
+        
+        //write the pieces in order, since they are updated in order
+        snapshot.writeByte(getPieces().size());
+        
+        for (int i = 0; i < getPieces().size(); i++)
+        {
+            snapshot.writeByte(getPieces().get(i).getType());
+            getPieces().get(i).snapshot(snapshot);
+        }
+    }
+    
+    /**
+     * Restore the state of the board from the snapshot.<br>
+     * The existing pieces will be reused for the restored pieces where possible.
+     * @param snapshot Where we want to read from
+     * @throws Exception If the snapshot has no more values
+     */
+    public void restore(final Snapshot snapshot) throws Exception
+    {
+        this.lose = snapshot.readBoolean();
+        this.gameover = snapshot.readBoolean();
+        
+        //read the gravity timer
+        getTimer().setReset(snapshot.readLong());
+        getTimer().setRemaining(snapshot.readLong());
+        
+        //the existing pieces are no longer on the board, but can be reused
+        for (int i = 0; i < getPieces().size(); i++)
+        {
+            untrack(getPieces().get(i));
+            getPieces().get(i).setBoard(null);
+            spare.add(getPieces().get(i));
+        }
+        
+        getPieces().clear();
+        
+        final int count = snapshot.readByte();
+        
+        for (int i = 0; i < count; i++)
+        {
+            final Piece piece = getSpare(snapshot.readByte());
+            piece.restore(snapshot);
+            
+            //add the piece as is, the target column has already been restored
+            getPieces().add(piece);
+            piece.setBoard(this);
+            track(piece);
+        }
+    }
+    
+    /**
+     * Get a piece no longer on the board that can be reused
+     * @param type The type of piece we need
+     * @return A piece of the type, if none are available a new piece is created
+     * @throws Exception 
+     */
+    private Piece getSpare(final int type) throws Exception
+    {
+        for (int i = spare.size() - 1; i >= 0; i--)
+        {
+            if (spare.get(i).getType() == type)
+                return spare.remove(i);
+        }
+        
+        return new Piece(type);
+    }
+    
     @Override
     public void update(final Engine engine) throws Exception
     {
@@ -293,8 +704,36 @@ public final class Board extends Sprite implements IElement
         if (hasGameOver())
             return;
         
+        //do we have destroyed pieces before updating
+        final boolean destroyed = BoardHelper.hasDestroyedPieces(this);
+        
+        //are there falling pieces before updating
+        final boolean falling = BoardHelper.hasFallingPieces(this);
+        
+        //update the pieces
+        updatePieces(engine);
+        
+        //if pieces were destroyed during this update, notify with the total destroyed
+        if (!destroyed && BoardHelper.hasDestroyedPieces(this))
+        {
+            notifyListeners(BoardHelper.hasDestroyedTopShell(this) ? BoardEvent.TopShellDestroyed : BoardEvent.PieceMatched, 
+                BoardHelper.getDestroyedPieceCount(this));
+        }
+        
+        //if the falling pieces have all been placed
+        if (falling && !BoardHelper.hasFallingPieces(this))
+            notifyListeners(BoardEvent.PiecePlaced, Entity.NO_COUNT);
+    }
+    
+    /**
+     * Update the pieces on the board
+     * @param engine Object containing all game elements
+     * @throws Exception 
+     */
+    private void updatePieces(final Engine engine) throws Exception
+    {
         //if we don't have any starting pieces, we need to spawn them
-        if (!BoardHelper.hasStartingPieces(getPieces()))
+        if (!BoardHelper.hasStartingPieces(this))
         {
             //if no pieces at the top, spawn some
             BoardHelper.spawnPieces(this, engine.getRandom());
@@ -304,13 +743,13 @@ public final class Board extends Sprite implements IElement
         }
         
         //if no pieces are falling, drop the starting pieces at the top
-        if (!BoardHelper.hasFallingPieces(getPieces()))
+        if (!BoardHelper.hasFallingPieces(this))
         {
             /**
              * Even though we don't have falling pieces let make sure any existing pieces are finished.
              * Finished meaning that there aren't any yoshi's or destroyed
              */
-            if (!BoardHelper.hasExistingPieces(getPieces()))
+            if (!BoardHelper.hasExistingPieces(this))
             {
                 //drop the starting pieces
                 BoardHelper.dropStartingPieces(getPieces());
@@ -321,17 +760,17 @@ public final class Board extends Sprite implements IElement
         }
         
         //if there are pieces that are destroyed we need to handle those
-        if (BoardHelper.hasDestroyedPieces(getPieces()))
+        if (BoardHelper.hasDestroyedPieces(this))
         {
             //if we have a destroyed piece pause everything else
-            BoardHelper.manageDestroyedPieces(this, engine.getMain().getTime());
+            BoardHelper.manageDestroyedPieces(this, engine.getTime());
             
             //no need to continue
             return;
         }
         
         //if we have pieces needing to be swapped
-        if (BoardHelper.isSwappingColumns(getPieces()))
+        if (BoardHelper.isSwappingColumns(this))
         {
             //swap the pieces that are not yet at the target column
             BoardHelper.swapPieces(getPieces(), getStartPieceColumnX());
@@ -341,7 +780,7 @@ public final class Board extends Sprite implements IElement
         }
         
         //update gravity timer
-        getTimer().update(engine.getMain().getTime());
+        getTimer().update(engine.getTime());
 
         //do we apply gravity
         boolean applyGravity = (getTimer().hasTimePassed());
@@ -351,7 +790,7 @@ public final class Board extends Sprite implements IElement
             getTimer().reset();
         
         //if we have a yoshi we will manage the pieces differently
-        if (BoardHelper.hasYoshi(getPieces()))
+        if (BoardHelper.hasYoshi(this))
         {
             for (int i = 0; i < getPieces().size(); i++)
             {
@@ -367,7 +806,7 @@ public final class Board extends Sprite implements IElement
                     continue;
                 
                 //manage the creation
-                BoardHelper.manageYoshiCreation(piece, this, engine.getMain().getTime(), applyGravity);
+                BoardHelper.manageYoshiCreation(piece, this, engine.getTime(), applyGravity);
             }
         }
         else
@@ -381,26 +820,58 @@ public final class Board extends Sprite implements IElement
                 final Piece piece = getPieces().get(i);
 
                 //update the piece
-                BoardHelper.updatePiece(piece, this, engine.getMain().getTime(), applyGravity);
+                BoardHelper.updatePiece(piece, this, engine.getTime(), applyGravity);
                 
                 //we only want to create 1 yoshi at a time, so if 1 is found we will exit
-                if (BoardHelper.hasYoshi(getPieces()))
+                if (BoardHelper.hasYoshi(this))
                     break;
             }
         }
         
         //check if we have a losing board, and if so set the game result
-        if (BoardHelper.hasLosingBoard(getPieces()))
+        if (BoardHelper.hasLosingBoard(this))
             setGameResult(true);
     }
     
+    /**
+     * Keep the location of each piece at the start of the update, so the pieces can be drawn between updates
+     */
+    public void keepLocations()
+    {
+        for (int i = 0; i < getPieces().size(); i++)
+        {
+            getPieces().get(i).keepLocation();
+        }
+    }
+    
+    /**
+     * Set where the pieces are drawn between the previous and current update
+     * @param alpha How far we are from the previous update to the current, from 0 to 1
+     */
+    public void setAlpha(final double alpha)
+    {
+        this.alpha = alpha;
+    }
+    
     @Override
     public void render(final Graphics graphics) throws Exception
     {
         //draw the pieces on the board
         for (int i = 0; i < getPieces().size(); i++)
         {
-            getPieces().get(i).render(graphics, getImage());
+            getPieces().get(i).render(graphics, getImage(), alpha);
+        }
+    }
+    
+    /**
+     * Add the pieces on the board to the frame being built
+     * @param frame The frame being built
+     */
+    public void frame(final FrameBuilder frame)
+    {
+        for (int i = 0; i < getPieces().size(); i++)
+        {
+            getPieces().get(i).frame(frame, getImage(), alpha);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.gamesbykevin.yoshi.board;
+
+/**
+ * The different events that can occur on a board
+ * @author GOD
+ */
+public enum BoardEvent 
+{
+    /**
+     * Pieces were matched and destroyed, the value is the number of destroyed pieces
+     */
+    PieceMatched, 
+    
+    /**
+     * A top shell was placed without creating a yoshi, the value is the number of destroyed pieces
+     */
+    TopShellDestroyed, 
+    
+    /**
+     * A yoshi was created, the value is the size of the yoshi
+     */
+    YoshiCreated, 
+    
+    /**
+     * The falling pieces have all been placed
+     */
+    PiecePlaced, 
+    
+    /**
+     * The player started swapping columns
+     */
+    SwapStarted, 
+    
+    /**
+     * The board has filled up and the game is lost
+     */
+    GameLost
+}
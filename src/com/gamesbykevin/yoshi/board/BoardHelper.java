@@ -92,6 +92,18 @@ public final class BoardHelper
         return false;
     }
     
+    /**
+     * Does this board have any placed pieces
+     * @param board The board to check
+     * @return true if at least 1 piece is placed, yoshi, or destroyed, false otherwise
+     */
+    public static boolean hasPlacedPieces(final Board board)
+    {
+        final BoardIndex index = board.getIndex();
+        
+        return (index.getPlacedCount() > Entity.NO_COUNT || index.getYoshiCount() > Entity.NO_COUNT || index.getDestroyedCount() > Entity.NO_COUNT);
+    }
+    
     /**
      * Do we have at least 1 destroyed piece?
      * @param pieces List of pieces to check
@@ -102,6 +114,16 @@ public final class BoardHelper
         return (getDestroyedPieceCount(pieces) > Entity.NO_COUNT);
     }
     
+    /**
+     * Do we have at least 1 destroyed piece?
+     * @param board The board to check
+     * @return true = yes, false = no
+     */
+    public static boolean hasDestroyedPieces(final Board board)
+    {
+        return (getDestroyedPieceCount(board) > Entity.NO_COUNT);
+    }
+    
     /**
      * Is there a top shell marked destroyed?
      * @param pieces List of pieces to check
@@ -127,6 +149,16 @@ public final class BoardHelper
         return false;
     }
     
+    /**
+     * Is there a top shell marked destroyed?
+     * @param board The board to check
+     * @return true if a top shell is flagged destroyed, false otherwise
+     */
+    public static boolean hasDestroyedTopShell(final Board board)
+    {
+        return (board.getIndex().getDestroyedTopShellCount() > Entity.NO_COUNT);
+    }
+    
     /**
      * Get the count of destroyed pieces
      * @param pieces List of pieces to check
@@ -149,6 +181,16 @@ public final class BoardHelper
         return count;
     }
     
+    /**
+     * Get the count of destroyed pieces
+     * @param board The board to check
+     * @return The total number of pieces flagged as destroyed
+     */
+    public static int getDestroyedPieceCount(final Board board)
+    {
+        return board.getIndex().getDestroyedCount();
+    }
+    
     /**
      * Populate the board with random pieces
      * @param board The board we are adding pieces to
@@ -226,6 +268,16 @@ public final class BoardHelper
         return false;
     }
     
+    /**
+     * Do we currently have any falling pieces?
+     * @param board The board to check
+     * @return true if at least 1 piece is falling, false otherwise
+     */
+    public static boolean hasFallingPieces(final Board board)
+    {
+        return (board.getIndex().getFallingCount() > Entity.NO_COUNT);
+    }
+    
     /**
      * Start dropping pieces at start location
      * @param pieces List of pieces to check.
@@ -271,6 +323,16 @@ public final class BoardHelper
         return false;
     }
     
+    /**
+     * Check if we have any existing pieces that need to finish
+     * @param board The board to check
+     * @return true if we have at least 1 piece that is a yoshi or destroyed, false otherwise
+     */
+    public static boolean hasExistingPieces(final Board board)
+    {
+        return (hasYoshi(board) || hasDestroyedPieces(board));
+    }
+    
     /**
      * Check if we have any pieces at the starting position
      * @param pieces List of pieces to check.
@@ -292,6 +354,16 @@ public final class BoardHelper
         return false;
     }
     
+    /**
+     * Check if we have any pieces at the starting position
+     * @param board The board to check
+     * @return true if we have at least 1 piece in row 0, false otherwise
+     */
+    public static boolean hasStartingPieces(final Board board)
+    {
+        return (board.getIndex().getStartingCount() > Entity.NO_COUNT);
+    }
+    
     /**
      * Spawn pieces on the board.<br>
      * @param board The board we want to add the pieces to
@@ -362,6 +434,16 @@ public final class BoardHelper
         return true;
     }
     
+    /**
+     * Can we swap columns?<br>
+     * @param board The board to check
+     * @return true if there are: no yoshi's, no destroyed pieces, and we aren't already swapping columns, otherwise false is returned
+     */
+    public static boolean canSwapColumns(final Board board)
+    {
+        return (!isSwappingColumns(board) && !hasDestroyedPieces(board) && !hasYoshi(board));
+    }
+    
     /**
      * Are we swapping columns?
      * @param pieces List of pieces we want to check
@@ -382,15 +464,29 @@ public final class BoardHelper
         return false;
     }
     
+    /**
+     * Are we swapping columns?
+     * @param board The board to check
+     * @return true if at least 1 piece is not at the target column, false otherwise
+     */
+    public static boolean isSwappingColumns(final Board board)
+    {
+        return (board.getIndex().getSwappingCount() > Entity.NO_COUNT);
+    }
+    
     /**
      * Start swapping the pieces in the specified columns.<br>
      * We won't swap them yet, but will set the target column
      * @param board The board where the pieces are
      * @param leftCol The left column we want to swap with the right
      * @param rightCol The right column we want to swap with the left
+     * @throws Exception If a listener has an issue handling the event
      */
-    public static void startSwap(final Board board, final int leftCol, final int rightCol)
+    public static void startSwap(final Board board, final int leftCol, final int rightCol) throws Exception
     {
+        //are we already swapping columns
+        final boolean swapping = isSwappingColumns(board);
+        
         for (int i = 0; i < board.getPieces().size(); i++)
         {
             //get the current piece
@@ -461,6 +557,10 @@ public final class BoardHelper
                 }
             }
         }
+        
+        //if pieces are now swapping, notify the swap has started
+        if (!swapping && isSwappingColumns(board))
+            board.notifyListeners(BoardEvent.SwapStarted, Entity.NO_COUNT);
     }
     
     /**
@@ -557,6 +657,16 @@ public final class BoardHelper
         return (getYoshiSize(pieces) > 0);
     }
     
+    /**
+     * Do we have a yoshi
+     * @param board The board to check
+     * @return true if at least 1 piece is part of a yoshi, false otherwise
+     */
+    public static boolean hasYoshi(final Board board)
+    {
+        return (getYoshiSize(board) > 0);
+    }
+    
     /**
      * Get the yoshi size.
      * @param pieces List of pieces to check
@@ -577,14 +687,25 @@ public final class BoardHelper
         return count;
     }
     
+    /**
+     * Get the yoshi size.
+     * @param board The board to check
+     * @return The number of pieces that is part of the yoshi
+     */
+    public static int getYoshiSize(final Board board)
+    {
+        return board.getIndex().getYoshiCount();
+    }
+    
     /**
      * Check if we have a yoshi in the column where we just placed a piece.<br>
      * If we find it we will flag all relative pieces as part of a yoshi.
      * A yoshi means we have a top shell on top of a bottom shell with x amount of pieces between.
      * @param board The board we are playing on
      * @param placedPiece The piece we just placed.
+     * @throws Exception If a listener has an issue handling the event
      */
-    public static void checkYoshi(final Board board, final Piece placedPiece)
+    public static void checkYoshi(final Board board, final Piece placedPiece) throws Exception
     {
         boolean top = false;
 
@@ -639,6 +760,9 @@ public final class BoardHelper
                         //mark as yoshi and set the yoshi size
                         board.getPiece(placedPiece.getCol(), tmpRow, Piece.NO_ID).markYoshi((row - startRow) + 1);
                     }
+                    
+                    //notify the yoshi was created
+                    board.notifyListeners(BoardEvent.YoshiCreated, (row - startRow) + 1);
 
                     //now skip to the next column, since any further rows won't be part
                     break;
@@ -660,7 +784,7 @@ public final class BoardHelper
     public static void manageYoshiCreation(final Piece piece, final Board board, final long time, final boolean applyGravity) throws Exception
     {
         //if the yoshi count is greater than 1 continue updating the top shell drop
-        if (BoardHelper.getYoshiSize(board.getPieces()) > 1)
+        if (BoardHelper.getYoshiSize(board) > 1)
         {
             //don't continue if not the top shell
             if (piece.getType() != Piece.TYPE_SHELL_TOP)
@@ -792,7 +916,7 @@ public final class BoardHelper
                         BoardHelper.checkYoshi(board, piece);
 
                         //if we don't have a yoshi, we need to remove this piece
-                        if (!BoardHelper.hasYoshi(board.getPieces()))
+                        if (!BoardHelper.hasYoshi(board))
                         {
                             piece.markDestroyed();
                         }
@@ -857,4 +981,15 @@ public final class BoardHelper
         //we are safe and have not lost
         return false;
     }
+    
+    /**
+     * Check if we have lost.<br>
+     * Here we will only check pieces in the first row, that aren't destroyed
+     * @param board The board to check
+     * @return true if there is at least 1 piece placed at the top that isn't the shell top
+     */
+    public static boolean hasLosingBoard(final Board board)
+    {
+        return (board.getIndex().getLosingCount() > Entity.NO_COUNT);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,546 @@
+package com.gamesbykevin.yoshi.board;
+
+import com.gamesbykevin.yoshi.board.piece.Piece;
+
+import java.util.Random;
+
+/**
+ * This class will keep track of which cell each piece occupies.<br>
+ * Every cell is a column and half row, so falling pieces are tracked as well.<br>
+ * This way we can locate a piece without checking every piece on the board.<br>
+ * We also count the pieces in each state so the board can be checked without checking every piece.<br>
+ * The placed pieces of each column are kept as bits by half row, so the height, shells and top of a column are known right away.<br>
+ * A zobrist hash of every piece is kept as well, so the position can be compared without checking every piece.
+ * @author GOD
+ */
+public final class BoardIndex
+{
+    /**
+     * The value returned when a location does not map to a cell
+     */
+    public static final int NO_CELL = -1;
+    
+    /**
+     * The number of half rows we track (pieces drop half a row at a time)
+     */
+    public static final int HALF_ROWS = (int)(Board.ROWS / BoardHelper.ROW_DROP);
+    
+    /**
+     * The total number of cells we track
+     */
+    public static final int CELLS = HALF_ROWS * Board.COLUMNS;
+    
+    //the number of different states a piece can be in (placed, frozen, destroyed, yoshi)
+    private static final int STATES = 16;
+    
+    //a random value for each type and state of piece in each cell
+    private static final long[] ZOBRIST = createZobrist();
+    
+    //the number of pieces in each cell
+    private final int[] counts;
+    
+    //the piece in each cell, only trusted when there is 1 piece in the cell
+    private final Piece[] pieces;
+    
+    //the number of pieces that are not at a cell (swapping columns or out of bounds)
+    private int overflow = 0;
+    
+    //the number of placed pieces in each cell, not counting destroyed pieces or pieces part of a yoshi
+    private final int[] placedCounts;
+    
+    //the first placed piece in each cell, null with a count means the piece will have to be found again
+    private final Piece[] placedPieces;
+    
+    //the number of cells where the placed piece will have to be found again
+    private int unknown = 0;
+    
+    //for each column a bit for every half row with a placed piece
+    private final long[] placedRows;
+    
+    //for each column a bit for every half row where the placed piece is a bottom shell
+    private final long[] bottomShells;
+    
+    //the number of placed pieces in each cell, including destroyed pieces and pieces part of a yoshi
+    private final int[] topCounts;
+    
+    //for each column a bit for every half row with a placed piece, including destroyed pieces and pieces part of a yoshi
+    private final long[] topRows;
+    
+    //the number of pieces in each state
+    private int yoshi = 0;
+    private int destroyed = 0;
+    private int destroyedTopShell = 0;
+    private int falling = 0;
+    private int placed = 0;
+    private int swapping = 0;
+    private int starting = 0;
+    private int losing = 0;
+    
+    //the zobrist hash of every piece
+    private long hash = 0;
+    
+    protected BoardIndex()
+    {
+        this.counts = new int[CELLS];
+        this.pieces = new Piece[CELLS];
+        
+        this.placedCounts = new int[CELLS];
+        this.placedPieces = new Piece[CELLS];
+        this.placedRows = new long[Board.COLUMNS];
+        this.bottomShells = new long[Board.COLUMNS];
+        this.topCounts = new int[CELLS];
+        this.topRows = new long[Board.COLUMNS];
+    }
+    
+    /**
+     * Create the random values for the zobrist hash
+     * @return A random value for each type and state of piece in each cell
+     */
+    private static long[] createZobrist()
+    {
+        //use the same seed so the hash of a position is the same every time the game runs
+        final Random random = new Random(CELLS);
+        
+        final long[] zobrist = new long[CELLS * Piece.TYPE_TOTAL * STATES];
+        
+        for (int index = 0; index < zobrist.length; index++)
+        {
+            zobrist[index] = random.nextLong();
+        }
+        
+        return zobrist;
+    }
+    
+    /**
+     * Get the cell for the specified location
+     * @param col Column
+     * @param row Row
+     * @return The cell index, if the location is between columns or out of bounds NO_CELL is returned
+     */
+    public static int getCell(final double col, final double row)
+    {
+        //the column has to be a whole number in bounds
+        final int c = (int)col;
+    
+        if (c != col || c < 0 || c >= Board.COLUMNS)
+            return NO_CELL;
+    
+        //the row has to be a multiple of the row drop in bounds
+        final double half = row / BoardHelper.ROW_DROP;
+        final int r = (int)half;
+    
+        if (r != half || r < 0 || r >= HALF_ROWS)
+            return NO_CELL;
+    
+        return (r * Board.COLUMNS) + c;
+    }
+    
+    /**
+     * Add the piece at its current location and state
+     * @param piece The piece we are adding
+     */
+    protected void add(final Piece piece)
+    {
+        //count the current state of the piece
+        count(piece, 1);
+        
+        final int cell = getCell(piece.getCol(), piece.getRow());
+        
+        hash ^= getKey(piece, cell);
+    
+        //if there is no cell, keep track of it so we know when we need to check every piece
+        if (cell == NO_CELL)
+        {
+            overflow++;
+            return;
+        }
+    
+        //if this is the only piece in the cell, store it
+        if (counts[cell] == 0)
+            pieces[cell] = piece;
+    
+        counts[cell]++;
+        
+        //the placed pieces make up the profile of the column
+        if (isPlaced(piece))
+        {
+            //the first placed piece in the cell is the one we use
+            if (placedCounts[cell] == 0)
+                setPlacedPiece(cell, piece);
+            
+            placedCounts[cell]++;
+        }
+        
+        //any placed piece can be the top of the column
+        if (piece.isPlaced())
+        {
+            if (topCounts[cell] == 0)
+                topRows[cell % Board.COLUMNS] |= 1L << (cell / Board.COLUMNS);
+            
+            topCounts[cell]++;
+        }
+    }
+    
+    /**
+     * Remove the piece from its current location and state
+     * @param piece The piece we are removing
+     */
+    protected void remove(final Piece piece)
+    {
+        //no longer count the current state of the piece
+        count(piece, -1);
+        
+        final int cell = getCell(piece.getCol(), piece.getRow());
+        
+        //the same key is removed, since the piece hasn't changed since it was added
+        hash ^= getKey(piece, cell);
+    
+        if (cell == NO_CELL)
+        {
+            overflow--;
+            return;
+        }
+    
+        counts[cell]--;
+    
+        //if this piece was stored, the remaining piece (if any) will have to be found again
+        if (pieces[cell] == piece || counts[cell] == 0)
+            pieces[cell] = null;
+        
+        if (isPlaced(piece))
+        {
+            placedCounts[cell]--;
+            
+            if (placedCounts[cell] == 0)
+            {
+                //the cell was waiting for the placed piece to be found again
+                if (placedPieces[cell] == null)
+                    unknown--;
+                
+                //there are no placed pieces left in this cell
+                clearPlacedPiece(cell);
+            }
+            else if (placedPieces[cell] == piece)
+            {
+                //the remaining placed piece will have to be found again
+                placedPieces[cell] = null;
+                unknown++;
+            }
+        }
+        
+        if (piece.isPlaced())
+        {
+            topCounts[cell]--;
+            
+            //there are no placed pieces left in this cell
+            if (topCounts[cell] == 0)
+                topRows[cell % Board.COLUMNS] &= ~(1L << (cell / Board.COLUMNS));
+        }
+    }
+    
+    /**
+     * Get the zobrist key of the piece
+     * @param piece The piece
+     * @param cell The cell the piece is located in, NO_CELL if it is between columns or out of bounds
+     * @return The random value for the type, state and location of the piece
+     */
+    private static long getKey(final Piece piece, final int cell)
+    {
+        final int state = (piece.isPlaced() ? 1 : 0) | (piece.isFrozen() ? 2 : 0) | (piece.isDestroyed() ? 4 : 0) | (piece.isYoshi() ? 8 : 0);
+        
+        //most pieces are in a cell at their target column
+        if (cell != NO_CELL && piece.hasTargetCol())
+            return ZOBRIST[(((cell * Piece.TYPE_TOTAL) + piece.getType()) * STATES) + state];
+        
+        //the piece is swapping or out of bounds, so mix the exact location
+        long key = mix(Double.doubleToLongBits(piece.getCol()) + (piece.getType() * STATES) + state);
+        key = mix(key ^ Double.doubleToLongBits(piece.getRow()));
+        
+        return mix(key ^ Double.doubleToLongBits(piece.getTargetCol()));
+    }
+    
+    /**
+     * Mix the bits of the value, so a small change in the value changes the whole result
+     * @param value The value we want to mix
+     * @return The mixed value
+     */
+    private static long mix(long value)
+    {
+        value = (value ^ (value >>> 33)) * 0xff51afd7ed558ccdL;
+        value = (value ^ (value >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        
+        return value ^ (value >>> 33);
+    }
+    
+    /**
+     * Is the piece part of the column profile?
+     * @param piece The piece we want to check
+     * @return true if the piece is placed, and not destroyed or part of a yoshi
+     */
+    protected static boolean isPlaced(final Piece piece)
+    {
+        return (piece.isPlaced() && !piece.isDestroyed() && !piece.isYoshi());
+    }
+    
+    /**
+     * Store the placed piece for the cell, and mark the cell in the column profile
+     * @param cell The cell
+     * @param piece The placed piece located in the cell
+     */
+    protected void setPlacedPiece(final int cell, final Piece piece)
+    {
+        //the cell was waiting for the placed piece to be found again
+        if (placedPieces[cell] == null && placedCounts[cell] > 0)
+            unknown--;
+        
+        placedPieces[cell] = piece;
+        
+        final int col = cell % Board.COLUMNS;
+        final long bit = 1L << (cell / Board.COLUMNS);
+        
+        placedRows[col] |= bit;
+        
+        if (piece.getType() == Piece.TYPE_SHELL_BOTTOM)
+        {
+            bottomShells[col] |= bit;
+        }
+        else
+        {
+            bottomShells[col] &= ~bit;
+        }
+    }
+    
+    /**
+     * Remove the cell from the column profile
+     * @param cell The cell
+     */
+    private void clearPlacedPiece(final int cell)
+    {
+        placedPieces[cell] = null;
+        
+        final int col = cell % Board.COLUMNS;
+        final long bit = 1L << (cell / Board.COLUMNS);
+        
+        placedRows[col] &= ~bit;
+        bottomShells[col] &= ~bit;
+    }
+    
+    /**
+     * Update the state counts for the piece
+     * @param piece The piece we are counting
+     * @param amount The amount to add to each count that applies to the piece
+     */
+    private void count(final Piece piece, final int amount)
+    {
+        if (piece.isYoshi())
+            yoshi += amount;
+        
+        if (piece.isDestroyed())
+        {
+            destroyed += amount;
+            
+            if (piece.getType() == Piece.TYPE_SHELL_TOP)
+                destroyedTopShell += amount;
+        }
+        
+        //any piece not placed, destroyed or frozen is falling
+        if (!piece.isPlaced() && !piece.isDestroyed() && !piece.isFrozen())
+            falling += amount;
+        
+        if (piece.isPlaced())
+            placed += amount;
+        
+        //if we are not at our target column, we are swapping columns
+        if (!piece.hasTargetCol())
+            swapping += amount;
+        
+        //pieces in the first row are starting pieces
+        if ((int)piece.getRow() == 0)
+            starting += amount;
+        
+        //any piece placed in the first row that isn't the top shell or destroyed
+        if (piece.getType() != Piece.TYPE_SHELL_TOP && piece.getRow() <= 0 && !piece.isDestroyed() && piece.isPlaced())
+            losing += amount;
+    }
+    
+    /**
+     * Get the number of pieces that are part of a yoshi
+     * @return The number of yoshi pieces
+     */
+    protected int getYoshiCount()
+    {
+        return this.yoshi;
+    }
+    
+    /**
+     * Get the number of destroyed pieces
+     * @return The number of pieces flagged destroyed
+     */
+    protected int getDestroyedCount()
+    {
+        return this.destroyed;
+    }
+    
+    /**
+     * Get the number of destroyed top shells
+     * @return The number of top shells flagged destroyed
+     */
+    protected int getDestroyedTopShellCount()
+    {
+        return this.destroyedTopShell;
+    }
+    
+    /**
+     * Get the number of falling pieces
+     * @return The number of pieces not placed, destroyed or frozen
+     */
+    protected int getFallingCount()
+    {
+        return this.falling;
+    }
+    
+    /**
+     * Get the number of placed pieces
+     * @return The number of pieces flagged placed
+     */
+    protected int getPlacedCount()
+    {
+        return this.placed;
+    }
+    
+    /**
+     * Get the number of pieces swapping columns
+     * @return The number of pieces not at their target column
+     */
+    protected int getSwappingCount()
+    {
+        return this.swapping;
+    }
+    
+    /**
+     * Get the number of starting pieces
+     * @return The number of pieces in the first row
+     */
+    protected int getStartingCount()
+    {
+        return this.starting;
+    }
+    
+    /**
+     * Get the number of pieces that would lose the game
+     * @return The number of pieces placed in the first row that aren't a top shell or destroyed
+     */
+    protected int getLosingCount()
+    {
+        return this.losing;
+    }
+    
+    /**
+     * Get the number of pieces in the cell
+     * @param cell The cell we want to check
+     * @return The number of pieces in the cell
+     */
+    protected int getCount(final int cell)
+    {
+        return counts[cell];
+    }
+    
+    /**
+     * Get the piece stored in the cell.
+     * @param cell The cell we want to check
+     * @return The stored piece, null is returned if no piece is stored
+     */
+    protected Piece getPiece(final int cell)
+    {
+        return pieces[cell];
+    }
+    
+    /**
+     * Store the piece in the cell
+     * @param cell The cell
+     * @param piece The piece located in the cell
+     */
+    protected void setPiece(final int cell, final Piece piece)
+    {
+        pieces[cell] = piece;
+    }
+    
+    /**
+     * Get the placed piece stored in the cell
+     * @param cell The cell we want to check
+     * @return The placed piece, null is returned if there is none or it has to be found again
+     */
+    protected Piece getPlacedPiece(final int cell)
+    {
+        return placedPieces[cell];
+    }
+    
+    /**
+     * Does the cell have a placed piece that has to be found again?
+     * @param cell The cell we want to check
+     * @return true if the cell has a placed piece that isn't stored, false otherwise
+     */
+    protected boolean isUnknown(final int cell)
+    {
+        return (placedCounts[cell] > 0 && placedPieces[cell] == null);
+    }
+    
+    /**
+     * Do we have placed pieces that have to be found again?
+     * @return true if at least 1 cell is waiting for its placed piece to be found, false otherwise
+     */
+    protected boolean hasUnknown()
+    {
+        return (unknown > 0);
+    }
+    
+    /**
+     * Get the half rows that have a placed piece
+     * @param col The column we want to check
+     * @return A bit for each half row, the first bit is the top of the board
+     */
+    protected long getPlacedRows(final int col)
+    {
+        return placedRows[col];
+    }
+    
+    /**
+     * Get the half rows where the placed piece is a bottom shell.<br>
+     * This is only correct once there are no placed pieces that have to be found again
+     * @param col The column we want to check
+     * @return A bit for each half row, the first bit is the top of the board
+     */
+    protected long getBottomShells(final int col)
+    {
+        return bottomShells[col];
+    }
+    
+    /**
+     * Get the half rows that have a placed piece, including destroyed pieces and pieces part of a yoshi
+     * @param col The column we want to check
+     * @return A bit for each half row, the first bit is the top of the board
+     */
+    protected long getTopRows(final int col)
+    {
+        return topRows[col];
+    }
+    
+    /**
+     * Do we have pieces that are not in a cell?
+     * @return true if at least 1 piece is between columns or out of bounds, false otherwise
+     */
+    protected boolean hasOverflow()
+    {
+        return (overflow > 0);
+    }
+    
+    /**
+     * Get the zobrist hash of every piece.<br>
+     * The hash only depends on the type, state and location of each piece, not the order the pieces were added.
+     * @return The hash
+     */
+    protected long getHash()
+    {
+        return this.hash;
+    }
+}
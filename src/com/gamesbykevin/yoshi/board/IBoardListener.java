@@ -0,0 +1,17 @@
+package com.gamesbykevin.yoshi.board;
+
+/**
+ * Objects that want to be notified of events on a board
+ * @author GOD
+ */
+public interface IBoardListener 
+{
+    /**
+     * An event occurred on the board
+     * @param board The board where the event occurred
+     * @param event The event that occurred
+     * @param value The value of the event (count, size, etc...), 0 if the event has no value
+     * @throws Exception If there is an issue handling the event
+     */
+    public void onBoardEvent(final Board board, final BoardEvent event, final int value) throws Exception;
+}
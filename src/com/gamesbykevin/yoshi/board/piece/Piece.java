@@ -2,8 +2,11 @@ package com.gamesbykevin.yoshi.board.piece;
 
 import com.gamesbykevin.framework.util.Timers;
 
+import com.gamesbykevin.yoshi.board.Board;
 import com.gamesbykevin.yoshi.board.BoardHelper;
 import com.gamesbykevin.yoshi.entity.Entity;
+import com.gamesbykevin.yoshi.render.FrameBuilder;
+import com.gamesbykevin.yoshi.shared.Snapshot;
 
 import java.awt.Graphics;
 import java.awt.Image;
@@ -68,6 +71,12 @@ public final class Piece extends Entity
      */
     public static final UUID NO_ID = null;
     
+    //the bits for each flag in a snapshot
+    private static final int FLAG_PLACED = 1;
+    private static final int FLAG_FROZEN = 2;
+    private static final int FLAG_DESTROYED = 4;
+    private static final int FLAG_YOSHI = 8;
+    
     //the type of piece (goomba, plant, shell top, etc...)
     private final int type;
     
@@ -89,6 +98,9 @@ public final class Piece extends Entity
     //the target column, used when switching columns
     private double targetCol = 0;
     
+    //the board this piece was added to, notified when the piece changes
+    private Board board;
+    
     public Piece(final int type) throws Exception
     {
         super();
@@ -153,13 +165,81 @@ public final class Piece extends Entity
         setAnimation(ANIMATION_KEY_FALLING);
     }
     
+    /**
+     * Set the board this piece was added to.<br>
+     * The board will be notified whenever the location of the piece changes.
+     * @param board The board containing this piece, null if the piece was removed
+     */
+    public void setBoard(final Board board)
+    {
+        this.board = board;
+        
+        //the piece was placed on the board, it didn't move here
+        forgetLocation();
+    }
+    
+    /**
+     * Get the board this piece was added to
+     * @return The board containing this piece, null if not added to a board
+     */
+    public Board getBoard()
+    {
+        return this.board;
+    }
+    
+    /**
+     * Stop tracking the piece on the board before it changes
+     */
+    private void untrack()
+    {
+        if (getBoard() != null)
+            getBoard().untrack(this);
+    }
+    
+    /**
+     * Start tracking the piece on the board after it changes
+     */
+    private void track()
+    {
+        if (getBoard() != null)
+            getBoard().track(this);
+    }
+    
+    /**
+     * Set the column.<br>
+     * We will also notify the board so it can track the location.
+     * @param col The column
+     */
+    @Override
+    public void setCol(final double col)
+    {
+        untrack();
+        super.setCol(col);
+        track();
+    }
+    
+    /**
+     * Set the row.<br>
+     * We will also notify the board so it can track the location.
+     * @param row The row
+     */
+    @Override
+    public void setRow(final double row)
+    {
+        untrack();
+        super.setRow(row);
+        track();
+    }
+    
     /**
      * Set the target column
      * @param targetCol The column we want the piece to head towards (when switching columns
      */
     public void setTargetCol(final int targetCol)
     {
+        untrack();
         this.targetCol = targetCol;
+        track();
     }
     
     /**
@@ -189,11 +269,15 @@ public final class Piece extends Entity
      */
     public void markYoshi(final int size)
     {
+        untrack();
+        
         //mark as part of yoshi
         this.yoshi = true;
         
         //store the size so we will know which animation to use
         this.size = size;
+        
+        track();
     }
     
     /**
@@ -245,9 +329,13 @@ public final class Piece extends Entity
      */
     public void markDestroyed() throws Exception
     {
+        untrack();
+        
         //flag destroyed
         this.destroyed = true;
         
+        track();
+        
         //set the destroy animation
         this.setAnimation(ANIMATION_KEY_DESTROYED);
         
@@ -270,7 +358,9 @@ public final class Piece extends Entity
      */
     public void setFrozen(final boolean frozen)
     {
+        untrack();
         this.frozen = frozen;
+        track();
     }
     
     /**
@@ -288,11 +378,15 @@ public final class Piece extends Entity
      */
     public void setPlaced(final boolean placed)
     {
+        untrack();
+        
         this.placed = placed;
         
         //if placed, we also can't be frozen
         if (isPlaced())
-            setFrozen(!isPlaced());
+            this.frozen = !isPlaced();
+        
+        track();
     }
     
     /**
@@ -313,6 +407,52 @@ public final class Piece extends Entity
         return this.type;
     }
     
+    /**
+     * Write the state of the piece to the snapshot.<br>
+     * The type is not written, since it is needed to create the piece.
+     * @param snapshot Where we want to write
+     */
+    @Override
+    public void snapshot(final Snapshot snapshot)
+    {
+        //write the location and animation
+        super.snapshot(snapshot);
+        
+        snapshot.writeDouble(getTargetCol());
+        
+        //the flags are combined into 1 byte
+        snapshot.writeByte((isPlaced() ? FLAG_PLACED : 0) | (isFrozen() ? FLAG_FROZEN : 0) | 
+            (isDestroyed() ? FLAG_DESTROYED : 0) | (isYoshi() ? FLAG_YOSHI : 0));
+        snapshot.writeByte(getYoshiSize());
+    }
+    
+    /**
+     * Restore the state of the piece from the snapshot.<br>
+     * This should be done before the piece is added to a board.
+     * @param snapshot Where we want to read from
+     * @throws Exception If the snapshot has no more values
+     */
+    @Override
+    public void restore(final Snapshot snapshot) throws Exception
+    {
+        //read the location and animation
+        super.restore(snapshot);
+        
+        untrack();
+        
+        this.targetCol = snapshot.readDouble();
+        
+        final int flags = snapshot.readByte();
+        this.placed = ((flags & FLAG_PLACED) != 0);
+        this.frozen = ((flags & FLAG_FROZEN) != 0);
+        this.destroyed = ((flags & FLAG_DESTROYED) != 0);
+        this.yoshi = ((flags & FLAG_YOSHI) != 0);
+        
+        this.size = snapshot.readByte();
+        
+        track();
+    }
+    
     /**
      * Render the piece.
      * @param graphics Object used to write image for display
@@ -320,14 +460,26 @@ public final class Piece extends Entity
      * @throws Exception 
      */
     public void render(final Graphics graphics, final Image image) throws Exception
+    {
+        render(graphics, image, 1);
+    }
+    
+    /**
+     * Render the piece between the previous and current update.
+     * @param graphics Object used to write image for display
+     * @param image Image containing sprite sheet animation
+     * @param alpha How far we are from the previous update to the current, from 0 to 1
+     * @throws Exception 
+     */
+    public void render(final Graphics graphics, final Image image, final double alpha) throws Exception
     {
         //store original location
         final double x = getX();
         final double y = getY();
         
         //offset location
-        setX(x - (getWidth() / 2));
-        setY(y - (getHeight() / 2));
+        setX(getX(alpha) - (getWidth() / 2));
+        setY(getY(alpha) - (getHeight() / 2));
         
         super.draw(graphics, image);
         
@@ -335,4 +487,26 @@ public final class Piece extends Entity
         setX(x);
         setY(y);
     }
+    
+    /**
+     * Add the piece to the frame being built, the same as it is drawn
+     * @param frame The frame being built
+     * @param image Image containing sprite sheet animation
+     */
+    public void frame(final FrameBuilder frame, final Image image)
+    {
+        frame(frame, image, 1);
+    }
+    
+    /**
+     * Add the piece to the frame being built, between the previous and current update
+     * @param frame The frame being built
+     * @param image Image containing sprite sheet animation
+     * @param alpha How far we are from the previous update to the current, from 0 to 1
+     */
+    public void frame(final FrameBuilder frame, final Image image, final double alpha)
+    {
+        //the location is the center of the piece
+        frame(frame, image, getX(alpha) - (getWidth() / 2), getY(alpha) - (getHeight() / 2));
+    }
 }
\ No newline at end of file
@@ -2,8 +2,10 @@ package com.gamesbykevin.yoshi.engine;
 
 import com.gamesbykevin.yoshi.resources.Resources;
 import com.gamesbykevin.yoshi.main.Main;
+import com.gamesbykevin.yoshi.main.PhaseTimings;
 import com.gamesbykevin.yoshi.manager.Manager;
 import com.gamesbykevin.yoshi.menu.CustomMenu;
+import com.gamesbykevin.yoshi.render.FrameBuilder;
 import com.gamesbykevin.yoshi.resources.*;
 import com.gamesbykevin.yoshi.shared.Shared;
 
@@ -11,7 +13,6 @@ import com.gamesbykevin.framework.input.*;
 
 import java.awt.*;
 import java.awt.event.*;
-import java.util.Random;
 
 public final class Engine implements KeyListener, MouseMotionListener, MouseListener, IEngine 
 {
@@ -34,17 +35,23 @@ public final class Engine implements KeyListener, MouseMotionListener, MouseList
     private Manager manager;
     
     //object used to make random decisions
-    private Random random;
+    private GameRandom random;
     
     //default font
     private Font font;
     
     //seed for the Random object
-    private final long seed = System.nanoTime();
+    private long seed;
+    
+    //the time that passes each update when we don't have a Main object (nano seconds)
+    private final long time;
     
     //the game font size
     public static final float GAME_FONT_SIZE = 14f;
     
+    //the key that displays how long each phase of the game loop takes
+    private static final int KEY_TIMINGS = KeyEvent.VK_F12;
+    
     /**
      * The Engine that contains the game/menu objects
      * 
@@ -56,6 +63,12 @@ public final class Engine implements KeyListener, MouseMotionListener, MouseList
         //reference to parent class
         this.main = main;
         
+        //the seed will be different every game
+        this.seed = System.nanoTime();
+        
+        //the time will come from our Main object
+        this.time = 0;
+        
         //object used to track mouse input
         this.mouse = new Mouse();
         
@@ -63,13 +76,40 @@ public final class Engine implements KeyListener, MouseMotionListener, MouseList
         this.keyboard = new Keyboard();
         
         //create new Random object
-        random = new Random(seed);
+        random = new GameRandom(seed);
         
         //display seed if debugging
         if (Shared.DEBUG)
             System.out.println("Seed = " + seed);
     }
     
+    /**
+     * Create a headless Engine without a window, menu or resources.<br>
+     * This is used to simulate games as fast as possible, where each update is a fixed amount of time.
+     * @param seed The seed for the Random object so the game can be repeated
+     * @param time The amount of time that passes each update (nano seconds)
+     */
+    public Engine(final long seed, final long time)
+    {
+        //there is no window
+        this.main = null;
+        
+        //store the seed
+        this.seed = seed;
+        
+        //store the time per update
+        this.time = time;
+        
+        //object used to track mouse input
+        this.mouse = new Mouse();
+        
+        //object used to track keyboard input
+        this.keyboard = new Keyboard();
+        
+        //create new Random object
+        random = new GameRandom(seed);
+    }
+    
     /**
      * Proper house-keeping
      */
@@ -119,6 +159,19 @@ public final class Engine implements KeyListener, MouseMotionListener, MouseList
     @Override
     public void update(Main main) throws Exception
     {
+        //keep track of how long each phase of the update takes
+        final PhaseTimings timings = main.getTimings();
+        
+        //display the times on demand, if we are debugging
+        if (Shared.DEBUG && getKeyboard().hasKeyReleased(KEY_TIMINGS))
+        {
+            getKeyboard().removeKeyReleased(KEY_TIMINGS);
+            System.out.println(main.getTimingsDesc());
+        }
+        
+        //the start of the current phase
+        long start = System.nanoTime();
+        
         if (getMenu() == null)
         {
             //create new menu
@@ -126,6 +179,8 @@ public final class Engine implements KeyListener, MouseMotionListener, MouseList
 
             //reset mouse and keyboard input
             resetInput();
+            
+            timings.mark(PhaseTimings.PHASE_MENU, start);
         }
         else
         {
@@ -138,6 +193,8 @@ public final class Engine implements KeyListener, MouseMotionListener, MouseList
 
             //update the menu
             getMenu().update(this);
+            
+            start = timings.mark(PhaseTimings.PHASE_MENU, start);
 
             //if the menu is finished and the window has focus
             if (getMenu().hasFinished() && getMenu().hasFocus())
@@ -151,6 +208,8 @@ public final class Engine implements KeyListener, MouseMotionListener, MouseList
                 {
                     //load resources
                     getResources().update(main.getContainerClass());
+                    
+                    timings.mark(PhaseTimings.PHASE_RESOURCES, start);
                 }
                 else
                 {
@@ -167,6 +226,8 @@ public final class Engine implements KeyListener, MouseMotionListener, MouseList
 
                     //update main game logic
                     getManager().update(this);
+                    
+                    timings.mark(PhaseTimings.PHASE_MANAGER, start);
                 }
             }
 
@@ -205,6 +266,14 @@ public final class Engine implements KeyListener, MouseMotionListener, MouseList
         //reset mouse and keyboard input
         resetInput();
         
+        //each game gets a new seed, so every game can be repeated from its seed
+        this.seed = System.nanoTime();
+        this.random.setSeed(seed);
+        
+        //display seed if debugging
+        if (Shared.DEBUG)
+            System.out.println("Seed = " + seed);
+        
         //if our resources object exists, stop any existing sound from playing
         if (getResources() != null)
             this.resources.stopAllSound();
@@ -277,6 +346,27 @@ public final class Engine implements KeyListener, MouseMotionListener, MouseList
         }
     }
     
+    /**
+     * Add our game to the frame being built, so it can be drawn by another thread.<br>
+     * Only the game can be added, the menu, mouse and loading screen have to be drawn with render.
+     * @param frame The frame being built
+     * @return true if the game was added, false if the frame has to be drawn with render
+     */
+    public boolean frame(final FrameBuilder frame)
+    {
+        //the menu is visible, or the mouse is drawn
+        if (getMenu() == null || !getMenu().hasFinished() || !Shared.HIDE_MOUSE)
+            return false;
+        
+        //the resources are still loading, or the game hasn't started
+        if (getResources() == null || getResources().isLoading() || getManager() == null)
+            return false;
+        
+        getManager().frame(frame);
+        
+        return true;
+    }
+    
     /**
      * Draw the Game Menu
      * 
@@ -302,11 +392,20 @@ public final class Engine implements KeyListener, MouseMotionListener, MouseList
         return main;
     }
     
+    /**
+     * Get the amount of time that passes each update
+     * @return The time from our Main object, or the fixed time if we are headless (nano seconds)
+     */
+    public long getTime()
+    {
+        return (getMain() != null) ? getMain().getTime() : this.time;
+    }
+    
     /**
      * Get our object used to make random decisions
-     * @return Random
+     * @return Random object whose state can be saved and restored
      */
-    public Random getRandom()
+    public GameRandom getRandom()
     {
         return this.random;
     }
@@ -329,6 +428,16 @@ public final class Engine implements KeyListener, MouseMotionListener, MouseList
         return this.manager;
     }
     
+    /**
+     * Set where the pieces are drawn between the previous and current update
+     * @param alpha How far we are from the previous update to the current, from 0 to 1
+     */
+    public void setAlpha(final double alpha)
+    {
+        if (getManager() != null && getManager().getPlayers() != null)
+            getManager().getPlayers().setAlpha(alpha);
+    }
+    
     public CustomMenu getMenu()
     {
         return this.menu;
@@ -0,0 +1,68 @@
+package com.gamesbykevin.yoshi.engine;
+
+import java.util.Random;
+
+/**
+ * A Random object whose state can be saved and restored.<br>
+ * The numbers are generated the same way as Random, so the same seed will create the same numbers.
+ * @author GOD
+ */
+public final class GameRandom extends Random
+{
+    private static final long serialVersionUID = 1L;
+    
+    //the values used by Random to generate the next number
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+    
+    //the current state of the generator
+    private long state;
+    
+    /**
+     * Create a new Random object
+     * @param seed The seed so the numbers can be repeated
+     */
+    public GameRandom(final long seed)
+    {
+        super(seed);
+        
+        //set the state here as well, since not every version of Random calls setSeed when created
+        this.state = (seed ^ MULTIPLIER) & MASK;
+    }
+    
+    @Override
+    public synchronized void setSeed(final long seed)
+    {
+        super.setSeed(seed);
+        
+        //scramble the seed the same as Random
+        this.state = (seed ^ MULTIPLIER) & MASK;
+    }
+    
+    @Override
+    protected int next(final int bits)
+    {
+        state = ((state * MULTIPLIER) + ADDEND) & MASK;
+        
+        return (int)(state >>> (48 - bits));
+    }
+    
+    /**
+     * Get the current state
+     * @return The state of the generator, used to continue from this point later
+     */
+    public synchronized long getState()
+    {
+        return this.state;
+    }
+    
+    /**
+     * Continue generating numbers from a previous state
+     * @param state The state of the generator
+     */
+    public synchronized void setState(final long state)
+    {
+        this.state = state;
+    }
+}
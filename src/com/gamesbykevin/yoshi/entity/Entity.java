@@ -3,6 +3,14 @@ package com.gamesbykevin.yoshi.entity;
 import com.gamesbykevin.framework.base.Animation;
 import com.gamesbykevin.framework.base.Sprite;
 
+import com.gamesbykevin.yoshi.render.FrameBuilder;
+import com.gamesbykevin.yoshi.shared.Snapshot;
+
+import java.awt.Image;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Every object in the game is an entity
  * @author GOD
@@ -19,6 +27,20 @@ public abstract class Entity extends Sprite
      */
     public static final int NO_COUNT = 0;
     
+    //the frame of the current animation and the time (nano-seconds) spent in that frame
+    private int frame = 0;
+    private long elapsed = 0;
+    
+    //the keys of each animation in the order they were added
+    private final List<Object> keys = new ArrayList<>();
+    
+    //the delay of each frame (nano-seconds) of each animation in the order they were added
+    private final List<long[]> delays = new ArrayList<>();
+    
+    //the location at the start of the current update, NaN if not kept
+    private double previousX = Double.NaN;
+    private double previousY = Double.NaN;
+    
     protected Entity()
     {
         super.createSpriteSheet();
@@ -31,6 +53,10 @@ public abstract class Entity extends Sprite
     public void resetAnimation() throws Exception
     {
         super.getSpriteSheet().reset();
+        
+        //start at the first frame again
+        this.frame = 0;
+        this.elapsed = 0;
     }
     
     /**
@@ -42,6 +68,10 @@ public abstract class Entity extends Sprite
     {
         super.getSpriteSheet().setCurrent(key);
         
+        //start at the first frame of this animation
+        this.frame = 0;
+        this.elapsed = 0;
+        
         //make sure we adjust the dimensions to a default
         adjustDimensions();
     }
@@ -61,7 +91,158 @@ public abstract class Entity extends Sprite
      */
     public void updateAnimation(final long time) throws Exception
     {
+        //only track the updates that can change the animation
+        if (hasAnimationFinished())
+        {
+            super.getSpriteSheet().update(time);
+            return;
+        }
+        
+        final Rectangle location = super.getSpriteSheet().getLocation();
+        
         super.getSpriteSheet().update(time);
+        
+        //if the frame changed the time starts over in the next frame
+        if (!location.equals(super.getSpriteSheet().getLocation()))
+        {
+            this.frame = (frame + 1) % getDelays().length;
+            this.elapsed = 0;
+        }
+        else
+        {
+            this.elapsed += time;
+        }
+    }
+    
+    /**
+     * Get the delay of each frame of the current animation
+     * @return The delay of each frame (nano-seconds)
+     */
+    private long[] getDelays()
+    {
+        return delays.get(keys.indexOf(getSpriteSheet().getCurrent()));
+    }
+    
+    /**
+     * Keep the current location as the previous location.<br>
+     * This is done at the start of each update, so the entity can be drawn between the previous and current location.
+     */
+    public void keepLocation()
+    {
+        this.previousX = getX();
+        this.previousY = getY();
+    }
+    
+    /**
+     * Forget the previous location, so the entity is drawn at the current location until the next update.<br>
+     * This is done when the entity is placed somewhere instead of moving there.
+     */
+    public void forgetLocation()
+    {
+        this.previousX = Double.NaN;
+        this.previousY = Double.NaN;
+    }
+    
+    /**
+     * Get the x-coordinate between the previous and current location
+     * @param alpha How far we are from the previous update to the current, from 0 to 1
+     * @return The x-coordinate where the entity is drawn
+     */
+    public double getX(final double alpha)
+    {
+        return interpolate(previousX, getX(), alpha);
+    }
+    
+    /**
+     * Get the y-coordinate between the previous and current location
+     * @param alpha How far we are from the previous update to the current, from 0 to 1
+     * @return The y-coordinate where the entity is drawn
+     */
+    public double getY(final double alpha)
+    {
+        return interpolate(previousY, getY(), alpha);
+    }
+    
+    /**
+     * Get the value between the previous and current value
+     * @param previous The previous value, NaN if not kept
+     * @param current The current value
+     * @param alpha How far we are from the previous value to the current, from 0 to 1
+     * @return The value between, or the current value if we are at the current update or there is no previous value
+     */
+    private static double interpolate(final double previous, final double current, final double alpha)
+    {
+        if (alpha >= 1 || Double.isNaN(previous))
+            return current;
+        
+        return previous + ((current - previous) * alpha);
+    }
+    
+    /**
+     * Write the location and animation to the snapshot
+     * @param snapshot Where we want to write
+     */
+    protected void snapshot(final Snapshot snapshot)
+    {
+        snapshot.writeDouble(getCol());
+        snapshot.writeDouble(getRow());
+        snapshot.writeDouble(getX());
+        snapshot.writeDouble(getY());
+        
+        //the animation is written as the order it was added, the current frame and the time spent in that frame
+        snapshot.writeByte(keys.indexOf(getSpriteSheet().getCurrent()));
+        snapshot.writeByte(frame);
+        snapshot.writeLong(elapsed);
+        snapshot.writeBoolean(getSpriteSheet().hasFinished());
+    }
+    
+    /**
+     * Restore the location and animation from the snapshot
+     * @param snapshot Where we want to read from
+     * @throws Exception If the snapshot has no more values
+     */
+    protected void restore(final Snapshot snapshot) throws Exception
+    {
+        setCol(snapshot.readDouble());
+        setRow(snapshot.readDouble());
+        setX(snapshot.readDouble());
+        setY(snapshot.readDouble());
+        
+        //the entity didn't move here
+        forgetLocation();
+        
+        //start the animation over
+        setAnimation(keys.get(snapshot.readByte()));
+        resetAnimation();
+        
+        final int index = snapshot.readByte();
+        final long time = snapshot.readLong();
+        
+        //move to the frame, a single update of each frame's delay so the cost doesn't grow with how long it ran
+        for (int i = 0; i < index; i++)
+        {
+            updateAnimation(getDelays()[i]);
+        }
+        
+        //then spend the same time in that frame
+        if (time > 0)
+            updateAnimation(time);
+        
+        //an animation can also be flagged finished without updating
+        if (snapshot.readBoolean())
+            getSpriteSheet().getSpriteSheetAnimation().setFinished(true);
+    }
+    
+    /**
+     * Add the current animation frame to the frame being built
+     * @param frame The frame being built
+     * @param image Image containing sprite sheet animation
+     * @param x x-coordinate where the animation is drawn
+     * @param y y-coordinate where the animation is drawn
+     */
+    protected void frame(final FrameBuilder frame, final Image image, final double x, final double y)
+    {
+        frame.addSprite(image, getSpriteSheet().getLocation(), x, y, getWidth(), getHeight());
     }
     
     /**
@@ -106,17 +287,22 @@ public abstract class Entity extends Sprite
         //single animation
         Animation animation = null;
         
+        //the delay of each frame
+        final long[] frameDelays = new long[count];
+        
         //add all the animations
         for (int i=0; i < count; i++)
         {
+            //set correct delay depending on the index
+            frameDelays[i] = (i < count - 1) ? delay : lastDelay;
+            
             if (animation == null)
             {
-                animation = new Animation(x + (i * w), y, w, h, (i < count - 1) ? delay : lastDelay);
+                animation = new Animation(x + (i * w), y, w, h, frameDelays[i]);
             }
             else
             {
-                //set correct delay depending on the index
-                animation.add(x + (i * w), y, w, h, (i < count - 1) ? delay : lastDelay);
+                animation.add(x + (i * w), y, w, h, frameDelays[i]);
             }
         }
         
@@ -126,6 +312,10 @@ public abstract class Entity extends Sprite
         //add animation to spritesheet
         super.getSpriteSheet().add(animation, key);
         
+        //keep track of the order added and the delay of each frame
+        keys.add(key);
+        delays.add(frameDelays);
+        
         //if no current animation set, set this as a default
         if (getSpriteSheet().getCurrent() == null)
             setAnimation(key);
@@ -0,0 +1,94 @@
+package com.gamesbykevin.yoshi.main;
+
+/**
+ * Keep track of the real time that has passed but has not been simulated yet.<br>
+ * Each update simulates a fixed amount of time, so the number of updates depends on how much real time has passed.<br>
+ * If too much time has passed (the game was paused by the system or rendering is very slow), only so many updates are allowed to catch up and the rest of the time is dropped.
+ * @author GOD
+ */
+public final class Accumulator
+{
+    /**
+     * The default maximum number of updates to catch up at once
+     */
+    public static final int DEFAULT_UPDATES_MAX = 5;
+    
+    //the amount of time each update (nanoseconds)
+    private final double step;
+    
+    //the maximum number of updates to catch up at once
+    private final int updatesMax;
+    
+    //the real time not yet simulated (nanoseconds)
+    private double time = 0;
+    
+    //the real time dropped because we couldn't catch up (nanoseconds)
+    private long dropped = 0;
+    
+    /**
+     * Create the accumulator
+     * @param step The amount of time each update (nanoseconds)
+     * @param updatesMax The maximum number of updates to catch up at once
+     */
+    public Accumulator(final double step, final int updatesMax)
+    {
+        this.step = step;
+        this.updatesMax = (updatesMax < 1) ? 1 : updatesMax;
+    }
+    
+    /**
+     * Add the real time that has passed
+     * @param elapsed The time passed since the previous call (nanoseconds)
+     * @return The number of updates we need to run to catch up with the real time
+     */
+    public int add(final long elapsed)
+    {
+        //the clock can't go backwards
+        if (elapsed > 0)
+            time += elapsed;
+        
+        int updates = (int)(time / step);
+        
+        //if we are too far behind, drop the time we can't catch up
+        if (updates > updatesMax)
+        {
+            final double limit = updatesMax * step;
+            
+            dropped += (long)(time - limit - (time % step));
+            time = limit + (time % step);
+            updates = updatesMax;
+        }
+        
+        //the updates will be run, so the time is now simulated
+        time -= updates * step;
+        
+        return updates;
+    }
+    
+    /**
+     * Get the time until the next update is needed
+     * @return The time (nanoseconds) until another update is needed
+     */
+    public double getRemaining()
+    {
+        return step - time;
+    }
+    
+    /**
+     * Get how far we are to the next update
+     * @return The ratio of time not yet simulated to the time of each update, from 0 to 1
+     */
+    public double getAlpha()
+    {
+        return time / step;
+    }
+    
+    /**
+     * Get the real time dropped
+     * @return The total time (nanoseconds) that was never simulated because we couldn't catch up
+     */
+    public long getDropped()
+    {
+        return this.dropped;
+    }
+}
\ No newline at end of file
@@ -6,8 +6,14 @@ import javax.swing.*;
 import com.gamesbykevin.framework.resources.Disposable;
 
 import com.gamesbykevin.yoshi.engine.Engine;
+import com.gamesbykevin.yoshi.render.Frame;
+import com.gamesbykevin.yoshi.render.FrameBuffer;
+import com.gamesbykevin.yoshi.render.FrameBuilder;
+import com.gamesbykevin.yoshi.render.Renderer;
 import com.gamesbykevin.yoshi.shared.Shared;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+
 public final class Main extends Thread implements Disposable
 {
     //image where all game/menu elements will be written to
@@ -22,15 +28,15 @@ public final class Main extends Thread implements Disposable
     //our dimensions for the full screen window
     private Rectangle fullSizeWindow;
     
-    //our dimensions for keeping track of the size of the current window
+    //our dimensions for keeping track of the size of the current window, only used by the thread that draws the screen
     private Rectangle currentWindow;
     
+    //has full screen been switched on/off since the screen was last drawn
+    private volatile boolean windowChanged = true;
+    
     //our main game engine
     private Engine engine;
     
-    //how many nanoseconds are there in one millisecond
-    private static final double NANO_SECONDS_PER_MILLISECOND = 1000000.0;
-    
     //how many nanoseconds are there in one second
     private static final double NANO_SECONDS_PER_SECOND = 1000000000.0;
     
@@ -48,12 +54,45 @@ public final class Main extends Thread implements Disposable
     //reference to our panel
     private JPanel panel;
     
-    //cache this graphics object so we aren't constantly creating it
+    //cache this graphics object so we aren't constantly creating it, only used by the thread that draws the screen
     private Graphics graphics;
     
     //is the thread active
     private boolean active = true;
     
+    //the real time not yet simulated, null if we update once per render
+    private Accumulator accumulator;
+    
+    //waits for the time remaining each loop
+    private Pacer pacer;
+    
+    //how long each phase of the game loop takes
+    private PhaseTimings timings;
+    
+    //how long the render thread takes to draw, only the render thread adds to these while holding the lock
+    private PhaseTimings renderTimings;
+    
+    //how many frames per second we draw between updates, 0 if we draw once per update
+    private int frameRate = 0;
+    
+    //the time between frames drawn between updates (nanoseconds)
+    private double nanoSecondsPerFrame = 0;
+    
+    //do we draw on a separate thread
+    private boolean renderThread = false;
+    
+    //the number of images the menu and loading screen are drawn to when drawing on a separate thread
+    private static final int FRAME_IMAGES = 3;
+    
+    //the objects used to draw on a separate thread (if set)
+    private Renderer renderer;
+    private FrameBuffer frameBuffer;
+    private FrameBuilder frameBuilder;
+    
+    //the images the menu and loading screen are drawn to, and if each is used by a frame
+    private Image[] frameImages;
+    private AtomicBoolean[] frameLeases;
+    
     public Main(final int ups, final JApplet applet)
     {
         this(ups);
@@ -84,6 +123,138 @@ public final class Main extends Thread implements Disposable
 
         //duration of each update in nanoseconds
         this.nanoSecondsPerUpdate = NANO_SECONDS_PER_SECOND / ups;
+        
+        //do we keep game time the same as real time
+        setFixedTimestep(Shared.FIXED_TIMESTEP);
+        
+        //how often do we draw between updates
+        setFrameRate(Shared.FRAME_RATE);
+        
+        //how do we wait for the next loop
+        setPacer(Shared.PRECISE_PACING ? new ParkPacer(ParkPacer.DEFAULT_SPIN) : new SleepPacer());
+        
+        //do we draw on a separate thread
+        setRenderThread(Shared.RENDER_THREAD);
+    }
+    
+    /**
+     * Set how we wait for the time remaining each loop.<br>
+     * This needs to be set before the thread is started.
+     * @param pacer The pacer used to wait
+     */
+    public final void setPacer(final Pacer pacer)
+    {
+        this.pacer = pacer;
+    }
+    
+    /**
+     * Get how we wait for the time remaining each loop
+     * @return The pacer, which also measures how precise each wait is
+     */
+    public Pacer getPacer()
+    {
+        return this.pacer;
+    }
+    
+    /**
+     * Get how long each phase of the game loop takes.<br>
+     * With a render thread, render is the time to build the frame, the time the render thread takes to draw it is kept separately.<br>
+     * This should only be used by the game thread.
+     * @return The times of each phase, null if not created yet
+     */
+    public PhaseTimings getTimings()
+    {
+        return this.timings;
+    }
+    
+    /**
+     * Get a description of how long each phase of the game loop takes.<br>
+     * With a render thread, the time the render thread takes to draw is combined with the times of the game thread.
+     * @return A line for each phase with the count, min, average, median, 99th percentile and max time (microseconds)
+     * @throws Exception If the times can't be combined
+     */
+    public String getTimingsDesc() throws Exception
+    {
+        final PhaseTimings combined = new PhaseTimings();
+        combined.add(timings);
+        
+        synchronized (renderTimings)
+        {
+            combined.add(renderTimings);
+        }
+        
+        return combined.getDesc();
+    }
+    
+    /**
+     * Set how many frames per second we draw.<br>
+     * With a fixed timestep we can draw more often than we update, and the pieces are drawn between where they were and where they are.<br>
+     * This way the updates per second can be lowered while the display stays smooth.
+     * @param frameRate The frames per second, 0 to draw once per update
+     */
+    public final void setFrameRate(final int frameRate)
+    {
+        this.frameRate = (frameRate < 0) ? 0 : frameRate;
+        this.nanoSecondsPerFrame = (this.frameRate > 0) ? NANO_SECONDS_PER_SECOND / this.frameRate : 0;
+    }
+    
+    /**
+     * Get how many frames per second we draw
+     * @return The frames per second, 0 if we draw once per update
+     */
+    public int getFrameRate()
+    {
+        return this.frameRate;
+    }
+    
+    /**
+     * Do we draw between updates?
+     * @return true if we have a fixed timestep and a frame rate, false otherwise
+     */
+    public boolean hasInterpolation()
+    {
+        return (hasFixedTimestep() && getFrameRate() > 0);
+    }
+    
+    /**
+     * Set where the game is drawn.<br>
+     * With a render thread the game publishes a frame each loop, and a separate thread draws the newest frame.<br>
+     * This needs to be set before the thread is started.
+     * @param renderThread true to draw on a separate thread, false to draw after each update
+     */
+    public final void setRenderThread(final boolean renderThread)
+    {
+        this.renderThread = renderThread;
+    }
+    
+    /**
+     * Do we draw on a separate thread?
+     * @return true if a separate thread draws the frames published by the game, false otherwise
+     */
+    public boolean hasRenderThread()
+    {
+        return this.renderThread;
+    }
+    
+    /**
+     * Set how the game is updated.<br>
+     * With a fixed timestep we run as many updates as the real time passed requires, then render once.<br>
+     * Otherwise we update and render once, then sleep for the remainder, so slow rendering slows the game.<br>
+     * This needs to be set before the thread is started.
+     * @param fixedTimestep true to keep game time the same as real time, false to update once per render
+     */
+    public final void setFixedTimestep(final boolean fixedTimestep)
+    {
+        this.accumulator = (fixedTimestep) ? new Accumulator(nanoSecondsPerUpdate, Accumulator.DEFAULT_UPDATES_MAX) : null;
+    }
+    
+    /**
+     * Do we have a fixed timestep?
+     * @return true if the number of updates depends on the real time passed, false if we update once per render
+     */
+    public boolean hasFixedTimestep()
+    {
+        return (accumulator != null);
     }
     
     /**
@@ -110,6 +281,17 @@ public final class Main extends Thread implements Disposable
             graphics = null;
         }
         
+        if (frameImages != null)
+        {
+            for (int i = 0; i < frameImages.length; i++)
+            {
+                if (frameImages[i] != null)
+                    frameImages[i].flush();
+            }
+            
+            frameImages = null;
+        }
+        
         if (engine != null)
         {
             engine.dispose();
@@ -137,6 +319,10 @@ public final class Main extends Thread implements Disposable
      */
     public void create() throws Exception
     {
+        //keep track of how long each phase takes before we start updating
+        timings = new PhaseTimings();
+        renderTimings = new PhaseTimings();
+        
         engine = new Engine(this);
         
         //now that engine is created apply listeners so we can detect key/mouse input
@@ -160,12 +346,20 @@ public final class Main extends Thread implements Disposable
     @Override
     public void run()
     {
-        //keep track of the number of updates
+        //keep track of the number of updates and renders
         int updates = 0;
+        int frames = 0;
         
         //store the time to track ups (updates per second)
         long previous = System.nanoTime();
         
+        //the time of the previous loop, start with 1 update due so we update before the first render
+        long last = previous - (long)nanoSecondsPerUpdate;
+        
+        //start drawing on a separate thread
+        if (renderThread)
+            startRenderer();
+        
         while (active)
         {
             try
@@ -173,20 +367,61 @@ public final class Main extends Thread implements Disposable
                 //get the current time
                 final long before = System.nanoTime();
                 
-                //update game
-                engine.update(this);
+                if (accumulator != null)
+                {
+                    //run as many updates as the real time passed requires
+                    final int count = accumulator.add(before - last);
+                    
+                    for (int i = 0; i < count; i++)
+                    {
+                        engine.update(this);
+                    }
+                    
+                    updates += count;
+                }
+                else
+                {
+                    //update game
+                    engine.update(this);
+                    
+                    //keep track of the number of updates
+                    updates++;
+                }
+                
+                last = before;
+                
+                //draw the pieces between the previous and current update
+                if (hasInterpolation())
+                    engine.setAlpha(accumulator.getAlpha());
                 
-                //render image
-                renderImage();
+                //the start of the current phase
+                long start = System.nanoTime();
+                
+                if (renderer != null)
+                {
+                    //let the render thread draw the game
+                    publishFrame();
+                    
+                    timings.mark(PhaseTimings.PHASE_RENDER, start);
+                }
+                else
+                {
+                    //render image
+                    renderImage();
+                    
+                    start = timings.mark(PhaseTimings.PHASE_RENDER, start);
 
-                //draw image
-                drawScreen();
+                    //draw image
+                    drawScreen();
+                    
+                    timings.mark(PhaseTimings.PHASE_DRAW, start);
+                }
                 
-                //keep track of the number of updates
-                updates++;
+                //keep track of the number of renders
+                frames++;
                 
                 //get the time after processing complete
-                final long after = System.nanoTime();
+                final long after = timings.mark(PhaseTimings.PHASE_LOOP, before);
                 
                 //if we are debugging
                 if (Shared.DEBUG)
@@ -195,10 +430,15 @@ public final class Main extends Thread implements Disposable
                     if (after - previous >= NANO_SECONDS_PER_SECOND)
                     {
                         //display updates per second
-                        System.out.println("UPS = " + updates);
+                        System.out.println("UPS = " + updates + ", FPS = " + frames + ", Jitter = " + 
+                            (pacer.getJitterAverage() / 1000) + " us (max " + (pacer.getJitterMax() / 1000) + " us)");
+                        
+                        //measure the jitter again
+                        pacer.reset();
 
                         //reset count
                         updates = 0;
+                        frames = 0;
 
                         //update the previous time with the current
                         previous = after;
@@ -208,21 +448,17 @@ public final class Main extends Thread implements Disposable
                 //get the time passed for this update (in nanoseconds)
                 final long passed = (after - before);
                 
-                //get the extra leftover time
-                double remaining = nanoSecondsPerUpdate - passed;
-                
-                //the time remaining can't be negative
-                if (remaining < 0)
-                    remaining = 0;
+                //get the extra leftover time, with a fixed timestep we wait until the next update is due
+                double remaining = ((accumulator != null) ? accumulator.getRemaining() : nanoSecondsPerUpdate);
                 
-                //get the milliseconds to sleep
-                long millis = (long)(remaining / NANO_SECONDS_PER_MILLISECOND);
+                //if we draw between updates, we wait until the next frame is due
+                if (hasInterpolation() && remaining > nanoSecondsPerFrame)
+                    remaining = nanoSecondsPerFrame;
                 
-                //take the remainder to get the nanoseconds
-                int nanos = (int)(((remaining / NANO_SECONDS_PER_MILLISECOND) - (double)millis) * NANO_SECONDS_PER_MILLISECOND);
+                remaining -= passed;
                 
-                //sleep thread for the specified amount so each second maintains the same number of updates
-                Thread.sleep(millis, nanos);
+                //wait the time remaining so each second maintains the same number of updates
+                pacer.pace((long)remaining);
             }
             catch(Exception e)
             {
@@ -233,6 +469,137 @@ public final class Main extends Thread implements Disposable
                 active = false;
             }
         }
+        
+        //stop drawing on the separate thread
+        stopRenderer();
+    }
+    
+    /**
+     * Create and start the render thread
+     */
+    private void startRenderer()
+    {
+        this.frameBuffer = new FrameBuffer();
+        this.frameBuilder = new FrameBuilder();
+        this.frameImages = new Image[FRAME_IMAGES];
+        this.frameLeases = new AtomicBoolean[FRAME_IMAGES];
+        
+        for (int i = 0; i < FRAME_IMAGES; i++)
+        {
+            frameLeases[i] = new AtomicBoolean(false);
+        }
+        
+        this.renderer = new Renderer(this, frameBuffer, (long)nanoSecondsPerUpdate);
+        this.renderer.start();
+    }
+    
+    /**
+     * Stop the render thread and wait for it to finish
+     */
+    private void stopRenderer()
+    {
+        if (renderer == null)
+            return;
+        
+        renderer.setActive(false);
+        
+        try
+        {
+            renderer.join();
+        }
+        catch (InterruptedException e)
+        {
+            e.printStackTrace();
+        }
+        
+        renderer = null;
+    }
+    
+    /**
+     * Build a frame of the game and publish it to the render thread.<br>
+     * The menu and loading screen can't be built into a frame, so they are drawn to an image the frame will borrow.
+     * @throws Exception 
+     */
+    private void publishFrame() throws Exception
+    {
+        frameBuilder.clear();
+        
+        if (!engine.frame(frameBuilder))
+        {
+            //find an image that isn't used by a frame
+            int index = -1;
+            
+            for (int i = 0; i < FRAME_IMAGES; i++)
+            {
+                if (frameLeases[i].compareAndSet(false, true))
+                {
+                    index = i;
+                    break;
+                }
+            }
+            
+            //every image is in use, try again next loop
+            if (index < 0)
+                return;
+            
+            if (frameImages[index] == null)
+                frameImages[index] = createImage();
+            
+            //the window may not be ready yet
+            if (frameImages[index] == null)
+            {
+                frameLeases[index].set(false);
+                return;
+            }
+            
+            //draw the menu and loading screen the same as without a render thread
+            final Graphics tmp = frameImages[index].getGraphics();
+            tmp.setColor(Color.BLACK);
+            tmp.fillRect(0, 0, Shared.ORIGINAL_WIDTH, Shared.ORIGINAL_HEIGHT);
+            engine.render(tmp);
+            tmp.dispose();
+            
+            frameBuilder.addImage(frameImages[index], 0, 0);
+            frameBuilder.setLease(frameLeases[index]);
+        }
+        
+        frameBuffer.publish(frameBuilder.build());
+        renderer.wake();
+    }
+    
+    /**
+     * Draw the frame onto the screen.<br>
+     * This is called by the render thread.
+     * @param frame The frame we want to draw
+     */
+    public void drawFrame(final Frame frame)
+    {
+        if (bufferedImage != null)
+        {
+            if (bufferedImageGraphics == null)
+                bufferedImageGraphics = bufferedImage.getGraphics();
+            
+            final long start = System.nanoTime();
+            
+            //background by itself will be a black rectangle
+            bufferedImageGraphics.setColor(Color.BLACK);
+            bufferedImageGraphics.fillRect(0, 0, Shared.ORIGINAL_WIDTH, Shared.ORIGINAL_HEIGHT);
+            
+            frame.draw(bufferedImageGraphics);
+            
+            drawScreen();
+            
+            //the game thread reads these when displaying the times
+            synchronized (renderTimings)
+            {
+                renderTimings.mark(PhaseTimings.PHASE_DRAW, start);
+            }
+        }
+        else
+        {
+            //create the image that will be displayed to the user
+            createBufferedImage();
+        }
     }
     
     /**
@@ -270,14 +637,23 @@ public final class Main extends Thread implements Disposable
      * Create buffered Image
      */
     private void createBufferedImage()
+    {
+        bufferedImage = createImage();
+    }
+    
+    /**
+     * Create an image the size of the original window
+     * @return The image, null if the container can't create images yet
+     */
+    private Image createImage()
     {
         if (applet != null)
         {
-            bufferedImage = applet.createImage(originalSizeWindow.width, originalSizeWindow.height);
+            return applet.createImage(originalSizeWindow.width, originalSizeWindow.height);
         }
         else
         {
-            bufferedImage = panel.createImage(originalSizeWindow.width, originalSizeWindow.height);
+            return panel.createImage(originalSizeWindow.width, originalSizeWindow.height);
         }
     }
     
@@ -291,10 +667,23 @@ public final class Main extends Thread implements Disposable
     }
     
     /**
-     * This method will be called whenever the user turns full-screen on/off
+     * This method will be called whenever the user turns full-screen on/off.<br>
+     * The window is updated the next time the screen is drawn, by the thread that draws it.
      */
     public void setFullScreen()
     {
+        windowChanged = true;
+    }
+    
+    /**
+     * Update the size of the current window.<br>
+     * This is only called by the thread that draws the screen.
+     */
+    private void updateWindow()
+    {
+        //clear first so a change made while we update isn't lost
+        windowChanged = false;
+        
         if (applet != null)
         {
             fullSizeWindow = new Rectangle(0, 0, applet.getWidth(), applet.getHeight());
@@ -385,21 +774,29 @@ public final class Main extends Thread implements Disposable
         if (bufferedImage == null)
             return;
         
+        //make sure current window dimensions are set and any full screen change is applied
+        if (windowChanged || currentWindow == null)
+            updateWindow();
+        
         //cache graphics object to save resources
         if (graphics == null)
             createGraphicsObject();
         
-        //make sure current window dimensions are set
-        if (currentWindow == null)
-            setFullScreen();
+        //read the window and graphics once for this draw
+        final Rectangle window = currentWindow;
+        final Graphics tmp = graphics;
+        
+        //the container may not be displayable yet
+        if (tmp == null)
+            return;
         
         try
         {
             //the destination will be the size of the window
-            int dx1 = currentWindow.x;
-            int dy1 = currentWindow.y;
-            int dx2 = currentWindow.x + currentWindow.width;
-            int dy2 = currentWindow.y + currentWindow.height;
+            int dx1 = window.x;
+            int dy1 = window.y;
+            int dx2 = window.x + window.width;
+            int dy2 = window.y + window.height;
 
             //the source will be the entire image
             int sx1 = 0;
@@ -408,7 +805,7 @@ public final class Main extends Thread implements Disposable
             int sy2 = bufferedImage.getHeight(null);
             
             //draw our rendered image at the specified location
-            graphics.drawImage(bufferedImage, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2, null);
+            tmp.drawImage(bufferedImage, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2, null);
         }
         catch(Exception e)
         {
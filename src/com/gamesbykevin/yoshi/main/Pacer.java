@@ -0,0 +1,85 @@
+package com.gamesbykevin.yoshi.main;
+
+/**
+ * Wait for the time remaining until the next loop of the game is due.<br>
+ * Each wait is measured against when it should have ended, so we know how precise the pacer is.
+ * @author GOD
+ */
+public abstract class Pacer
+{
+    //the number of waits measured
+    private long count = 0;
+    
+    //the total and largest difference between when each wait should have ended and when it did (nanoseconds)
+    private long total = 0;
+    private long max = 0;
+    
+    /**
+     * Wait the amount of time, and measure how far from the time we woke up
+     * @param nanos The time to wait (nanoseconds), nothing is waited or measured if not positive
+     * @throws InterruptedException If the thread is interrupted while waiting
+     */
+    public final void pace(final long nanos) throws InterruptedException
+    {
+        if (nanos <= 0)
+            return;
+        
+        //the time we want to wake up
+        final long deadline = System.nanoTime() + nanos;
+        
+        waitUntil(deadline);
+        
+        //waking up early or late are both jitter
+        final long jitter = Math.abs(System.nanoTime() - deadline);
+        
+        count++;
+        total += jitter;
+        
+        if (jitter > max)
+            max = jitter;
+    }
+    
+    /**
+     * Wait until the time has been reached
+     * @param deadline The time (nanoseconds) from System.nanoTime() we want to wake up
+     * @throws InterruptedException If the thread is interrupted while waiting
+     */
+    protected abstract void waitUntil(final long deadline) throws InterruptedException;
+    
+    /**
+     * Get the number of waits measured
+     * @return The number of waits since the pacer was created or reset
+     */
+    public long getCount()
+    {
+        return this.count;
+    }
+    
+    /**
+     * Get the average jitter
+     * @return The average difference (nanoseconds) between when each wait should have ended and when it did
+     */
+    public long getJitterAverage()
+    {
+        return (count > 0) ? total / count : 0;
+    }
+    
+    /**
+     * Get the largest jitter
+     * @return The largest difference (nanoseconds) between when a wait should have ended and when it did
+     */
+    public long getJitterMax()
+    {
+        return this.max;
+    }
+    
+    /**
+     * Forget the waits measured, so we can measure again
+     */
+    public void reset()
+    {
+        this.count = 0;
+        this.total = 0;
+        this.max = 0;
+    }
+}
\ No newline at end of file
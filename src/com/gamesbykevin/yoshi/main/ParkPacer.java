@@ -0,0 +1,53 @@
+package com.gamesbykevin.yoshi.main;
+
+import com.gamesbykevin.framework.util.Timers;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Park the thread for most of the wait, then yield for the rest.<br>
+ * Parking may wake the thread late, so we wake up early and yield the processor until the time is reached.
+ * @author GOD
+ */
+public final class ParkPacer extends Pacer
+{
+    /**
+     * The default time at the end of the wait where we yield instead of park (nanoseconds)
+     */
+    public static final long DEFAULT_SPIN = Timers.toNanoSeconds(1L);
+    
+    //the time at the end of the wait where we yield instead of park (nanoseconds)
+    private final long spin;
+    
+    /**
+     * Create the pacer
+     * @param spin The time at the end of the wait where we yield instead of park (nanoseconds), more is precise but uses more processor
+     */
+    public ParkPacer(final long spin)
+    {
+        this.spin = (spin < 0) ? 0 : spin;
+    }
+    
+    @Override
+    protected void waitUntil(final long deadline) throws InterruptedException
+    {
+        long remaining = deadline - System.nanoTime();
+        
+        //park until we are close, parking can return early so check again
+        while (remaining > spin)
+        {
+            LockSupport.parkNanos(this, remaining - spin);
+            
+            if (Thread.interrupted())
+                throw new InterruptedException();
+            
+            remaining = deadline - System.nanoTime();
+        }
+        
+        //let other threads run until the time is reached
+        while (deadline - System.nanoTime() > 0)
+        {
+            Thread.yield();
+        }
+    }
+}
\ No newline at end of file
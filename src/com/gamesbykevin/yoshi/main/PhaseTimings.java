@@ -0,0 +1,131 @@
+package com.gamesbykevin.yoshi.main;
+
+import com.gamesbykevin.yoshi.simulation.Histogram;
+
+/**
+ * Keep track of how long each phase of the game loop takes.<br>
+ * The time of each phase is counted in a histogram with a fixed number of buckets, so timing a phase never allocates.
+ * @author GOD
+ */
+public final class PhaseTimings
+{
+    /**
+     * The phases of the game loop
+     */
+    public static final int PHASE_MENU = 0;
+    public static final int PHASE_RESOURCES = 1;
+    public static final int PHASE_MANAGER = 2;
+    public static final int PHASE_RENDER = 3;
+    public static final int PHASE_DRAW = 4;
+    public static final int PHASE_LOOP = 5;
+    
+    /**
+     * The total number of phases
+     */
+    public static final int PHASE_TOTAL = 6;
+    
+    /**
+     * The size of each bucket (microseconds)
+     */
+    public static final long BUCKET_SIZE = 50;
+    
+    /**
+     * The number of buckets, any longer time is counted in the last bucket
+     */
+    public static final int BUCKETS = 1000;
+    
+    //how many nanoseconds are there in one microsecond
+    private static final long NANO_SECONDS_PER_MICROSECOND = 1000L;
+    
+    //the name of each phase
+    private static final String[] NAMES = {"Menu", "Resources", "Manager", "Render", "Draw", "Loop"};
+    
+    //the times of each phase
+    private final Histogram[] histograms;
+    
+    public PhaseTimings() throws Exception
+    {
+        this.histograms = new Histogram[PHASE_TOTAL];
+        
+        for (int i = 0; i < PHASE_TOTAL; i++)
+        {
+            histograms[i] = new Histogram(BUCKET_SIZE, BUCKETS);
+        }
+    }
+    
+    /**
+     * Add the time of the phase
+     * @param phase The phase that was timed
+     * @param nanos The time the phase took (nanoseconds)
+     */
+    public void add(final int phase, final long nanos)
+    {
+        histograms[phase].add(nanos / NANO_SECONDS_PER_MICROSECOND);
+    }
+    
+    /**
+     * Add the time of the phase from the start until now.<br>
+     * The time returned can be used as the start of the next phase.
+     * @param phase The phase that was timed
+     * @param start The time (nanoseconds) from System.nanoTime() the phase started
+     * @return The time (nanoseconds) from System.nanoTime() the phase ended
+     */
+    public long mark(final int phase, final long start)
+    {
+        final long now = System.nanoTime();
+        
+        add(phase, now - start);
+        
+        return now;
+    }
+    
+    /**
+     * Add all the times from other timings
+     * @param timings The timings we want to combine with these timings
+     * @throws Exception If the histograms can't be combined
+     */
+    public void add(final PhaseTimings timings) throws Exception
+    {
+        for (int i = 0; i < PHASE_TOTAL; i++)
+        {
+            histograms[i].add(timings.histograms[i]);
+        }
+    }
+    
+    /**
+     * Get the times of the phase
+     * @param phase The phase
+     * @return The histogram of the time (microseconds) the phase took
+     */
+    public Histogram getHistogram(final int phase)
+    {
+        return this.histograms[phase];
+    }
+    
+    /**
+     * Get the name of the phase
+     * @param phase The phase
+     * @return The name of the phase
+     */
+    public static String getName(final int phase)
+    {
+        return NAMES[phase];
+    }
+    
+    /**
+     * Get a description of the times of every phase
+     * @return A line for each phase with the count, min, average, median, 99th percentile and max time (microseconds)
+     */
+    public String getDesc()
+    {
+        final StringBuilder builder = new StringBuilder("Phase timings (microseconds)");
+        
+        for (int i = 0; i < PHASE_TOTAL; i++)
+        {
+            builder.append(System.lineSeparator());
+            builder.append(getName(i)).append(": ").append(getHistogram(i).getDesc());
+        }
+        
+        return builder.toString();
+    }
+}
\ No newline at end of file
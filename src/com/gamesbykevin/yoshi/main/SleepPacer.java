@@ -0,0 +1,24 @@
+package com.gamesbykevin.yoshi.main;
+
+/**
+ * Wait with Thread.sleep(millis, nanos).<br>
+ * The system may wake the thread a few milliseconds late, so the time of each loop can vary.
+ * @author GOD
+ */
+public final class SleepPacer extends Pacer
+{
+    //the number of nanoseconds in a millisecond
+    private static final long NANO_SECONDS_PER_MILLISECOND = 1000000L;
+    
+    @Override
+    protected void waitUntil(final long deadline) throws InterruptedException
+    {
+        final long remaining = deadline - System.nanoTime();
+        
+        if (remaining <= 0)
+            return;
+        
+        //sleep thread for the specified amount so each second maintains the same number of updates
+        Thread.sleep(remaining / NANO_SECONDS_PER_MILLISECOND, (int)(remaining % NANO_SECONDS_PER_MILLISECOND));
+    }
+}
\ No newline at end of file
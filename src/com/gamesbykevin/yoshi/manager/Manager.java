@@ -1,5 +1,6 @@
 package com.gamesbykevin.yoshi.manager;
 
+import com.gamesbykevin.yoshi.player.CpuWeights;
 import com.gamesbykevin.yoshi.player.Players;
 import com.gamesbykevin.yoshi.engine.Engine;
 import com.gamesbykevin.yoshi.menu.CustomMenu;
@@ -7,9 +8,13 @@ import com.gamesbykevin.yoshi.menu.CustomMenu.*;
 import com.gamesbykevin.yoshi.resources.GameAudio;
 import com.gamesbykevin.yoshi.resources.GameFont;
 import com.gamesbykevin.yoshi.resources.GameImages;
+import com.gamesbykevin.yoshi.replay.ReplayWriter;
+import com.gamesbykevin.yoshi.render.FrameBuilder;
+import com.gamesbykevin.yoshi.shared.Shared;
 
 import java.awt.Graphics;
 import java.awt.Image;
+import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -25,6 +30,9 @@ public final class Manager implements IManager
     //the players in the game
     private Players players;
     
+    //where we save the replay of the game (if recording)
+    private File replay;
+    
     /**
      * Constructor for Manager, this is the point where we load any menu option configurations
      * @param engine Engine for our game that contains all objects needed
@@ -60,6 +68,26 @@ public final class Manager implements IManager
                 engine.getResources().getGameFont(GameFont.Keys.Default),
                 engine.getRandom()
             );
+            
+            //any random decisions by the cpu come from the seed of the game
+            players.setSeed(engine.getSeed());
+            
+            //each cpu decision has to fit in a frame
+            players.setLive(true);
+            
+            //the live game uses the tuned weights (if saved)
+            players.setWeights(CpuWeights.getTuned(new File(CpuWeights.FILE_NAME)));
+            
+            //record the game so it can be played again
+            if (Shared.RECORD_REPLAY)
+            {
+                players.setRecorder(new ReplayWriter(engine.getSeed(), engine.getTime(), modeIndex, difficultyIndex, false));
+                replay = new File("yoshi-" + engine.getSeed() + ".replay");
+            }
+            
+            //locate the targets of each cpu on a worker thread, a replay needs the cpu to locate them on the game thread
+            if (Shared.CPU_BACKGROUND && !Shared.RECORD_REPLAY)
+                players.setBackground(true);
         }
     }
     
@@ -108,6 +136,13 @@ public final class Manager implements IManager
         if (players != null)
         {
             players.update(engine);
+            
+            //once the recording has finished, save it
+            if (players.getRecorder() != null && players.getRecorder().hasFinished())
+            {
+                players.getRecorder().save(replay);
+                players.setRecorder(null);
+            }
         }
     }
     
@@ -125,4 +160,18 @@ public final class Manager implements IManager
             players.render(graphics);
         }
     }
+    
+    /**
+     * Add all of our application elements to the frame being built, in the same order they are drawn
+     * @param frame The frame being built
+     */
+    public void frame(final FrameBuilder frame)
+    {
+        frame.addImage(image, 0, 0);
+        
+        if (players != null)
+        {
+            players.frame(frame);
+        }
+    }
 }
\ No newline at end of file
@@ -20,9 +20,42 @@ public final class Cpu extends Player
     //the targets for the 2 falling pieces
     private Target target1, target2;
     
+    //the targets we fill, so we don't create new targets every time
+    private final Target first, second;
+    
+    //the falling pieces and the pieces waiting at the top, filled every time we locate our targets
+    private final List<Piece> falling, next;
+    
     //the move timer
     private Timer timer;
     
+    //the difficulty of this cpu
+    private final int difficultyIndex;
+    
+    //the strategy used to locate our targets
+    private ICpuStrategy strategy;
+    
+    //the weights our strategy uses to score the board
+    private CpuWeights weights;
+    
+    //the seed of any random decisions our strategy makes
+    private long seed = CpuMonteCarlo.DEFAULT_SEED;
+    
+    //what the strategy can see
+    private final CpuView view;
+    
+    //the current order of the columns, used to find our path
+    private final int[] order;
+    
+    //the worker locating our targets in the background, null if we locate them on the game thread
+    private CpuWorker worker;
+    
+    //the plan we take from the worker
+    private final CpuPlan taken;
+    
+    //are we waiting on the worker to locate our targets
+    private boolean waiting = false;
+    
     //the time delay for each difficulty
     private static final long DELAY_DIFFICULTY_EASY   = Timers.toNanoSeconds(500L);
     private static final long DELAY_DIFFICULTY_MEDIUM = Timers.toNanoSeconds(250L);
@@ -33,11 +66,6 @@ public final class Cpu extends Player
      */
     private static final int FALLING_PIECE_COUNT = 2;
     
-    /**
-     * 0 Count
-     */
-    private static final int COUNT_NONE = 0;
-    
     public Cpu(final Image image, final boolean multiplayer, final int difficultyIndex) throws Exception
     {
         super(image, multiplayer, difficultyIndex);
@@ -60,6 +88,26 @@ public final class Cpu extends Player
             default:
                 throw new Exception("Difficulty Index not found " + difficultyIndex);
         }
+        
+        this.difficultyIndex = difficultyIndex;
+        
+        //the hand picked weights, the same no matter where the game was started
+        this.weights = CpuWeights.getDefault();
+        
+        //the default strategy depends on the difficulty
+        this.strategy = CpuStrategies.create(CpuStrategies.getDefault(difficultyIndex), difficultyIndex);
+        setWeights(strategy, weights);
+        
+        this.view = new CpuView();
+        this.order = new int[Board.COLUMNS];
+        
+        this.first = new Target(0, 0, 0, 0, 0);
+        this.second = new Target(0, 0, 0, 0, 0);
+        
+        this.falling = new ArrayList<>(FALLING_PIECE_COUNT);
+        this.next = new ArrayList<>(BoardHelper.SPAWN_TOTAL);
+        
+        this.taken = new CpuPlan();
     }
     
     @Override
@@ -110,19 +158,40 @@ public final class Cpu extends Player
     public void update(final Engine engine) throws Exception
     {
         //do we have falling pieces before updating
-        final boolean hasFallingPiecesBefore = BoardHelper.hasFallingPieces(getBoard().getPieces());
+        final boolean hasFallingPiecesBefore = BoardHelper.hasFallingPieces(getBoard());
         
         //update the extra things
         super.updateMisc(engine);
         
+        //if we are watching a replay, don't make any decisions
+        if (hasPlayback())
+            return;
+        
         //do we have falling pieces after updating
-        final boolean hasFallingPieceAfter = BoardHelper.hasFallingPieces(getBoard().getPieces());
+        final boolean hasFallingPieceAfter = BoardHelper.hasFallingPieces(getBoard());
         
         //if we haven't picked our targets yet
         if (!hasSelectedTargets())
         {
-            //locate our targets
-            locateTargets();
+            if (!waiting)
+            {
+                //locate our targets
+                locateTargets();
+            }
+            else if (hasFallingPiecesBefore && hasFallingPieceAfter)
+            {
+                //the worker has until our timer is finished to improve our targets
+                timer.update(engine.getTime());
+                
+                //once we have our targets the timer will have passed, so we can start moving them
+                if (timer.hasTimePassed())
+                    takeTargets();
+            }
+            else
+            {
+                //the pieces were placed before we took our targets
+                resetTargets();
+            }
         }
         else
         {
@@ -130,7 +199,7 @@ public final class Cpu extends Player
             if (hasFallingPiecesBefore && hasFallingPieceAfter)
             {
                 //update movement timer
-                timer.update(engine.getMain().getTime());
+                timer.update(engine.getTime());
 
                 //don't continue until timer is finished
                 if (!timer.hasTimePassed())
@@ -141,7 +210,7 @@ public final class Cpu extends Player
                 {
                     
                     //make sure we aren't currently swapping the board
-                    if (!BoardHelper.isSwappingColumns(getBoard().getPieces()))
+                    if (!BoardHelper.isSwappingColumns(getBoard()))
                     {
 
                         //move targets to their assigned destinations
@@ -151,7 +220,7 @@ public final class Cpu extends Player
                 else
                 {
                     //if the pieces are in place, apply gravity
-                    getBoard().applyGravity();
+                    applyGravity();
                 }
 
                 //reset timer
@@ -176,265 +245,289 @@ public final class Cpu extends Player
     }
     
     /**
-     * Place the targets at their destinations
-     * @throws Exception if the column order index is not found, or if no valid moves were found
+     * Place the targets at their destinations.<br>
+     * We find the closest column order with both targets in place, then make the first move of the shortest path there.
+     * @throws Exception If no valid moves were found
      */
     private void placeTargets() throws Exception
     {
-        //if the source column has changed, update the index
-        if (getColumnOrderIndex(getTarget1().getSourceColumn()) != getTarget1().getSourceColumnIndex())
-            getTarget1().setSourceColumnIndex(getColumnOrderIndex(getTarget1().getSourceColumn()));
-        if (getColumnOrderIndex(getTarget2().getSourceColumn()) != getTarget2().getSourceColumnIndex())
-            getTarget2().setSourceColumnIndex(getColumnOrderIndex(getTarget2().getSourceColumn()));
-        
-        //the current index for our source columns
-        final int currentTarget1Index = getColumnOrderIndex(getTarget1().getSourceColumn());
-        final int currentTarget2Index = getColumnOrderIndex(getTarget2().getSourceColumn());
-
-        /**
-         * First we want the correct target columns to be on the correct side.<br>
-         * This means we want the greater index to be on the right side of the lesser etc...
-         */
-        if (getTarget2().getDestinationColumnIndex() > getTarget1().getDestinationColumnIndex() && currentTarget2Index < currentTarget1Index)
+        //the current order of the columns
+        for (int index = 0; index < order.length; index++)
         {
-            performMove(currentTarget2Index);
+            order[index] = getColumnOrderValue(index);
         }
-        else if (getTarget2().getDestinationColumnIndex() < getTarget1().getDestinationColumnIndex() && currentTarget2Index > currentTarget1Index)
-        {
-            performMove(currentTarget2Index - 1);
-        }
-        else if (getTarget1().getDestinationColumnIndex() > getTarget2().getDestinationColumnIndex() && currentTarget1Index < currentTarget2Index)
-        {
-            performMove(currentTarget1Index);
-        }
-        else if (getTarget1().getDestinationColumnIndex() < getTarget2().getDestinationColumnIndex() && currentTarget1Index > currentTarget2Index)
-        {
-            performMove(currentTarget1Index - 1);
-        }
-        else if (getTarget2().getDestinationColumnIndex() > getTarget1().getDestinationColumnIndex() && currentTarget2Index > currentTarget1Index && currentTarget1Index >= getTarget2().getDestinationColumnIndex())
-        {
-            performMove(currentTarget1Index - 1);
-        }
-        else if (getTarget2().getDestinationColumnIndex() < getTarget1().getDestinationColumnIndex() && currentTarget2Index < currentTarget1Index && currentTarget1Index <= getTarget2().getDestinationColumnIndex())
-        {
-            performMove(currentTarget1Index);
-        }
-        else if (getTarget1().getDestinationColumnIndex() > getTarget2().getDestinationColumnIndex() && currentTarget1Index > currentTarget2Index && currentTarget2Index >= getTarget1().getDestinationColumnIndex())
-        {
-            performMove(currentTarget2Index - 1);
-        }
-        else if (getTarget1().getDestinationColumnIndex() < getTarget2().getDestinationColumnIndex() && currentTarget1Index < currentTarget2Index && currentTarget2Index <= getTarget1().getDestinationColumnIndex())
-        {
-            performMove(currentTarget2Index);
-        }
-        else
-        {
-            /**
-             * If the current index locations are on their correct side<br>
-             * We can now move each column to the correct location.
-             */
-            if (currentTarget2Index < getTarget2().getDestinationColumnIndex())
-            {
-                performMove(currentTarget2Index);
-            }
-            else if (currentTarget2Index > getTarget2().getDestinationColumnIndex())
-            {
-                performMove(currentTarget2Index - 1);
-            }
-            else if (currentTarget1Index < getTarget1().getDestinationColumnIndex())
-            {
-                performMove(currentTarget1Index);
-            }
-            else if (currentTarget1Index > getTarget1().getDestinationColumnIndex())
-            {
-                performMove(currentTarget1Index - 1);
-            }
-            else
-            {
-                //this should not happen
-                throw new Exception("Valid move not found");
-            }
-        }
-    }
-    
-    /**
-     * Here we will move the location towards the specified index
-     * @param targetIndex The index we want to move to
-     */
-    private void performMove(final int targetIndex) throws Exception
-    {
-        //move to the location
-        if (getCol() < targetIndex)
-        {
-            setCol(getCol() + 1);
-        }
-        else if (getCol() > targetIndex)
-        {
-            setCol(getCol() - 1);
-        }
-        else
+        
+        final int index = CpuPaths.getOrderIndex(order);
+        final int col = (int)getCol();
+        
+        //the closest order with our targets in place
+        final int goal = CpuPaths.getClosest(
+            index, col, 
+            getTarget1().getDestinationColumnIndex(), getTarget1().getSourceColumn(), 
+            getTarget2().getDestinationColumnIndex(), getTarget2().getSourceColumn());
+        
+        //this should not happen
+        if (goal == CpuPaths.NO_ORDER)
+            throw new Exception("Valid move not found");
+        
+        switch (CpuPaths.getMove(index, col, goal))
         {
-            //if we are at the specified location, swap columns
-            switchColumns();
+            case CpuPaths.MOVE_LEFT:
+                moveLeft();
+                break;
+                
+            case CpuPaths.MOVE_RIGHT:
+                moveRight();
+                break;
+                
+            case CpuPaths.MOVE_SWITCH:
+                switchColumns();
+                break;
+                
+            default:
+                //we are already in place
+                break;
         }
     }
     
     /**
-     * Here we will take the falling pieces and score each column to determine the best move
+     * Here we will take the falling pieces and let our strategy determine the best move
      * @throws Exception If the number of falling pieces is not 2, of if no targets are found
      */
     private void locateTargets() throws Exception
     {
-        //get the starting pieces (there should only be 2)
-        List<Piece> pieces = CpuHelper.getFallingPieces(getBoard().getPieces());
-        
-        //list of optional targets
-        List<Target> targets = new ArrayList<>();
+        //get the falling pieces (there should only be 2)
+        final List<Piece> pieces = CpuHelper.getFallingPieces(getBoard().getPieces(), falling);
         
         /**
          * Make sure there are falling pieces, because they may not have been created yet.<br>
          * Also make sure we aren't swapping columns
          */
-        if (!pieces.isEmpty() && !BoardHelper.isSwappingColumns(getBoard().getPieces()))
+        if (!pieces.isEmpty() && !BoardHelper.isSwappingColumns(getBoard()))
         {
             //throw exception if we don't get the expected count (should not happen)
             if (pieces.size() != FALLING_PIECE_COUNT)
                 throw new Exception("Expected # of falling pieces is not 2 (" + pieces.size() + ")");
             
-            //now check each column for the current piece
-            for (int i = 0; i < pieces.size(); i++)
-            {
-                //get the current piece
-                final Piece piece = pieces.get(i);
-
-                //check each column
-                for (int col = 0; col < Board.COLUMNS; col++)
-                {
-                    //the score of this column
-                    int score = 0;
-                    
-                    //if the top piece is a top shell, let's see if we can create a yoshi
-                    if (piece.getType() == Piece.TYPE_SHELL_TOP)
-                    {
-                        //get the total # of pieces that are above the bottom shell so we can check the size of the yoshi
-                        final int count = CpuHelper.getBottomShellCount(getBoard(), col);
-
-                        //get the row height so we can reward more for yoshi's created at a higher height, which will keep the height of the board lower
-                        final int height = CpuHelper.getRowHeight(getBoard(), col);
-                        
-                        //calculate score
-                        score = (Board.SCORE_YOSHI_PIECE * count) + (Board.SCORE_YOSHI_HEIGHT_REWARD * height);
-                    }
-                    else if (piece.getType() == Piece.TYPE_SHELL_BOTTOM)
-                    {
-                        //get the row height, we will penalize more, because we want to place this at the lowest point
-                        final int height = CpuHelper.getRowHeight(getBoard(), col);
-
-                        //calculate score
-                        score = Board.SCORE_BOTTOM_SHELL_HEIGHT * height;
-                    }
-                    else
-                    {
-                        //get the top piece for this column
-                        final Piece top = CpuHelper.getTopPiece(getBoard().getPieces(), col);
-
-                        //if a top piece exists
-                        if (top != null)
-                        {
-                            //if the pieces match score it
-                            if (top.getType() == piece.getType())
-                            {
-                                //calculate score as we want to match pieces
-                                score = Board.SCORE_PIECE_MATCH;
-                            }
-                            else
-                            {
-                                //the number of pieces above a bottom shell
-                                final int count = CpuHelper.getBottomShellCount(getBoard(), col);
-                                
-                                //get the height of the column
-                                final int height = CpuHelper.getRowHeight(getBoard(), col);
-                                
-                                //if there is no bottom shell in this column
-                                if (count == COUNT_NONE)
-                                {
-                                    //calculate score, if no match and no bottom shell, penalize by the height
-                                    score = Board.SCORE_PIECE_HEIGHT * height;
-                                }
-                                else
-                                {
-                                    //penalize the height, but add a different penalty for the pieces that can create a yoshi
-                                    score = (Board.SCORE_PIECE_HEIGHT * (height - count)) + (Board.SCORE_YOSHI_HEIGHT_PENALTY * count);
-                                }
-                            }
-                        }
-                        else
-                        {
-                            //there is no top piece so no height etc... the score will be 0
-                            score = Board.SCORE_NONE;
-                        }
-                    }
-
-                    //store information for our target
-                    final int destinationColumn = getColumnOrderValue((int)piece.getCol());
-                    final int sourceColumn = getColumnOrderValue(col);
-                    final int destinationColumnIndex = (int)piece.getCol();
-                    final int sourceColumnIndex = col;
-                    
-                    //add target to list
-                    targets.add(new Target(destinationColumn, destinationColumnIndex, sourceColumn, sourceColumnIndex, score));
-                }
-            }
+            //update what we can see, the next pieces are waiting at the top
+            view.update(getBoard(), pieces, CpuHelper.getStartingPieces(getBoard().getPieces(), next));
             
-            //sort the targets by score in descending order
-            for (int i = 0; i < targets.size(); i++)
+            if (worker != null)
             {
-                for (int x = 1; x < targets.size(); x++)
-                {
-                    //if the score is less we will switch
-                    if (targets.get(x - 1).getScore() < targets.get(x).getScore())
-                    {
-                        //get the target
-                        Target tmp = targets.get(x - 1);
-                        
-                        //swap the objects
-                        targets.set(x - 1, targets.get(x));
-                        targets.set(x, tmp);
-                    }
-                }
+                //let the worker decide, we will take the targets when our timer is finished
+                worker.request(view);
+                waiting = true;
+                timer.reset();
             }
-            
-            //this should not happen
-            if (targets.isEmpty())
-                throw new Exception("No targets are found");
-            
-            //the first target will be the highest scoring
-            target1 = targets.get(0);
-            
-            /**
-             * Now the targets are sorted in descending order.<br>
-             * We can start checking for the next one that isn't already targeted
-             */
-            for (int i = 1; i < targets.size(); i++)
+            else
             {
-                //get the current target
-                Target tmp = targets.get(i);
-                
-                /**
-                 * We don't want to target the same column or destination
-                 */
-                if (!getTarget1().hasTargetStats(tmp))
-                {
-                    //store the target
-                    target2 = tmp;
-                    
-                    //exit loop, since we found 2nd highest scoring target
-                    break;
-                }
+                //let the strategy decide
+                setTargets(strategy.locate(view));
             }
         }
     }
     
+    /**
+     * Take the best targets the worker has found so far.<br>
+     * If the worker hasn't found any yet, we will keep waiting
+     * @throws Exception If no targets are found
+     */
+    private void takeTargets() throws Exception
+    {
+        if (!worker.take(taken))
+            return;
+        
+        waiting = false;
+        
+        setTargets(taken);
+    }
+    
+    /**
+     * Set our targets from the plan
+     * @param plan The plan from our strategy
+     * @throws Exception If no targets are found
+     */
+    private void setTargets(final CpuPlan plan) throws Exception
+    {
+        //this should not happen
+        if (plan.getCount() == 0)
+            throw new Exception("No targets are found");
+        
+        //the first target will be the highest priority
+        target1 = setTarget(first, plan, 0);
+        
+        //the 2nd target (if found)
+        if (plan.getCount() > 1)
+            target2 = setTarget(second, plan, 1);
+    }
+    
+    /**
+     * Set the target from the plan
+     * @param target The target we want to set
+     * @param plan The plan from our strategy
+     * @param index The index of the target in the plan
+     * @return The target
+     */
+    private Target setTarget(final Target target, final CpuPlan plan, final int index)
+    {
+        //store information for our target
+        final int destinationColumn = getColumnOrderValue(plan.getDestination(index));
+        final int sourceColumn = getColumnOrderValue(plan.getSource(index));
+        
+        target.set(destinationColumn, plan.getDestination(index), sourceColumn, plan.getSource(index), plan.getScore(index));
+        
+        return target;
+    }
+    
+    /**
+     * Set the strategy used to locate our targets
+     * @param strategy The strategy
+     */
+    public void setStrategy(final ICpuStrategy strategy)
+    {
+        this.strategy = strategy;
+        
+        //the strategy will use our weights
+        setWeights(strategy, weights);
+        
+        //and our seed
+        setSeed(strategy, seed);
+        
+        //any existing targets will be located again
+        resetTargets();
+    }
+    
+    /**
+     * Set the seed of any random decisions our strategy makes.<br>
+     * The seed should come from the game, so the same game will always be played the same.
+     * @param seed The seed
+     */
+    public void setSeed(final long seed)
+    {
+        this.seed = seed;
+        
+        setSeed(strategy, seed);
+    }
+    
+    /**
+     * Set the seed of the strategy, if the strategy makes random decisions
+     * @param strategy The strategy
+     * @param seed The seed
+     */
+    private static void setSeed(final ICpuStrategy strategy, final long seed)
+    {
+        if (strategy instanceof ICpuRandom)
+            ((ICpuRandom)strategy).setSeed(seed);
+    }
+    
+    /**
+     * Get the seed of any random decisions our strategy makes
+     * @return The seed
+     */
+    public long getSeed()
+    {
+        return this.seed;
+    }
+    
+    /**
+     * Set the weights used to score the board
+     * @param weights The weights our strategy and worker will use
+     */
+    public void setWeights(final CpuWeights weights)
+    {
+        this.weights = weights;
+        
+        setWeights(strategy, weights);
+        
+        if (worker != null)
+            worker.setWeights(weights);
+        
+        //any existing targets will be located again
+        resetTargets();
+    }
+    
+    /**
+     * Set the weights of the strategy, if the strategy uses weights
+     * @param strategy The strategy
+     * @param weights The weights used to score the board
+     */
+    private static void setWeights(final ICpuStrategy strategy, final CpuWeights weights)
+    {
+        if (strategy instanceof ICpuWeighted)
+            ((ICpuWeighted)strategy).setWeights(weights);
+    }
+    
+    /**
+     * Get the weights used to score the board
+     * @return The weights
+     */
+    public CpuWeights getWeights()
+    {
+        return this.weights;
+    }
+    
+    /**
+     * Get the difficulty
+     * @return The difficulty index of this cpu
+     */
+    public int getDifficultyIndex()
+    {
+        return this.difficultyIndex;
+    }
+    
+    /**
+     * Get the strategy used to locate our targets
+     * @return The strategy
+     */
+    public ICpuStrategy getStrategy()
+    {
+        return this.strategy;
+    }
+    
+    /**
+     * Set the worker that will locate our targets in the background.<br>
+     * While we have a worker, our strategy is not used.
+     * @param worker The worker, it will be started here. null to locate our targets on the game thread
+     */
+    public void setWorker(final CpuWorker worker)
+    {
+        //any existing targets will be located again
+        resetTargets();
+        
+        //stop the existing worker
+        if (this.worker != null)
+            this.worker.dispose();
+        
+        this.worker = worker;
+        
+        if (worker != null)
+        {
+            worker.setWeights(weights);
+            worker.start();
+        }
+    }
+    
+    /**
+     * Get the worker locating our targets in the background
+     * @return The worker, null if we locate our targets on the game thread
+     */
+    public CpuWorker getWorker()
+    {
+        return this.worker;
+    }
+    
+    @Override
+    public void dispose()
+    {
+        super.dispose();
+        
+        if (worker != null)
+        {
+            worker.dispose();
+            worker = null;
+        }
+    }
+    
     /**
      * Reset the targets
      */
@@ -442,13 +535,20 @@ public final class Cpu extends Player
     {
         target1 = null;
         target2 = null;
+        
+        //the worker no longer needs to locate our targets
+        if (waiting)
+        {
+            worker.cancel();
+            waiting = false;
+        }
     }
     
     /**
      * Do we have the targets set?
      * @return true if the targeted columns are placed in the correct place, false otherwise
      */
-    private boolean hasTargetsSet() throws Exception
+    private boolean hasTargetsSet()
     {
         //if we don't have targets return false
         if (!hasSelectedTargets())
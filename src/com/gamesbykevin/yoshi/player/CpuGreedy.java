@@ -0,0 +1,175 @@
+package com.gamesbykevin.yoshi.player;
+
+import com.gamesbykevin.yoshi.board.BitBoard;
+import com.gamesbykevin.yoshi.board.Board;
+import com.gamesbykevin.yoshi.board.piece.Piece;
+
+/**
+ * The greedy strategy will score each column for each falling piece.<br>
+ * The highest scoring target is chosen, then the highest scoring target that doesn't share a column with it.
+ * @author GOD
+ */
+public final class CpuGreedy implements ICpuStrategy, ICpuWeighted
+{
+    /**
+     * 0 Count
+     */
+    private static final int COUNT_NONE = 0;
+    
+    //no target was found
+    private static final int NO_TARGET = -1;
+    
+    //the number of optional targets
+    private static final int TARGETS = CpuPlan.TARGETS_MAX * Board.COLUMNS;
+    
+    //the optional targets
+    private final int[] destinations, sources, scores;
+    
+    //the plan we return
+    private final CpuPlan plan;
+    
+    //the weights used to score each column
+    private CpuWeights weights;
+    
+    public CpuGreedy()
+    {
+        this.destinations = new int[TARGETS];
+        this.sources = new int[TARGETS];
+        this.scores = new int[TARGETS];
+        
+        this.plan = new CpuPlan();
+        this.weights = new CpuWeights();
+    }
+    
+    @Override
+    public void setWeights(final CpuWeights weights)
+    {
+        this.weights = weights;
+    }
+    
+    @Override
+    public CpuPlan locate(final CpuView view) throws Exception
+    {
+        plan.reset();
+        
+        //the number of optional targets
+        int count = 0;
+        
+        //now check each column for the current piece
+        for (int i = 0; i < view.getFallingCount(); i++)
+        {
+            //get the current piece
+            final int type = view.getFallingType(i);
+            
+            //check each column
+            for (int col = 0; col < Board.COLUMNS; col++)
+            {
+                //store information for our target
+                destinations[count] = view.getFallingCol(i);
+                sources[count] = col;
+                scores[count] = getScore(view, type, col);
+                count++;
+            }
+        }
+        
+        //this should not happen
+        if (count == 0)
+            throw new Exception("No targets are found");
+        
+        //the first target will be the highest scoring, on a tie the first one found
+        final int best = getBest(count, NO_TARGET);
+        
+        plan.add(destinations[best], sources[best], scores[best]);
+        
+        //the 2nd target will be the highest scoring that doesn't target the same column or destination
+        final int next = getBest(count, best);
+        
+        if (next != NO_TARGET)
+            plan.add(destinations[next], sources[next], scores[next]);
+        
+        return plan;
+    }
+    
+    /**
+     * Get the highest scoring optional target.<br>
+     * On a tie the first target is chosen, the same as a stable sort in descending order.
+     * @param count The number of optional targets
+     * @param exclude Index of a chosen target, any target sharing its column or destination is skipped. NO_TARGET to check all
+     * @return The index of the highest scoring target, NO_TARGET if none are found
+     */
+    private int getBest(final int count, final int exclude)
+    {
+        int best = NO_TARGET;
+        
+        for (int i = 0; i < count; i++)
+        {
+            //we don't want to target the same column or destination
+            if (exclude != NO_TARGET && (destinations[i] == destinations[exclude] || sources[i] == sources[exclude]))
+                continue;
+            
+            //only a higher score will replace, so the first one found stays on a tie
+            if (best == NO_TARGET || scores[i] > scores[best])
+                best = i;
+        }
+        
+        return best;
+    }
+    
+    /**
+     * Score the column for the piece
+     * @param view What the cpu can see of the board
+     * @param type The type of the falling piece
+     * @param col The column we want to place under the piece
+     * @return The score of the column
+     */
+    private int getScore(final CpuView view, final int type, final int col)
+    {
+        //if the top piece is a top shell, let's see if we can create a yoshi
+        if (type == Piece.TYPE_SHELL_TOP)
+        {
+            //get the total # of pieces that are above the bottom shell so we can check the size of the yoshi
+            final int count = view.getBottomShellCount(col);
+            
+            //get the row height so we can reward more for yoshi's created at a higher height, which will keep the height of the board lower
+            final int height = view.getHeight(col);
+            
+            //calculate score
+            return (weights.get(CpuWeights.WEIGHT_YOSHI_PIECE) * count) + (weights.get(CpuWeights.WEIGHT_YOSHI_HEIGHT_REWARD) * height);
+        }
+        else if (type == Piece.TYPE_SHELL_BOTTOM)
+        {
+            //get the row height, we will penalize more, because we want to place this at the lowest point
+            final int height = view.getHeight(col);
+            
+            //calculate score
+            return weights.get(CpuWeights.WEIGHT_BOTTOM_SHELL_HEIGHT) * height;
+        }
+        
+        //get the top piece for this column
+        final int top = view.getTop(col);
+        
+        //there is no top piece so no height etc... the score will be 0
+        if (top == BitBoard.EMPTY)
+            return Board.SCORE_NONE;
+        
+        //if the pieces match score it, as we want to match pieces
+        if (top == type)
+            return weights.get(CpuWeights.WEIGHT_PIECE_MATCH);
+        
+        //the number of pieces above a bottom shell
+        final int count = view.getBottomShellCount(col);
+        
+        //get the height of the column
+        final int height = view.getHeight(col);
+        
+        //if there is no bottom shell in this column
+        if (count == COUNT_NONE)
+        {
+            //calculate score, if no match and no bottom shell, penalize by the height
+            return weights.get(CpuWeights.WEIGHT_PIECE_HEIGHT) * height;
+        }
+        
+        //penalize the height, but add a different penalty for the pieces that can create a yoshi
+        return (weights.get(CpuWeights.WEIGHT_PIECE_HEIGHT) * (height - count)) + (weights.get(CpuWeights.WEIGHT_YOSHI_HEIGHT_PENALTY) * count);
+    }
+}
@@ -20,8 +20,20 @@ public final class CpuHelper
      */
     protected static List<Piece> getFallingPieces(final List<Piece> pieces)
     {
-        //our result list
-        List<Piece> result = new ArrayList<>();
+        return getFallingPieces(pieces, new ArrayList<Piece>());
+    }
+    
+    /**
+     * Get the falling pieces.<br>
+     * The falling pieces are not frozen and not placed
+     * @param pieces List of pieces to check
+     * @param result The list we will fill, this will be cleared first
+     * @return The result list
+     */
+    protected static List<Piece> getFallingPieces(final List<Piece> pieces, final List<Piece> result)
+    {
+        //remove the previous pieces
+        result.clear();
         
         for (int i = 0; i < pieces.size(); i++)
         {
@@ -41,46 +53,57 @@ public final class CpuHelper
     }
     
     /**
-     * Get the top piece for the specified column.<br>
-     * We will only checked pieces that have been placed.<br>
-     * This way we aren't looking at the starting pieces.
+     * Get the starting pieces.<br>
+     * The starting pieces are frozen at the top until the falling pieces are placed
      * @param pieces List of pieces to check
-     * @param col The column we want to check
-     * @return The top piece for the specified column, if none found null is returned
+     * @return List of pieces
      */
-    protected static Piece getTopPiece(final List<Piece> pieces, final int col)
+    protected static List<Piece> getStartingPieces(final List<Piece> pieces)
     {
-        Piece tmp = null;
-        
-        //keep track of the highest row
-        int row = Board.ROWS;
+        return getStartingPieces(pieces, new ArrayList<Piece>());
+    }
+    
+    /**
+     * Get the starting pieces.<br>
+     * The starting pieces are frozen at the top until the falling pieces are placed
+     * @param pieces List of pieces to check
+     * @param result The list we will fill, this will be cleared first
+     * @return The result list
+     */
+    protected static List<Piece> getStartingPieces(final List<Piece> pieces, final List<Piece> result)
+    {
+        //remove the previous pieces
+        result.clear();
         
         for (int i = 0; i < pieces.size(); i++)
         {
             //get the current piece
             Piece piece = pieces.get(i);
             
-            //we only want to check the placed pieces
-            if (!piece.isPlaced())
-                continue;
-            
-            //don't check if the columns don't match
-            if (piece.getCol() != col)
+            //we only want the frozen pieces
+            if (!piece.isFrozen() || piece.isPlaced() || piece.isDestroyed())
                 continue;
             
-            //if we found a row higher
-            if (piece.getRow() < row)
-            {
-                //save the higher row found
-                row = (int)piece.getRow();
-                
-                //save the winning piece
-                tmp = piece;
-            }
+            //add piece to our list
+            result.add(piece);
         }
         
         //return our result
-        return tmp;
+        return result;
+    }
+    
+    /**
+     * Get the top piece for the specified column.<br>
+     * We will only checked pieces that have been placed.<br>
+     * This way we aren't looking at the starting pieces.<br>
+     * Destroyed pieces and pieces part of a yoshi are still placed, so they can be the top piece.
+     * @param board The board we are playing on
+     * @param col The column we want to check
+     * @return The top piece for the specified column, if none found null is returned
+     */
+    protected static Piece getTopPiece(final Board board, final int col)
+    {
+        return board.getColumnTop(col);
     }
     
     /**
@@ -93,33 +116,7 @@ public final class CpuHelper
      */
     protected static int getRowHeight(final Board board, final int col)
     {
-        //the default height will be 0
-        int height = 0;
-        
-        //check each row for pieces
-        for (int row = 0; row < Board.ROWS; row++)
-        {
-            //get the piece at this location
-            final Piece piece = board.getPiece(col, row, Piece.NO_ID);
-            
-            //skip if no piece found
-            if (piece == null)
-                continue;
-            
-            //we only want to check the placed pieces
-            if (!piece.isPlaced() || piece.isDestroyed() || piece.isYoshi())
-                continue;
-            
-            //don't check if the columns don't match
-            if (piece.getCol() != col)
-                continue;
-            
-            //increase the height
-            height++;
-        }
-        
-        //return the height found
-        return height;
+        return board.getColumnHeight(col);
     }
     
     /**
@@ -132,36 +129,6 @@ public final class CpuHelper
      */
     protected static int getBottomShellCount(final Board board, final int col)
     {
-        //count the number of pieces until we find a shell
-        int count = 0;
-        
-        //check each row until we find the bottom shell
-        for (int row = 0; row < Board.ROWS; row++)
-        {
-            //get the piece at this location
-            final Piece piece = board.getPiece(col, row, Piece.NO_ID);
-            
-            //skip if no piece found
-            if (piece == null)
-                continue;
-            
-            //we only want to check the placed pieces
-            if (!piece.isPlaced() || piece.isDestroyed() || piece.isYoshi() || piece.isFrozen())
-                continue;
-            
-            //don't check if the columns don't match
-            if (piece.getCol() != col)
-                continue;
-            
-            //increase the count
-            count++;
-            
-            //if we found our shell, return the count
-            if (piece.getType() == Piece.TYPE_SHELL_BOTTOM)
-                return count;
-        }
-        
-        //we didn't find the bottom shell, so return 0
-        return 0;
+        return board.getColumnBottomShellCount(col);
     }
 }
\ No newline at end of file
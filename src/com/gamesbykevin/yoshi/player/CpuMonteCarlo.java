@@ -0,0 +1,560 @@
+package com.gamesbykevin.yoshi.player;
+
+import com.gamesbykevin.framework.util.Timers;
+
+import com.gamesbykevin.yoshi.board.BitBoard;
+import com.gamesbykevin.yoshi.board.Board;
+import com.gamesbykevin.yoshi.board.piece.Piece;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * The monte carlo strategy will score each column order by playing out random games.<br>
+ * For each order with time to switch the columns, the falling pieces are dropped and then random pairs are spawned.<br>
+ * Each spawned pair is placed with the best column order that has time to switch, and the average score of the play outs is used.<br>
+ * The strategy from the registry makes a fixed number of play outs on the calling thread, so the same seed will always make the same decision.<br>
+ * This is used for simulations, where the result can't depend on the speed of the machine.<br>
+ * The live game uses createTimed() instead, the play outs are split across every core until the time budget is used.<br>
+ * The decision is made on the game thread unless the cpu has a worker, so the largest budget is a quarter of a frame.
+ * @author GOD
+ */
+public final class CpuMonteCarlo implements ICpuStrategy, ICpuDifficulty, ICpuWeighted, ICpuRandom
+{
+    /**
+     * The time budget for each decision by difficulty, used by createTimed().<br>
+     * The live game makes the decision on the game thread unless the cpu has a worker, so this leaves most of the frame (16.6 ms) for the game
+     */
+    public static final long BUDGET_EASY   = Timers.toNanoSeconds(1L);
+    public static final long BUDGET_MEDIUM = Timers.toNanoSeconds(2L);
+    public static final long BUDGET_HARD   = Timers.toNanoSeconds(4L);
+    
+    /**
+     * No time budget, we will only stop once each order has been played out enough
+     */
+    public static final long BUDGET_NONE = 0L;
+    
+    /**
+     * The number of random pairs spawned in each play out
+     */
+    public static final int ROLLOUT_PAIRS = 4;
+    
+    /**
+     * The most play outs for each column order in a decision
+     */
+    public static final int PLAYOUTS_MAX = 256;
+    
+    /**
+     * The play outs for each column order in a decision by difficulty, when there is no time budget
+     */
+    public static final int PLAYOUTS_EASY   = 16;
+    public static final int PLAYOUTS_MEDIUM = 32;
+    public static final int PLAYOUTS_HARD   = 64;
+    
+    /**
+     * The seed used until the seed is set from the game
+     */
+    public static final long DEFAULT_SEED = 0L;
+    
+    /**
+     * The number of cores we can use
+     */
+    public static final int THREADS = Runtime.getRuntime().availableProcessors();
+    
+    //the threads shared by every monte carlo strategy, created when first needed
+    private static ExecutorService executor;
+    
+    //the time budget for each decision
+    private long budget;
+    
+    //the most play outs for each column order
+    private int playouts;
+    
+    //the weights used to score the board
+    private CpuWeights weights;
+    
+    //the play outs, 1 for each thread
+    private final Rollout[] rollouts;
+    
+    //the play outs as a list so they can be run together
+    private final List<Rollout> tasks;
+    
+    //the column orders we are checking
+    private final int[] candidates;
+    private int count = 0;
+    
+    //the board for each column order after the falling pieces are dropped, and the score from dropping them
+    private final BitBoard[] starts;
+    private final int[] scores;
+    
+    //the pieces waiting at the top, BitBoard.EMPTY if we don't know
+    private int next1 = BitBoard.EMPTY, next2 = BitBoard.EMPTY;
+    private int nextCol1 = 0, nextCol2 = 0;
+    
+    //the board we are checking
+    private final BitBoard current;
+    
+    //the plan we return
+    private final CpuPlan plan;
+    
+    /**
+     * Create the strategy with the medium number of play outs and no time budget
+     */
+    public CpuMonteCarlo()
+    {
+        this(BUDGET_NONE, 1, PLAYOUTS_MEDIUM, DEFAULT_SEED);
+    }
+    
+    /**
+     * Create the strategy with the number of play outs for the difficulty and no time budget
+     * @param difficultyIndex The difficulty
+     * @throws Exception If the difficulty is not found
+     */
+    public CpuMonteCarlo(final int difficultyIndex) throws Exception
+    {
+        this(BUDGET_NONE, 1, getPlayouts(difficultyIndex), DEFAULT_SEED);
+    }
+    
+    /**
+     * Create the strategy
+     * @param budget The time budget for each decision (nano-seconds), BUDGET_NONE to only stop at the most play outs
+     * @param threads The number of threads to play out on, 1 will play out on the calling thread
+     * @param playouts The most play outs for each column order
+     * @param seed The seed used to spawn the random pieces
+     */
+    public CpuMonteCarlo(final long budget, final int threads, final int playouts, final long seed)
+    {
+        this.budget = budget;
+        this.playouts = playouts;
+        this.weights = new CpuWeights();
+        
+        this.candidates = new int[CpuPaths.getOrderCount()];
+        this.starts = new BitBoard[candidates.length];
+        this.scores = new int[candidates.length];
+        
+        for (int i = 0; i < starts.length; i++)
+        {
+            starts[i] = new BitBoard();
+        }
+        
+        this.rollouts = new Rollout[Math.max(1, threads)];
+        this.tasks = new ArrayList<>(rollouts.length);
+        
+        for (int i = 0; i < rollouts.length; i++)
+        {
+            //each thread has its own random, so the play outs don't depend on each other
+            rollouts[i] = new Rollout(seed + i);
+            tasks.add(rollouts[i]);
+        }
+        
+        this.current = new BitBoard();
+        this.plan = new CpuPlan();
+    }
+    
+    /**
+     * Create the strategy for the live game.<br>
+     * The play outs are split across every core until the time budget of the difficulty is used.
+     * @param difficultyIndex The difficulty
+     * @param seed The seed used to spawn the random pieces
+     * @return The strategy
+     * @throws Exception If the difficulty is not found
+     */
+    public static CpuMonteCarlo createTimed(final int difficultyIndex, final long seed) throws Exception
+    {
+        return new CpuMonteCarlo(getBudget(difficultyIndex), THREADS, PLAYOUTS_MAX, seed);
+    }
+    
+    /**
+     * Does the strategy have a time budget?
+     * @return true if each decision stops once the time budget is used, false if it stops at a fixed number of play outs
+     */
+    public boolean hasBudget()
+    {
+        return (budget != BUDGET_NONE);
+    }
+    
+    /**
+     * Get the time budget for each decision
+     * @param difficultyIndex The difficulty
+     * @return The time budget (nano-seconds)
+     * @throws Exception If the difficulty is not found
+     */
+    public static long getBudget(final int difficultyIndex) throws Exception
+    {
+        switch (difficultyIndex)
+        {
+            case Player.INDEX_DIFFICULTY_EASY:
+                return BUDGET_EASY;
+            
+            case Player.INDEX_DIFFICULTY_MEDIUM:
+                return BUDGET_MEDIUM;
+            
+            case Player.INDEX_DIFFICULTY_HARD:
+                return BUDGET_HARD;
+            
+            default:
+                throw new Exception("Difficulty Index not found " + difficultyIndex);
+        }
+    }
+    
+    /**
+     * Get the number of play outs for each column order when there is no time budget
+     * @param difficultyIndex The difficulty
+     * @return The number of play outs
+     * @throws Exception If the difficulty is not found
+     */
+    public static int getPlayouts(final int difficultyIndex) throws Exception
+    {
+        switch (difficultyIndex)
+        {
+            case Player.INDEX_DIFFICULTY_EASY:
+                return PLAYOUTS_EASY;
+            
+            case Player.INDEX_DIFFICULTY_MEDIUM:
+                return PLAYOUTS_MEDIUM;
+            
+            case Player.INDEX_DIFFICULTY_HARD:
+                return PLAYOUTS_HARD;
+            
+            default:
+                throw new Exception("Difficulty Index not found " + difficultyIndex);
+        }
+    }
+    
+    @Override
+    public void setDifficulty(final int difficultyIndex) throws Exception
+    {
+        //with a time budget the budget depends on the difficulty, otherwise the number of play outs does
+        if (hasBudget())
+        {
+            this.budget = getBudget(difficultyIndex);
+        }
+        else
+        {
+            this.playouts = getPlayouts(difficultyIndex);
+        }
+    }
+    
+    @Override
+    public void setSeed(final long seed)
+    {
+        for (int i = 0; i < rollouts.length; i++)
+        {
+            rollouts[i].random.setSeed(seed + i);
+        }
+    }
+    
+    @Override
+    public void setWeights(final CpuWeights weights)
+    {
+        this.weights = weights;
+    }
+    
+    /**
+     * Get the threads shared by every monte carlo strategy
+     * @return The threads to play out on
+     */
+    private static synchronized ExecutorService getExecutor()
+    {
+        if (executor == null)
+        {
+            executor = Executors.newFixedThreadPool(THREADS, new ThreadFactory()
+            {
+                @Override
+                public Thread newThread(final Runnable runnable)
+                {
+                    //the play outs shouldn't keep the game running
+                    final Thread thread = new Thread(runnable, "CpuMonteCarlo");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        
+        return executor;
+    }
+    
+    @Override
+    public CpuPlan locate(final CpuView view) throws Exception
+    {
+        if (view.getFallingCount() != CpuPlan.TARGETS_MAX)
+            throw new Exception("Expected # of falling pieces is not " + CpuPlan.TARGETS_MAX + " (" + view.getFallingCount() + ")");
+        
+        plan.reset();
+        
+        view.copy(current);
+        
+        //do we know the next pieces
+        final boolean known = (view.getNextCount() == CpuPlan.TARGETS_MAX);
+        
+        this.next1 = known ? view.getNextType(0) : BitBoard.EMPTY;
+        this.next2 = known ? view.getNextType(1) : BitBoard.EMPTY;
+        this.nextCol1 = known ? view.getNextCol(0) : 0;
+        this.nextCol2 = known ? view.getNextCol(1) : 0;
+        
+        this.count = 0;
+        
+        //each column order with time to switch is a candidate
+        for (int index = 0; index < CpuPaths.getOrderCount(); index++)
+        {
+            //skip the order if the falling pieces will land before the columns are switched
+            if (!CpuSearch.hasTime(current, index, view.getFallingCol(0), view.getFallingRow(0)) || 
+                !CpuSearch.hasTime(current, index, view.getFallingCol(1), view.getFallingRow(1)))
+                continue;
+            
+            addCandidate(view, index);
+        }
+        
+        //if no order has time, we will have to keep the current order
+        if (count == 0)
+            addCandidate(view, 0);
+        
+        //play out each candidate until we are out of time
+        final long deadline = (budget == BUDGET_NONE) ? BUDGET_NONE : System.nanoTime() + budget;
+        
+        for (int i = 0; i < rollouts.length; i++)
+        {
+            //split the play outs between the threads
+            rollouts[i].reset(deadline, (playouts + rollouts.length - 1 - i) / rollouts.length);
+        }
+        
+        if (rollouts.length == 1)
+        {
+            rollouts[0].call();
+        }
+        else
+        {
+            getExecutor().invokeAll(tasks);
+        }
+        
+        //pick the candidate with the best average score
+        int best = 0;
+        int score = Integer.MIN_VALUE;
+        
+        for (int i = 0; i < count; i++)
+        {
+            long total = 0;
+            int samples = 0;
+            
+            for (int x = 0; x < rollouts.length; x++)
+            {
+                total += rollouts[x].totals[i];
+                samples += rollouts[x].counts[i];
+            }
+            
+            //a thread may not have finished a single play out
+            if (samples == 0)
+                continue;
+            
+            final int value = scores[i] + (int)(total / samples);
+            
+            if (value > score)
+            {
+                score = value;
+                best = i;
+            }
+        }
+        
+        //move the columns under the falling pieces
+        for (int i = 0; i < view.getFallingCount(); i++)
+        {
+            plan.add(view.getFallingCol(i), CpuSearch.getOrderColumn(candidates[best], view.getFallingCol(i)), score);
+        }
+        
+        return plan;
+    }
+    
+    /**
+     * Add the column order as a candidate, dropping the falling pieces on it
+     * @param view What the cpu can see
+     * @param index The index of the column order
+     */
+    private void addCandidate(final CpuView view, final int index)
+    {
+        final BitBoard start = starts[count];
+        
+        //change the column order then drop the falling pieces
+        start.set(current, CpuSearch.getOrder(index));
+        
+        scores[count] = drop(start, view.getFallingCol(0), view.getFallingType(0))
+            + drop(start, view.getFallingCol(1), view.getFallingType(1))
+            + (weights.get(CpuWeights.WEIGHT_COLUMN_SWITCH) * CpuSearch.getSwitches(index));
+        
+        candidates[count] = index;
+        count++;
+    }
+    
+    /**
+     * Drop a piece in the column, scored with our weights
+     * @param board The board
+     * @param col The column
+     * @param type The type of piece
+     * @return The score of the drop
+     */
+    private int drop(final BitBoard board, final int col, final int type)
+    {
+        return board.drop(col, type, weights.get(CpuWeights.WEIGHT_PIECE_MATCH), weights.get(CpuWeights.WEIGHT_YOSHI_PIECE));
+    }
+    
+    /**
+     * The play outs for 1 thread
+     */
+    private final class Rollout implements Callable<Void>
+    {
+        //the random pieces spawned
+        private final Random random;
+        
+        //the board we play out on, the board for each move we check, and the best move
+        private final BitBoard board, move, best;
+        
+        //the total score and number of play outs for each candidate
+        private final long[] totals;
+        private final int[] counts;
+        
+        //the type and column of the random pieces spawned in a round, every candidate is played out with the same pieces
+        private final int[] types, cols;
+        
+        //when we have to stop
+        private long deadline;
+        
+        //the most play outs for each candidate
+        private int limit;
+        
+        private Rollout(final long seed)
+        {
+            this.random = new Random(seed);
+            
+            this.board = new BitBoard();
+            this.move = new BitBoard();
+            this.best = new BitBoard();
+            
+            this.totals = new long[candidates.length];
+            this.counts = new int[candidates.length];
+            
+            this.types = new int[ROLLOUT_PAIRS * CpuPlan.TARGETS_MAX];
+            this.cols = new int[ROLLOUT_PAIRS * CpuPlan.TARGETS_MAX];
+        }
+        
+        /**
+         * Get ready for the next decision
+         * @param deadline When we have to stop (nano-seconds), BUDGET_NONE if there is no time limit
+         * @param limit The most play outs for each candidate
+         */
+        private void reset(final long deadline, final int limit)
+        {
+            this.deadline = deadline;
+            this.limit = limit;
+            
+            for (int i = 0; i < candidates.length; i++)
+            {
+                totals[i] = 0;
+                counts[i] = 0;
+            }
+        }
+        
+        @Override
+        public Void call()
+        {
+            for (int round = 0; round < limit; round++)
+            {
+                //spawn random pieces the same as the board
+                for (int i = 0; i < types.length; i += CpuPlan.TARGETS_MAX)
+                {
+                    types[i] = random.nextInt(Piece.TYPE_TOTAL);
+                    types[i + 1] = random.nextInt(Piece.TYPE_TOTAL);
+                    
+                    //the 2nd piece is in one of the remaining columns
+                    cols[i] = random.nextInt(Board.COLUMNS);
+                    cols[i + 1] = random.nextInt(Board.COLUMNS - 1);
+                    
+                    if (cols[i + 1] >= cols[i])
+                        cols[i + 1]++;
+                }
+                
+                //play out each candidate with the same pieces, so the difference in score is from the candidate
+                for (int i = 0; i < count; i++)
+                {
+                    totals[i] += playout(starts[i]);
+                    counts[i]++;
+                }
+                
+                //stop once we are out of time
+                if (deadline != BUDGET_NONE && System.nanoTime() >= deadline)
+                    break;
+            }
+            
+            return null;
+        }
+        
+        /**
+         * Play out a random game
+         * @param start The board after the falling pieces are dropped
+         * @return The score of the game
+         */
+        private int playout(final BitBoard start)
+        {
+            board.set(start);
+            
+            int value = 0;
+            
+            //the pieces waiting at the top are the first pair
+            if (next1 != BitBoard.EMPTY && next2 != BitBoard.EMPTY && !board.hasLost())
+                value += place(next1, nextCol1, next2, nextCol2);
+            
+            for (int i = 0; i < types.length && !board.hasLost(); i += CpuPlan.TARGETS_MAX)
+            {
+                value += place(types[i], cols[i], types[i + 1], cols[i + 1]);
+            }
+            
+            if (board.hasLost())
+                return value + CpuSearch.SCORE_LOSE;
+            
+            return value + CpuSearch.evaluate(board, weights);
+        }
+        
+        /**
+         * Place the pair of pieces with the best column order.<br>
+         * The pieces start at the top, so tall columns may not have time to be switched.
+         * @param type1 The type of the 1st piece
+         * @param col1 The column of the 1st piece
+         * @param type2 The type of the 2nd piece
+         * @param col2 The column of the 2nd piece
+         * @return The score from dropping the pieces
+         */
+        private int place(final int type1, final int col1, final int type2, final int col2)
+        {
+            int score = 0;
+            int value = Integer.MIN_VALUE;
+            
+            for (int index = 0; index < CpuPaths.getOrderCount(); index++)
+            {
+                //skip the order if the pieces will land before the columns are switched
+                if (!CpuSearch.hasTime(board, index, col1, 0) || !CpuSearch.hasTime(board, index, col2, 0))
+                    continue;
+                
+                move.set(board, CpuSearch.getOrder(index));
+                
+                final int drop = drop(move, col1, type1) + drop(move, col2, type2);
+                final int tmp = drop + (weights.get(CpuWeights.WEIGHT_COLUMN_SWITCH) * CpuSearch.getSwitches(index)) 
+                    + (move.hasLost() ? CpuSearch.SCORE_LOSE : CpuSearch.evaluate(move, weights));
+                
+                if (tmp > value)
+                {
+                    value = tmp;
+                    score = drop;
+                    best.set(move);
+                }
+            }
+            
+            //the current order always has time
+            board.set(best);
+            
+            return score;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,346 @@
+package com.gamesbykevin.yoshi.player;
+
+import com.gamesbykevin.yoshi.board.Board;
+
+import java.util.Arrays;
+
+/**
+ * The shortest path between any 2 column orders.<br>
+ * There are only 24 orders and 3 places the player can be, so every path is found once (breadth first search).<br>
+ * The cpu can then look up the next move (left, right or switch) without checking anything else.
+ * @author GOD
+ */
+public final class CpuPaths 
+{
+    /**
+     * No move is needed, we are already at the column order
+     */
+    public static final int MOVE_NONE = 0;
+    
+    /**
+     * Move the player to the left
+     */
+    public static final int MOVE_LEFT = 1;
+    
+    /**
+     * Move the player to the right
+     */
+    public static final int MOVE_RIGHT = 2;
+    
+    /**
+     * Switch the columns on each side of the player
+     */
+    public static final int MOVE_SWITCH = 3;
+    
+    /**
+     * The value returned when an order is not found
+     */
+    public static final int NO_ORDER = -1;
+    
+    //the number of places the player can be (the player is between 2 columns)
+    private static final int PLAYER_COLUMNS = Board.COLUMNS - 1;
+    
+    //every order of the columns, the value at each index is the column there
+    private static final int[][] ORDERS;
+    
+    //the index of each order, using the columns of the order as a number
+    private static final int[] INDEXES;
+    
+    //the first move and the number of moves from each order and player location (state) to each order
+    private static final byte[][] MOVES;
+    private static final byte[][] DISTANCES;
+    
+    static
+    {
+        ORDERS = createOrders();
+        
+        INDEXES = new int[getKeyCount()];
+        Arrays.fill(INDEXES, NO_ORDER);
+        
+        for (int index = 0; index < ORDERS.length; index++)
+        {
+            INDEXES[getKey(ORDERS[index])] = index;
+        }
+        
+        final int states = ORDERS.length * PLAYER_COLUMNS;
+        
+        MOVES = new byte[states][ORDERS.length];
+        DISTANCES = new byte[states][ORDERS.length];
+        
+        for (int state = 0; state < states; state++)
+        {
+            search(state);
+        }
+    }
+    
+    private CpuPaths()
+    {
+        //no need to create
+    }
+    
+    /**
+     * Create every order of the columns, sorted so the first order is the columns in place
+     * @return The array of column orders
+     */
+    private static int[][] createOrders()
+    {
+        //the number of orders is the factorial of the columns
+        int total = 1;
+        
+        for (int i = 2; i <= Board.COLUMNS; i++)
+        {
+            total *= i;
+        }
+        
+        final int[][] orders = new int[total][Board.COLUMNS];
+        
+        for (int index = 0; index < total; index++)
+        {
+            //the columns we can still choose from
+            final boolean[] used = new boolean[Board.COLUMNS];
+            
+            int remaining = index;
+            int options = total;
+            
+            for (int col = 0; col < Board.COLUMNS; col++)
+            {
+                options /= (Board.COLUMNS - col);
+                
+                //the position of the column in the columns not yet used
+                int position = remaining / options;
+                remaining %= options;
+                
+                for (int value = 0; value < Board.COLUMNS; value++)
+                {
+                    if (used[value])
+                        continue;
+                    
+                    if (position == 0)
+                    {
+                        orders[index][col] = value;
+                        used[value] = true;
+                        break;
+                    }
+                    
+                    position--;
+                }
+            }
+        }
+        
+        return orders;
+    }
+    
+    /**
+     * Get the number of keys, which is every way the columns can be written as a number
+     * @return The number of keys
+     */
+    private static int getKeyCount()
+    {
+        int count = 1;
+        
+        for (int col = 0; col < Board.COLUMNS; col++)
+        {
+            count *= Board.COLUMNS;
+        }
+        
+        return count;
+    }
+    
+    /**
+     * Get the key of the order
+     * @param order The column at each index
+     * @return The columns as a number
+     */
+    private static int getKey(final int[] order)
+    {
+        int key = 0;
+        
+        for (int col = 0; col < Board.COLUMNS; col++)
+        {
+            key = (key * Board.COLUMNS) + order[col];
+        }
+        
+        return key;
+    }
+    
+    /**
+     * Find the shortest path from the state to every other state
+     * @param start The state we start at (the order index times the player columns plus the player column)
+     */
+    private static void search(final int start)
+    {
+        final int states = ORDERS.length * PLAYER_COLUMNS;
+        
+        //the first move made to reach each state, and the number of moves
+        final int[] moves = new int[states];
+        final int[] distances = new int[states];
+        Arrays.fill(distances, -1);
+        
+        //the states we still need to check, in the order they were found
+        final int[] queue = new int[states];
+        int head = 0, tail = 0;
+        
+        distances[start] = 0;
+        moves[start] = MOVE_NONE;
+        queue[tail++] = start;
+        
+        //a temporary order when switching columns
+        final int[] order = new int[Board.COLUMNS];
+        
+        while (head < tail)
+        {
+            final int state = queue[head++];
+            final int index = state / PLAYER_COLUMNS;
+            final int col = state % PLAYER_COLUMNS;
+            
+            //check each move from this state
+            for (int move = MOVE_LEFT; move <= MOVE_SWITCH; move++)
+            {
+                int next;
+                
+                switch (move)
+                {
+                    case MOVE_LEFT:
+                        if (col == 0)
+                            continue;
+                        
+                        next = (index * PLAYER_COLUMNS) + (col - 1);
+                        break;
+                        
+                    case MOVE_RIGHT:
+                        if (col == PLAYER_COLUMNS - 1)
+                            continue;
+                        
+                        next = (index * PLAYER_COLUMNS) + (col + 1);
+                        break;
+                        
+                    default:
+                        System.arraycopy(ORDERS[index], 0, order, 0, Board.COLUMNS);
+                        order[col] = ORDERS[index][col + 1];
+                        order[col + 1] = ORDERS[index][col];
+                        
+                        next = (INDEXES[getKey(order)] * PLAYER_COLUMNS) + col;
+                        break;
+                }
+                
+                //if we already found this state, there is a shorter path
+                if (distances[next] >= 0)
+                    continue;
+                
+                distances[next] = distances[state] + 1;
+                
+                //keep the first move made from the start
+                moves[next] = (state == start) ? move : moves[state];
+                
+                queue[tail++] = next;
+            }
+        }
+        
+        //the distance to an order is the closest player column at that order
+        for (int index = 0; index < ORDERS.length; index++)
+        {
+            int best = NO_ORDER;
+            
+            for (int col = 0; col < PLAYER_COLUMNS; col++)
+            {
+                final int state = (index * PLAYER_COLUMNS) + col;
+                
+                if (best == NO_ORDER || distances[state] < distances[best])
+                    best = state;
+            }
+            
+            MOVES[start][index] = (byte)moves[best];
+            DISTANCES[start][index] = (byte)distances[best];
+        }
+    }
+    
+    /**
+     * Get the number of column orders
+     * @return The number of different orders the columns can be in
+     */
+    public static int getOrderCount()
+    {
+        return ORDERS.length;
+    }
+    
+    /**
+     * Get a copy of the order
+     * @param index The index of the order
+     * @return The column at each index
+     */
+    public static int[] getOrder(final int index)
+    {
+        return ORDERS[index].clone();
+    }
+    
+    /**
+     * Get the column in the order
+     * @param index The index of the order
+     * @param col The column index
+     * @return The column at the index
+     */
+    public static int getOrderColumn(final int index, final int col)
+    {
+        return ORDERS[index][col];
+    }
+    
+    /**
+     * Get the index of the order
+     * @param order The column at each index
+     * @return The index of the order, NO_ORDER if the columns are not a valid order
+     */
+    public static int getOrderIndex(final int[] order)
+    {
+        return INDEXES[getKey(order)];
+    }
+    
+    /**
+     * Get the first move to reach an order
+     * @param index The index of the current order
+     * @param col The current column of the player
+     * @param goal The index of the order we want
+     * @return The move MOVE_LEFT, MOVE_RIGHT, MOVE_SWITCH, or MOVE_NONE if we are at the order
+     */
+    public static int getMove(final int index, final int col, final int goal)
+    {
+        return MOVES[(index * PLAYER_COLUMNS) + col][goal];
+    }
+    
+    /**
+     * Get the number of moves to reach an order
+     * @param index The index of the current order
+     * @param col The current column of the player
+     * @param goal The index of the order we want
+     * @return The fewest number of moves
+     */
+    public static int getDistance(final int index, final int col, final int goal)
+    {
+        return DISTANCES[(index * PLAYER_COLUMNS) + col][goal];
+    }
+    
+    /**
+     * Get the closest order that has both columns at their destination
+     * @param index The index of the current order
+     * @param col The current column of the player
+     * @param destination1 The index where we want the 1st column
+     * @param source1 The 1st column
+     * @param destination2 The index where we want the 2nd column
+     * @param source2 The 2nd column
+     * @return The index of the closest order, NO_ORDER if no order has both columns in place
+     */
+    public static int getClosest(final int index, final int col, final int destination1, final int source1, final int destination2, final int source2)
+    {
+        int best = NO_ORDER;
+        
+        for (int goal = 0; goal < ORDERS.length; goal++)
+        {
+            if (ORDERS[goal][destination1] != source1 || ORDERS[goal][destination2] != source2)
+                continue;
+            
+            if (best == NO_ORDER || getDistance(index, col, goal) < getDistance(index, col, best))
+                best = goal;
+        }
+        
+        return best;
+    }
+}
@@ -0,0 +1,108 @@
+package com.gamesbykevin.yoshi.player;
+
+/**
+ * The targets the cpu strategy has chosen.<br>
+ * Each target is the column index of a falling piece and the column index we want to move under it.<br>
+ * The first target added has the highest priority.
+ * @author GOD
+ */
+public final class CpuPlan 
+{
+    /**
+     * The most targets we can have, one for each falling piece
+     */
+    public static final int TARGETS_MAX = 2;
+    
+    //the target information
+    private final int[] destinations;
+    private final int[] sources;
+    private final int[] scores;
+    
+    //the number of targets
+    private int count = 0;
+    
+    public CpuPlan()
+    {
+        this.destinations = new int[TARGETS_MAX];
+        this.sources = new int[TARGETS_MAX];
+        this.scores = new int[TARGETS_MAX];
+    }
+    
+    /**
+     * Copy the targets of the plan
+     * @param plan The plan we want to copy
+     */
+    public void set(final CpuPlan plan)
+    {
+        System.arraycopy(plan.destinations, 0, destinations, 0, TARGETS_MAX);
+        System.arraycopy(plan.sources, 0, sources, 0, TARGETS_MAX);
+        System.arraycopy(plan.scores, 0, scores, 0, TARGETS_MAX);
+        
+        this.count = plan.count;
+    }
+    
+    /**
+     * Remove all targets
+     */
+    public void reset()
+    {
+        this.count = 0;
+    }
+    
+    /**
+     * Add a target
+     * @param destination The column index of the falling piece
+     * @param source The column index we want to move under the falling piece
+     * @param score The score of the target
+     * @throws Exception If we already have the most targets
+     */
+    public void add(final int destination, final int source, final int score) throws Exception
+    {
+        if (count >= TARGETS_MAX)
+            throw new Exception("The plan can only have " + TARGETS_MAX + " targets");
+        
+        destinations[count] = destination;
+        sources[count] = source;
+        scores[count] = score;
+        count++;
+    }
+    
+    /**
+     * Get the number of targets
+     * @return The number of targets in the plan
+     */
+    public int getCount()
+    {
+        return this.count;
+    }
+    
+    /**
+     * Get the destination
+     * @param index The index of the target
+     * @return The column index of the falling piece
+     */
+    public int getDestination(final int index)
+    {
+        return destinations[index];
+    }
+    
+    /**
+     * Get the source
+     * @param index The index of the target
+     * @return The column index we want to move under the falling piece
+     */
+    public int getSource(final int index)
+    {
+        return sources[index];
+    }
+    
+    /**
+     * Get the score
+     * @param index The index of the target
+     * @return The score of the target
+     */
+    public int getScore(final int index)
+    {
+        return scores[index];
+    }
+}
@@ -0,0 +1,622 @@
+package com.gamesbykevin.yoshi.player;
+
+import com.gamesbykevin.yoshi.board.BitBoard;
+import com.gamesbykevin.yoshi.board.Board;
+import com.gamesbykevin.yoshi.board.piece.Piece;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * The cpu search will look ahead to find the best order of columns for the falling pieces.<br>
+ * Each of the 24 column orders is checked for the falling pieces, then the next pieces at the top (if they exist) are checked.<br>
+ * After that we don't know which pieces will be spawned, so we use the average score of every possible pair.<br>
+ * Once the falling pieces are placed, any 2 columns can be moved under the next pieces, so the order of the columns doesn't matter.<br>
+ * This lets positions be stored in a transposition table using a Zobrist hash that is the same for any order of the columns.
+ * @author GOD
+ */
+public final class CpuSearch implements ICpuStrategy, ICpuWeighted
+{
+    /**
+     * The number of spawned pairs we don't know, that we will look ahead
+     */
+    public static final int LOOKAHEAD_DEFAULT = 1;
+    
+    /**
+     * The score when a board has lost
+     */
+    public static final int SCORE_LOSE = -10000;
+    
+    /**
+     * The score for each column switch needed to reach the column order
+     */
+    public static final int SCORE_COLUMN_SWITCH = -3;
+    
+    /**
+     * The score for each piece above the danger height
+     */
+    public static final int SCORE_DANGER_HEIGHT = -50;
+    
+    /**
+     * Columns above this height are close to losing
+     */
+    public static final int DANGER_HEIGHT = Board.ROWS - 3;
+    
+    /**
+     * Every order of the columns
+     */
+    private static final int[][] ORDERS = createOrders();
+    
+    /**
+     * The number of column switches needed for each order
+     */
+    private static final int[] SWITCHES = createSwitches();
+    
+    //the number of different pairs that can spawn
+    private static final int SPAWN_PAIRS = Piece.TYPE_TOTAL * Piece.TYPE_TOTAL;
+    
+    //the number of different pairs of columns the pieces can spawn in
+    private static final int SPAWN_COLUMNS = (Board.COLUMNS * (Board.COLUMNS - 1)) / 2;
+    
+    //the random value for each type of piece in each cell of a column
+    private static final long[][] ZOBRIST = createZobrist();
+    
+    //the number of bits for the size of the transposition table
+    private static final int TABLE_BITS = 16;
+    
+    //the mask for the transposition table index
+    private static final int TABLE_MASK = (1 << TABLE_BITS) - 1;
+    
+    //the transposition table, depth 0 is an empty entry
+    private final long[] keys;
+    private final int[] values;
+    private final byte[] depths;
+    
+    //the boards used at each level of the search so we don't create any during the search
+    private final BitBoard[] boards;
+    
+    //the number of unknown pairs we look ahead
+    private final int lookahead;
+    
+    //the weights used to score the board
+    private CpuWeights weights;
+    
+    //the score of the best order found
+    private int score;
+    
+    //the board we are searching
+    private final BitBoard current;
+    
+    //the plan we return
+    private final CpuPlan plan;
+    
+    /**
+     * Create the search with the default look ahead
+     */
+    public CpuSearch()
+    {
+        this(LOOKAHEAD_DEFAULT);
+    }
+    
+    /**
+     * Create the search
+     * @param lookahead The number of unknown spawned pairs we look ahead
+     */
+    public CpuSearch(final int lookahead)
+    {
+        this.lookahead = lookahead;
+        this.weights = new CpuWeights();
+        
+        this.current = new BitBoard();
+        this.plan = new CpuPlan();
+        
+        this.keys = new long[TABLE_MASK + 1];
+        this.values = new int[TABLE_MASK + 1];
+        this.depths = new byte[TABLE_MASK + 1];
+        
+        //each level of the search needs a board, the falling pieces, the next pieces, and each look ahead
+        this.boards = new BitBoard[2 + lookahead];
+        
+        for (int i = 0; i < boards.length; i++)
+        {
+            boards[i] = new BitBoard();
+        }
+    }
+    
+    /**
+     * Create every order of the columns, the same orders as the cpu paths
+     * @return The array of column orders
+     */
+    private static int[][] createOrders()
+    {
+        final int[][] orders = new int[CpuPaths.getOrderCount()][];
+        
+        for (int index = 0; index < orders.length; index++)
+        {
+            orders[index] = CpuPaths.getOrder(index);
+        }
+        
+        return orders;
+    }
+    
+    /**
+     * Count the column switches needed for each order
+     * @return The number of switches for each order
+     */
+    private static int[] createSwitches()
+    {
+        final int[] switches = new int[ORDERS.length];
+        
+        for (int index = 0; index < ORDERS.length; index++)
+        {
+            //each pair of columns out of order needs a switch
+            for (int i = 0; i < Board.COLUMNS; i++)
+            {
+                for (int x = i + 1; x < Board.COLUMNS; x++)
+                {
+                    if (ORDERS[index][i] > ORDERS[index][x])
+                        switches[index]++;
+                }
+            }
+        }
+        
+        return switches;
+    }
+    
+    /**
+     * Create the random values for the Zobrist hash
+     * @return The random value for each cell and type of piece
+     */
+    private static long[][] createZobrist()
+    {
+        //use the same seed so the values are the same every time
+        final Random random = new Random(Board.ROWS * Board.COLUMNS);
+        
+        final long[][] zobrist = new long[Board.ROWS][Piece.TYPE_TOTAL];
+        
+        for (int row = 0; row < Board.ROWS; row++)
+        {
+            for (int type = 0; type < Piece.TYPE_TOTAL; type++)
+            {
+                zobrist[row][type] = random.nextLong();
+            }
+        }
+        
+        return zobrist;
+    }
+    
+    /**
+     * Get the number of column orders
+     * @return The number of different orders the columns can be in
+     */
+    public static int getOrderCount()
+    {
+        return ORDERS.length;
+    }
+    
+    /**
+     * Get the column placed at the column for the order
+     * @param index The index of the order
+     * @param col The column
+     * @return The column that will be moved to the column
+     */
+    public static int getOrderColumn(final int index, final int col)
+    {
+        return ORDERS[index][col];
+    }
+    
+    /**
+     * Get the hash of the board.<br>
+     * The hash is the same for any order of the columns.
+     * @param board The board
+     * @return The Zobrist hash of each column added together
+     */
+    public static long getHash(final BitBoard board)
+    {
+        long hash = 0;
+        
+        for (int col = 0; col < Board.COLUMNS; col++)
+        {
+            long column = 0;
+            
+            for (int index = 0; index < board.getHeight(col); index++)
+            {
+                column ^= ZOBRIST[index][board.getPiece(col, index)];
+            }
+            
+            //add instead of xor so 2 columns that are the same don't cancel each other out
+            hash += column;
+        }
+        
+        return hash;
+    }
+    
+    /**
+     * Get the column order without making a copy, so the order can be used in a search
+     * @param index The index of the column order
+     * @return The column of the board at each column, this must not be changed
+     */
+    protected static int[] getOrder(final int index)
+    {
+        return ORDERS[index];
+    }
+    
+    /**
+     * Get the number of column switches needed
+     * @param index The index of the column order
+     * @return The number of switches to reach the order from the first order
+     */
+    protected static int getSwitches(final int index)
+    {
+        return SWITCHES[index];
+    }
+    
+    /**
+     * Get the score of the best order found in the last search
+     * @return The score of the order
+     */
+    public int getScore()
+    {
+        return this.score;
+    }
+    
+    @Override
+    public void setWeights(final CpuWeights weights)
+    {
+        this.weights = weights;
+        
+        //the scores stored in the table were from the previous weights
+        Arrays.fill(depths, (byte)0);
+    }
+    
+    /**
+     * Get the look ahead
+     * @return The number of unknown spawned pairs we look ahead
+     */
+    public int getLookahead()
+    {
+        return this.lookahead;
+    }
+    
+    @Override
+    public CpuPlan locate(final CpuView view) throws Exception
+    {
+        if (view.getFallingCount() != CpuPlan.TARGETS_MAX)
+            throw new Exception("Expected # of falling pieces is not " + CpuPlan.TARGETS_MAX + " (" + view.getFallingCount() + ")");
+        
+        plan.reset();
+        
+        view.copy(current);
+        
+        //do we know the next pieces
+        final boolean next = (view.getNextCount() == CpuPlan.TARGETS_MAX);
+        
+        //find the best order of the columns
+        final int index = search(
+            current, 
+            view.getFallingType(0), view.getFallingCol(0), view.getFallingRow(0), 
+            view.getFallingType(1), view.getFallingCol(1), view.getFallingRow(1), 
+            next ? view.getNextType(0) : BitBoard.EMPTY, next ? view.getNextCol(0) : 0, 
+            next ? view.getNextType(1) : BitBoard.EMPTY, next ? view.getNextCol(1) : 0);
+        
+        //if the search was interrupted, the scores stored in the table can't be trusted
+        if (Thread.currentThread().isInterrupted())
+        {
+            Arrays.fill(depths, (byte)0);
+            throw new Exception("Search interrupted");
+        }
+        
+        //move the columns under the falling pieces
+        for (int i = 0; i < view.getFallingCount(); i++)
+        {
+            plan.add(view.getFallingCol(i), getOrderColumn(index, view.getFallingCol(i)), score);
+        }
+        
+        return plan;
+    }
+    
+    /**
+     * Search for the best order of the columns for the falling pieces
+     * @param board The board with the placed pieces
+     * @param type1 The type of the 1st falling piece
+     * @param col1 The column of the 1st falling piece
+     * @param row1 The row of the 1st falling piece
+     * @param type2 The type of the 2nd falling piece
+     * @param col2 The column of the 2nd falling piece
+     * @param row2 The row of the 2nd falling piece
+     * @param next1 The type of the 1st piece waiting at the top, BitBoard.EMPTY if we don't know
+     * @param nextCol1 The column of the 1st piece waiting at the top
+     * @param next2 The type of the 2nd piece waiting at the top, BitBoard.EMPTY if we don't know
+     * @param nextCol2 The column of the 2nd piece waiting at the top
+     * @return The index of the best column order, if no other order has time the current order is returned
+     */
+    public int search(
+        final BitBoard board, 
+        final int type1, final int col1, final int row1, 
+        final int type2, final int col2, final int row2, 
+        final int next1, final int nextCol1, 
+        final int next2, final int nextCol2)
+    {
+        int best = 0;
+        
+        this.score = Integer.MIN_VALUE;
+        
+        for (int index = 0; index < ORDERS.length; index++)
+        {
+            //skip the order if the falling pieces will land before the columns are switched
+            if (!hasTime(board, index, col1, row1) || !hasTime(board, index, col2, row2))
+                continue;
+            
+            final BitBoard tmp = boards[0];
+            
+            //change the column order then drop the falling pieces
+            tmp.set(board, ORDERS[index]);
+            
+            int value = drop(tmp, col1, type1) + drop(tmp, col2, type2) + (weights.get(CpuWeights.WEIGHT_COLUMN_SWITCH) * SWITCHES[index]);
+            
+            if (tmp.hasLost())
+            {
+                value += SCORE_LOSE;
+            }
+            else if (next1 == BitBoard.EMPTY || next2 == BitBoard.EMPTY)
+            {
+                value += getAverage(tmp, lookahead, 1);
+            }
+            else
+            {
+                //the next pieces will start at the top
+                value += getBestOrder(tmp, next1, nextCol1, next2, nextCol2, lookahead, 1);
+            }
+            
+            //keep the best order, if the score is the same keep the one with the fewest switches
+            if (value > score || (value == score && SWITCHES[index] < SWITCHES[best]))
+            {
+                score = value;
+                best = index;
+            }
+        }
+        
+        return best;
+    }
+    
+    /**
+     * Is there time to move the column under the falling piece before it lands?<br>
+     * Each switch needs at least 1 row of space between the falling piece and the columns being switched.
+     * @param board The board
+     * @param index The index of the column order
+     * @param col The column of the falling piece
+     * @param row The row of the falling piece
+     * @return true if the column doesn't change or there is enough space, false otherwise
+     */
+    protected static boolean hasTime(final BitBoard board, final int index, final int col, final int row)
+    {
+        final int source = ORDERS[index][col];
+        
+        //the column is already in place
+        if (source == col)
+            return true;
+        
+        //the number of rows the piece can fall before landing on each column
+        final int space = (Board.ROWS - 1) - board.getHeight(col) - row;
+        final int sourceSpace = (Board.ROWS - 1) - board.getHeight(source) - row;
+        
+        return ((space * 2) > SWITCHES[index] && (sourceSpace * 2) > SWITCHES[index]);
+    }
+    
+    /**
+     * Do we have a column that can't be moved from under a piece that was just spawned?<br>
+     * If so it matters where the pieces are spawned.
+     * @param board The board
+     * @return true if at least 1 column is too high to be switched in time, false otherwise
+     */
+    private static boolean hasBlockedColumn(final BitBoard board)
+    {
+        for (int col = 0; col < Board.COLUMNS; col++)
+        {
+            //a single switch needs more than 1 row of space
+            if ((Board.ROWS - 1) - board.getHeight(col) <= 1)
+                return true;
+        }
+        
+        return false;
+    }
+    
+    /**
+     * Get the score after the pieces are placed
+     * @param board The board after the pieces are placed
+     * @param depth The number of unknown pairs remaining to look ahead
+     * @param level The level of the search
+     * @return The score of the board
+     */
+    private int getValue(final BitBoard board, final int depth, final int level)
+    {
+        if (board.hasLost())
+            return SCORE_LOSE;
+        
+        if (depth > 0)
+            return getAverage(board, depth, level + 1);
+        
+        return evaluate(board, weights);
+    }
+    
+    /**
+     * Drop a piece in the column, scored with our weights
+     * @param board The board
+     * @param col The column
+     * @param type The type of piece
+     * @return The score of the drop
+     */
+    private int drop(final BitBoard board, final int col, final int type)
+    {
+        return board.drop(col, type, weights.get(CpuWeights.WEIGHT_PIECE_MATCH), weights.get(CpuWeights.WEIGHT_YOSHI_PIECE));
+    }
+    
+    /**
+     * Get the best score for the pair starting at the top, checking every column order there is time for
+     * @param board The board
+     * @param type1 The type of the 1st piece
+     * @param col1 The column of the 1st piece
+     * @param type2 The type of the 2nd piece
+     * @param col2 The column of the 2nd piece
+     * @param depth The number of unknown pairs remaining to look ahead
+     * @param level The level of the search
+     * @return The best score found
+     */
+    private int getBestOrder(final BitBoard board, final int type1, final int col1, final int type2, final int col2, final int depth, final int level)
+    {
+        int best = Integer.MIN_VALUE;
+        
+        final BitBoard tmp = boards[level];
+        
+        for (int index = 0; index < ORDERS.length; index++)
+        {
+            if (!hasTime(board, index, col1, 0) || !hasTime(board, index, col2, 0))
+                continue;
+            
+            tmp.set(board, ORDERS[index]);
+            
+            final int value = drop(tmp, col1, type1) + drop(tmp, col2, type2) + getValue(tmp, depth, level);
+            
+            if (value > best)
+                best = value;
+        }
+        
+        return best;
+    }
+    
+    /**
+     * Get the best score when placing the pair under any 2 columns.<br>
+     * This can only be used when every column can be moved in time.
+     * @param board The board
+     * @param type1 The type of the 1st piece
+     * @param type2 The type of the 2nd piece
+     * @param depth The number of unknown pairs remaining to look ahead
+     * @param level The level of the search
+     * @return The best score found
+     */
+    private int getBest(final BitBoard board, final int type1, final int type2, final int depth, final int level)
+    {
+        int best = Integer.MIN_VALUE;
+        
+        final BitBoard tmp = boards[level];
+        
+        for (int col1 = 0; col1 < Board.COLUMNS; col1++)
+        {
+            for (int col2 = 0; col2 < Board.COLUMNS; col2++)
+            {
+                if (col1 == col2)
+                    continue;
+                
+                //if the pieces are the same, the other side has already been checked
+                if (type1 == type2 && col2 < col1)
+                    continue;
+                
+                tmp.set(board);
+                
+                final int value = drop(tmp, col1, type1) + drop(tmp, col2, type2) + getValue(tmp, depth, level);
+                
+                if (value > best)
+                    best = value;
+            }
+        }
+        
+        return best;
+    }
+    
+    /**
+     * Get the average score of every pair that can be spawned
+     * @param board The board
+     * @param depth The number of unknown pairs remaining to look ahead
+     * @param level The level of the search
+     * @return The average score
+     */
+    private int getAverage(final BitBoard board, final int depth, final int level)
+    {
+        //if our thread was interrupted stop searching, the result won't be used
+        if (Thread.currentThread().isInterrupted())
+            return 0;
+        
+        final long key = getHash(board);
+        final int index = (int)(key ^ (key >>> 32)) & TABLE_MASK;
+        
+        //if we already checked this position, use the score
+        if (keys[index] == key && depths[index] == depth)
+            return values[index];
+        
+        final int value;
+        
+        if (hasBlockedColumn(board))
+        {
+            long total = 0;
+            
+            //every type for each piece and every pair of columns they can spawn in
+            for (int type1 = 0; type1 < Piece.TYPE_TOTAL; type1++)
+            {
+                for (int type2 = 0; type2 < Piece.TYPE_TOTAL; type2++)
+                {
+                    for (int col1 = 0; col1 < Board.COLUMNS; col1++)
+                    {
+                        for (int col2 = col1 + 1; col2 < Board.COLUMNS; col2++)
+                        {
+                            total += getBestOrder(board, type1, col1, type2, col2, depth - 1, level);
+                        }
+                    }
+                }
+            }
+            
+            value = (int)(total / (SPAWN_PAIRS * SPAWN_COLUMNS));
+        }
+        else
+        {
+            long total = 0;
+            
+            //any 2 columns can be moved under the pieces, so it doesn't matter where they spawn
+            for (int type1 = 0; type1 < Piece.TYPE_TOTAL; type1++)
+            {
+                for (int type2 = type1; type2 < Piece.TYPE_TOTAL; type2++)
+                {
+                    //the pieces can spawn in either order
+                    final int count = (type1 == type2) ? 1 : 2;
+                    
+                    total += count * getBest(board, type1, type2, depth - 1, level);
+                }
+            }
+            
+            value = (int)(total / SPAWN_PAIRS);
+        }
+        
+        //store in the table
+        keys[index] = key;
+        values[index] = value;
+        depths[index] = (byte)depth;
+        
+        return value;
+    }
+    
+    /**
+     * Score the board once we are done looking ahead
+     * @param board The board
+     * @param weights The weights used to score the board
+     * @return The score of the board, penalizing the height of each column
+     */
+    protected static int evaluate(final BitBoard board, final CpuWeights weights)
+    {
+        int value = 0;
+        
+        for (int col = 0; col < Board.COLUMNS; col++)
+        {
+            final int height = board.getHeight(col);
+            
+            //the pieces above a bottom shell can be part of a yoshi
+            final int count = board.getBottomShellCount(col);
+            
+            value += (weights.get(CpuWeights.WEIGHT_PIECE_HEIGHT) * (height - count)) + (weights.get(CpuWeights.WEIGHT_YOSHI_HEIGHT_PENALTY) * count);
+            
+            //columns close to the top are much worse
+            if (height > DANGER_HEIGHT)
+                value += weights.get(CpuWeights.WEIGHT_DANGER_HEIGHT) * (height - DANGER_HEIGHT);
+        }
+        
+        return value;
+    }
+}
\ No newline at end of file
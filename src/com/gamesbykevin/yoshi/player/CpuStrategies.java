@@ -0,0 +1,128 @@
+package com.gamesbykevin.yoshi.player;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The registry of cpu strategies.<br>
+ * Each strategy has a name so it can be chosen without changing the cpu.
+ * @author GOD
+ */
+public final class CpuStrategies 
+{
+    /**
+     * Score each column for each falling piece and take the 2 best targets
+     */
+    public static final String NAME_GREEDY = "greedy";
+    
+    /**
+     * Search every column order and look ahead at the next pieces
+     */
+    public static final String NAME_SEARCH = "search";
+    
+    /**
+     * Play out random games for every column order
+     */
+    public static final String NAME_MONTE_CARLO = "montecarlo";
+    
+    //the strategies by name
+    private static final Map<String, Class<? extends ICpuStrategy>> STRATEGIES = new LinkedHashMap<>();
+    
+    static
+    {
+        register(NAME_GREEDY, CpuGreedy.class);
+        register(NAME_SEARCH, CpuSearch.class);
+        register(NAME_MONTE_CARLO, CpuMonteCarlo.class);
+    }
+    
+    private CpuStrategies()
+    {
+        //no need to create
+    }
+    
+    /**
+     * Add a strategy, any existing strategy with the same name will be replaced
+     * @param name The name of the strategy
+     * @param strategy The class of the strategy, which needs a public constructor without parameters
+     */
+    public static synchronized void register(final String name, final Class<? extends ICpuStrategy> strategy)
+    {
+        STRATEGIES.put(name, strategy);
+    }
+    
+    /**
+     * Create a new strategy
+     * @param name The name of the strategy
+     * @return The strategy
+     * @throws Exception If the strategy is not found or can't be created
+     */
+    public static ICpuStrategy create(final String name) throws Exception
+    {
+        final Class<? extends ICpuStrategy> strategy;
+        
+        synchronized (CpuStrategies.class)
+        {
+            strategy = STRATEGIES.get(name);
+        }
+        
+        if (strategy == null)
+            throw new Exception("Strategy not found " + name);
+        
+        return strategy.getDeclaredConstructor().newInstance();
+    }
+    
+    /**
+     * Create a new strategy for the difficulty.<br>
+     * If the strategy doesn't depend on the difficulty, the difficulty is ignored
+     * @param name The name of the strategy
+     * @param difficultyIndex The difficulty
+     * @return The strategy
+     * @throws Exception If the strategy is not found or can't be created
+     */
+    public static ICpuStrategy create(final String name, final int difficultyIndex) throws Exception
+    {
+        final ICpuStrategy strategy = create(name);
+        
+        if (strategy instanceof ICpuDifficulty)
+            ((ICpuDifficulty)strategy).setDifficulty(difficultyIndex);
+        
+        return strategy;
+    }
+    
+    /**
+     * Get the name of the strategy
+     * @param strategy The strategy
+     * @return The name the class of the strategy was added with, or the name of the class if it was not added
+     */
+    public static synchronized String getName(final ICpuStrategy strategy)
+    {
+        for (Map.Entry<String, Class<? extends ICpuStrategy>> entry : STRATEGIES.entrySet())
+        {
+            if (entry.getValue() == strategy.getClass())
+                return entry.getKey();
+        }
+        
+        return strategy.getClass().getName();
+    }
+    
+    /**
+     * Get the names of the strategies
+     * @return The names in the order they were added
+     */
+    public static synchronized List<String> getNames()
+    {
+        return new ArrayList<>(STRATEGIES.keySet());
+    }
+    
+    /**
+     * Get the name of the strategy used by default
+     * @param difficultyIndex The difficulty
+     * @return The name of the strategy, on hard we will search, otherwise greedy
+     */
+    public static String getDefault(final int difficultyIndex)
+    {
+        return (difficultyIndex == Player.INDEX_DIFFICULTY_HARD) ? NAME_SEARCH : NAME_GREEDY;
+    }
+}
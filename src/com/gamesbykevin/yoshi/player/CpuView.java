@@ -0,0 +1,209 @@
+package com.gamesbykevin.yoshi.player;
+
+import com.gamesbykevin.yoshi.board.BitBoard;
+import com.gamesbykevin.yoshi.board.Board;
+import com.gamesbykevin.yoshi.board.piece.Piece;
+
+import java.util.List;
+
+/**
+ * What the cpu can see when locating targets.<br>
+ * This contains the placed pieces, the falling pieces and the pieces waiting at the top.<br>
+ * The view is updated by the cpu, a strategy can only read it.
+ * @author GOD
+ */
+public final class CpuView 
+{
+    //the placed pieces
+    private final BitBoard board;
+    
+    //the type of the top placed piece for each column
+    private final int[] tops;
+    
+    //the falling pieces
+    private final int[] fallingTypes, fallingCols, fallingRows;
+    private int fallingCount = 0;
+    
+    //the pieces waiting at the top
+    private final int[] nextTypes, nextCols;
+    private int nextCount = 0;
+    
+    protected CpuView()
+    {
+        this.board = new BitBoard();
+        this.tops = new int[Board.COLUMNS];
+        
+        this.fallingTypes = new int[CpuPlan.TARGETS_MAX];
+        this.fallingCols = new int[CpuPlan.TARGETS_MAX];
+        this.fallingRows = new int[CpuPlan.TARGETS_MAX];
+        
+        this.nextTypes = new int[CpuPlan.TARGETS_MAX];
+        this.nextCols = new int[CpuPlan.TARGETS_MAX];
+    }
+    
+    /**
+     * Create a copy of the view.<br>
+     * The copy is never updated, so it can be read by another thread.
+     * @param view The view we want to copy
+     */
+    protected CpuView(final CpuView view)
+    {
+        this.board = new BitBoard(view.board);
+        this.tops = view.tops.clone();
+        
+        this.fallingTypes = view.fallingTypes.clone();
+        this.fallingCols = view.fallingCols.clone();
+        this.fallingRows = view.fallingRows.clone();
+        this.fallingCount = view.fallingCount;
+        
+        this.nextTypes = view.nextTypes.clone();
+        this.nextCols = view.nextCols.clone();
+        this.nextCount = view.nextCount;
+    }
+    
+    /**
+     * Update the view
+     * @param board The board we are playing on
+     * @param falling The falling pieces
+     * @param next The pieces waiting at the top
+     * @throws Exception If there are too many falling or waiting pieces
+     */
+    protected void update(final Board board, final List<Piece> falling, final List<Piece> next) throws Exception
+    {
+        if (falling.size() > CpuPlan.TARGETS_MAX || next.size() > CpuPlan.TARGETS_MAX)
+            throw new Exception("Too many pieces (" + falling.size() + ", " + next.size() + ")");
+        
+        this.board.set(board);
+        
+        for (int col = 0; col < Board.COLUMNS; col++)
+        {
+            final Piece top = board.getColumnTop(col);
+            tops[col] = (top != null) ? top.getType() : BitBoard.EMPTY;
+        }
+        
+        for (int i = 0; i < falling.size(); i++)
+        {
+            fallingTypes[i] = falling.get(i).getType();
+            fallingCols[i] = (int)falling.get(i).getCol();
+            fallingRows[i] = (int)Math.ceil(falling.get(i).getRow());
+        }
+        
+        this.fallingCount = falling.size();
+        
+        for (int i = 0; i < next.size(); i++)
+        {
+            nextTypes[i] = next.get(i).getType();
+            nextCols[i] = (int)next.get(i).getCol();
+        }
+        
+        this.nextCount = next.size();
+    }
+    
+    /**
+     * Copy the placed pieces
+     * @param result The board where we want the copy
+     */
+    public void copy(final BitBoard result)
+    {
+        result.set(board);
+    }
+    
+    /**
+     * Get the number of placed pieces in the column
+     * @param col The column
+     * @return The height of the column
+     */
+    public int getHeight(final int col)
+    {
+        return board.getHeight(col);
+    }
+    
+    /**
+     * Get the type of the top placed piece.<br>
+     * Destroyed pieces and pieces part of a yoshi are still placed, so they can be the top piece.
+     * @param col The column
+     * @return The type of piece, BitBoard.EMPTY if the column is empty
+     */
+    public int getTop(final int col)
+    {
+        return tops[col];
+    }
+    
+    /**
+     * Count the pieces from the top of the column down to the first bottom shell
+     * @param col The column
+     * @return The number of pieces including the bottom shell, 0 if there is no bottom shell
+     */
+    public int getBottomShellCount(final int col)
+    {
+        return board.getBottomShellCount(col);
+    }
+    
+    /**
+     * Get the number of falling pieces
+     * @return The number of falling pieces
+     */
+    public int getFallingCount()
+    {
+        return this.fallingCount;
+    }
+    
+    /**
+     * Get the type of falling piece
+     * @param index The index of the falling piece
+     * @return The type
+     */
+    public int getFallingType(final int index)
+    {
+        return fallingTypes[index];
+    }
+    
+    /**
+     * Get the column of the falling piece
+     * @param index The index of the falling piece
+     * @return The column index
+     */
+    public int getFallingCol(final int index)
+    {
+        return fallingCols[index];
+    }
+    
+    /**
+     * Get the row of the falling piece
+     * @param index The index of the falling piece
+     * @return The row, rounded up
+     */
+    public int getFallingRow(final int index)
+    {
+        return fallingRows[index];
+    }
+    
+    /**
+     * Get the number of pieces waiting at the top
+     * @return The number of pieces waiting, 0 if they haven't been spawned yet
+     */
+    public int getNextCount()
+    {
+        return this.nextCount;
+    }
+    
+    /**
+     * Get the type of the waiting piece
+     * @param index The index of the waiting piece
+     * @return The type
+     */
+    public int getNextType(final int index)
+    {
+        return nextTypes[index];
+    }
+    
+    /**
+     * Get the column of the waiting piece
+     * @param index The index of the waiting piece
+     * @return The column index
+     */
+    public int getNextCol(final int index)
+    {
+        return nextCols[index];
+    }
+}
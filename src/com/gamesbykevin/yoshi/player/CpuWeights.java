@@ -0,0 +1,242 @@
+package com.gamesbykevin.yoshi.player;
+
+import com.gamesbykevin.yoshi.board.Board;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Properties;
+
+/**
+ * The weights the cpu uses to score the board.<br>
+ * The default weights are the same as the scores on the board, but they can be tuned and saved to a file.<br>
+ * The weights can't be changed once created, so the same weights can be shared by every cpu.
+ * @author GOD
+ */
+public final class CpuWeights
+{
+    /**
+     * The index of each weight
+     */
+    public static final int WEIGHT_YOSHI_PIECE = 0;
+    public static final int WEIGHT_YOSHI_HEIGHT_REWARD = 1;
+    public static final int WEIGHT_PIECE_MATCH = 2;
+    public static final int WEIGHT_YOSHI_HEIGHT_PENALTY = 3;
+    public static final int WEIGHT_PIECE_HEIGHT = 4;
+    public static final int WEIGHT_BOTTOM_SHELL_HEIGHT = 5;
+    public static final int WEIGHT_COLUMN_SWITCH = 6;
+    public static final int WEIGHT_DANGER_HEIGHT = 7;
+    
+    /**
+     * The number of weights
+     */
+    public static final int WEIGHT_TOTAL = 8;
+    
+    /**
+     * The file the live game loads the tuned weights from
+     */
+    public static final String FILE_NAME = "cpu.weights";
+    
+    //the name of each weight in the file
+    private static final String[] NAMES =
+    {
+        "yoshiPiece",
+        "yoshiHeightReward",
+        "pieceMatch",
+        "yoshiHeightPenalty",
+        "pieceHeight",
+        "bottomShellHeight",
+        "columnSwitch",
+        "dangerHeight"
+    };
+    
+    //the hand picked value of each weight
+    private static final int[] DEFAULTS =
+    {
+        Board.SCORE_YOSHI_PIECE,
+        Board.SCORE_YOSHI_HEIGHT_REWARD,
+        Board.SCORE_PIECE_MATCH,
+        Board.SCORE_YOSHI_HEIGHT_PENALTY,
+        Board.SCORE_PIECE_HEIGHT,
+        Board.SCORE_BOTTOM_SHELL_HEIGHT,
+        CpuSearch.SCORE_COLUMN_SWITCH,
+        CpuSearch.SCORE_DANGER_HEIGHT
+    };
+    
+    //the hand picked weights shared by every cpu
+    private static final CpuWeights DEFAULT = new CpuWeights();
+    
+    //the value of each weight
+    private final int[] values;
+    
+    /**
+     * Create the hand picked weights
+     */
+    public CpuWeights()
+    {
+        this.values = DEFAULTS.clone();
+    }
+    
+    /**
+     * Create the weights
+     * @param values The value of each weight, the values are copied
+     * @throws Exception If the number of values is not the number of weights
+     */
+    public CpuWeights(final int[] values) throws Exception
+    {
+        if (values.length != WEIGHT_TOTAL)
+            throw new Exception("Expected # of weights is not " + WEIGHT_TOTAL + " (" + values.length + ")");
+        
+        this.values = values.clone();
+    }
+    
+    /**
+     * Get the weights the cpu will use by default.<br>
+     * These are always the hand picked weights, tuned weights are only used when they are set.
+     * @return The weights
+     */
+    public static CpuWeights getDefault()
+    {
+        return DEFAULT;
+    }
+    
+    /**
+     * Get the tuned weights.<br>
+     * If the file doesn't exist or can't be read the hand picked weights are used.
+     * @param file The file the tuned weights were saved to
+     * @return The weights
+     */
+    public static CpuWeights getTuned(final File file)
+    {
+        if (!file.exists())
+            return DEFAULT;
+        
+        try
+        {
+            return load(file);
+        }
+        catch (Exception e)
+        {
+            //a bad file shouldn't stop the game
+            e.printStackTrace();
+            
+            return DEFAULT;
+        }
+    }
+    
+    /**
+     * Load the weights from a file.<br>
+     * Any weight missing from the file will use the hand picked value.
+     * @param file The file we want to read
+     * @return The weights
+     * @throws Exception If the file can't be read or a weight is not a number
+     */
+    public static CpuWeights load(final File file) throws Exception
+    {
+        final Properties properties = new Properties();
+        
+        try (InputStream input = new FileInputStream(file))
+        {
+            properties.load(input);
+        }
+        
+        final int[] values = DEFAULTS.clone();
+        
+        for (int index = 0; index < WEIGHT_TOTAL; index++)
+        {
+            final String value = properties.getProperty(NAMES[index]);
+            
+            if (value != null)
+                values[index] = Integer.parseInt(value.trim());
+        }
+        
+        return new CpuWeights(values);
+    }
+    
+    /**
+     * Save the weights to a file
+     * @param file The file we want to write
+     * @param comment The comment at the top of the file, null for none
+     * @throws Exception If the file can't be written
+     */
+    public void save(final File file, final String comment) throws Exception
+    {
+        final Properties properties = new Properties();
+        
+        for (int index = 0; index < WEIGHT_TOTAL; index++)
+        {
+            properties.setProperty(NAMES[index], Integer.toString(values[index]));
+        }
+        
+        try (OutputStream output = new FileOutputStream(file))
+        {
+            properties.store(output, comment);
+        }
+    }
+    
+    /**
+     * Get the weight
+     * @param index The index of the weight
+     * @return The value of the weight
+     */
+    public int get(final int index)
+    {
+        return this.values[index];
+    }
+    
+    /**
+     * Get the name of the weight
+     * @param index The index of the weight
+     * @return The name used in the file
+     */
+    public static String getName(final int index)
+    {
+        return NAMES[index];
+    }
+    
+    /**
+     * Get a copy of every weight
+     * @return The value of each weight
+     */
+    public int[] getValues()
+    {
+        return this.values.clone();
+    }
+    
+    /**
+     * Are the weights the same?
+     * @param weights The weights we want to compare
+     * @return true if every weight has the same value, false otherwise
+     */
+    public boolean hasSameValues(final CpuWeights weights)
+    {
+        for (int index = 0; index < WEIGHT_TOTAL; index++)
+        {
+            if (get(index) != weights.get(index))
+                return false;
+        }
+        
+        return true;
+    }
+    
+    /**
+     * Get a description of the weights
+     * @return The name and value of each weight
+     */
+    public String getDesc()
+    {
+        final StringBuilder desc = new StringBuilder();
+        
+        for (int index = 0; index < WEIGHT_TOTAL; index++)
+        {
+            if (index > 0)
+                desc.append(", ");
+            
+            desc.append(NAMES[index]).append("=").append(values[index]);
+        }
+        
+        return desc.toString();
+    }
+}
\ No newline at end of file
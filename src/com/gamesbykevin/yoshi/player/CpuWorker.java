@@ -0,0 +1,360 @@
+package com.gamesbykevin.yoshi.player;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The worker will locate targets on its own thread, so the game thread isn't slowed down by a heavy strategy.<br>
+ * Each strategy is run in order on a copy of what the cpu can see, and the plan is published each time a strategy is done.<br>
+ * The strategies should go from the weakest to the strongest, so the plan keeps improving until the cpu takes it.<br>
+ * The cpu and the worker only share atomic values, so neither one will wait on the other.
+ * @author GOD
+ */
+public final class CpuWorker implements Runnable
+{
+    /**
+     * The look ahead of each search when no strategies are provided
+     */
+    public static final int[] LOOKAHEAD_LEVELS = {0, 1, 2};
+    
+    /**
+     * No plan is available
+     */
+    public static final int NO_LEVEL = -1;
+    
+    //the strategies from the weakest to the strongest
+    private final ICpuStrategy[] strategies;
+    
+    //the latest request from the cpu
+    private final AtomicReference<Request> request;
+    
+    //the best plan found for a request
+    private final AtomicReference<Result> result;
+    
+    //the latest request the cpu no longer needs
+    private final AtomicLong cancelled;
+    
+    //the thread running the strategies
+    private final Thread thread;
+    
+    //is the worker still running
+    private volatile boolean running = true;
+    
+    //the weights the strategies should use, null to keep their own
+    private volatile CpuWeights weights;
+    
+    //the number of requests made, only used by the cpu
+    private long count = 0;
+    
+    //the level of the plan taken by the cpu
+    private int level = NO_LEVEL;
+    
+    /**
+     * A request for targets
+     */
+    private static final class Request
+    {
+        //the number of the request
+        private final long id;
+        
+        //what the cpu could see when the request was made
+        private final CpuView view;
+        
+        private Request(final long id, final CpuView view)
+        {
+            this.id = id;
+            this.view = view;
+        }
+    }
+    
+    /**
+     * The plan found for a request
+     */
+    private static final class Result
+    {
+        //the number of the request
+        private final long id;
+        
+        //the plan, this is never changed once published
+        private final CpuPlan plan;
+        
+        //the index of the strategy that found the plan
+        private final int level;
+        
+        private Result(final long id, final CpuPlan plan, final int level)
+        {
+            this.id = id;
+            this.plan = plan;
+            this.level = level;
+        }
+    }
+    
+    /**
+     * Create a worker that searches deeper each time
+     */
+    public CpuWorker()
+    {
+        this(createSearches());
+    }
+    
+    /**
+     * Create the worker
+     * @param strategies The strategies to run in order, each strategy is only used by the worker
+     */
+    public CpuWorker(final ICpuStrategy... strategies)
+    {
+        this.strategies = strategies;
+        
+        this.request = new AtomicReference<>();
+        this.result = new AtomicReference<>();
+        this.cancelled = new AtomicLong();
+        
+        //the worker shouldn't keep the game running, or take time from the game thread
+        this.thread = new Thread(this, "CpuWorker");
+        this.thread.setDaemon(true);
+        this.thread.setPriority(Thread.MIN_PRIORITY);
+    }
+    
+    /**
+     * Create a worker that plays the same as the strategy of the cpu.<br>
+     * A search will search deeper each time up to its own look ahead.<br>
+     * A monte carlo will play out games until the time budget of the difficulty is spent, the worker is only used by the live game.<br>
+     * Any other strategy is run once, so a weaker strategy won't play stronger in the background.
+     * @param strategy The strategy of the cpu, this is not used by the worker
+     * @param difficultyIndex The difficulty of the cpu
+     * @param seed The seed of any random decisions
+     * @return The worker, not started yet
+     * @throws Exception If the strategy can't be created
+     */
+    public static CpuWorker create(final ICpuStrategy strategy, final int difficultyIndex, final long seed) throws Exception
+    {
+        if (strategy instanceof CpuSearch)
+            return new CpuWorker(createSearches(((CpuSearch)strategy).getLookahead()));
+        
+        if (strategy instanceof CpuMonteCarlo)
+            return new CpuWorker(CpuMonteCarlo.createTimed(difficultyIndex, seed));
+        
+        //each strategy is only used by a single thread, so the worker needs its own
+        final ICpuStrategy copy = strategy.getClass().getDeclaredConstructor().newInstance();
+        
+        if (copy instanceof ICpuDifficulty)
+            ((ICpuDifficulty)copy).setDifficulty(difficultyIndex);
+        if (copy instanceof ICpuRandom)
+            ((ICpuRandom)copy).setSeed(seed);
+        
+        return new CpuWorker(copy);
+    }
+    
+    /**
+     * Create a search for each look ahead up to the look ahead provided
+     * @param lookahead The longest look ahead
+     * @return The searches from the shortest look ahead to the longest
+     */
+    private static ICpuStrategy[] createSearches(final int lookahead)
+    {
+        final ICpuStrategy[] searches = new ICpuStrategy[lookahead + 1];
+        
+        for (int i = 0; i < searches.length; i++)
+        {
+            searches[i] = new CpuSearch(i);
+        }
+        
+        return searches;
+    }
+    
+    /**
+     * Create a search for each look ahead level
+     * @return The searches from the shortest look ahead to the longest
+     */
+    private static ICpuStrategy[] createSearches()
+    {
+        final ICpuStrategy[] searches = new ICpuStrategy[LOOKAHEAD_LEVELS.length];
+        
+        for (int i = 0; i < searches.length; i++)
+        {
+            searches[i] = new CpuSearch(LOOKAHEAD_LEVELS[i]);
+        }
+        
+        return searches;
+    }
+    
+    /**
+     * Start the worker thread
+     */
+    public void start()
+    {
+        thread.start();
+    }
+    
+    /**
+     * Stop the worker thread, the worker can't be used again
+     */
+    public void dispose()
+    {
+        running = false;
+        
+        thread.interrupt();
+        LockSupport.unpark(thread);
+    }
+    
+    /**
+     * Set the weights the strategies will use to score the board.<br>
+     * The weights are given to the strategies on the worker thread before the next request.
+     * @param weights The weights
+     */
+    public void setWeights(final CpuWeights weights)
+    {
+        this.weights = weights;
+    }
+    
+    /**
+     * Ask the worker to locate targets.<br>
+     * Any previous request will be stopped.
+     * @param view What the cpu can see, a copy is made so the view can still be updated
+     */
+    protected void request(final CpuView view)
+    {
+        count++;
+        
+        request.set(new Request(count, new CpuView(view)));
+        
+        //stop the previous request and wake the worker
+        thread.interrupt();
+        LockSupport.unpark(thread);
+    }
+    
+    /**
+     * Take the best plan found for the latest request.<br>
+     * Once a plan is taken the worker will stop improving it.
+     * @param plan The plan where we want to copy the targets
+     * @return true if a plan was found, false if the worker hasn't found one yet
+     */
+    protected boolean take(final CpuPlan plan)
+    {
+        final Result current = result.get();
+        
+        //the worker hasn't finished a strategy for this request
+        if (current == null || current.id != count)
+            return false;
+        
+        plan.set(current.plan);
+        
+        this.level = current.level;
+        
+        cancel();
+        
+        return true;
+    }
+    
+    /**
+     * Stop working on the latest request
+     */
+    protected void cancel()
+    {
+        //only interrupt if the request wasn't already cancelled
+        if (cancelled.getAndSet(count) != count)
+            thread.interrupt();
+    }
+    
+    /**
+     * Get the level of the last plan taken
+     * @return The index of the strategy that found the plan, NO_LEVEL if no plan was taken
+     */
+    public int getLevel()
+    {
+        return this.level;
+    }
+    
+    /**
+     * Get the number of strategies
+     * @return The number of strategies the worker will run for each request
+     */
+    public int getLevelCount()
+    {
+        return strategies.length;
+    }
+    
+    /**
+     * Is the request still needed?
+     * @param current The request
+     * @return true if it is the latest request and hasn't been cancelled, false otherwise
+     */
+    private boolean isActive(final Request current)
+    {
+        return (running && request.get() == current && cancelled.get() < current.id);
+    }
+    
+    @Override
+    public void run()
+    {
+        //the last request we have worked on
+        long done = 0;
+        
+        //the weights given to the strategies
+        CpuWeights applied = null;
+        
+        while (running)
+        {
+            final Request current = request.get();
+            
+            //if there is no new request, wait until there is
+            if (current == null || current.id == done)
+            {
+                //clear the interrupt so we can wait
+                Thread.interrupted();
+                LockSupport.park(this);
+                continue;
+            }
+            
+            done = current.id;
+            
+            //only give the strategies new weights, so they can keep what they have stored
+            final CpuWeights latest = weights;
+            
+            if (latest != null && latest != applied)
+            {
+                for (int index = 0; index < strategies.length; index++)
+                {
+                    if (strategies[index] instanceof ICpuWeighted)
+                        ((ICpuWeighted)strategies[index]).setWeights(latest);
+                }
+                
+                applied = latest;
+            }
+            
+            for (int index = 0; index < strategies.length && isActive(current); index++)
+            {
+                //clear any interrupt meant for a previous request
+                Thread.interrupted();
+                
+                try
+                {
+                    final CpuPlan plan = new CpuPlan();
+                    plan.set(strategies[index].locate(current.view));
+                    
+                    //don't publish if the request was stopped while we were working
+                    if (!isActive(current))
+                        break;
+                    
+                    result.set(new Result(current.id, plan, index));
+                }
+                catch (Exception e)
+                {
+                    //if the request is still needed, the interrupt was meant for a previous request so try again
+                    if (isActive(current) && Thread.interrupted())
+                    {
+                        index--;
+                        continue;
+                    }
+                    
+                    //any other problem stops this request
+                    if (isActive(current))
+                        e.printStackTrace();
+                    
+                    break;
+                }
+            }
+        }
+    }
+}
\ No newline at end of file
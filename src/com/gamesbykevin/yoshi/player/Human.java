@@ -70,6 +70,10 @@ public final class Human extends Player
         //update the extra things
         super.updateMisc(engine);
         
+        //if we are watching a replay, ignore the keyboard
+        if (hasPlayback())
+            return;
+        
         //get the keyboard input
         final Keyboard keyboard = engine.getKeyboard();
         
@@ -81,7 +85,7 @@ public final class Human extends Player
             if (hasAnimationFinished())
             {
                 //update location
-                super.setCol(super.getCol() - 1);
+                moveLeft();
             }
         }
         else if (keyboard.hasKeyReleased(KeyEvent.VK_RIGHT))
@@ -92,7 +96,7 @@ public final class Human extends Player
             if (hasAnimationFinished())
             {
                 //update location
-                super.setCol(super.getCol() + 1);
+                moveRight();
             }
         }
         else if (keyboard.hasKeyPressed(KeyEvent.VK_DOWN))
@@ -101,7 +105,7 @@ public final class Human extends Player
             keyboard.removeKeyPressed(KeyEvent.VK_DOWN);
             
             //force gravity to be applied
-            getBoard().applyGravity();
+            applyGravity();
         }
         else if (keyboard.hasKeyReleased(KeyEvent.VK_SPACE))
         {
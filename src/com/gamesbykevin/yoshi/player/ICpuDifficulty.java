@@ -0,0 +1,15 @@
+package com.gamesbykevin.yoshi.player;
+
+/**
+ * A strategy that plays differently depending on the difficulty of the cpu
+ * @author GOD
+ */
+public interface ICpuDifficulty 
+{
+    /**
+     * Set the difficulty
+     * @param difficultyIndex The difficulty of the cpu using the strategy
+     * @throws Exception If the difficulty is not found
+     */
+    public void setDifficulty(final int difficultyIndex) throws Exception;
+}
\ No newline at end of file
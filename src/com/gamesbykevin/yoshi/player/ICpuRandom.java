@@ -0,0 +1,15 @@
+package com.gamesbykevin.yoshi.player;
+
+/**
+ * A strategy that makes random decisions.<br>
+ * The random decisions are seeded from the game, so the same game will always be played the same
+ * @author GOD
+ */
+public interface ICpuRandom 
+{
+    /**
+     * Set the seed of the random decisions
+     * @param seed The seed, derived from the seed of the game
+     */
+    public void setSeed(final long seed);
+}
\ No newline at end of file
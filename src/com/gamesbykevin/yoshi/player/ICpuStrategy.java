@@ -0,0 +1,16 @@
+package com.gamesbykevin.yoshi.player;
+
+/**
+ * A strategy the cpu uses to decide where the falling pieces should go
+ * @author GOD
+ */
+public interface ICpuStrategy 
+{
+    /**
+     * Locate the columns we want to move under the falling pieces
+     * @param view What the cpu can see of the board
+     * @return The plan containing the target for each falling piece
+     * @throws Exception If the plan could not be created
+     */
+    public CpuPlan locate(final CpuView view) throws Exception;
+}
@@ -0,0 +1,14 @@
+package com.gamesbykevin.yoshi.player;
+
+/**
+ * A strategy that scores the board with weights that can be tuned
+ * @author GOD
+ */
+public interface ICpuWeighted 
+{
+    /**
+     * Set the weights
+     * @param weights The weights used to score the board
+     */
+    public void setWeights(final CpuWeights weights);
+}
\ No newline at end of file
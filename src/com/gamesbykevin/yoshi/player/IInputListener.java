@@ -0,0 +1,16 @@
+package com.gamesbykevin.yoshi.player;
+
+/**
+ * Objects that want to be notified of the inputs made by a player
+ * @author GOD
+ */
+public interface IInputListener 
+{
+    /**
+     * The player made an input
+     * @param player The player who made the input
+     * @param input The input that was made
+     * @throws Exception If there is an issue handling the input
+     */
+    public void onInput(final Player player, final Input input) throws Exception;
+}
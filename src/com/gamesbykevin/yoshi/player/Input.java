@@ -0,0 +1,28 @@
+package com.gamesbykevin.yoshi.player;
+
+/**
+ * The different inputs a player can make
+ * @author GOD
+ */
+public enum Input 
+{
+    /**
+     * Move the player 1 column to the left
+     */
+    MoveLeft, 
+    
+    /**
+     * Move the player 1 column to the right
+     */
+    MoveRight, 
+    
+    /**
+     * Force gravity to be applied to the falling pieces
+     */
+    ApplyGravity, 
+    
+    /**
+     * Switch the columns where the player is
+     */
+    SwitchColumns
+}
@@ -3,24 +3,26 @@ package com.gamesbykevin.yoshi.player;
 import com.gamesbykevin.framework.util.Timers;
 
 import com.gamesbykevin.yoshi.board.Board;
+import com.gamesbykevin.yoshi.board.BoardEvent;
 import com.gamesbykevin.yoshi.board.BoardHelper;
+import com.gamesbykevin.yoshi.board.IBoardListener;
 import com.gamesbykevin.yoshi.engine.Engine;
 import com.gamesbykevin.yoshi.entity.Entity;
 import com.gamesbykevin.yoshi.player.stats.Stats;
 import com.gamesbykevin.yoshi.player.stats.Stat;
+import com.gamesbykevin.yoshi.render.FrameBuilder;
 import com.gamesbykevin.yoshi.shared.IElement;
+import com.gamesbykevin.yoshi.shared.Snapshot;
 
 import java.awt.Font;
 import java.awt.Graphics;
 import java.awt.Image;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * The player that plays the board
  * @author GOD
  */
-public abstract class Player extends Entity implements IElement, IPlayer
+public abstract class Player extends Entity implements IElement, IPlayer, IBoardListener
 {
     //the game board
     private Board board;
@@ -84,12 +86,19 @@ public abstract class Player extends Entity implements IElement, IPlayer
     private int startX;
     private int startY;
     
-    //list of columns and the order they currently reside (needed so api will know which columns to switch)
-    private List<Integer> columnOrder;
+    //the column at each index and the index of each column (needed so api will know which columns to switch)
+    private int[] columnOrder;
+    private int[] columnIndex;
     
     //our object containing the game stats
     private Stats stats;
     
+    //the object notified of each input made
+    private IInputListener listener;
+    
+    //are the inputs coming from a replay instead of the player
+    private boolean playback = false;
+    
     public Player(final Image image, final boolean multiplayer, final int difficultyIndex) throws Exception
     {
         //set y-coordinate
@@ -98,6 +107,9 @@ public abstract class Player extends Entity implements IElement, IPlayer
         this.board = new Board(difficultyIndex);
         this.board.setImage(image);
         
+        //we want to know when the score changes on our board
+        this.board.addListener(this);
+        
         //store the spritesheet image
         super.setImage(image);
         
@@ -107,26 +119,127 @@ public abstract class Player extends Entity implements IElement, IPlayer
         //setup the coordinates
         setCoordinates(multiplayer);
         
-        //create the list
-        this.columnOrder = new ArrayList<>();
+        //create the arrays
+        this.columnOrder = new int[Board.COLUMNS];
+        this.columnIndex = new int[Board.COLUMNS];
         
         //add the columns in their appropriate starting order
         for (int i = 0; i < Board.COLUMNS; i++)
         {
-            this.columnOrder.add(i);
+            this.columnOrder[i] = i;
+            this.columnIndex[i] = i;
         }
     }
     
+    /**
+     * Set the object to be notified of each input made
+     * @param listener The object we want to notify, null if no object is to be notified
+     */
+    public void setInputListener(final IInputListener listener)
+    {
+        this.listener = listener;
+    }
+    
+    /**
+     * Notify the listener of the input
+     * @param input The input that was made
+     * @throws Exception 
+     */
+    private void notifyListener(final Input input) throws Exception
+    {
+        if (listener != null)
+            listener.onInput(this, input);
+    }
+    
+    /**
+     * Flag the player for playback.<br>
+     * The player will no longer make their own decisions, and will only receive inputs from a replay
+     * @param playback true if the inputs come from a replay, false otherwise
+     */
+    public void setPlayback(final boolean playback)
+    {
+        this.playback = playback;
+    }
+    
+    /**
+     * Are the inputs coming from a replay?
+     * @return true if the player won't make their own decisions, false otherwise
+     */
+    protected boolean hasPlayback()
+    {
+        return this.playback;
+    }
+    
+    /**
+     * Make the input
+     * @param input The input we want to make
+     * @throws Exception 
+     */
+    public void input(final Input input) throws Exception
+    {
+        switch (input)
+        {
+            case MoveLeft:
+                moveLeft();
+                break;
+                
+            case MoveRight:
+                moveRight();
+                break;
+                
+            case ApplyGravity:
+                applyGravity();
+                break;
+                
+            case SwitchColumns:
+                switchColumns();
+                break;
+                
+            default:
+                throw new Exception("Input not handled " + input);
+        }
+    }
+    
+    /**
+     * Move the player 1 column to the left
+     * @throws Exception 
+     */
+    protected void moveLeft() throws Exception
+    {
+        setCol(getCol() - 1);
+        notifyListener(Input.MoveLeft);
+    }
+    
+    /**
+     * Move the player 1 column to the right
+     * @throws Exception 
+     */
+    protected void moveRight() throws Exception
+    {
+        setCol(getCol() + 1);
+        notifyListener(Input.MoveRight);
+    }
+    
+    /**
+     * Force gravity to be applied to the board
+     * @throws Exception 
+     */
+    protected void applyGravity() throws Exception
+    {
+        getBoard().applyGravity();
+        notifyListener(Input.ApplyGravity);
+    }
+    
     /**
      * Start to switch the columns.<br>
      * We will also set the appropriate animation as well.
      * @return true if we were successful, false otherwise
-     * @throws Exception If the column(s) are not found in the columnOrder list
+     * @throws Exception If a listener has an issue handling the event
      */
     protected boolean switchColumns() throws Exception
     {
         //if we can swap columns, initialize it then
-        if (BoardHelper.canSwapColumns(getBoard().getPieces()) && hasAnimationFinished())
+        if (BoardHelper.canSwapColumns(getBoard()) && hasAnimationFinished())
         {
             final int leftColumnIndex = (int)getCol();
             final int rightColumnIndex = (int)getCol() + 1;
@@ -139,8 +252,12 @@ public abstract class Player extends Entity implements IElement, IPlayer
             final int rightColumnValue = getColumnOrderValue(rightColumnIndex);
             
             //now swap the values
-            columnOrder.set(rightColumnIndex, leftColumnValue);
-            columnOrder.set(leftColumnIndex, rightColumnValue);
+            columnOrder[rightColumnIndex] = leftColumnValue;
+            columnOrder[leftColumnIndex] = rightColumnValue;
+            
+            //and where each column is
+            columnIndex[leftColumnValue] = rightColumnIndex;
+            columnIndex[rightColumnValue] = leftColumnIndex;
             
             //flip the direction facing
             setFront(!hasFront());
@@ -157,6 +274,9 @@ public abstract class Player extends Entity implements IElement, IPlayer
                 super.resetAnimation();
             }
             
+            //notify the input was made
+            notifyListener(Input.SwitchColumns);
+            
             //we were successful
             return true;
         }
@@ -172,28 +292,63 @@ public abstract class Player extends Entity implements IElement, IPlayer
      * @param index Index where we want the value
      * @return The column value of the specified index
      */
-    protected int getColumnOrderValue(final int index)
+    public int getColumnOrderValue(final int index)
     {
-        return columnOrder.get(index);
+        return columnOrder[index];
     }
     
     /**
-     * Get the index of the columns order list to find where a column is.
+     * Get the index of the column to find where a column is.
      * @param column Column we are searching for
      * @return The index where the column is found
-     * @throws Exception If the index is not found an exception will be throws
      */
-    protected int getColumnOrderIndex(final int column) throws Exception
+    protected int getColumnOrderIndex(final int column)
     {
-        for (int index = 0; index < columnOrder.size(); index++)
+        return columnIndex[column];
+    }
+    
+    /**
+     * Write the state of the player, board and stats to the snapshot
+     * @param snapshot Where we want to write
+     */
+    @Override
+    public void snapshot(final Snapshot snapshot)
+    {
+        //write the location and animation
+        super.snapshot(snapshot);
+        
+        snapshot.writeBoolean(hasFront());
+        
+        for (int index = 0; index < columnOrder.length; index++)
+        {
+            snapshot.writeByte(getColumnOrderValue(index));
+        }
+        
+        getBoard().snapshot(snapshot);
+        getStats().snapshot(snapshot);
+    }
+    
+    /**
+     * Restore the state of the player, board and stats from the snapshot
+     * @param snapshot Where we want to read from
+     * @throws Exception If the snapshot has no more values
+     */
+    @Override
+    public void restore(final Snapshot snapshot) throws Exception
+    {
+        //read the location and animation
+        super.restore(snapshot);
+        
+        setFront(snapshot.readBoolean());
+        
+        for (int index = 0; index < columnOrder.length; index++)
         {
-            //if this value is the column, we found the index
-            if (columnOrder.get(index) == column)
-                return index;
+            columnOrder[index] = snapshot.readByte();
+            columnIndex[columnOrder[index]] = index;
         }
         
-        //throw exception if the column was not found
-        throw new Exception("Column was not found " + column);
+        getBoard().restore(snapshot);
+        getStats().restore(snapshot);
     }
     
     /**
@@ -229,83 +384,11 @@ public abstract class Player extends Entity implements IElement, IPlayer
     protected void updateMisc(final Engine engine) throws Exception
     {
         //update player animation
-        updateAnimation(engine.getMain().getTime());
-        
-        //check if we have any destroyed pieces
-        final boolean hasDestroyedPieces = BoardHelper.hasDestroyedPieces(getBoard().getPieces());
-        
-        //do we have a yoshi
-        final boolean hasYoshi = BoardHelper.hasYoshi(getBoard().getPieces());
+        updateAnimation(engine.getTime());
         
         //update the board
         getBoard().update(engine);
         
-        //if we now have destroyed pieces
-        if (!hasDestroyedPieces && BoardHelper.hasDestroyedPieces(getBoard().getPieces()))
-        {
-            //get the number of destroyed pieces
-            int count = BoardHelper.getDestroyedPieceCount(getBoard().getPieces());
-            
-            //update the score stats
-            Stat stat = getStats().getStatScore();
-            stat.setValue(stat.getValue() + (count * Board.SCORE_PIECE_MATCH));
-            
-            //if attack mode we want to heal ourselves and damage the opponent
-            if (engine.getManager().getPlayers().hasModeAttack())
-            {
-                //get the time remaining
-                final long remaining = getStats().getGameTimer().getRemaining();
-                
-                //now add the heal time
-                getStats().getGameTimer().setRemaining(remaining + HEAL_DELAY_MATCH);
-                
-                //update description
-                getStats().updateGameTimerDesc();
-                
-                //now damage opponent
-                engine.getManager().getPlayers().damageOpponent(this, DAMAGE_DELAY_MATCH);
-            }
-        }
-        
-        //if we now have a yoshi
-        if (!hasYoshi && BoardHelper.hasYoshi(getBoard().getPieces()))
-        {
-            //how big the yoshi is
-            int yoshiSize = BoardHelper.getYoshiSize(getBoard().getPieces());
-            
-            //update the score stats
-            Stat stat = getStats().getStatScore();
-            stat.setValue(stat.getValue() + (yoshiSize * Board.SCORE_YOSHI_PIECE));
-            
-            //only track this stat if it exists
-            if (getStats().getStatYoshi() != null)
-            {
-                //increase the yoshi stat
-                stat = getStats().getStatYoshi();
-                stat.setValue(stat.getValue() + 1);
-                
-                //increase the level, every x yoshi's
-                if (stat.getValue() % YOSHIS_PER_LEVEL == 0)
-                    getStats().getStatLevel().setValue(getStats().getStatLevel().getValue() + 1);
-            }
-            
-            //if attack mode we want to heal ourselves and damage the opponent
-            if (engine.getManager().getPlayers().hasModeAttack())
-            {
-                //get the time remaining
-                final long remaining = getStats().getGameTimer().getRemaining();
-                
-                //now add the heal time
-                getStats().getGameTimer().setRemaining(remaining + (HEAL_DELAY_YOSHI * yoshiSize));
-                
-                //update description
-                getStats().updateGameTimerDesc();
-                
-                //now damage opponent
-                engine.getManager().getPlayers().damageOpponent(this, (DAMAGE_DELAY_YOSHI * yoshiSize));
-            }
-        }
-        
         //if the game is over, record our result
         if (getBoard().hasGameOver())
             setGameResult(getBoard().hasLost());
@@ -317,6 +400,52 @@ public abstract class Player extends Entity implements IElement, IPlayer
         }
     }
     
+    /**
+     * Update the score stats when pieces are matched or a yoshi is created
+     * @param board The board where the event occurred
+     * @param event The event that occurred
+     * @param value The number of destroyed pieces, or the size of the yoshi
+     * @throws Exception 
+     */
+    @Override
+    public void onBoardEvent(final Board board, final BoardEvent event, final int value) throws Exception
+    {
+        //we can't keep score without stats
+        if (getStats() == null)
+            return;
+        
+        //get the score stats
+        Stat stat = getStats().getStatScore();
+        
+        switch (event)
+        {
+            case PieceMatched:
+            case TopShellDestroyed:
+                
+                //update the score for each destroyed piece
+                stat.setValue(stat.getValue() + (value * Board.SCORE_PIECE_MATCH));
+                break;
+                
+            case YoshiCreated:
+                
+                //update the score for each piece in the yoshi
+                stat.setValue(stat.getValue() + (value * Board.SCORE_YOSHI_PIECE));
+                
+                //only track this stat if it exists
+                if (getStats().getStatYoshi() != null)
+                {
+                    //increase the yoshi stat
+                    stat = getStats().getStatYoshi();
+                    stat.setValue(stat.getValue() + 1);
+                    
+                    //increase the level, every x yoshi's
+                    if (stat.getValue() % YOSHIS_PER_LEVEL == 0)
+                        getStats().getStatLevel().setValue(getStats().getStatLevel().getValue() + 1);
+                }
+                break;
+        }
+    }
+    
     /**
      * Our game is over, set the result.<br>
      * We will also display the win/lost animation.
@@ -406,7 +535,7 @@ public abstract class Player extends Entity implements IElement, IPlayer
      * Is the player facing the front
      * @return true if the player is facing front, false if the player is facing back
      */
-    protected boolean hasFront()
+    public boolean hasFront()
     {
         return this.front;
     }
@@ -433,11 +562,8 @@ public abstract class Player extends Entity implements IElement, IPlayer
     @Override
     public void dispose()
     {
-        if (columnOrder != null)
-        {
-            columnOrder.clear();
-            columnOrder = null;
-        }
+        columnOrder = null;
+        columnIndex = null;
         
         if (board != null)
         {
@@ -464,4 +590,17 @@ public abstract class Player extends Entity implements IElement, IPlayer
         //display stats on-screen
         getStats().render(graphics);
     }
+    
+    /**
+     * Add the board, player and stats to the frame being built, in the same order they are drawn
+     * @param frame The frame being built
+     */
+    public void frame(final FrameBuilder frame)
+    {
+        getBoard().frame(frame);
+        
+        super.frame(frame, getImage(), getX(), getY());
+        
+        getStats().frame(frame);
+    }
 }
\ No newline at end of file
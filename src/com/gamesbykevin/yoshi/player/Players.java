@@ -2,16 +2,25 @@ package com.gamesbykevin.yoshi.player;
 
 import com.gamesbykevin.framework.util.Timers;
 
+import com.gamesbykevin.yoshi.board.Board;
+import com.gamesbykevin.yoshi.board.BoardEvent;
 import com.gamesbykevin.yoshi.board.BoardHelper;
+import com.gamesbykevin.yoshi.board.IBoardListener;
 import com.gamesbykevin.yoshi.engine.Engine;
 import com.gamesbykevin.yoshi.entity.Entity;
+import com.gamesbykevin.yoshi.replay.ChecksumWriter;
+import com.gamesbykevin.yoshi.replay.ReplayReader;
+import com.gamesbykevin.yoshi.replay.ReplayWriter;
+import com.gamesbykevin.yoshi.render.FrameBuilder;
 import com.gamesbykevin.yoshi.resources.GameAudio.Keys;
 import com.gamesbykevin.yoshi.shared.IElement;
+import com.gamesbykevin.yoshi.shared.Snapshot;
 
 import java.awt.Font;
 import java.awt.Graphics;
 import java.awt.Image;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Random;
 
@@ -19,7 +28,7 @@ import java.util.Random;
  * This will contain the players in the game
  * @author GOD
  */
-public final class Players implements IElement
+public final class Players implements IElement, IBoardListener, IInputListener
 {
     //the game mode we are playing
     private final int modeIndex;
@@ -46,6 +55,9 @@ public final class Players implements IElement
     //the remaining time for attack mode (5 minutes)
     private static final long MODE_ATTACK_DELAY = Timers.toNanoSeconds(5);
     
+    //mixed into the seed of the game for each player, so each cpu has a different seed
+    private static final long SEED_PLAYER = 0x9E3779B97F4A7C15L;
+    
     //the players playing the game
     private List<Player> players;
     
@@ -55,6 +67,24 @@ public final class Players implements IElement
     //flag this once music has started playing
     private boolean musicPlay = false;
     
+    //the sound effects to play at the end of the current update
+    private EnumSet<Keys> sounds;
+    
+    //the number of updates so far
+    private long ticks = 0;
+    
+    //record the inputs of each player (if set)
+    private ReplayWriter recorder;
+    
+    //the inputs of each player will come from here (if set)
+    private ReplayReader playback;
+    
+    //write the checksums of the game every update (if set)
+    private ChecksumWriter checksums;
+    
+    //is this the live game, otherwise the game is headless and the cpu can't depend on time
+    private boolean live = false;
+    
     /**
      * Create our players container
      * @param modeIndex The game mode we are playing
@@ -65,6 +95,21 @@ public final class Players implements IElement
      * @throws Exception 
      */
     public Players(final int modeIndex, final int difficultyIndex, final Image image, final Font font, final Random random) throws Exception
+    {
+        this(modeIndex, difficultyIndex, image, font, random, false);
+    }
+    
+    /**
+     * Create our players container
+     * @param modeIndex The game mode we are playing
+     * @param difficultyIndex The difficulty
+     * @param image Sprite Sheet for players
+     * @param font Font to use for the players stats
+     * @param random Object used to make random decisions
+     * @param cpu Are all players computer controlled, the human player will be replaced with a cpu
+     * @throws Exception 
+     */
+    public Players(final int modeIndex, final int difficultyIndex, final Image image, final Font font, final Random random, final boolean cpu) throws Exception
     {
         //store the mode index
         this.modeIndex = modeIndex;
@@ -72,13 +117,16 @@ public final class Players implements IElement
         //create the list container of players
         this.players = new ArrayList<>();
         
+        //create the container for the sound effects
+        this.sounds = EnumSet.noneOf(Keys.class);
+        
         //is this multiplayer
         final boolean multiplayer = isMultiPlayer(this.modeIndex);
         
         switch (getModeIndex())
         {
             case MODE_SINGLE_PLAYER_HUMAN:
-                players.add(new Human(image, multiplayer, difficultyIndex));
+                players.add((cpu) ? new Cpu(image, multiplayer, difficultyIndex) : new Human(image, multiplayer, difficultyIndex));
                 break;
             
             case MODE_SINGLE_PLAYER_CPU:
@@ -88,7 +136,7 @@ public final class Players implements IElement
             case MODE_VS_HIGH_SCORE:
             case MODE_VS_CLEAR_BOARD:
             case MODE_VS_ATTACK:
-                players.add(new Human(image, multiplayer, difficultyIndex));
+                players.add((cpu) ? new Cpu(image, multiplayer, difficultyIndex) : new Human(image, multiplayer, difficultyIndex));
                 players.add(new Cpu(image, multiplayer, difficultyIndex));
                 break;
                 
@@ -104,6 +152,12 @@ public final class Players implements IElement
             //create our stats object
             player.createStats(font, multiplayer);
             
+            //we want to know what happens on each board
+            player.getBoard().addListener(this);
+            
+            //we want to know the inputs of each player
+            player.setInputListener(this);
+            
             //modify according to mode
             if (hasModeHighScore())
             {
@@ -192,7 +246,11 @@ public final class Players implements IElement
         }
     }
     
-    private boolean hasGameOver()
+    /**
+     * Is the game over?
+     * @return true if the game has ended for all players, false otherwise
+     */
+    public boolean hasGameOver()
     {
         return this.gameover;
     }
@@ -231,6 +289,403 @@ public final class Players implements IElement
         }
     }
     
+    /**
+     * Heal the player and damage the opponent.<br>
+     * This only applies to attack mode.
+     * @param player The player we want to heal
+     * @param heal The amount of time to add to the players timer
+     * @param damage The amount of time to deduct from the opponents timer
+     */
+    private void attack(final Player player, final long heal, final long damage)
+    {
+        //only attack mode will heal/damage
+        if (!hasModeAttack())
+            return;
+        
+        //get the time remaining
+        final long remaining = player.getStats().getGameTimer().getRemaining();
+        
+        //now add the heal time
+        player.getStats().getGameTimer().setRemaining(remaining + heal);
+        
+        //update description
+        player.getStats().updateGameTimerDesc();
+        
+        //now damage opponent
+        damageOpponent(player, damage);
+    }
+    
+    /**
+     * Get the player
+     * @param index The index of the player in the order they were added
+     * @return The player at the specified index
+     */
+    public Player getPlayer(final int index)
+    {
+        return players.get(index);
+    }
+    
+    /**
+     * Get the number of players
+     * @return The number of players in the game
+     */
+    public int getPlayerCount()
+    {
+        return players.size();
+    }
+    
+    /**
+     * Set the strategy the cpu will use to locate targets
+     * @param index The index of the player
+     * @param name The name of the strategy
+     * @throws Exception If the player is not a cpu or the strategy is not found
+     */
+    public void setStrategy(final int index, final String name) throws Exception
+    {
+        final Player player = getPlayer(index);
+        
+        if (!(player instanceof Cpu))
+            throw new Exception("Player is not a cpu " + index);
+        
+        //the strategy may depend on the difficulty of the cpu
+        ((Cpu)player).setStrategy(getStrategy(CpuStrategies.create(name, ((Cpu)player).getDifficultyIndex()), (Cpu)player));
+    }
+    
+    /**
+     * Get the strategy the cpu should use in this game.<br>
+     * The live game can't wait on a fixed number of play outs, so monte carlo uses a time budget across every core instead.
+     * @param strategy The strategy from the registry
+     * @param cpu The cpu that will use the strategy
+     * @return The strategy to use
+     * @throws Exception If the difficulty of the cpu is not found
+     */
+    private ICpuStrategy getStrategy(final ICpuStrategy strategy, final Cpu cpu) throws Exception
+    {
+        if (live && strategy instanceof CpuMonteCarlo && !((CpuMonteCarlo)strategy).hasBudget())
+            return CpuMonteCarlo.createTimed(cpu.getDifficultyIndex(), cpu.getSeed());
+        
+        return strategy;
+    }
+    
+    /**
+     * Is this the live game?<br>
+     * In the live game each cpu decision has to fit in a frame, so a strategy with a fixed amount of work is given a time budget instead.<br>
+     * A headless game (simulations, replays and checksums) should not be live, so the same seed always plays the same game.
+     * @param live true if this is the live game, false if headless
+     * @throws Exception If the strategy of a cpu can't be created
+     */
+    public void setLive(final boolean live) throws Exception
+    {
+        this.live = live;
+        
+        for (int i = 0; i < players.size(); i++)
+        {
+            if (players.get(i) instanceof Cpu)
+            {
+                final Cpu cpu = (Cpu)players.get(i);
+                
+                //any existing strategy is replaced if needed
+                final ICpuStrategy strategy = getStrategy(cpu.getStrategy(), cpu);
+                
+                if (strategy != cpu.getStrategy())
+                    cpu.setStrategy(strategy);
+            }
+        }
+    }
+    
+    /**
+     * Is this the live game?
+     * @return true if each cpu decision has to fit in a frame, false if the game is headless
+     */
+    public boolean isLive()
+    {
+        return this.live;
+    }
+    
+    /**
+     * Set the strategy every cpu will use to locate targets
+     * @param name The name of the strategy
+     * @throws Exception If the strategy is not found
+     */
+    public void setStrategy(final String name) throws Exception
+    {
+        for (int i = 0; i < players.size(); i++)
+        {
+            //each cpu has its own strategy
+            if (players.get(i) instanceof Cpu)
+                setStrategy(i, name);
+        }
+    }
+    
+    /**
+     * Set the seed of the random decisions every cpu makes.<br>
+     * Each cpu has its own seed derived from the seed of the game, so the same game will always be played the same.
+     * @param seed The seed of the game
+     */
+    public void setSeed(final long seed)
+    {
+        for (int i = 0; i < players.size(); i++)
+        {
+            if (players.get(i) instanceof Cpu)
+                ((Cpu)players.get(i)).setSeed(seed ^ (i * SEED_PLAYER));
+        }
+    }
+    
+    /**
+     * Set the weights every cpu will use to score the board
+     * @param weights The weights
+     */
+    public void setWeights(final CpuWeights weights)
+    {
+        for (int i = 0; i < players.size(); i++)
+        {
+            if (players.get(i) instanceof Cpu)
+                ((Cpu)players.get(i)).setWeights(weights);
+        }
+    }
+    
+    /**
+     * Should every cpu locate their targets in the background?<br>
+     * Each cpu will have a worker that plays the same as its strategy and difficulty, until the cpu timer is finished.<br>
+     * The result depends on how fast the worker is, so this should not be used for simulations or replays.<br>
+     * The strategy of each cpu should be set first.
+     * @param background true to locate targets on a worker thread, false to locate them on the game thread
+     * @throws Exception If the strategy of the worker can't be created
+     */
+    public void setBackground(final boolean background) throws Exception
+    {
+        for (int i = 0; i < players.size(); i++)
+        {
+            if (!(players.get(i) instanceof Cpu))
+                continue;
+            
+            final Cpu cpu = (Cpu)players.get(i);
+            
+            //each cpu has its own worker
+            cpu.setWorker((background) ? CpuWorker.create(cpu.getStrategy(), cpu.getDifficultyIndex(), cpu.getSeed()) : null);
+        }
+    }
+    
+    /**
+     * Get the number of updates
+     * @return The number of times the players have been updated
+     */
+    public long getTicks()
+    {
+        return this.ticks;
+    }
+    
+    /**
+     * Record the inputs of each player.<br>
+     * The recording will finish when the game is over.
+     * @param recorder The object recording the inputs, null if we don't want to record
+     */
+    public void setRecorder(final ReplayWriter recorder)
+    {
+        this.recorder = recorder;
+    }
+    
+    /**
+     * Get the recording
+     * @return The object recording the inputs, null if we aren't recording
+     */
+    public ReplayWriter getRecorder()
+    {
+        return this.recorder;
+    }
+    
+    /**
+     * Write the checksums of the game after every update
+     * @param checksums The object writing the checksums, null if we don't want checksums
+     */
+    public void setChecksums(final ChecksumWriter checksums)
+    {
+        this.checksums = checksums;
+    }
+    
+    /**
+     * Get the checksums
+     * @return The object writing the checksums, null if we aren't writing checksums
+     */
+    public ChecksumWriter getChecksums()
+    {
+        return this.checksums;
+    }
+    
+    /**
+     * Play the inputs from a replay.<br>
+     * The players will no longer make their own decisions.
+     * @param playback The replay containing the inputs of each player
+     */
+    public void setPlayback(final ReplayReader playback)
+    {
+        this.playback = playback;
+        
+        for (int i = 0; i < players.size(); i++)
+        {
+            players.get(i).setPlayback(playback != null);
+        }
+    }
+    
+    /**
+     * Write the state of every player to the snapshot
+     * @param snapshot Where we want to write
+     */
+    public void snapshot(final Snapshot snapshot)
+    {
+        snapshot.writeLong(getTicks());
+        snapshot.writeBoolean(hasGameOver());
+        
+        for (int i = 0; i < players.size(); i++)
+        {
+            players.get(i).snapshot(snapshot);
+        }
+    }
+    
+    /**
+     * Restore the state of every player from the snapshot
+     * @param snapshot Where we want to read from
+     * @throws Exception If the snapshot has no more values
+     */
+    public void restore(final Snapshot snapshot) throws Exception
+    {
+        this.ticks = snapshot.readLong();
+        this.gameover = snapshot.readBoolean();
+        
+        //any sound effects are no longer needed
+        sounds.clear();
+        
+        for (int i = 0; i < players.size(); i++)
+        {
+            players.get(i).restore(snapshot);
+        }
+    }
+    
+    /**
+     * Record the input made by the player
+     * @param player The player who made the input
+     * @param input The input that was made
+     * @throws Exception 
+     */
+    @Override
+    public void onInput(final Player player, final Input input) throws Exception
+    {
+        //record if we are recording and not watching a replay
+        if (recorder != null && playback == null)
+            recorder.record(getTicks(), players.indexOf(player), input);
+    }
+    
+    /**
+     * Make the player inputs from the replay for the current update
+     * @param index The index of the player
+     * @throws Exception 
+     */
+    private void playback(final int index) throws Exception
+    {
+        while (!playback.hasFinished() && playback.getTick() == getTicks() && playback.getPlayer() == index)
+        {
+            players.get(index).input(playback.getInput());
+            playback.next();
+        }
+    }
+    
+    /**
+     * Get the player that owns the board
+     * @param board The board we want to check
+     * @return The player playing the board, if not found null is returned
+     */
+    private Player getPlayer(final Board board)
+    {
+        for (int i = 0; i < players.size(); i++)
+        {
+            if (players.get(i).getBoard() == board)
+                return players.get(i);
+        }
+        
+        //the player was not found
+        return null;
+    }
+    
+    /**
+     * Choose the sound effects and apply attack damage for the event
+     * @param board The board where the event occurred
+     * @param event The event that occurred
+     * @param value The number of destroyed pieces, or the size of the yoshi
+     * @throws Exception 
+     */
+    @Override
+    public void onBoardEvent(final Board board, final BoardEvent event, final int value) throws Exception
+    {
+        //get the player for this board
+        final Player player = getPlayer(board);
+        
+        //if the player doesn't exist, ignore the event
+        if (player == null)
+            return;
+        
+        switch (event)
+        {
+            case PieceMatched:
+                sounds.add(Keys.MatchPieces);
+                attack(player, Player.HEAL_DELAY_MATCH, Player.DAMAGE_DELAY_MATCH);
+                break;
+                
+            case TopShellDestroyed:
+                sounds.add(Keys.TopShellPlaced);
+                attack(player, Player.HEAL_DELAY_MATCH, Player.DAMAGE_DELAY_MATCH);
+                break;
+                
+            case YoshiCreated:
+                
+                //check the size to determine which sound to play
+                switch (value)
+                {
+                    case YOSHI_SIZE_0:
+                        sounds.add(Keys.CreateYoshi0);
+                        break;
+                        
+                    case YOSHI_SIZE_1:
+                        sounds.add(Keys.CreateYoshi1);
+                        break;
+                        
+                    case YOSHI_SIZE_2:
+                        sounds.add(Keys.CreateYoshi2);
+                        break;
+                        
+                    case YOSHI_SIZE_3:
+                        sounds.add(Keys.CreateYoshi3);
+                        break;
+                        
+                    case YOSHI_SIZE_4:
+                        sounds.add(Keys.CreateYoshi4);
+                        break;
+                        
+                    case YOSHI_SIZE_5:
+                        sounds.add(Keys.CreateYoshi5);
+                        break;
+                        
+                    case YOSHI_SIZE_6:
+                        sounds.add(Keys.CreateYoshi6);
+                        break;
+                        
+                    case YOSHI_SIZE_7:
+                        sounds.add(Keys.CreateYoshi7);
+                        break;
+                }
+                
+                attack(player, Player.HEAL_DELAY_YOSHI * value, Player.DAMAGE_DELAY_YOSHI * value);
+                break;
+                
+            case PiecePlaced:
+                sounds.add(Keys.PlacePiece);
+                break;
+                
+            case SwapStarted:
+                sounds.add(Keys.SwapColumns);
+                break;
+        }
+    }
+    
     private void checkGameOver() throws Exception
     {
         for (int i = 0; i < players.size(); i++)
@@ -299,8 +754,12 @@ public final class Players implements IElement
         if (hasGameOver())
             return;
         
-        //have we started the music
-        if (!musicPlay)
+        //every so often take a snapshot, so the replay can be watched from here
+        if (recorder != null && playback == null && recorder.hasSnapshot(getTicks()))
+            recorder.snapshot(getTicks(), engine.getRandom(), this);
+        
+        //have we started the music (a headless engine has no resources)
+        if (!musicPlay && engine.getResources() != null)
         {
             //play the appropriate sound in a loop
             engine.getResources().playGameAudio(isMultiPlayer() ? Keys.MusicPlayer2 : Keys.MusicPlayer1, true);
@@ -309,26 +768,14 @@ public final class Players implements IElement
             musicPlay = true;
         }
         
-        //the different sound effects to check for
-        boolean createYoshi0 = false;
-        boolean createYoshi1 = false;
-        boolean createYoshi2 = false;
-        boolean createYoshi3 = false;
-        boolean createYoshi4 = false;
-        boolean createYoshi5 = false;
-        boolean createYoshi6 = false;
-        boolean createYoshi7 = false;
-        boolean piecesMatch = false;
-        boolean playerMove = false;
-        boolean placePiece = false;
-        boolean swapColumn = false;
-        boolean placeTopShell = false;
-        
         for (int i = 0; i < players.size(); i++)
         {
             //get the current player
             final Player player = players.get(i);
             
+            //the pieces can be drawn between where they were and where this update moves them
+            player.getBoard().keepLocations();
+            
             //skip this player if they already have a game over
             if (player.getBoard().hasGameOver())
                 continue;
@@ -336,91 +783,20 @@ public final class Players implements IElement
             //check the players column
             final int col = (int)player.getCol();
             
-            //check if we are swapping columns
-            final boolean swappingColumns = BoardHelper.isSwappingColumns(player.getBoard().getPieces());
-            
-            //check if we have a yoshi
-            final boolean hasYoshi = BoardHelper.hasYoshi(player.getBoard().getPieces());
-            
-            //check if we have destoryed pieces
-            final boolean destroyedPiece = BoardHelper.hasDestroyedPieces(player.getBoard().getPieces());
-            
-            //check for falling pieces
-            final boolean fallingPieces = BoardHelper.hasFallingPieces(player.getBoard().getPieces());
-            
             //update the player
             player.update(engine);
             
+            //if watching a replay, make the recorded inputs
+            if (playback != null)
+                playback(i);
+            
             //if this player has a game over, flag it
             if (player.getBoard().hasGameOver())
                 checkGameOver();
             
             //if the columns are different the player moved
             if (col != (int)player.getCol())
-                playerMove = true;
-            
-            //if we are now swapping a column, play sound
-            if (!swappingColumns && BoardHelper.isSwappingColumns(player.getBoard().getPieces()))
-                swapColumn = true;
-            
-            //if we have a destroyed piece, check if the piece is a top sell
-            if (!destroyedPiece && BoardHelper.hasDestroyedPieces(player.getBoard().getPieces()))
-            {
-                //if the top shell is destroyed
-                if (BoardHelper.hasDestroyedTopShell(player.getBoard().getPieces()))
-                {
-                    placeTopShell = true;
-                }
-                else
-                {
-                    piecesMatch = true;
-                }
-            }
-            
-            //if pieces are no longer falling
-            if (fallingPieces && !BoardHelper.hasFallingPieces(player.getBoard().getPieces()))
-                placePiece = true;
-            
-            //if we now have a yoshi
-            if (!hasYoshi && BoardHelper.hasYoshi(player.getBoard().getPieces()))
-            {
-                //check the size to determine which sound to play
-                switch (BoardHelper.getYoshiSize(player.getBoard().getPieces()))
-                {
-                    case YOSHI_SIZE_0:
-                        createYoshi0 = true;
-                        break;
-                        
-                    case YOSHI_SIZE_1:
-                        createYoshi1 = true;
-                        break;
-                        
-                    case YOSHI_SIZE_2:
-                        createYoshi2 = true;
-                        break;
-                        
-                    case YOSHI_SIZE_3:
-                        createYoshi3 = true;
-                        break;
-                        
-                    case YOSHI_SIZE_4:
-                        createYoshi4 = true;
-                        break;
-                        
-                    case YOSHI_SIZE_5:
-                        createYoshi5 = true;
-                        break;
-                        
-                    case YOSHI_SIZE_6:
-                        createYoshi6 = true;
-                        break;
-                        
-                    case YOSHI_SIZE_7:
-                        createYoshi7 = true;
-                        break;
-                }
-            }
-            
+                sounds.add(Keys.MovePlayer);
             
             //check the players according to the game mode
             switch (getModeIndex())
@@ -437,7 +813,7 @@ public final class Players implements IElement
                 case MODE_VS_CLEAR_BOARD:
                     
                     //if the board is cleared, flag winner
-                    if (!BoardHelper.hasPlacedPieces(player.getBoard().getPieces()))
+                    if (!BoardHelper.hasPlacedPieces(player.getBoard()))
                         this.flagGameOverWin(player);
                     break;
                     
@@ -479,32 +855,16 @@ public final class Players implements IElement
         }
         
         //play the appropriate sound effects
-        if (createYoshi0)
-            engine.getResources().playGameAudio(Keys.CreateYoshi0);
-        if (createYoshi1)
-            engine.getResources().playGameAudio(Keys.CreateYoshi1);
-        if (createYoshi2)
-            engine.getResources().playGameAudio(Keys.CreateYoshi2);
-        if (createYoshi3)
-            engine.getResources().playGameAudio(Keys.CreateYoshi3);
-        if (createYoshi4)
-            engine.getResources().playGameAudio(Keys.CreateYoshi4);
-        if (createYoshi5)
-            engine.getResources().playGameAudio(Keys.CreateYoshi5);
-        if (createYoshi6)
-            engine.getResources().playGameAudio(Keys.CreateYoshi6);
-        if (createYoshi7)
-            engine.getResources().playGameAudio(Keys.CreateYoshi7);
-        if (piecesMatch)
-            engine.getResources().playGameAudio(Keys.MatchPieces);
-        if (playerMove)
-            engine.getResources().playGameAudio(Keys.MovePlayer);
-        if (placePiece)
-            engine.getResources().playGameAudio(Keys.PlacePiece);
-        if (swapColumn)
-            engine.getResources().playGameAudio(Keys.SwapColumns);
-        if (placeTopShell)
-            engine.getResources().playGameAudio(Keys.TopShellPlaced);
+        if (engine.getResources() != null)
+        {
+            for (Keys key : sounds)
+            {
+                engine.getResources().playGameAudio(key);
+            }
+        }
+        
+        //the sound effects have been played
+        sounds.clear();
         
         //only check when playing an opponent
         if (isMultiPlayer())
@@ -513,8 +873,19 @@ public final class Players implements IElement
             checkGameOver();
         }
         
+        //keep track of the updates
+        this.ticks++;
+        
+        //if the game ended, finish the recording
+        if (hasGameOver() && recorder != null && !recorder.hasFinished())
+            recorder.finish(getTicks());
+        
+        //write the state at the end of the update, so runs can be compared
+        if (checksums != null)
+            checksums.write(getTicks(), engine.getRandom(), this);
+        
         //if the game ended
-        if (hasGameOver())
+        if (hasGameOver() && engine.getResources() != null)
         {
             //stop all sound
             engine.getResources().stopAllSound();
@@ -524,6 +895,18 @@ public final class Players implements IElement
         }
     }
     
+    /**
+     * Set where the pieces are drawn between the previous and current update
+     * @param alpha How far we are from the previous update to the current, from 0 to 1
+     */
+    public void setAlpha(final double alpha)
+    {
+        for (int i = 0; i < players.size(); i++)
+        {
+            players.get(i).getBoard().setAlpha(alpha);
+        }
+    }
+    
     @Override
     public void render(final Graphics graphics) throws Exception
     {
@@ -532,4 +915,16 @@ public final class Players implements IElement
             players.get(i).render(graphics);
         }
     }
+    
+    /**
+     * Add every player to the frame being built
+     * @param frame The frame being built
+     */
+    public void frame(final FrameBuilder frame)
+    {
+        for (int i = 0; i < players.size(); i++)
+        {
+            players.get(i).frame(frame);
+        }
+    }
 }
\ No newline at end of file
@@ -12,16 +12,16 @@ package com.gamesbykevin.yoshi.player;
 public final class Target 
 {
     //the score of this target
-    private final int score;
+    private int score;
 
     //the column we want to move to
-    private final int destinationColumn;
+    private int destinationColumn;
     
     //column we want to place under the falling piece
-    private final int sourceColumn;
+    private int sourceColumn;
     
     //the column we want to move to
-    private final int destinationColumnIndex;
+    private int destinationColumnIndex;
     
     //column we want to place under the falling piece (this may need to change if the source does)
     private int sourceColumnIndex;
@@ -35,6 +35,19 @@ public final class Target
      * @param score The point score for this target
      */
     protected Target(final int destinationColumn, final int destinationColumnIndex, final int sourceColumn, final int sourceColumnIndex, final int score)
+    {
+        set(destinationColumn, destinationColumnIndex, sourceColumn, sourceColumnIndex, score);
+    }
+    
+    /**
+     * Set the target, this way the same target can be used again
+     * @param destinationColumn The column we want to move to where the falling piece is
+     * @param destinationColumnIndex
+     * @param sourceColumn The column we want to move to the destination column
+     * @param sourceColumnIndex
+     * @param score The point score for this target
+     */
+    protected void set(final int destinationColumn, final int destinationColumnIndex, final int sourceColumn, final int sourceColumnIndex, final int score)
     {
         this.destinationColumn = destinationColumn;
         this.sourceColumn = sourceColumn;
@@ -21,6 +21,11 @@ public final class Stat extends CustomImage
     //is this stat numeric or not
     private boolean numeric = false;
     
+    /**
+     * The y-coordinate of the text baseline in the stat image
+     */
+    protected static final int TEXT_Y = 15;
+    
     protected Stat(final int width, final int height)
     {
         super(width, height);
@@ -81,6 +86,15 @@ public final class Stat extends CustomImage
         getGraphics2D().setColor(Color.BLACK);
         
         //draw stat to new render image
-        getGraphics2D().drawString((!numeric) ? getDesc() : getValue() + "", 0, 15);
+        getGraphics2D().drawString(getText(), 0, TEXT_Y);
+    }
+    
+    /**
+     * Get the text displayed
+     * @return The description, or the value if the stat is numeric
+     */
+    protected String getText()
+    {
+        return (!numeric) ? getDesc() : getValue() + "";
     }
 }
@@ -5,8 +5,11 @@ import com.gamesbykevin.framework.util.Timers;
 
 import com.gamesbykevin.yoshi.engine.Engine;
 import com.gamesbykevin.yoshi.entity.Entity;
+import com.gamesbykevin.yoshi.render.FrameBuilder;
 import com.gamesbykevin.yoshi.shared.IElement;
+import com.gamesbykevin.yoshi.shared.Snapshot;
 
+import java.awt.Color;
 import java.awt.Font;
 import java.awt.Graphics;
 import java.awt.Point;
@@ -38,8 +41,17 @@ public final class Stats implements IElement
     //the game timer
     private Timer timer;
     
-    //store the previous time of the timer update
-    private long previous = 0;
+    //how often we update the timer description (1 second)
+    private static final long DELAY_TIMER_DESC = Timers.toNanoSeconds(1000L);
+    
+    //the game time passed since the timer description was updated
+    private long passed = DELAY_TIMER_DESC;
+    
+    //are the stats drawn, stats without a font are only tracked
+    private final boolean display;
+    
+    //the font of each stat, null if the stats aren't drawn
+    private final Font font;
     
     //are we counting the timer down
     private boolean countdown = false;
@@ -74,8 +86,14 @@ public final class Stats implements IElement
         //create list for all stats
         this.stats = new HashMap<>();
         
+        //without a font we will only track the stats
+        this.display = (font != null);
+        
         //adjust the font size depending on multiple players
-        font = font.deriveFont((multiplayer) ? FONT_SIZE_MULTI_PLAYER : FONT_SIZE_SINGLE_PLAYER);
+        if (hasDisplay())
+            font = font.deriveFont((multiplayer) ? FONT_SIZE_MULTI_PLAYER : FONT_SIZE_SINGLE_PLAYER);
+        
+        this.font = font;
         
         //create the stats
         createStatScore(font, startX, startY, multiplayer);
@@ -87,6 +105,30 @@ public final class Stats implements IElement
         this.timer = new Timer();
     }
     
+    /**
+     * Are the stats drawn?
+     * @return true if we have a font to draw the stats, false if the stats are only tracked
+     */
+    private boolean hasDisplay()
+    {
+        return this.display;
+    }
+    
+    /**
+     * Set the font and draw the stat, if the stats are displayed
+     * @param stat The stat we want to setup
+     * @param font The font for the stat
+     */
+    private void setFont(final Stat stat, final Font font)
+    {
+        //no need to draw if the stats aren't displayed
+        if (!hasDisplay())
+            return;
+        
+        stat.setFont(font);
+        stat.render();
+    }
+    
     private void createStatScore(final Font font, final int startX, final int startY, final boolean multiplayer)
     {
         //setup stat
@@ -105,8 +147,7 @@ public final class Stats implements IElement
         }
         
         stat.setValue(0);
-        stat.setFont(font);
-        stat.render();
+        setFont(stat, font);
         
         //add to list
         add(stat, Key.Score);
@@ -124,8 +165,7 @@ public final class Stats implements IElement
             stat.setX(SINGLE_PLAYER_LOCATION_OFFSET_YOSHI.x + startX);
             stat.setY(SINGLE_PLAYER_LOCATION_OFFSET_YOSHI.y + startY);
             stat.setValue(0);
-            stat.setFont(font);
-            stat.render();
+            setFont(stat, font);
 
             //add to list
             add(stat, Key.Yoshi);
@@ -150,8 +190,7 @@ public final class Stats implements IElement
         }
         
         stat.setValue(1);
-        stat.setFont(font);
-        stat.render();
+        setFont(stat, font);
         
         //add to list
         add(stat, Key.Level);
@@ -176,8 +215,7 @@ public final class Stats implements IElement
         }
         
         stat.setDesc("");
-        stat.setFont(font);
-        stat.render();
+        setFont(stat, font);
         
         //add to list
         add(stat, Key.Timer);
@@ -245,6 +283,54 @@ public final class Stats implements IElement
         return this.countdown;
     }
     
+    /**
+     * Write the stat values and game timer to the snapshot
+     * @param snapshot Where we want to write
+     */
+    public void snapshot(final Snapshot snapshot)
+    {
+        snapshot.writeInt(getStatScore().getValue());
+        snapshot.writeInt(getStatLevel().getValue());
+        
+        //the yoshi stat is only tracked in single player
+        if (getStatYoshi() != null)
+            snapshot.writeInt(getStatYoshi().getValue());
+        
+        //write the game timer
+        snapshot.writeLong(getGameTimer().getReset());
+        snapshot.writeLong(getGameTimer().getRemaining());
+        snapshot.writeLong(getGameTimer().getPassed());
+        snapshot.writeLong(passed);
+    }
+    
+    /**
+     * Restore the stat values and game timer from the snapshot
+     * @param snapshot Where we want to read from
+     * @throws Exception If the snapshot has no more values
+     */
+    public void restore(final Snapshot snapshot) throws Exception
+    {
+        getStatScore().setValue(snapshot.readInt());
+        getStatLevel().setValue(snapshot.readInt());
+        
+        if (getStatYoshi() != null)
+            getStatYoshi().setValue(snapshot.readInt());
+        
+        final long reset = snapshot.readLong();
+        final long remaining = snapshot.readLong();
+        
+        //start the timer over, then update it with the time passed
+        getGameTimer().setReset(reset);
+        getGameTimer().reset();
+        getGameTimer().update(snapshot.readLong());
+        getGameTimer().setRemaining(remaining);
+        
+        this.passed = snapshot.readLong();
+        
+        //update the description for the new time
+        updateGameTimerDesc();
+    }
+    
     @Override
     public void update(final Engine engine) throws Exception
     {
@@ -254,18 +340,21 @@ public final class Stats implements IElement
             final Stat stat = stats.get(key);
         
             //if flagged render a new image
-            if (stat.hasFlag())
+            if (stat.hasFlag() && hasDisplay())
                 stat.render();
         }
         
         //update timer
-        getGameTimer().update(engine.getMain().getTime());
+        getGameTimer().update(engine.getTime());
+        
+        //keep track of the game time passed
+        passed += engine.getTime();
         
         //update the data every 1 second
-        if (System.nanoTime() - previous >= Timers.NANO_SECONDS_PER_SECOND)
+        if (passed >= DELAY_TIMER_DESC)
         {
-            //store the new time so we will know when to update again
-            previous = System.nanoTime();
+            //start tracking the time again so we will know when to update again
+            passed = 0;
             
             //update description
             updateGameTimerDesc();
@@ -313,4 +402,23 @@ public final class Stats implements IElement
             stat.draw(graphics, stat.getBufferedImage());
         }
     }
+    
+    /**
+     * Add the text of each stat to the frame being built, the same as it is drawn
+     * @param frame The frame being built
+     */
+    public void frame(final FrameBuilder frame)
+    {
+        //stats without a font are only tracked
+        if (!hasDisplay())
+            return;
+        
+        for (Key key : stats.keySet())
+        {
+            //get the current stat
+            final Stat stat = stats.get(key);
+            
+            frame.addText(stat.getText(), font, Color.BLACK, (int)stat.getX(), (int)stat.getY() + Stat.TEXT_Y);
+        }
+    }
 }
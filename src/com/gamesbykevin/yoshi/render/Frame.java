@@ -0,0 +1,145 @@
+package com.gamesbykevin.yoshi.render;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics;
+import java.awt.Image;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Everything needed to draw a single update of the game.<br>
+ * A frame can't be changed once built, so the game can keep updating while another thread draws the frame.
+ * @author GOD
+ */
+public final class Frame
+{
+    //the items drawn in order
+    private final Item[] items;
+    
+    //the image this frame borrowed, released once the frame is drawn or replaced (if any)
+    private final AtomicBoolean lease;
+    
+    protected Frame(final Item[] items, final AtomicBoolean lease)
+    {
+        this.items = items;
+        this.lease = lease;
+    }
+    
+    /**
+     * Get the number of items
+     * @return The number of images, sprites and text drawn
+     */
+    public int getSize()
+    {
+        return this.items.length;
+    }
+    
+    /**
+     * Draw the frame
+     * @param graphics Object used to draw
+     */
+    public void draw(final Graphics graphics)
+    {
+        for (int i = 0; i < items.length; i++)
+        {
+            items[i].draw(graphics);
+        }
+    }
+    
+    /**
+     * Release the image this frame borrowed (if any), so the game can draw to it again.<br>
+     * This is called once the frame is drawn, or replaced before it was drawn.
+     */
+    public void release()
+    {
+        if (lease != null)
+            lease.set(false);
+    }
+    
+    /**
+     * A single item drawn in the frame
+     */
+    protected interface Item
+    {
+        public void draw(final Graphics graphics);
+    }
+    
+    /**
+     * An image drawn at a location
+     */
+    protected static final class ImageItem implements Item
+    {
+        private final Image image;
+        private final int x, y;
+        
+        protected ImageItem(final Image image, final int x, final int y)
+        {
+            this.image = image;
+            this.x = x;
+            this.y = y;
+        }
+        
+        @Override
+        public void draw(final Graphics graphics)
+        {
+            graphics.drawImage(image, x, y, null);
+        }
+    }
+    
+    /**
+     * Part of a sprite sheet drawn at a location
+     */
+    protected static final class SpriteItem implements Item
+    {
+        private final Image image;
+        private final int sx, sy, sw, sh;
+        private final int x, y, width, height;
+        
+        protected SpriteItem(final Image image, final int sx, final int sy, final int sw, final int sh, final int x, final int y, final int width, final int height)
+        {
+            this.image = image;
+            this.sx = sx;
+            this.sy = sy;
+            this.sw = sw;
+            this.sh = sh;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+        
+        @Override
+        public void draw(final Graphics graphics)
+        {
+            graphics.drawImage(image, x, y, x + width, y + height, sx, sy, sx + sw, sy + sh, null);
+        }
+    }
+    
+    /**
+     * Text drawn at a location
+     */
+    protected static final class TextItem implements Item
+    {
+        private final String text;
+        private final Font font;
+        private final Color color;
+        private final int x, y;
+        
+        protected TextItem(final String text, final Font font, final Color color, final int x, final int y)
+        {
+            this.text = text;
+            this.font = font;
+            this.color = color;
+            this.x = x;
+            this.y = y;
+        }
+        
+        @Override
+        public void draw(final Graphics graphics)
+        {
+            graphics.setFont(font);
+            graphics.setColor(color);
+            graphics.drawString(text, x, y);
+        }
+    }
+}
\ No newline at end of file
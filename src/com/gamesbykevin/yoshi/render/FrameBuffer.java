@@ -0,0 +1,57 @@
+package com.gamesbykevin.yoshi.render;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Pass frames from the game thread to the render thread without locking.<br>
+ * The game publishes a new frame each update, and the renderer takes the newest frame.<br>
+ * A frame that is replaced before it is taken is released and never drawn.
+ * @author GOD
+ */
+public final class FrameBuffer
+{
+    //the newest frame not yet taken
+    private final AtomicReference<Frame> latest;
+    
+    //the number of frames replaced before they were drawn
+    private volatile long skipped = 0;
+    
+    public FrameBuffer()
+    {
+        this.latest = new AtomicReference<>();
+    }
+    
+    /**
+     * Publish the frame, replacing the previous frame if it wasn't taken yet
+     * @param frame The frame we want drawn
+     */
+    public void publish(final Frame frame)
+    {
+        final Frame previous = latest.getAndSet(frame);
+        
+        //the previous frame will never be drawn
+        if (previous != null)
+        {
+            previous.release();
+            skipped++;
+        }
+    }
+    
+    /**
+     * Take the newest frame
+     * @return The newest frame, null if no frame was published since the last take
+     */
+    public Frame take()
+    {
+        return latest.getAndSet(null);
+    }
+    
+    /**
+     * Get the number of frames skipped
+     * @return The number of frames replaced before the renderer took them
+     */
+    public long getSkipped()
+    {
+        return this.skipped;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,106 @@
+package com.gamesbykevin.yoshi.render;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Image;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Collect the items drawn each update and build them into a frame.<br>
+ * The same builder is used every update, only the frame is new.
+ * @author GOD
+ */
+public final class FrameBuilder
+{
+    //the items added since the builder was cleared
+    private final List<Frame.Item> items;
+    
+    //the image the frame will borrow (if any)
+    private AtomicBoolean lease;
+    
+    public FrameBuilder()
+    {
+        this.items = new ArrayList<>();
+    }
+    
+    /**
+     * Remove every item so we can build the next frame
+     */
+    public void clear()
+    {
+        this.items.clear();
+        this.lease = null;
+    }
+    
+    /**
+     * Add an image
+     * @param image The image we want to draw, nothing is added if null
+     * @param x x-coordinate
+     * @param y y-coordinate
+     */
+    public void addImage(final Image image, final int x, final int y)
+    {
+        if (image != null)
+            items.add(new Frame.ImageItem(image, x, y));
+    }
+    
+    /**
+     * Add part of a sprite sheet
+     * @param image The sprite sheet, nothing is added if null
+     * @param source The part of the sprite sheet we want to draw, the values are copied
+     * @param x x-coordinate
+     * @param y y-coordinate
+     * @param width The width drawn
+     * @param height The height drawn
+     */
+    public void addSprite(final Image image, final Rectangle source, final double x, final double y, final int width, final int height)
+    {
+        if (image != null)
+            items.add(new Frame.SpriteItem(image, source.x, source.y, source.width, source.height, (int)x, (int)y, width, height));
+    }
+    
+    /**
+     * Add text
+     * @param text The text we want to draw
+     * @param font The font of the text, nothing is added if null
+     * @param color The color of the text
+     * @param x x-coordinate
+     * @param y y-coordinate of the baseline
+     */
+    public void addText(final String text, final Font font, final Color color, final int x, final int y)
+    {
+        if (font != null)
+            items.add(new Frame.TextItem(text, font, color, x, y));
+    }
+    
+    /**
+     * Set the image the frame will borrow.<br>
+     * The lease is released once the frame is drawn or replaced.
+     * @param lease The flag marking the image in use
+     */
+    public void setLease(final AtomicBoolean lease)
+    {
+        this.lease = lease;
+    }
+    
+    /**
+     * Get the number of items
+     * @return The number of items added since the builder was cleared
+     */
+    public int getSize()
+    {
+        return this.items.size();
+    }
+    
+    /**
+     * Build the frame
+     * @return A new frame containing the items added, changing the builder won't change the frame
+     */
+    public Frame build()
+    {
+        return new Frame(items.toArray(new Frame.Item[items.size()]), lease);
+    }
+}
\ No newline at end of file
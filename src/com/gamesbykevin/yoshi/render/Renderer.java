@@ -0,0 +1,111 @@
+package com.gamesbykevin.yoshi.render;
+
+import com.gamesbykevin.yoshi.main.Main;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The thread that draws the frames published by the game.<br>
+ * The game thread only builds frames, so a slow display doesn't slow down the game.
+ * @author GOD
+ */
+public final class Renderer extends Thread
+{
+    //where the frames are drawn
+    private final Main main;
+    
+    //where the frames are taken from
+    private final FrameBuffer buffer;
+    
+    //the longest time we wait for a frame before checking again (nanoseconds)
+    private final long wait;
+    
+    //is the thread active
+    private volatile boolean active = true;
+    
+    //the number of frames drawn
+    private volatile long frames = 0;
+    
+    /**
+     * Create the render thread
+     * @param main Where the frames are drawn
+     * @param buffer Where the frames are taken from
+     * @param wait The longest time we wait for a frame before checking again (nanoseconds)
+     */
+    public Renderer(final Main main, final FrameBuffer buffer, final long wait)
+    {
+        super("Renderer");
+        
+        this.main = main;
+        this.buffer = buffer;
+        this.wait = wait;
+        
+        //the game shouldn't wait on this thread to exit
+        setDaemon(true);
+    }
+    
+    @Override
+    public void run()
+    {
+        while (active)
+        {
+            final Frame frame = buffer.take();
+            
+            //wait for the next frame, the game will wake us when it is published
+            if (frame == null)
+            {
+                LockSupport.parkNanos(this, wait);
+                continue;
+            }
+            
+            try
+            {
+                main.drawFrame(frame);
+                
+                frames++;
+            }
+            catch (Exception e)
+            {
+                //dislay error
+                e.printStackTrace();
+                
+                //no longer active thread
+                active = false;
+            }
+            finally
+            {
+                //the game can use the image again
+                frame.release();
+            }
+        }
+    }
+    
+    /**
+     * Let the thread know a frame was published
+     */
+    public void wake()
+    {
+        LockSupport.unpark(this);
+    }
+    
+    /**
+     * Set this thread active.<br>
+     * If the thread is not active it will stop drawing and end
+     * @param active true=yes, false=no
+     */
+    public void setActive(final boolean active)
+    {
+        this.active = active;
+        
+        wake();
+    }
+    
+    /**
+     * Get the number of frames drawn
+     * @return The number of frames drawn since the thread started
+     */
+    public long getFrames()
+    {
+        return this.frames;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,143 @@
+package com.gamesbykevin.yoshi.replay;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Compare the checksums of 2 runs of the same game and find the first update where they differ.<br>
+ * Both streams are read one update at a time, so games of any length can be compared.
+ * @author GOD
+ */
+public final class ChecksumCompare
+{
+    //the checksums we are comparing
+    private final ChecksumReader reader1, reader2;
+    
+    //the update where the checksums differ, or the last update compared if they don't
+    private long tick = 0;
+    
+    //the description of the difference, null if none found
+    private String diff;
+    
+    /**
+     * Create the comparison
+     * @param reader1 The checksums of the first run
+     * @param reader2 The checksums of the second run
+     * @throws Exception If the checksums are not from the same game settings, or a cpu has a different strategy or weights
+     */
+    public ChecksumCompare(final ChecksumReader reader1, final ChecksumReader reader2) throws Exception
+    {
+        if (reader1.getSeed() != reader2.getSeed() || reader1.getTime() != reader2.getTime() ||
+            reader1.getModeIndex() != reader2.getModeIndex() || reader1.getDifficultyIndex() != reader2.getDifficultyIndex() ||
+            reader1.hasCpu() != reader2.hasCpu() || reader1.getPlayerCount() != reader2.getPlayerCount())
+            throw new Exception("The checksums are not from the same game");
+        
+        //a different strategy or weights is a different game, not a desync
+        for (int index = 0; index < reader1.getPlayerCount(); index++)
+        {
+            if (!Objects.equals(reader1.getStrategy(index), reader2.getStrategy(index)))
+                throw new Exception("The checksums are not from the same strategy, player " + (index + 1) + " " + reader1.getStrategy(index) + " != " + reader2.getStrategy(index));
+            if (!Arrays.equals(reader1.getWeights(index), reader2.getWeights(index)))
+                throw new Exception("The checksums are not from the same weights, player " + (index + 1) + " " + Arrays.toString(reader1.getWeights(index)) + " != " + Arrays.toString(reader2.getWeights(index)));
+        }
+        
+        this.reader1 = reader1;
+        this.reader2 = reader2;
+    }
+    
+    /**
+     * Read both checksums until the first difference or the end
+     * @return true if every update is the same, false if a difference was found
+     * @throws Exception If either checksums are incomplete
+     */
+    public boolean compare() throws Exception
+    {
+        while (true)
+        {
+            final boolean next1 = reader1.next();
+            final boolean next2 = reader2.next();
+            
+            //both ended at the same time
+            if (!next1 && !next2)
+                return true;
+            
+            //one run ended or skipped an update
+            if (next1 != next2 || reader1.getTick() != reader2.getTick())
+            {
+                this.tick = Math.min(reader1.getTick(), reader2.getTick());
+                this.diff = "update " + getUpdateDesc(reader1, next1) + " != " + getUpdateDesc(reader2, next2);
+                return false;
+            }
+            
+            this.tick = reader1.getTick();
+            
+            if (hasDifference())
+                return false;
+        }
+    }
+    
+    /**
+     * Check every value at the current update
+     * @return true if any value is different, false otherwise
+     */
+    private boolean hasDifference()
+    {
+        StringBuilder desc = null;
+        
+        for (int index = 0; index < reader1.getValueCount(); index++)
+        {
+            final long value1 = reader1.getValue(index);
+            final long value2 = reader2.getValue(index);
+            
+            if (value1 == value2)
+                continue;
+            
+            if (desc == null)
+            {
+                desc = new StringBuilder();
+            }
+            else
+            {
+                desc.append(", ");
+            }
+            
+            desc.append(ChecksumHelper.getName(index)).append(" ");
+            desc.append(ChecksumHelper.getDesc(index, value1)).append(" != ").append(ChecksumHelper.getDesc(index, value2));
+        }
+        
+        if (desc == null)
+            return false;
+        
+        this.diff = desc.toString();
+        return true;
+    }
+    
+    /**
+     * Get a description of the update
+     * @param reader The checksums
+     * @param next Was the update read
+     * @return The update, or where the checksums ended
+     */
+    private static String getUpdateDesc(final ChecksumReader reader, final boolean next)
+    {
+        return (next) ? Long.toString(reader.getTick()) : "ended after " + reader.getTick();
+    }
+    
+    /**
+     * Get the update compared
+     * @return The update of the first difference, or the last update compared if there is none
+     */
+    public long getTick()
+    {
+        return this.tick;
+    }
+    
+    /**
+     * Get the difference
+     * @return The name and both values of each value that differs, null if no difference was found
+     */
+    public String getDiff()
+    {
+        return this.diff;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,185 @@
+package com.gamesbykevin.yoshi.replay;
+
+import com.gamesbykevin.yoshi.board.Board;
+
+/**
+ * The layout of the checksums and the names of each value.<br>
+ * The checksums are a sidecar to a game, so 2 runs of the same game can be compared update by update.<br>
+ * <br>
+ * Header: magic, version, seed, time per update, mode, difficulty, cpu, number of players, then for each player if it is a cpu, the strategy and the weights<br>
+ * Updates: the number of updates since the previous (variable length), a bit for each value that changed (variable length), then each changed value<br>
+ * There is no end, the checksums end where the stream ends.<br>
+ * <br>
+ * The values are the state of the random object and game over, then for each player the board hash, number of pieces, each stat, 
+ * the column, the direction facing, the column order, the pieces in each column and a checksum of the whole player.<br>
+ * Each field has its own value, so a difference can be named, the checksum covers everything else (location, animation, timers).
+ * @author GOD
+ */
+public final class ChecksumHelper
+{
+    /**
+     * Identifies the stream as checksums
+     */
+    protected static final int MAGIC = 0x594F5343;
+    
+    /**
+     * The version of the checksum layout
+     */
+    protected static final int VERSION = 3;
+    
+    /**
+     * The index of each value of the game
+     */
+    public static final int VALUE_RANDOM = 0;
+    public static final int VALUE_GAME_OVER = 1;
+    
+    /**
+     * The number of values of the game, the values of each player follow
+     */
+    public static final int GAME_VALUES = 2;
+    
+    /**
+     * The index of each value of a player
+     */
+    public static final int VALUE_BOARD = 0;
+    public static final int VALUE_PIECES = 1;
+    public static final int VALUE_SCORE = 2;
+    public static final int VALUE_LEVEL = 3;
+    public static final int VALUE_YOSHI = 4;
+    public static final int VALUE_TIMER = 5;
+    public static final int VALUE_COL = 6;
+    public static final int VALUE_FRONT = 7;
+    public static final int VALUE_ORDER = 8;
+    
+    /**
+     * The index of the first column, there is a value for each column of the board
+     */
+    public static final int VALUE_COLUMN = 9;
+    
+    /**
+     * The index of the checksum of the whole player
+     */
+    public static final int VALUE_STATE = VALUE_COLUMN + Board.COLUMNS;
+    
+    /**
+     * The number of values of each player
+     */
+    public static final int PLAYER_VALUES = VALUE_STATE + 1;
+    
+    /**
+     * The number of bits for each column in the column order
+     */
+    protected static final int ORDER_BITS = 4;
+    
+    /**
+     * The maximum number of players, the changed values are stored as bits in a long
+     */
+    protected static final int PLAYERS_MAX = (Long.SIZE - 1 - GAME_VALUES) / PLAYER_VALUES;
+    
+    //the name of each value of the game
+    private static final String[] GAME_NAMES = {"random", "game over"};
+    
+    //the name of each value of a player, before the columns
+    private static final String[] PLAYER_NAMES = {"board", "pieces", "score", "level", "yoshi", "timer", "col", "front", "order"};
+    
+    /**
+     * Get the number of values
+     * @param players The number of players in the game
+     * @return The number of values stored each update
+     */
+    public static int getValueCount(final int players)
+    {
+        return GAME_VALUES + (players * PLAYER_VALUES);
+    }
+    
+    /**
+     * Get the index of the value
+     * @param player The index of the player
+     * @param value The index of the player value
+     * @return The index of the value for the player
+     */
+    public static int getIndex(final int player, final int value)
+    {
+        return GAME_VALUES + (player * PLAYER_VALUES) + value;
+    }
+    
+    /**
+     * Get the name of the value
+     * @param index The index of the value
+     * @return The name of the value, including the player (if any)
+     */
+    public static String getName(final int index)
+    {
+        if (index < GAME_VALUES)
+            return GAME_NAMES[index];
+        
+        final int player = (index - GAME_VALUES) / PLAYER_VALUES;
+        final int value = (index - GAME_VALUES) % PLAYER_VALUES;
+        
+        if (value == VALUE_STATE)
+            return "player " + (player + 1) + " state";
+        if (value >= VALUE_COLUMN)
+            return "player " + (player + 1) + " column " + (value - VALUE_COLUMN + 1);
+        
+        return "player " + (player + 1) + " " + PLAYER_NAMES[value];
+    }
+
+    
+    /**
+     * Get a description of the value
+     * @param index The index of the value
+     * @param value The value
+     * @return Counts are shown as numbers, the column order as the column at each index, 
+     * each column as a digit for each cell from the top down (0 is empty, otherwise the type + 1), hashes and checksums as hex
+     */
+    public static String getDesc(final int index, final long value)
+    {
+        if (index < GAME_VALUES)
+            return (index == VALUE_GAME_OVER) ? Boolean.toString(value != 0) : "0x" + Long.toHexString(value);
+        
+        final int player = (index - GAME_VALUES) % PLAYER_VALUES;
+        
+        //each column is 3 bits per cell, so each octal digit is a cell
+        if (player >= VALUE_COLUMN && player < VALUE_STATE)
+            return Long.toOctalString(value);
+        
+        switch (player)
+        {
+            case VALUE_PIECES:
+            case VALUE_SCORE:
+            case VALUE_LEVEL:
+            case VALUE_YOSHI:
+            case VALUE_TIMER:
+                return Long.toString(value);
+                
+            case VALUE_COL:
+                return Double.toString(Double.longBitsToDouble(value));
+                
+            case VALUE_FRONT:
+                return Boolean.toString(value != 0);
+                
+            case VALUE_ORDER:
+                return getOrderDesc(value);
+            
+            default:
+                return "0x" + Long.toHexString(value);
+        }
+    }
+    
+    /**
+     * Get a description of the column order
+     * @param value The column order as a single value
+     * @return The column at each index
+     */
+    private static String getOrderDesc(final long value)
+    {
+        final StringBuilder desc = new StringBuilder();
+        
+        for (int index = 0; index < Board.COLUMNS; index++)
+        {
+            desc.append((value >>> (index * ORDER_BITS)) & ((1 << ORDER_BITS) - 1));
+        }
+        
+        return desc.toString();
+    }
+}
\ No newline at end of file
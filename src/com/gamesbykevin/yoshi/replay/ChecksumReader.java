@@ -0,0 +1,266 @@
+package com.gamesbykevin.yoshi.replay;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Read the checksums of a game, one update at a time.<br>
+ * The checksums are streamed, so only the current values are kept no matter how long the game is.
+ * @author GOD
+ */
+public final class ChecksumReader
+{
+    //where we read the checksums
+    private final DataInputStream input;
+    
+    //the header values
+    private final long seed, time;
+    private final int modeIndex, difficultyIndex, players;
+    private final boolean cpu;
+    
+    //the strategy and weights of each player, null if the player is not a cpu
+    private final String[] strategies;
+    private final int[][] weights;
+    
+    //the values at the current update
+    private final long[] values;
+    
+    //the current update
+    private long tick = 0;
+    
+    //have we reached the end
+    private boolean finished = false;
+    
+    /**
+     * Read checksums
+     * @param stream Where we want to read from, this should be buffered
+     * @throws Exception If the stream is not checksums
+     */
+    public ChecksumReader(final InputStream stream) throws Exception
+    {
+        this.input = new DataInputStream(stream);
+        
+        try
+        {
+            //read the header
+            if (input.readInt() != ChecksumHelper.MAGIC)
+                throw new Exception("Not checksums");
+            
+            final int version = input.readUnsignedByte();
+            
+            if (version != ChecksumHelper.VERSION)
+                throw new Exception("Checksum version not supported " + version);
+            
+            this.seed = input.readLong();
+            this.time = ReplayHelper.readValue(input);
+            this.modeIndex = input.readUnsignedByte();
+            this.difficultyIndex = input.readUnsignedByte();
+            this.cpu = input.readBoolean();
+            this.players = input.readUnsignedByte();
+            
+            if (players < 1 || players > ChecksumHelper.PLAYERS_MAX)
+                throw new Exception("Players can't be checked " + players);
+            
+            this.strategies = new String[players];
+            this.weights = new int[players][];
+            
+            for (int index = 0; index < players; index++)
+            {
+                if (!input.readBoolean())
+                    continue;
+                
+                strategies[index] = input.readUTF();
+                weights[index] = new int[input.readUnsignedByte()];
+                
+                for (int weight = 0; weight < weights[index].length; weight++)
+                {
+                    weights[index][weight] = input.readInt();
+                }
+            }
+        }
+        catch (EOFException e)
+        {
+            throw new Exception("Not checksums");
+        }
+        
+        this.values = new long[ChecksumHelper.getValueCount(players)];
+    }
+    
+    /**
+     * Read checksums from a file
+     * @param file The file we want to read
+     * @return The checksums, needs to be closed when done
+     * @throws Exception If the file can't be read or is not checksums
+     */
+    public static ChecksumReader load(final File file) throws Exception
+    {
+        final InputStream stream = new BufferedInputStream(new FileInputStream(file));
+        
+        try
+        {
+            return new ChecksumReader(stream);
+        }
+        catch (Exception e)
+        {
+            stream.close();
+            throw e;
+        }
+    }
+    
+    public long getSeed()
+    {
+        return this.seed;
+    }
+    
+    /**
+     * Get the time per update
+     * @return The amount of time each update (nano seconds)
+     */
+    public long getTime()
+    {
+        return this.time;
+    }
+    
+    public int getModeIndex()
+    {
+        return this.modeIndex;
+    }
+    
+    public int getDifficultyIndex()
+    {
+        return this.difficultyIndex;
+    }
+    
+    /**
+     * Are all players computer controlled?
+     * @return true if the human player was replaced with a cpu, false otherwise
+     */
+    public boolean hasCpu()
+    {
+        return this.cpu;
+    }
+    
+    /**
+     * Get the number of players
+     * @return The number of players in the game
+     */
+    public int getPlayerCount()
+    {
+        return this.players;
+    }
+    
+    /**
+     * Get the strategy of the player
+     * @param index The index of the player
+     * @return The name of the strategy the cpu used, null if the player is not a cpu
+     */
+    public String getStrategy(final int index)
+    {
+        return this.strategies[index];
+    }
+    
+    /**
+     * Get the weights of the player
+     * @param index The index of the player
+     * @return The value of each weight the cpu used, null if the player is not a cpu
+     */
+    public int[] getWeights(final int index)
+    {
+        return this.weights[index];
+    }
+    
+    /**
+     * Get the number of values
+     * @return The number of values stored each update
+     */
+    public int getValueCount()
+    {
+        return this.values.length;
+    }
+    
+    /**
+     * Get the value at the current update
+     * @param index The index of the value
+     * @return The value
+     */
+    public long getValue(final int index)
+    {
+        return this.values[index];
+    }
+    
+    /**
+     * Get the current update
+     * @return The update of the current checksums
+     */
+    public long getTick()
+    {
+        return this.tick;
+    }
+    
+    /**
+     * Have we read every update?
+     * @return true if the stream has ended, false otherwise
+     */
+    public boolean hasFinished()
+    {
+        return this.finished;
+    }
+    
+    /**
+     * Read the checksums of the next update
+     * @return true if the next update was read, false if the stream has ended
+     * @throws Exception If the stream ended part way through an update
+     */
+    public boolean next() throws Exception
+    {
+        if (hasFinished())
+            return false;
+        
+        final long ticks;
+        
+        try
+        {
+            ticks = ReplayHelper.readValue(input);
+        }
+        catch (EOFException e)
+        {
+            //the stream ended between updates, so there are no more
+            this.finished = true;
+            return false;
+        }
+        
+        try
+        {
+            final long changed = ReplayHelper.readValue(input);
+            
+            //only the values that changed are stored
+            for (int index = 0; index < values.length; index++)
+            {
+                if ((changed & (1L << index)) != 0)
+                    values[index] = input.readLong();
+            }
+        }
+        catch (EOFException e)
+        {
+            throw new Exception("Checksums are incomplete after update " + tick);
+        }
+        
+        this.tick += ticks;
+        
+        return true;
+    }
+    
+    /**
+     * Close the stream
+     * @throws IOException
+     */
+    public void close() throws IOException
+    {
+        input.close();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,201 @@
+package com.gamesbykevin.yoshi.replay;
+
+import com.gamesbykevin.yoshi.board.BitBoard;
+import com.gamesbykevin.yoshi.board.Board;
+import com.gamesbykevin.yoshi.engine.GameRandom;
+import com.gamesbykevin.yoshi.player.Cpu;
+import com.gamesbykevin.yoshi.player.CpuStrategies;
+import com.gamesbykevin.yoshi.player.CpuWeights;
+import com.gamesbykevin.yoshi.player.Player;
+import com.gamesbykevin.yoshi.player.Players;
+import com.gamesbykevin.yoshi.shared.Snapshot;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+
+/**
+ * Write a checksum of the state of the game every update.<br>
+ * Only the values that changed are written, so the checksums stay small.<br>
+ * The same snapshot and checksum objects are used every update so no new objects are created.
+ * @author GOD
+ */
+public final class ChecksumWriter
+{
+    //where we write the checksums
+    private final DataOutputStream output;
+    
+    //the current values and the values previously written
+    private final long[] values;
+    private final long[] previous;
+    
+    //the state of each player, reused every update
+    private final Snapshot state;
+    
+    //the checksum of the state of each player
+    private final CRC32 checksum;
+    
+    //the pieces in each column of each player, reused every update
+    private final BitBoard columns;
+    
+    //the update of the previous checksums
+    private long tick = 0;
+    
+    //have we written any checksums yet
+    private boolean started = false;
+    
+    /**
+     * Start writing checksums
+     * @param stream Where we want to write, this should be buffered
+     * @param seed The seed of the Random object
+     * @param time The amount of time each update (nano seconds)
+     * @param modeIndex The game mode we are playing
+     * @param difficultyIndex The difficulty
+     * @param cpu Are all players computer controlled
+     * @param players The players in the game, the strategy and weights of each cpu are written
+     * @throws Exception If there are too many players, or the header can't be written
+     */
+    public ChecksumWriter(final OutputStream stream, final long seed, final long time, final int modeIndex, final int difficultyIndex, final boolean cpu, final Players players) throws Exception
+    {
+        if (players.getPlayerCount() < 1 || players.getPlayerCount() > ChecksumHelper.PLAYERS_MAX)
+            throw new Exception("Players can't be checked " + players.getPlayerCount());
+        
+        this.output = new DataOutputStream(stream);
+        this.values = new long[ChecksumHelper.getValueCount(players.getPlayerCount())];
+        this.previous = new long[values.length];
+        this.state = new Snapshot();
+        this.checksum = new CRC32();
+        this.columns = new BitBoard();
+        
+        //write the header
+        output.writeInt(ChecksumHelper.MAGIC);
+        output.writeByte(ChecksumHelper.VERSION);
+        output.writeLong(seed);
+        ReplayHelper.writeValue(output, time);
+        output.writeByte(modeIndex);
+        output.writeByte(difficultyIndex);
+        output.writeBoolean(cpu);
+        output.writeByte(players.getPlayerCount());
+        
+        //a different strategy or weights will play a different game
+        for (int index = 0; index < players.getPlayerCount(); index++)
+        {
+            final Player player = players.getPlayer(index);
+            
+            output.writeBoolean(player instanceof Cpu);
+            
+            if (!(player instanceof Cpu))
+                continue;
+            
+            output.writeUTF(CpuStrategies.getName(((Cpu)player).getStrategy()));
+            output.writeByte(CpuWeights.WEIGHT_TOTAL);
+            
+            for (int weight = 0; weight < CpuWeights.WEIGHT_TOTAL; weight++)
+            {
+                output.writeInt(((Cpu)player).getWeights().get(weight));
+            }
+        }
+    }
+    
+    /**
+     * Write the checksums of the game
+     * @param tick The current update
+     * @param random The object used to make random decisions
+     * @param players The players in the game
+     * @throws Exception If the update is before the previous checksums, the number of players changed, or the stream can't be written
+     */
+    public void write(final long tick, final GameRandom random, final Players players) throws Exception
+    {
+        if (tick < this.tick)
+            throw new Exception("The update can't be before the previous checksums " + tick);
+        if (ChecksumHelper.getValueCount(players.getPlayerCount()) != values.length)
+            throw new Exception("The number of players can't change " + players.getPlayerCount());
+        
+        values[ChecksumHelper.VALUE_RANDOM] = random.getState();
+        values[ChecksumHelper.VALUE_GAME_OVER] = (players.hasGameOver()) ? 1 : 0;
+        
+        for (int index = 0; index < players.getPlayerCount(); index++)
+        {
+            final Player player = players.getPlayer(index);
+            
+            values[ChecksumHelper.getIndex(index, ChecksumHelper.VALUE_BOARD)] = player.getBoard().getHash();
+            values[ChecksumHelper.getIndex(index, ChecksumHelper.VALUE_PIECES)] = player.getBoard().getPieces().size();
+            values[ChecksumHelper.getIndex(index, ChecksumHelper.VALUE_SCORE)] = player.getStats().getStatScore().getValue();
+            values[ChecksumHelper.getIndex(index, ChecksumHelper.VALUE_LEVEL)] = player.getStats().getStatLevel().getValue();
+            values[ChecksumHelper.getIndex(index, ChecksumHelper.VALUE_TIMER)] = player.getStats().getGameTimer().getPassed();
+            values[ChecksumHelper.getIndex(index, ChecksumHelper.VALUE_COL)] = Double.doubleToLongBits(player.getCol());
+            values[ChecksumHelper.getIndex(index, ChecksumHelper.VALUE_FRONT)] = (player.hasFront()) ? 1 : 0;
+            
+            //the yoshi stat is only tracked in single player
+            values[ChecksumHelper.getIndex(index, ChecksumHelper.VALUE_YOSHI)] = (player.getStats().getStatYoshi() != null) ? player.getStats().getStatYoshi().getValue() : 0;
+            
+            long order = 0;
+            
+            for (int col = 0; col < Board.COLUMNS; col++)
+            {
+                order |= ((long)player.getColumnOrderValue(col) << (col * ChecksumHelper.ORDER_BITS));
+            }
+            
+            values[ChecksumHelper.getIndex(index, ChecksumHelper.VALUE_ORDER)] = order;
+            
+            //the pieces placed in each column
+            columns.set(player.getBoard());
+            
+            for (int col = 0; col < Board.COLUMNS; col++)
+            {
+                values[ChecksumHelper.getIndex(index, ChecksumHelper.VALUE_COLUMN + col)] = columns.getColumn(col);
+            }
+            
+            //the checksum of the snapshot covers everything else about the player
+            state.clear();
+            player.snapshot(state);
+            checksum.reset();
+            checksum.update(state.getBytes(), 0, state.getSize());
+            
+            values[ChecksumHelper.getIndex(index, ChecksumHelper.VALUE_STATE)] = checksum.getValue();
+        }
+        
+        //a bit for each value that changed, every value is written the first time
+        long changed = 0;
+        
+        for (int index = 0; index < values.length; index++)
+        {
+            if (!started || values[index] != previous[index])
+                changed |= (1L << index);
+        }
+        
+        ReplayHelper.writeValue(output, tick - this.tick);
+        ReplayHelper.writeValue(output, changed);
+        
+        for (int index = 0; index < values.length; index++)
+        {
+            if ((changed & (1L << index)) == 0)
+                continue;
+            
+            output.writeLong(values[index]);
+            previous[index] = values[index];
+        }
+        
+        this.tick = tick;
+        this.started = true;
+    }
+    
+    /**
+     * Write any buffered checksums to the stream
+     * @throws IOException
+     */
+    public void flush() throws IOException
+    {
+        output.flush();
+    }
+    
+    /**
+     * Write any buffered checksums and close the stream
+     * @throws IOException
+     */
+    public void close() throws IOException
+    {
+        output.close();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,132 @@
+package com.gamesbykevin.yoshi.replay;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * The layout of a replay and the methods to read/write it.<br>
+ * <br>
+ * Header: magic, version, seed, time per update, mode, difficulty, cpu<br>
+ * Inputs: the number of updates since the previous input (variable length), then the player and input in a single byte<br>
+ * End: the number of updates since the previous input (variable length), then the end code<br>
+ * Snapshots: the state of the game every so often, so the replay can start from there<br>
+ * Index: for each snapshot the update, where the inputs continue, and where the snapshot is<br>
+ * Trailer: where the snapshots start, where the index starts, the number of snapshots, magic
+ * @author GOD
+ */
+public final class ReplayHelper 
+{
+    /**
+     * Identifies the file as a replay
+     */
+    protected static final int MAGIC = 0x594F5348;
+    
+    /**
+     * The version of the replay layout
+     */
+    protected static final int VERSION = 3;
+    
+    /**
+     * The code marking the end of the inputs
+     */
+    protected static final int CODE_END = 0xFF;
+    
+    /**
+     * The number of bits used for the input in each code, the remaining bits are the player
+     */
+    protected static final int INPUT_BITS = 2;
+    
+    /**
+     * The mask to read the input from the code
+     */
+    protected static final int INPUT_MASK = (1 << INPUT_BITS) - 1;
+    
+    /**
+     * The maximum number of players a code can hold
+     */
+    protected static final int PLAYERS_MAX = (CODE_END >> INPUT_BITS);
+    
+    /**
+     * How often we take a snapshot (10 seconds at 60 updates per second)
+     */
+    protected static final long SNAPSHOT_INTERVAL = 600;
+    
+    /**
+     * The size of each index entry: update, input position, update of the previous input, snapshot position, snapshot length
+     */
+    protected static final int ENTRY_SIZE = 8 + 4 + 8 + 4 + 4;
+    
+    /**
+     * The size of the trailer: snapshots position, index position, snapshot count, magic
+     */
+    protected static final int TRAILER_SIZE = 4 + 4 + 4 + 4;
+    
+    //the number of bits stored in each byte of a variable length value
+    private static final int VALUE_BITS = 7;
+    
+    //the flag marking more bytes follow in a variable length value
+    private static final int VALUE_MORE = 0x80;
+    
+    /**
+     * Write a variable length value.<br>
+     * Small values (such as the number of updates between inputs) only need 1 byte.
+     * @param output Where we want to write
+     * @param value The value we want to write, has to be at least 0
+     * @throws IOException 
+     */
+    protected static void writeValue(final DataOutput output, long value) throws IOException
+    {
+        while (value >= VALUE_MORE)
+        {
+            output.writeByte((int)(value & (VALUE_MORE - 1)) | VALUE_MORE);
+            value >>>= VALUE_BITS;
+        }
+        
+        output.writeByte((int)value);
+    }
+    
+    /**
+     * Read a variable length value
+     * @param buffer Where we want to read from
+     * @return The value read
+     */
+    protected static long readValue(final ByteBuffer buffer)
+    {
+        long value = 0;
+        
+        for (int shift = 0; ; shift += VALUE_BITS)
+        {
+            final int tmp = buffer.get() & 0xFF;
+            
+            value |= (long)(tmp & (VALUE_MORE - 1)) << shift;
+            
+            //if there are no more bytes we are done
+            if ((tmp & VALUE_MORE) == 0)
+                return value;
+        }
+    }
+    
+    /**
+     * Read a variable length value from a stream
+     * @param input Where we want to read from
+     * @return The value read
+     * @throws IOException If the stream ended before the value was read
+     */
+    protected static long readValue(final DataInput input) throws IOException
+    {
+        long value = 0;
+        
+        for (int shift = 0; ; shift += VALUE_BITS)
+        {
+            final int tmp = input.readUnsignedByte();
+            
+            value |= (long)(tmp & (VALUE_MORE - 1)) << shift;
+            
+            //if there are no more bytes we are done
+            if ((tmp & VALUE_MORE) == 0)
+                return value;
+        }
+    }
+}
\ No newline at end of file
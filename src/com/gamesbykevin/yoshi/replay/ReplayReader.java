@@ -0,0 +1,286 @@
+package com.gamesbykevin.yoshi.replay;
+
+import com.gamesbykevin.yoshi.engine.Engine;
+import com.gamesbykevin.yoshi.player.Input;
+import com.gamesbykevin.yoshi.player.Players;
+import com.gamesbykevin.yoshi.shared.Snapshot;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read the inputs of a recorded game, one input at a time.<br>
+ * The replay can also start from any update by restoring the closest snapshot before it.
+ * @author GOD
+ */
+public final class ReplayReader 
+{
+    //where we read the replay
+    private final ByteBuffer buffer;
+    
+    //the header values
+    private final long seed, time;
+    private final int modeIndex, difficultyIndex;
+    private final boolean cpu;
+    
+    //where the snapshots and index start, and the number of snapshots
+    private final int snapshots, index, count;
+    
+    //the current input
+    private long tick = 0;
+    private int player;
+    private Input current;
+    
+    //have we reached the end
+    private boolean finished = false;
+    
+    /**
+     * Read a replay
+     * @param bytes The bytes of the replay
+     * @throws Exception If the bytes are not a replay
+     */
+    public ReplayReader(final byte[] bytes) throws Exception
+    {
+        this(ByteBuffer.wrap(bytes));
+    }
+    
+    /**
+     * Read a replay
+     * @param buffer The replay, the position should be at the start
+     * @throws Exception If the buffer is not a replay
+     */
+    public ReplayReader(final ByteBuffer buffer) throws Exception
+    {
+        this.buffer = buffer;
+        
+        //make sure there is room for the magic and trailer
+        if (buffer.remaining() < 4 + ReplayHelper.TRAILER_SIZE)
+            throw new Exception("Not a replay");
+        
+        //read the header
+        if (buffer.getInt() != ReplayHelper.MAGIC)
+            throw new Exception("Not a replay");
+        
+        final int version = buffer.get() & 0xFF;
+        
+        if (version != ReplayHelper.VERSION)
+            throw new Exception("Replay version not supported " + version);
+        
+        this.seed = buffer.getLong();
+        this.time = ReplayHelper.readValue(buffer);
+        this.modeIndex = buffer.get() & 0xFF;
+        this.difficultyIndex = buffer.get() & 0xFF;
+        this.cpu = (buffer.get() != 0);
+        
+        //read the trailer at the end
+        final int trailer = buffer.limit() - ReplayHelper.TRAILER_SIZE;
+        
+        if (buffer.getInt(trailer + 12) != ReplayHelper.MAGIC)
+            throw new Exception("Replay is incomplete");
+        
+        this.snapshots = buffer.getInt(trailer);
+        this.index = buffer.getInt(trailer + 4);
+        this.count = buffer.getInt(trailer + 8);
+        
+        //read the first input
+        next();
+    }
+    
+    /**
+     * Read a replay from a file.<br>
+     * The file is mapped to memory, so only the parts we read are loaded.
+     * @param file The file we want to read
+     * @return The replay
+     * @throws Exception If the file can't be read or is not a replay
+     */
+    public static ReplayReader load(final File file) throws Exception
+    {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+        {
+            return new ReplayReader(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+    
+    public long getSeed()
+    {
+        return this.seed;
+    }
+    
+    /**
+     * Get the time per update
+     * @return The amount of time each update (nano seconds)
+     */
+    public long getTime()
+    {
+        return this.time;
+    }
+    
+    public int getModeIndex()
+    {
+        return this.modeIndex;
+    }
+    
+    public int getDifficultyIndex()
+    {
+        return this.difficultyIndex;
+    }
+    
+    /**
+     * Are all players computer controlled?
+     * @return true if the human player was replaced with a cpu, false otherwise
+     */
+    public boolean hasCpu()
+    {
+        return this.cpu;
+    }
+    
+    /**
+     * Get the number of snapshots
+     * @return The number of times the state of the game was stored
+     */
+    public int getSnapshotCount()
+    {
+        return this.count;
+    }
+    
+    /**
+     * Get the update of the snapshot
+     * @param snapshot The index of the snapshot
+     * @return The update when the snapshot was taken
+     */
+    public long getSnapshotTick(final int snapshot)
+    {
+        return buffer.getLong(index + (snapshot * ReplayHelper.ENTRY_SIZE));
+    }
+    
+    /**
+     * Find the last snapshot taken at or before the update
+     * @param tick The update we want to start from
+     * @return The index of the snapshot, if every snapshot is after the update the first is returned
+     */
+    private int getSnapshot(final long tick)
+    {
+        int low = 0;
+        int high = getSnapshotCount() - 1;
+        
+        //the index entries are in order so we can search
+        while (low < high)
+        {
+            final int middle = (low + high + 1) >>> 1;
+            
+            if (getSnapshotTick(middle) <= tick)
+            {
+                low = middle;
+            }
+            else
+            {
+                high = middle - 1;
+            }
+        }
+        
+        return low;
+    }
+    
+    /**
+     * Start the replay from the closest snapshot at or before the update.<br>
+     * The state of the game is restored and the inputs will continue from the snapshot.
+     * @param tick The update we want to start from
+     * @param engine The engine containing the Random object and time per update
+     * @param players The players in the game, has to be the same mode and difficulty as the replay
+     * @return The update of the snapshot, the remaining updates will need to be played
+     * @throws Exception If the replay has no snapshots, or the state can't be restored
+     */
+    public long seek(final long tick, final Engine engine, final Players players) throws Exception
+    {
+        if (getSnapshotCount() < 1)
+            throw new Exception("The replay has no snapshots");
+        
+        //locate the index entry
+        final int entry = index + (getSnapshot(tick) * ReplayHelper.ENTRY_SIZE);
+        
+        //continue reading the inputs after the snapshot
+        this.buffer.position(buffer.getInt(entry + 8));
+        this.tick = buffer.getLong(entry + 12);
+        this.finished = false;
+        next();
+        
+        //copy the state of the game
+        final byte[] state = new byte[buffer.getInt(entry + 24)];
+        
+        final ByteBuffer snapshot = buffer.duplicate();
+        snapshot.position(snapshots + buffer.getInt(entry + 20));
+        snapshot.get(state);
+        
+        //now restore it
+        final Snapshot input = new Snapshot(state);
+        engine.getRandom().setState(input.readLong());
+        players.restore(input);
+        
+        return buffer.getLong(entry);
+    }
+    
+    /**
+     * Have we read every input?
+     * @return true if there are no more inputs, false otherwise
+     */
+    public boolean hasFinished()
+    {
+        return this.finished;
+    }
+    
+    /**
+     * Get the update of the current input.<br>
+     * Once finished this is the total number of updates in the game.
+     * @return The update when the current input was made
+     */
+    public long getTick()
+    {
+        return this.tick;
+    }
+    
+    /**
+     * Get the player of the current input
+     * @return The index of the player who made the current input
+     */
+    public int getPlayer()
+    {
+        return this.player;
+    }
+    
+    /**
+     * Get the current input
+     * @return The current input, null if finished
+     */
+    public Input getInput()
+    {
+        return this.current;
+    }
+    
+    /**
+     * Read the next input
+     * @throws Exception If the replay is incomplete
+     */
+    public final void next() throws Exception
+    {
+        if (hasFinished())
+            return;
+        
+        //add the updates since the previous input
+        tick += ReplayHelper.readValue(buffer);
+        
+        final int code = buffer.get() & 0xFF;
+        
+        //if we reached the end, there are no more inputs
+        if (code == ReplayHelper.CODE_END)
+        {
+            this.finished = true;
+            this.current = null;
+            return;
+        }
+        
+        this.player = (code >> ReplayHelper.INPUT_BITS);
+        this.current = Input.values()[code & ReplayHelper.INPUT_MASK];
+    }
+}
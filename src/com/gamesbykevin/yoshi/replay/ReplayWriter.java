@@ -0,0 +1,213 @@
+package com.gamesbykevin.yoshi.replay;
+
+import com.gamesbykevin.yoshi.engine.GameRandom;
+import com.gamesbykevin.yoshi.player.Input;
+import com.gamesbykevin.yoshi.player.Players;
+import com.gamesbykevin.yoshi.shared.Snapshot;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * Record the inputs of each player so the game can be played again exactly the same
+ * @author GOD
+ */
+public final class ReplayWriter 
+{
+    //the recorded replay
+    private final ByteArrayOutputStream bytes;
+    
+    //where we write the replay
+    private final DataOutputStream output;
+    
+    //the snapshots of the game, stored after the inputs once finished
+    private final ByteArrayOutputStream snapshots;
+    
+    //the current state of the game, reused for each snapshot
+    private final Snapshot state;
+    
+    //the index of each snapshot
+    private final ByteArrayOutputStream entries;
+    private final DataOutputStream index;
+    
+    //the number of snapshots
+    private int count = 0;
+    
+    //the update of the previous input
+    private long previous = 0;
+    
+    //the update of the previous snapshot
+    private long snapshot = -1;
+    
+    //have we finished recording
+    private boolean finished = false;
+    
+    /**
+     * Start a new recording
+     * @param seed The seed of the Random object
+     * @param time The amount of time each update (nano seconds)
+     * @param modeIndex The game mode we are playing
+     * @param difficultyIndex The difficulty
+     * @param cpu Are all players computer controlled
+     * @throws IOException 
+     */
+    public ReplayWriter(final long seed, final long time, final int modeIndex, final int difficultyIndex, final boolean cpu) throws IOException
+    {
+        this.bytes = new ByteArrayOutputStream();
+        this.output = new DataOutputStream(bytes);
+        this.snapshots = new ByteArrayOutputStream();
+        this.state = new Snapshot();
+        this.entries = new ByteArrayOutputStream();
+        this.index = new DataOutputStream(entries);
+        
+        //write the header
+        output.writeInt(ReplayHelper.MAGIC);
+        output.writeByte(ReplayHelper.VERSION);
+        output.writeLong(seed);
+        ReplayHelper.writeValue(output, time);
+        output.writeByte(modeIndex);
+        output.writeByte(difficultyIndex);
+        output.writeBoolean(cpu);
+    }
+    
+    /**
+     * Record the input
+     * @param tick The update when the input was made
+     * @param player The index of the player who made the input
+     * @param input The input that was made
+     * @throws Exception If we already finished, the update is before the previous input, or the player can't be recorded
+     */
+    public void record(final long tick, final int player, final Input input) throws Exception
+    {
+        if (hasFinished())
+            throw new Exception("The recording has already finished");
+        if (tick < previous)
+            throw new Exception("The update can't be before the previous input " + tick);
+        if (player < 0 || player >= ReplayHelper.PLAYERS_MAX)
+            throw new Exception("Player can't be recorded " + player);
+        
+        //only store the updates since the previous input
+        ReplayHelper.writeValue(output, tick - previous);
+        output.writeByte((player << ReplayHelper.INPUT_BITS) | input.ordinal());
+        
+        previous = tick;
+    }
+    
+    /**
+     * Do we take a snapshot at this update?
+     * @param tick The current update
+     * @return true if we haven't finished and it is time for a snapshot, false otherwise
+     */
+    public boolean hasSnapshot(final long tick)
+    {
+        return (!hasFinished() && tick > snapshot && tick % ReplayHelper.SNAPSHOT_INTERVAL == 0);
+    }
+    
+    /**
+     * Take a snapshot of the game.<br>
+     * This has to be done before any inputs are made during the update.
+     * @param tick The current update
+     * @param random The object used to make random decisions
+     * @param players The players in the game
+     * @throws Exception If we already finished, or the update is before the previous input or snapshot
+     */
+    public void snapshot(final long tick, final GameRandom random, final Players players) throws Exception
+    {
+        if (hasFinished())
+            throw new Exception("The recording has already finished");
+        if (tick < previous || tick <= snapshot)
+            throw new Exception("The snapshot can't be before the previous input or snapshot " + tick);
+        
+        final int position = snapshots.size();
+        
+        //write the state of the game
+        state.clear();
+        state.writeLong(random.getState());
+        players.snapshot(state);
+        snapshots.write(state.getBytes(), 0, state.getSize());
+        
+        //write the index entry, the inputs will continue from here
+        index.writeLong(tick);
+        index.writeInt(output.size());
+        index.writeLong(previous);
+        index.writeInt(position);
+        index.writeInt(snapshots.size() - position);
+        
+        this.snapshot = tick;
+        this.count++;
+    }
+    
+    /**
+     * Finish the recording.<br>
+     * The snapshots and index will be written after the inputs.
+     * @param ticks The total number of updates in the game
+     * @throws Exception If we already finished, or the total is before the previous input
+     */
+    public void finish(final long ticks) throws Exception
+    {
+        if (hasFinished())
+            throw new Exception("The recording has already finished");
+        if (ticks < previous)
+            throw new Exception("The total can't be before the previous input " + ticks);
+        
+        //write the end
+        ReplayHelper.writeValue(output, ticks - previous);
+        output.writeByte(ReplayHelper.CODE_END);
+        
+        //write the snapshots
+        final int position = output.size();
+        snapshots.writeTo(output);
+        
+        //write the index
+        index.flush();
+        final int start = output.size();
+        entries.writeTo(output);
+        
+        //write the trailer
+        output.writeInt(position);
+        output.writeInt(start);
+        output.writeInt(count);
+        output.writeInt(ReplayHelper.MAGIC);
+        output.flush();
+        
+        this.finished = true;
+    }
+    
+    /**
+     * Have we finished recording?
+     * @return true if the recording has finished, false otherwise
+     */
+    public boolean hasFinished()
+    {
+        return this.finished;
+    }
+    
+    /**
+     * Get the replay
+     * @return The bytes of the finished replay
+     * @throws Exception If we haven't finished recording
+     */
+    public byte[] getBytes() throws Exception
+    {
+        if (!hasFinished())
+            throw new Exception("The recording has not finished");
+        
+        return bytes.toByteArray();
+    }
+    
+    /**
+     * Save the replay to a file
+     * @param file The file we want to write
+     * @throws Exception If we haven't finished recording, or the file can't be written
+     */
+    public void save(final File file) throws Exception
+    {
+        try (FileOutputStream stream = new FileOutputStream(file))
+        {
+            stream.write(getBytes());
+        }
+    }
+}
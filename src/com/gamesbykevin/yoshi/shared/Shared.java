@@ -31,6 +31,24 @@ public final class Shared
     //how many updates per second, controls speed of game
     public static final int DEFAULT_UPS = 60;
     
+    //run as many updates as the real time passed requires then render once, so slow rendering doesn't slow the game
+    public static final boolean FIXED_TIMESTEP = false;
+    
+    //with a fixed timestep, how many frames per second to draw with the pieces moving between updates, 0 to draw once per update
+    public static final int FRAME_RATE = 0;
+    
+    //wait for each loop by parking the thread then yielding until the time is reached, instead of sleeping which can wake up late
+    public static final boolean PRECISE_PACING = true;
+    
+    //draw on a separate thread fed with a frame each update, so a slow display doesn't slow the game
+    public static final boolean RENDER_THREAD = false;
+    
+    //record a replay of each game, saved in the working directory when the game is over
+    public static final boolean RECORD_REPLAY = false;
+    
+    //locate the targets of each cpu on a worker thread, so a heavy strategy won't slow down the game
+    public static final boolean CPU_BACKGROUND = false;
+    
     //what is the name of our game
     public static final String GAME_NAME = "Yoshi";
     
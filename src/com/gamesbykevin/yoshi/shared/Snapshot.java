@@ -0,0 +1,220 @@
+package com.gamesbykevin.yoshi.shared;
+
+import java.util.Arrays;
+
+/**
+ * A compact byte array used to store the state of the game.<br>
+ * Values are written to the end, and read in the same order from the start.<br>
+ * The same snapshot can be cleared and written again so no new objects are created.
+ * @author GOD
+ */
+public final class Snapshot 
+{
+    //the starting size of the byte array
+    private static final int DEFAULT_CAPACITY = 1024;
+    
+    //the stored values
+    private byte[] bytes;
+    
+    //the number of bytes written
+    private int size = 0;
+    
+    //where the next value will be read from
+    private int position = 0;
+    
+    /**
+     * Create an empty snapshot to write to
+     */
+    public Snapshot()
+    {
+        this.bytes = new byte[DEFAULT_CAPACITY];
+    }
+    
+    /**
+     * Create a snapshot to read from
+     * @param bytes The bytes of a previous snapshot
+     */
+    public Snapshot(final byte[] bytes)
+    {
+        this.bytes = bytes;
+        this.size = bytes.length;
+    }
+    
+    /**
+     * Remove all values so we can write again
+     */
+    public void clear()
+    {
+        this.size = 0;
+        this.position = 0;
+    }
+    
+    /**
+     * Read the values again from the start
+     */
+    public void rewind()
+    {
+        this.position = 0;
+    }
+    
+    /**
+     * Get the size
+     * @return The number of bytes written
+     */
+    public int getSize()
+    {
+        return this.size;
+    }
+    
+    /**
+     * Get the bytes written.<br>
+     * Only the first getSize() bytes are part of the snapshot.
+     * @return The byte array containing the snapshot
+     */
+    public byte[] getBytes()
+    {
+        return this.bytes;
+    }
+    
+    /**
+     * Get a copy of the snapshot
+     * @return A new byte array containing only the bytes written
+     */
+    public byte[] toByteArray()
+    {
+        return Arrays.copyOf(bytes, size);
+    }
+    
+    /**
+     * Make sure there is room to write
+     * @param length The number of bytes we want to write
+     */
+    private void ensureCapacity(final int length)
+    {
+        if (size + length > bytes.length)
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + length));
+    }
+    
+    /**
+     * Make sure there is enough to read
+     * @param length The number of bytes we want to read
+     * @throws Exception If we would read past the bytes written
+     */
+    private void checkRemaining(final int length) throws Exception
+    {
+        if (position + length > size)
+            throw new Exception("Snapshot has no more values to read");
+    }
+    
+    /**
+     * Write a byte
+     * @param value The value, only the lowest 8 bits are kept
+     */
+    public void writeByte(final int value)
+    {
+        ensureCapacity(1);
+        bytes[size++] = (byte)value;
+    }
+    
+    /**
+     * Write a boolean as a single byte
+     * @param value The value
+     */
+    public void writeBoolean(final boolean value)
+    {
+        writeByte(value ? 1 : 0);
+    }
+    
+    /**
+     * Write an int as 4 bytes, highest byte first
+     * @param value The value
+     */
+    public void writeInt(final int value)
+    {
+        ensureCapacity(4);
+        bytes[size++] = (byte)(value >>> 24);
+        bytes[size++] = (byte)(value >>> 16);
+        bytes[size++] = (byte)(value >>> 8);
+        bytes[size++] = (byte)value;
+    }
+    
+    /**
+     * Write a long as 8 bytes, highest byte first
+     * @param value The value
+     */
+    public void writeLong(final long value)
+    {
+        writeInt((int)(value >>> 32));
+        writeInt((int)value);
+    }
+    
+    /**
+     * Write a double as the 8 bytes of its long bits
+     * @param value The value
+     */
+    public void writeDouble(final double value)
+    {
+        writeLong(Double.doubleToLongBits(value));
+    }
+    
+    /**
+     * Read a byte
+     * @return The value between 0 and 255
+     * @throws Exception If there are no more values
+     */
+    public int readByte() throws Exception
+    {
+        checkRemaining(1);
+        return bytes[position++] & 0xFF;
+    }
+    
+    /**
+     * Read a boolean
+     * @return true if the byte read is not 0, false otherwise
+     * @throws Exception If there are no more values
+     */
+    public boolean readBoolean() throws Exception
+    {
+        return (readByte() != 0);
+    }
+    
+    /**
+     * Read an int
+     * @return The value of the next 4 bytes
+     * @throws Exception If there are no more values
+     */
+    public int readInt() throws Exception
+    {
+        checkRemaining(4);
+        
+        final int value = ((bytes[position] & 0xFF) << 24) | ((bytes[position + 1] & 0xFF) << 16) | 
+            ((bytes[position + 2] & 0xFF) << 8) | (bytes[position + 3] & 0xFF);
+        
+        position += 4;
+        
+        return value;
+    }
+    
+    /**
+     * Read a long
+     * @return The value of the next 8 bytes
+     * @throws Exception If there are no more values
+     */
+    public long readLong() throws Exception
+    {
+        final long high = readInt();
+        final long low = readInt() & 0xFFFFFFFFL;
+        
+        return (high << 32) | low;
+    }
+    
+    /**
+     * Read a double
+     * @return The value of the next 8 bytes
+     * @throws Exception If there are no more values
+     */
+    public double readDouble() throws Exception
+    {
+        return Double.longBitsToDouble(readLong());
+    }
+}
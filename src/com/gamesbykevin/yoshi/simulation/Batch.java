@@ -0,0 +1,189 @@
+package com.gamesbykevin.yoshi.simulation;
+
+import com.gamesbykevin.yoshi.player.CpuWeights;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Simulate many games at once, split across all available cores.<br>
+ * Each game has its own seed (the first seed + the game number) so any game can be repeated on its own.
+ * @author GOD
+ */
+public final class Batch extends RecursiveTask<BatchResult>
+{
+    private static final long serialVersionUID = 1L;
+    
+    //the number of games simulated by a single task before we split the work
+    private static final int GAMES_PER_TASK = 4;
+    
+    //the game mode and difficulty
+    private final int modeIndex, difficultyIndex;
+    
+    //the seed of the first game
+    private final long seed;
+    
+    //the range of games for this task
+    private final int start, end;
+    
+    //the maximum number of updates per game
+    private final long limit;
+    
+    //the name of the cpu strategy, null for the default
+    private final String strategy;
+    
+    //the weights of every cpu, null for the default
+    private final CpuWeights weights;
+    
+    /**
+     * Create a task to simulate a range of games
+     * @param modeIndex The game mode we are playing
+     * @param difficultyIndex The difficulty
+     * @param seed The seed of the first game
+     * @param start The first game (inclusive)
+     * @param end The last game (exclusive)
+     * @param limit The maximum number of updates per game
+     * @param strategy The name of the cpu strategy, null for the default
+     * @param weights The weights of every cpu, null for the default
+     */
+    private Batch(final int modeIndex, final int difficultyIndex, final long seed, final int start, final int end, final long limit, final String strategy, final CpuWeights weights)
+    {
+        this.modeIndex = modeIndex;
+        this.difficultyIndex = difficultyIndex;
+        this.seed = seed;
+        this.start = start;
+        this.end = end;
+        this.limit = limit;
+        this.strategy = strategy;
+        this.weights = weights;
+    }
+    
+    /**
+     * Simulate the games using all available cores
+     * @param modeIndex The game mode we are playing, all players will be computer controlled
+     * @param difficultyIndex The difficulty
+     * @param seed The seed of the first game
+     * @param games The number of games
+     * @param limit The maximum number of updates per game
+     * @return The combined results of every game
+     * @throws Exception 
+     */
+    public static BatchResult run(final int modeIndex, final int difficultyIndex, final long seed, final int games, final long limit) throws Exception
+    {
+        return run(modeIndex, difficultyIndex, seed, games, limit, Runtime.getRuntime().availableProcessors());
+    }
+    
+    /**
+     * Simulate the games
+     * @param modeIndex The game mode we are playing, all players will be computer controlled
+     * @param difficultyIndex The difficulty
+     * @param seed The seed of the first game
+     * @param games The number of games
+     * @param limit The maximum number of updates per game
+     * @param threads The number of threads to use
+     * @return The combined results of every game
+     * @throws Exception 
+     */
+    public static BatchResult run(final int modeIndex, final int difficultyIndex, final long seed, final int games, final long limit, final int threads) throws Exception
+    {
+        return run(modeIndex, difficultyIndex, seed, games, limit, threads, null);
+    }
+    
+    /**
+     * Simulate the games with every cpu using the same strategy
+     * @param modeIndex The game mode we are playing, all players will be computer controlled
+     * @param difficultyIndex The difficulty
+     * @param seed The seed of the first game
+     * @param games The number of games
+     * @param limit The maximum number of updates per game
+     * @param threads The number of threads to use
+     * @param strategy The name of the cpu strategy, null for the default
+     * @return The combined results of every game
+     * @throws Exception 
+     */
+    public static BatchResult run(final int modeIndex, final int difficultyIndex, final long seed, final int games, final long limit, final int threads, final String strategy) throws Exception
+    {
+        return run(modeIndex, difficultyIndex, seed, games, limit, threads, strategy, null);
+    }
+    
+    /**
+     * Simulate the games with every cpu using the same strategy and weights
+     * @param modeIndex The game mode we are playing, all players will be computer controlled
+     * @param difficultyIndex The difficulty
+     * @param seed The seed of the first game
+     * @param games The number of games
+     * @param limit The maximum number of updates per game
+     * @param threads The number of threads to use
+     * @param strategy The name of the cpu strategy, null for the default
+     * @param weights The weights every cpu uses to score the board, null for the default
+     * @return The combined results of every game
+     * @throws Exception 
+     */
+    public static BatchResult run(final int modeIndex, final int difficultyIndex, final long seed, final int games, final long limit, final int threads, final String strategy, final CpuWeights weights) throws Exception
+    {
+        final ForkJoinPool pool = new ForkJoinPool(threads);
+        
+        try
+        {
+            return pool.invoke(new Batch(modeIndex, difficultyIndex, seed, 0, games, limit, strategy, weights));
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+    
+    @Override
+    protected BatchResult compute()
+    {
+        try
+        {
+            //if there are too many games split them in half
+            if (end - start > GAMES_PER_TASK)
+            {
+                final int middle = start + ((end - start) / 2);
+                
+                final Batch left = new Batch(modeIndex, difficultyIndex, seed, start, middle, limit, strategy, weights);
+                final Batch right = new Batch(modeIndex, difficultyIndex, seed, middle, end, limit, strategy, weights);
+                
+                //simulate the left half on another thread while we simulate the right half
+                left.fork();
+                
+                final BatchResult result = right.compute();
+                result.add(left.join());
+                return result;
+            }
+            
+            final BatchResult result = new BatchResult();
+            
+            for (int game = start; game < end; game++)
+            {
+                //play the game with its own seed
+                final Simulation simulation = new Simulation(modeIndex, difficultyIndex, seed + game, true);
+                
+                //use the strategy (if set)
+                if (strategy != null)
+                    simulation.getPlayers().setStrategy(strategy);
+                
+                //use the weights (if set)
+                if (weights != null)
+                    simulation.getPlayers().setWeights(weights);
+                
+                simulation.run(limit);
+                
+                //record the results
+                result.add(simulation);
+                
+                //recycle objects
+                simulation.dispose();
+            }
+            
+            return result;
+        }
+        catch (Exception e)
+        {
+            //tasks can't throw exceptions, so pass it along to the caller
+            throw new RuntimeException(e);
+        }
+    }
+}
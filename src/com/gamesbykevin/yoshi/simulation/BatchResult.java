@@ -0,0 +1,121 @@
+package com.gamesbykevin.yoshi.simulation;
+
+/**
+ * The combined results of many simulated games
+ * @author GOD
+ */
+public final class BatchResult
+{
+    //the size of the buckets for each histogram
+    private static final long BUCKET_SCORE = 100;
+    private static final long BUCKET_YOSHI = 1;
+    private static final long BUCKET_DROP = 10;
+    private static final long BUCKET_TICKS = 600;
+    
+    //the score, yoshis and drops of each player
+    private final Histogram score;
+    private final Histogram yoshis;
+    private final Histogram drops;
+    
+    //the length of each game
+    private final Histogram ticks;
+    
+    //the number of games that ended before reaching the limit
+    private long gameovers = 0;
+    
+    public BatchResult() throws Exception
+    {
+        this.score = new Histogram(BUCKET_SCORE);
+        this.yoshis = new Histogram(BUCKET_YOSHI);
+        this.drops = new Histogram(BUCKET_DROP);
+        this.ticks = new Histogram(BUCKET_TICKS);
+    }
+    
+    /**
+     * Add the results of a finished simulation
+     * @param simulation The simulation we want to record
+     */
+    public void add(final Simulation simulation)
+    {
+        for (int index = 0; index < simulation.getPlayers().getPlayerCount(); index++)
+        {
+            score.add(simulation.getScore(index));
+            yoshis.add(simulation.getYoshiCount(index));
+            drops.add(simulation.getDropCount(index));
+        }
+        
+        ticks.add(simulation.getTicks());
+        
+        if (simulation.hasGameOver())
+            gameovers++;
+    }
+    
+    /**
+     * Combine the results with another batch
+     * @param result The results we want to add
+     * @throws Exception If the histograms can't be combined
+     */
+    public void add(final BatchResult result) throws Exception
+    {
+        score.add(result.getScore());
+        yoshis.add(result.getYoshis());
+        drops.add(result.getDrops());
+        ticks.add(result.getTicks());
+        
+        gameovers += result.getGameOvers();
+    }
+    
+    /**
+     * Get the number of games
+     * @return The number of games recorded
+     */
+    public long getGames()
+    {
+        return getTicks().getCount();
+    }
+    
+    /**
+     * Get the number of games that ended
+     * @return The number of games that ended before reaching the limit
+     */
+    public long getGameOvers()
+    {
+        return this.gameovers;
+    }
+    
+    /**
+     * Get the score histogram
+     * @return The final score of each player
+     */
+    public Histogram getScore()
+    {
+        return this.score;
+    }
+    
+    /**
+     * Get the yoshi histogram
+     * @return The number of yoshis created by each player
+     */
+    public Histogram getYoshis()
+    {
+        return this.yoshis;
+    }
+    
+    /**
+     * Get the drop histogram
+     * @return The number of times each player placed their falling pieces
+     */
+    public Histogram getDrops()
+    {
+        return this.drops;
+    }
+    
+    /**
+     * Get the ticks histogram
+     * @return The number of updates in each game
+     */
+    public Histogram getTicks()
+    {
+        return this.ticks;
+    }
+}
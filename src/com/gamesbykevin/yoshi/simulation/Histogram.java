@@ -0,0 +1,246 @@
+package com.gamesbykevin.yoshi.simulation;
+
+/**
+ * A histogram that keeps a count of the values in fixed size buckets.<br>
+ * Values are added as they are found, so we never have to store each value.<br>
+ * A histogram can also have a fixed number of buckets, so adding a value never allocates.<br>
+ * Histograms with the same bucket size can be combined.
+ * @author GOD
+ */
+public final class Histogram
+{
+    //the starting number of buckets
+    private static final int BUCKETS_DEFAULT = 16;
+    
+    //the size of each bucket
+    private final long size;
+    
+    //the number of values in each bucket
+    private long[] buckets;
+    
+    //is the number of buckets fixed, if so the last bucket counts every value beyond
+    private final boolean fixed;
+    
+    //the number of values and their total
+    private long count = 0;
+    private long total = 0;
+    
+    //the lowest and highest values
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+    
+    /**
+     * Create a new histogram
+     * @param size The size of each bucket
+     * @throws Exception If the size is less than 1
+     */
+    public Histogram(final long size) throws Exception
+    {
+        if (size < 1)
+            throw new Exception("Bucket size has to be at least 1 " + size);
+        
+        this.size = size;
+        this.buckets = new long[BUCKETS_DEFAULT];
+        this.fixed = false;
+    }
+    
+    /**
+     * Create a new histogram with a fixed number of buckets.<br>
+     * Values beyond the last bucket are counted in the last bucket.
+     * @param size The size of each bucket
+     * @param count The number of buckets
+     * @throws Exception If the size or number of buckets is less than 1
+     */
+    public Histogram(final long size, final int count) throws Exception
+    {
+        if (size < 1)
+            throw new Exception("Bucket size has to be at least 1 " + size);
+        if (count < 1)
+            throw new Exception("Bucket count has to be at least 1 " + count);
+        
+        this.size = size;
+        this.buckets = new long[count];
+        this.fixed = true;
+    }
+    
+    /**
+     * Get the size of each bucket
+     * @return The range of values counted in each bucket
+     */
+    public long getSize()
+    {
+        return this.size;
+    }
+    
+    /**
+     * Add the value to the histogram.<br>
+     * Values below 0 are counted in the first bucket.
+     * @param value The value we want to add
+     */
+    public void add(final long value)
+    {
+        //locate the bucket
+        final long bucket = (value < 0) ? 0 : value / getSize();
+        
+        final int index;
+        
+        if (fixed)
+        {
+            //values beyond are counted in the last bucket
+            index = (int)Math.min(bucket, buckets.length - 1);
+        }
+        else
+        {
+            index = (int)bucket;
+            
+            //make sure we have enough buckets
+            grow(index + 1);
+        }
+        
+        buckets[index]++;
+        
+        count++;
+        total += value;
+        
+        if (value < min)
+            min = value;
+        if (value > max)
+            max = value;
+    }
+    
+    /**
+     * Add all the values from another histogram
+     * @param histogram The histogram we want to combine with this histogram
+     * @throws Exception If the bucket sizes are different
+     */
+    public void add(final Histogram histogram) throws Exception
+    {
+        if (histogram.getSize() != getSize())
+            throw new Exception("Bucket sizes have to match " + histogram.getSize() + " " + getSize());
+        if (fixed && histogram.buckets.length > buckets.length)
+            throw new Exception("Bucket count can't be more than the fixed count " + histogram.buckets.length + " " + buckets.length);
+        
+        //make sure we have enough buckets
+        grow(histogram.buckets.length);
+        
+        for (int i = 0; i < histogram.buckets.length; i++)
+        {
+            buckets[i] += histogram.buckets[i];
+        }
+        
+        count += histogram.count;
+        total += histogram.total;
+        
+        if (histogram.min < min)
+            min = histogram.min;
+        if (histogram.max > max)
+            max = histogram.max;
+    }
+    
+    /**
+     * Make sure we have at least the number of buckets
+     * @param length The number of buckets we need
+     */
+    private void grow(final int length)
+    {
+        //we already have enough buckets
+        if (length <= buckets.length)
+            return;
+        
+        //double the number of buckets until we have enough
+        int tmp = buckets.length;
+        
+        while (tmp < length)
+        {
+            tmp *= 2;
+        }
+        
+        final long[] copy = new long[tmp];
+        System.arraycopy(buckets, 0, copy, 0, buckets.length);
+        this.buckets = copy;
+    }
+    
+    /**
+     * Get the number of values
+     * @return The number of values added
+     */
+    public long getCount()
+    {
+        return this.count;
+    }
+    
+    /**
+     * Get the lowest value
+     * @return The lowest value added, 0 if no values were added
+     */
+    public long getMin()
+    {
+        return (getCount() > 0) ? this.min : 0;
+    }
+    
+    /**
+     * Get the highest value
+     * @return The highest value added, 0 if no values were added
+     */
+    public long getMax()
+    {
+        return (getCount() > 0) ? this.max : 0;
+    }
+    
+    /**
+     * Get the average
+     * @return The average of all values added, 0 if no values were added
+     */
+    public double getMean()
+    {
+        return (getCount() > 0) ? (double)total / getCount() : 0;
+    }
+    
+    /**
+     * Get the value at the percentile.<br>
+     * Since we only count the values in buckets, the end of the bucket is returned.
+     * @param percentile The percentile (0.0 - 1.0)
+     * @return The highest value possible in the bucket at the percentile, 0 if no values were added
+     */
+    public long getPercentile(final double percentile)
+    {
+        if (getCount() < 1)
+            return 0;
+        
+        //the number of values we need to pass
+        final long target = (long)Math.ceil(percentile * getCount());
+        
+        long tmp = 0;
+        
+        for (int i = 0; i < buckets.length; i++)
+        {
+            tmp += buckets[i];
+            
+            //if we reached our target, this is the bucket
+            if (tmp >= target && tmp > 0)
+            {
+                //the last fixed bucket has no end
+                if (fixed && i == buckets.length - 1)
+                    return getMax();
+                
+                return Math.min(((i + 1) * getSize()) - 1, getMax());
+            }
+        }
+        
+        return getMax();
+    }
+    
+    /**
+     * Get a description of the histogram
+     * @return The count, min, average, median, 99th percentile and max values
+     */
+    public String getDesc()
+    {
+        return "count=" + getCount() + 
+               ", min=" + getMin() + 
+               ", mean=" + String.format("%.2f", getMean()) + 
+               ", p50=" + getPercentile(0.50) + 
+               ", p99=" + getPercentile(0.99) + 
+               ", max=" + getMax();
+    }
+}
@@ -0,0 +1,313 @@
+package com.gamesbykevin.yoshi.simulation;
+
+import com.gamesbykevin.framework.resources.Disposable;
+import com.gamesbykevin.framework.util.Timers;
+
+import com.gamesbykevin.yoshi.board.Board;
+import com.gamesbykevin.yoshi.board.BoardEvent;
+import com.gamesbykevin.yoshi.board.IBoardListener;
+import com.gamesbykevin.yoshi.engine.Engine;
+import com.gamesbykevin.yoshi.player.Players;
+import com.gamesbykevin.yoshi.replay.ChecksumWriter;
+import com.gamesbykevin.yoshi.replay.ReplayReader;
+import com.gamesbykevin.yoshi.replay.ReplayWriter;
+import com.gamesbykevin.yoshi.shared.Shared;
+
+import java.io.OutputStream;
+
+/**
+ * A game played without a window, images, fonts or audio.<br>
+ * Each update is a fixed amount of game time so the game runs as fast as possible.<br>
+ * The same seed, mode and difficulty will always play the same game.
+ * @author GOD
+ */
+public final class Simulation implements Disposable, IBoardListener
+{
+    /**
+     * The default amount of time each update, the same as the game running at the default ups
+     */
+    public static final long DEFAULT_TIME = Timers.toNanoSeconds(1000L) / Shared.DEFAULT_UPS;
+    
+    //the headless engine providing the random object and time
+    private Engine engine;
+    
+    //the players in the game
+    private Players players;
+    
+    //the settings of the game, needed if we record the game
+    private final int modeIndex, difficultyIndex;
+    private final long time;
+    private final boolean cpu;
+    
+    //the recorded game we are playing (if set)
+    private ReplayReader replay;
+    
+    //the number of yoshis created by each player
+    private int[] yoshis;
+    
+    //the number of times each player placed their falling pieces
+    private int[] drops;
+    
+    /**
+     * Create a new simulation where each update is the default time
+     * @param modeIndex The game mode we are playing
+     * @param difficultyIndex The difficulty
+     * @param seed The seed for the Random object
+     * @throws Exception 
+     */
+    public Simulation(final int modeIndex, final int difficultyIndex, final long seed) throws Exception
+    {
+        this(modeIndex, difficultyIndex, seed, DEFAULT_TIME, false);
+    }
+    
+    /**
+     * Create a new simulation where each update is the default time
+     * @param modeIndex The game mode we are playing
+     * @param difficultyIndex The difficulty
+     * @param seed The seed for the Random object
+     * @param cpu Are all players computer controlled, the human player will be replaced with a cpu
+     * @throws Exception 
+     */
+    public Simulation(final int modeIndex, final int difficultyIndex, final long seed, final boolean cpu) throws Exception
+    {
+        this(modeIndex, difficultyIndex, seed, DEFAULT_TIME, cpu);
+    }
+    
+    /**
+     * Create a new simulation
+     * @param modeIndex The game mode we are playing
+     * @param difficultyIndex The difficulty
+     * @param seed The seed for the Random object
+     * @param time The amount of time each update (nano seconds)
+     * @param cpu Are all players computer controlled, the human player will be replaced with a cpu
+     * @throws Exception 
+     */
+    public Simulation(final int modeIndex, final int difficultyIndex, final long seed, final long time, final boolean cpu) throws Exception
+    {
+        //store the settings
+        this.modeIndex = modeIndex;
+        this.difficultyIndex = difficultyIndex;
+        this.time = time;
+        this.cpu = cpu;
+        
+        //create our headless engine
+        this.engine = new Engine(seed, time);
+        
+        //create the players without images or fonts
+        this.players = new Players(modeIndex, difficultyIndex, null, null, engine.getRandom(), cpu);
+        
+        //any random decisions by the cpu come from the seed, so the same seed plays the same game
+        this.players.setSeed(seed);
+        
+        //create our counters for each player
+        this.yoshis = new int[getPlayers().getPlayerCount()];
+        this.drops = new int[getPlayers().getPlayerCount()];
+        
+        //count the events on each board
+        for (int index = 0; index < getPlayers().getPlayerCount(); index++)
+        {
+            getPlayers().getPlayer(index).getBoard().addListener(this);
+        }
+    }
+    
+    /**
+     * Create a new simulation that plays a recorded game
+     * @param replay The recorded game
+     * @throws Exception 
+     */
+    public Simulation(final ReplayReader replay) throws Exception
+    {
+        this(replay.getModeIndex(), replay.getDifficultyIndex(), replay.getSeed(), replay.getTime(), replay.hasCpu());
+        
+        //the inputs will come from the replay
+        this.replay = replay;
+        getPlayers().setPlayback(replay);
+    }
+    
+    /**
+     * Record the inputs so the game can be played again.<br>
+     * This needs to be called before the first update.
+     * @return The object recording the game, finished when the game is over
+     * @throws Exception 
+     */
+    public ReplayWriter record() throws Exception
+    {
+        final ReplayWriter recorder = new ReplayWriter(getSeed(), time, modeIndex, difficultyIndex, cpu);
+        
+        getPlayers().setRecorder(recorder);
+        
+        return recorder;
+    }
+    
+    /**
+     * Write the checksums of the game after every update, so 2 runs of the same game can be compared.<br>
+     * This needs to be called before the first update, the checksums of the starting state are written right away.
+     * @param stream Where we want to write, this should be buffered
+     * @return The object writing the checksums, needs to be closed when the game is done
+     * @throws Exception 
+     */
+    public ChecksumWriter checksum(final OutputStream stream) throws Exception
+    {
+        final ChecksumWriter checksums = new ChecksumWriter(stream, getSeed(), time, modeIndex, difficultyIndex, cpu, getPlayers());
+        
+        //write the starting state
+        checksums.write(getTicks(), engine.getRandom(), getPlayers());
+        
+        getPlayers().setChecksums(checksums);
+        
+        return checksums;
+    }
+    
+    @Override
+    public void onBoardEvent(final Board board, final BoardEvent event, final int value)
+    {
+        for (int index = 0; index < getPlayers().getPlayerCount(); index++)
+        {
+            //skip the player if this isn't their board
+            if (getPlayers().getPlayer(index).getBoard() != board)
+                continue;
+            
+            switch (event)
+            {
+                case YoshiCreated:
+                    yoshis[index]++;
+                    break;
+                    
+                case PiecePlaced:
+                    drops[index]++;
+                    break;
+            }
+        }
+    }
+    
+    /**
+     * Get the number of yoshis created
+     * @param index The index of the player
+     * @return The number of yoshis the player created
+     */
+    public int getYoshiCount(final int index)
+    {
+        return this.yoshis[index];
+    }
+    
+    /**
+     * Get the number of drops survived
+     * @param index The index of the player
+     * @return The number of times the player placed their falling pieces
+     */
+    public int getDropCount(final int index)
+    {
+        return this.drops[index];
+    }
+    
+    /**
+     * Get the score
+     * @param index The index of the player
+     * @return The score of the player
+     */
+    public int getScore(final int index)
+    {
+        return getPlayers().getPlayer(index).getStats().getStatScore().getValue();
+    }
+    
+    /**
+     * Get the players
+     * @return The players in the game
+     */
+    public Players getPlayers()
+    {
+        return this.players;
+    }
+    
+    /**
+     * Get the seed
+     * @return The seed used in the random generator
+     */
+    public long getSeed()
+    {
+        return this.engine.getSeed();
+    }
+    
+    /**
+     * Get the number of updates
+     * @return The number of times the game has been updated
+     */
+    public long getTicks()
+    {
+        return getPlayers().getTicks();
+    }
+    
+    /**
+     * Is the game over?
+     * @return true if the game has ended, false otherwise
+     */
+    public boolean hasGameOver()
+    {
+        return getPlayers().hasGameOver();
+    }
+    
+    /**
+     * Update the game once
+     * @throws Exception 
+     */
+    public void update() throws Exception
+    {
+        //update the players
+        getPlayers().update(engine);
+    }
+    
+    /**
+     * Update the game until it is over
+     * @param limit The maximum number of updates, in case the game never ends
+     * @return true if the game is over, false if we reached the limit first
+     * @throws Exception 
+     */
+    public boolean run(final long limit) throws Exception
+    {
+        while (!hasGameOver() && getTicks() < limit)
+        {
+            //a replay ends at the total number of updates recorded
+            if (replay != null && replay.hasFinished() && getTicks() >= replay.getTick())
+                break;
+            
+            update();
+        }
+        
+        return hasGameOver();
+    }
+    
+    /**
+     * Move the replay to the update.<br>
+     * The closest snapshot is restored, then only the remaining updates are played.<br>
+     * The yoshi and drop counts will only include the updates played by this simulation.
+     * @param tick The update we want the game to be at
+     * @throws Exception If this simulation is not playing a replay
+     */
+    public void seek(final long tick) throws Exception
+    {
+        if (replay == null)
+            throw new Exception("Only a replay can be seeked");
+        
+        //restore the snapshot
+        replay.seek(tick, engine, getPlayers());
+        
+        //then update until we reach the update
+        run(tick);
+    }
+    
+    @Override
+    public void dispose()
+    {
+        if (players != null)
+        {
+            players.dispose();
+            players = null;
+        }
+        
+        if (engine != null)
+        {
+            engine.dispose();
+            engine = null;
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package com.gamesbykevin.yoshi.simulation;
+
+import com.gamesbykevin.yoshi.player.CpuWeights;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+/**
+ * Tune the cpu weights with a genetic search over simulated games.<br>
+ * Each generation every set of weights plays the same batch of games, and the best quarter survive.<br>
+ * The rest of the next generation is created by mixing and mutating the weights that survived.<br>
+ * Each generation plays new games, so the weights that survive are good at more than a few games.
+ * @author GOD
+ */
+public final class Tuner
+{
+    /**
+     * The default number of weights in each generation
+     */
+    public static final int DEFAULT_POPULATION = 16;
+    
+    /**
+     * The default amount each weight can be mutated, as a ratio of the weight
+     */
+    public static final double DEFAULT_MUTATION = 0.25;
+    
+    /**
+     * The fitness lost for each game over
+     */
+    public static final int FITNESS_GAME_OVER = 1000;
+    
+    //the ratio of the population that survives each generation
+    private static final int SURVIVOR_RATIO = 4;
+    
+    //the game mode and difficulty
+    private final int modeIndex, difficultyIndex;
+    
+    //the seed of the first game
+    private final long seed;
+    
+    //the number of games each set of weights plays each generation
+    private final int games;
+    
+    //the maximum number of updates per game
+    private final long limit;
+    
+    //the number of threads to play the games on
+    private final int threads;
+    
+    //the name of the cpu strategy, null for the default
+    private final String strategy;
+    
+    //the amount each weight can be mutated
+    private final double mutation;
+    
+    //the random object used to mix and mutate the weights
+    private final Random random;
+    
+    //the weights in the current generation and how well each one played
+    private final CpuWeights[] population;
+    private final double[] fitness;
+    
+    //the index of each set of weights from the best to the worst
+    private final Integer[] ranks;
+    
+    //the best weights of the last generation played and how well they played
+    private CpuWeights best;
+    private double bestFitness = 0;
+    
+    //the average fitness of the last generation played
+    private double meanFitness = 0;
+    
+    //how well the starting weights played in the first generation
+    private double startFitness = 0;
+    
+    //the number of generations played
+    private int generation = 0;
+    
+    /**
+     * Create the tuner
+     * @param modeIndex The game mode we are playing, all players will be computer controlled
+     * @param difficultyIndex The difficulty
+     * @param seed The seed of the first game, also used to mix and mutate the weights
+     * @param games The number of games each set of weights plays each generation
+     * @param limit The maximum number of updates per game
+     * @param threads The number of threads to play the games on
+     * @param strategy The name of the cpu strategy, null for the default
+     * @param start The weights we start from, these are kept in the first generation
+     * @param size The number of weights in each generation
+     * @param mutation The amount each weight can be mutated, as a ratio of the weight
+     * @throws Exception If the size is too small to have survivors
+     */
+    public Tuner(final int modeIndex, final int difficultyIndex, final long seed, final int games, final long limit, final int threads, final String strategy, final CpuWeights start, final int size, final double mutation) throws Exception
+    {
+        if (size < SURVIVOR_RATIO)
+            throw new Exception("The population needs at least " + SURVIVOR_RATIO + " weights (" + size + ")");
+        
+        this.modeIndex = modeIndex;
+        this.difficultyIndex = difficultyIndex;
+        this.seed = seed;
+        this.games = games;
+        this.limit = limit;
+        this.threads = threads;
+        this.strategy = strategy;
+        this.mutation = mutation;
+        this.random = new Random(seed);
+        
+        this.population = new CpuWeights[size];
+        this.fitness = new double[size];
+        this.ranks = new Integer[size];
+        
+        //the starting weights are kept, so we know if the others are any better
+        population[0] = start;
+        
+        for (int index = 1; index < size; index++)
+        {
+            population[index] = mutate(start.getValues());
+        }
+        
+        this.best = start;
+    }
+    
+    /**
+     * Play a generation, then create the next generation.<br>
+     * Every set of weights plays the same games, the best survive and the rest are replaced by mixing and mutating the survivors.
+     * @throws Exception
+     */
+    public void evolve() throws Exception
+    {
+        //every set of weights plays the same games, but each generation plays new games
+        final long first = seed + ((long)generation * games);
+        
+        double total = 0;
+        
+        for (int index = 0; index < population.length; index++)
+        {
+            fitness[index] = getFitness(Batch.run(modeIndex, difficultyIndex, first, games, limit, threads, strategy, population[index]));
+            ranks[index] = index;
+            
+            total += fitness[index];
+        }
+        
+        //sort from the best to the worst
+        Arrays.sort(ranks, new Comparator<Integer>()
+        {
+            @Override
+            public int compare(final Integer index1, final Integer index2)
+            {
+                return Double.compare(fitness[index2], fitness[index1]);
+            }
+        });
+        
+        //the starting weights are the first in the first generation
+        if (generation == 0)
+            this.startFitness = fitness[0];
+        
+        this.best = population[ranks[0]];
+        this.bestFitness = fitness[ranks[0]];
+        this.meanFitness = total / population.length;
+        
+        generation++;
+        
+        //the best survive
+        final int survivors = population.length / SURVIVOR_RATIO;
+        
+        final CpuWeights[] parents = new CpuWeights[survivors];
+        
+        for (int index = 0; index < survivors; index++)
+        {
+            parents[index] = population[ranks[index]];
+        }
+        
+        for (int index = 0; index < population.length; index++)
+        {
+            if (index < survivors)
+            {
+                population[index] = parents[index];
+                continue;
+            }
+            
+            //mix 2 survivors, then mutate
+            final CpuWeights parent1 = parents[random.nextInt(survivors)];
+            final CpuWeights parent2 = parents[random.nextInt(survivors)];
+            
+            final int[] values = new int[CpuWeights.WEIGHT_TOTAL];
+            
+            for (int weight = 0; weight < values.length; weight++)
+            {
+                values[weight] = (random.nextBoolean()) ? parent1.get(weight) : parent2.get(weight);
+            }
+            
+            population[index] = mutate(values);
+        }
+    }
+    
+    /**
+     * Mutate the weights.<br>
+     * Each weight changes by a random amount, relative to the size of the weight.
+     * @param values The value of each weight, these will be changed
+     * @return The mutated weights
+     * @throws Exception
+     */
+    private CpuWeights mutate(final int[] values) throws Exception
+    {
+        for (int weight = 0; weight < values.length; weight++)
+        {
+            //small weights can still change
+            final double range = Math.max(1.0, Math.abs(values[weight]) * mutation);
+            
+            values[weight] += (int)Math.round(random.nextGaussian() * range);
+        }
+        
+        return new CpuWeights(values);
+    }
+    
+    /**
+     * Get how well the weights played
+     * @param result The results of the games played with the weights
+     * @return The average score, minus a penalty for each game over
+     */
+    private double getFitness(final BatchResult result)
+    {
+        return result.getScore().getMean() - (FITNESS_GAME_OVER * (double)result.getGameOvers() / result.getGames());
+    }
+    
+    /**
+     * Get the number of generations played
+     * @return The number of times the population has played
+     */
+    public int getGeneration()
+    {
+        return this.generation;
+    }
+    
+    /**
+     * Get the number of weights in each generation
+     * @return The size of the population
+     */
+    public int getPopulation()
+    {
+        return this.population.length;
+    }
+    
+    /**
+     * Get how well the best weights played
+     * @return The fitness of the best weights of the last generation played
+     */
+    public double getBestFitness()
+    {
+        return this.bestFitness;
+    }
+    
+    /**
+     * Get how well the last generation played
+     * @return The average fitness of every set of weights in the last generation played
+     */
+    public double getMeanFitness()
+    {
+        return this.meanFitness;
+    }
+    
+    /**
+     * Get how well the starting weights played
+     * @return The fitness of the starting weights in the first generation
+     */
+    public double getStartFitness()
+    {
+        return this.startFitness;
+    }
+    
+    /**
+     * Get the best weights of the last generation played
+     * @return The weights with the highest fitness, the starting weights if no generation has been played
+     */
+    public CpuWeights getBest()
+    {
+        return this.best;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,195 @@
+package com.gamesbykevin.yoshi.board;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import com.gamesbykevin.yoshi.player.Player;
+import com.gamesbykevin.yoshi.board.piece.Piece;
+
+import java.util.Random;
+
+/**
+ * Test the methods in BitBoard
+ * @author GOD
+ */
+public class BitBoardTest 
+{
+    //the bit board
+    private BitBoard bits;
+    
+    @BeforeClass
+    public static void setUpClass() 
+    {
+        //assume these variables will not change
+        assertTrue(Board.COLUMNS == 4);
+        assertTrue(Board.ROWS == 9);
+    }
+    
+    @AfterClass
+    public static void tearDownClass() 
+    {
+        
+    }
+    
+    @Before
+    public void setUp() 
+    {
+        bits = new BitBoard();
+    }
+    
+    @After
+    public void tearDown() 
+    {
+        bits = null;
+    }
+    
+    @Test
+    public void boardTest() throws Exception
+    {
+        final Board board = new Board(Player.INDEX_DIFFICULTY_EASY);
+        BoardHelper.populateBoard(board, new Random(1));
+        
+        bits = new BitBoard(board);
+        
+        for (int col = 0; col < Board.COLUMNS; col++)
+        {
+            //populate fills the bottom 3 rows
+            assertTrue(bits.getHeight(col) == 3);
+            
+            //the pieces match the board from the bottom up
+            for (int index = 0; index < bits.getHeight(col); index++)
+            {
+                assertTrue(bits.getPiece(col, index) == board.getPiece(col, (Board.ROWS - 1) - index, null).getType());
+            }
+            
+            assertTrue(bits.getPiece(col, 3) == BitBoard.EMPTY);
+        }
+        
+        //add the pieces to another board
+        final Board copy = new Board(Player.INDEX_DIFFICULTY_EASY);
+        bits.populate(copy);
+        
+        //assume the boards are the same
+        assertTrue(copy.getPieces().size() == board.getPieces().size());
+        assertTrue(new BitBoard(copy).equals(bits));
+        assertTrue(new BitBoard(copy).hashCode() == bits.hashCode());
+        
+        board.dispose();
+        copy.dispose();
+    }
+    
+    @Test
+    public void dropTest() 
+    {
+        //pieces that don't match are placed
+        assertTrue(bits.drop(0, Piece.TYPE_BOO) == Board.SCORE_NONE);
+        assertTrue(bits.drop(0, Piece.TYPE_PLANT) == Board.SCORE_NONE);
+        assertTrue(bits.getHeight(0) == 2);
+        assertTrue(bits.getTop(0) == Piece.TYPE_PLANT);
+        
+        //matching pieces are both destroyed
+        assertTrue(bits.drop(0, Piece.TYPE_PLANT) == Board.SCORE_PIECE_MATCH * 2);
+        assertTrue(bits.getHeight(0) == 1);
+        assertTrue(bits.getTop(0) == Piece.TYPE_BOO);
+        
+        //a top shell without a bottom shell is destroyed
+        assertTrue(bits.drop(0, Piece.TYPE_SHELL_TOP) == Board.SCORE_PIECE_MATCH);
+        assertTrue(bits.drop(1, Piece.TYPE_SHELL_TOP) == Board.SCORE_PIECE_MATCH);
+        assertTrue(bits.getHeight(0) == 1);
+        assertTrue(bits.getHeight(1) == 0);
+        assertTrue(!bits.hasLost());
+    }
+    
+    @Test
+    public void dropScoreTest() 
+    {
+        bits.drop(1, Piece.TYPE_SHELL_BOTTOM);
+        bits.drop(1, Piece.TYPE_BOO);
+        
+        //our own scores are used instead of the scores the player would receive
+        assertTrue(bits.drop(1, Piece.TYPE_BOO, 3, 7) == 3 * 2);
+        assertTrue(bits.drop(0, Piece.TYPE_SHELL_TOP, 3, 7) == 3);
+        assertTrue(bits.drop(1, Piece.TYPE_SHELL_TOP, 3, 7) == 7 * 2);
+        assertTrue(bits.getHeight(1) == 0);
+    }
+    
+    @Test
+    public void yoshiTest() 
+    {
+        bits.drop(2, Piece.TYPE_GOOMBA);
+        bits.drop(2, Piece.TYPE_SHELL_BOTTOM);
+        bits.drop(2, Piece.TYPE_SQUID);
+        bits.drop(2, Piece.TYPE_BOO);
+        
+        //the bottom shell is the 3rd piece from the top
+        assertTrue(bits.getBottomShellCount(2) == 3);
+        assertTrue(bits.getBottomShellCount(1) == 0);
+        
+        //the yoshi is the top shell, 2 pieces and the bottom shell
+        assertTrue(bits.drop(2, Piece.TYPE_SHELL_TOP) == Board.SCORE_YOSHI_PIECE * 4);
+        
+        //only the piece below the bottom shell remains
+        assertTrue(bits.getHeight(2) == 1);
+        assertTrue(bits.getTop(2) == Piece.TYPE_GOOMBA);
+        assertTrue(bits.getBottomShellCount(2) == 0);
+    }
+    
+    @Test
+    public void swapTest() 
+    {
+        bits.drop(0, Piece.TYPE_BOO);
+        bits.drop(1, Piece.TYPE_SQUID);
+        bits.drop(1, Piece.TYPE_GOOMBA);
+        
+        final BitBoard copy = new BitBoard(bits);
+        
+        bits.swap(0);
+        
+        assertTrue(bits.getHeight(0) == 2);
+        assertTrue(bits.getHeight(1) == 1);
+        assertTrue(bits.getTop(0) == Piece.TYPE_GOOMBA);
+        assertTrue(bits.getTop(1) == Piece.TYPE_BOO);
+        assertTrue(!bits.equals(copy));
+        
+        //swapping again will restore
+        bits.swap(0);
+        assertTrue(bits.equals(copy));
+        
+        //the columns in the other long are separate
+        bits.swap(2);
+        assertTrue(bits.equals(copy));
+        bits.swap(1);
+        assertTrue(bits.getHeight(1) == 0);
+        assertTrue(bits.getTop(2) == Piece.TYPE_GOOMBA);
+    }
+    
+    @Test
+    public void loseTest() 
+    {
+        //fill the column without any matches
+        for (int index = 0; index < Board.ROWS - 1; index++)
+        {
+            bits.drop(3, (index % 2 == 0) ? Piece.TYPE_BOO : Piece.TYPE_SQUID);
+        }
+        
+        assertTrue(bits.getHeight(3) == Board.ROWS - 1);
+        assertTrue(!bits.hasLost());
+        
+        //a match in the first row does not lose
+        bits.drop(3, Piece.TYPE_SQUID);
+        assertTrue(!bits.hasLost());
+        bits.drop(3, Piece.TYPE_SQUID);
+        
+        //a piece placed in the first row will lose
+        bits.drop(3, Piece.TYPE_PLANT);
+        assertTrue(bits.getHeight(3) == Board.ROWS);
+        assertTrue(bits.hasLost());
+        
+        //the lost flag is copied
+        assertTrue(new BitBoard(bits).hasLost());
+    }
+}
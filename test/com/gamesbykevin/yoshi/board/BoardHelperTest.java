@@ -444,6 +444,77 @@ public class BoardHelperTest
         assertFalse(BoardHelper.getYoshiSize(pieces) > 0);
     }
     
+    /**
+     * Check the board counts stay in sync as the pieces change
+     */
+    @Test
+    public void boardCountsTest() throws Exception
+    {
+        //add starting pieces
+        for (int col = 0; col < BoardHelper.SPAWN_TOTAL; col++)
+        {
+            piece = new Piece(Piece.TYPE_BOO);
+            piece.setCol(col);
+            board.add(piece);
+        }
+        
+        //assume we have starting pieces that aren't falling yet
+        assertTrue(BoardHelper.hasStartingPieces(board));
+        assertFalse(BoardHelper.hasFallingPieces(board));
+        assertFalse(BoardHelper.hasPlacedPieces(board));
+        
+        //start dropping pieces
+        BoardHelper.dropStartingPieces(board.getPieces());
+        
+        //assume we now have falling pieces
+        assertTrue(BoardHelper.hasFallingPieces(board));
+        
+        //place the pieces
+        for (int i = 0; i < board.getPieces().size(); i++)
+        {
+            board.getPieces().get(i).placePiece();
+        }
+        
+        //assume the pieces are no longer falling, and since they are in the first row we lose
+        assertFalse(BoardHelper.hasFallingPieces(board));
+        assertTrue(BoardHelper.hasPlacedPieces(board));
+        assertTrue(BoardHelper.hasLosingBoard(board));
+        
+        //start swapping a column
+        piece = board.getPieces().get(0);
+        piece.setTargetCol((int)piece.getCol() + 1);
+        assertTrue(BoardHelper.isSwappingColumns(board));
+        assertFalse(BoardHelper.canSwapColumns(board));
+        
+        //finish the swap
+        piece.setCol(piece.getTargetCol());
+        assertFalse(BoardHelper.isSwappingColumns(board));
+        assertTrue(BoardHelper.canSwapColumns(board));
+        
+        //mark the piece destroyed
+        piece.markDestroyed();
+        assertTrue(BoardHelper.hasDestroyedPieces(board));
+        assertTrue(BoardHelper.getDestroyedPieceCount(board) == 1);
+        assertTrue(BoardHelper.hasExistingPieces(board));
+        
+        //remove the destroyed piece
+        board.remove(piece);
+        assertFalse(BoardHelper.hasDestroyedPieces(board));
+        
+        //mark the remaining piece as part of a yoshi
+        piece = board.getPieces().get(0);
+        piece.markYoshi(1);
+        assertTrue(BoardHelper.hasYoshi(board));
+        assertTrue(BoardHelper.getYoshiSize(board) == 1);
+        
+        //remove the last piece
+        board.remove(piece);
+        assertFalse(BoardHelper.hasYoshi(board));
+        assertFalse(BoardHelper.hasPlacedPieces(board));
+        assertFalse(BoardHelper.hasStartingPieces(board));
+        assertFalse(BoardHelper.hasLosingBoard(board));
+    }
+    
     @Test
     public void hasLosingBoardTest() throws Exception
     {
@@ -9,8 +9,12 @@ import static org.junit.Assert.*;
 
 import com.gamesbykevin.yoshi.player.Player;
 import com.gamesbykevin.yoshi.board.piece.Piece;
+import com.gamesbykevin.yoshi.shared.Snapshot;
 import junit.framework.Assert;
 
+import java.util.Arrays;
+import java.util.Random;
+
 /**
  * Test the methods in Board
  * @author GOD
@@ -34,7 +38,7 @@ public class BoardTest
     @AfterClass
     public static void tearDownClass() 
     {
-        
+    
     }
     
     @Before
@@ -69,6 +73,27 @@ public class BoardTest
         assertTrue(piece.hasTargetCol());
     }
     
+    @Test
+    public void keepLocationsTest() throws Exception
+    {
+        piece = new Piece(Piece.TYPE_BOO);
+        piece.setY(100);
+        piece.keepLocation();
+        
+        //assume adding the piece forgets where it was before
+        board.add(piece);
+        assertTrue(piece.getY(0) == 100);
+        
+        //keep the location at the start of the update, then drop the piece
+        board.keepLocations();
+        piece.applyGravity();
+        
+        //assume the piece is drawn between the previous and current location
+        assertTrue(piece.getY(0) == 100);
+        assertTrue(piece.getY(0.5) == 100 + (BoardHelper.DROP_PIXEL_DISTANCE / 2));
+        assertTrue(piece.getY(1) == 100 + BoardHelper.DROP_PIXEL_DISTANCE);
+    }
+    
     @Test
     public void removeTest() throws Exception
     {
@@ -107,6 +132,183 @@ public class BoardTest
         assertNull(board.getPiece(0, 0, piece.getId()));
     }
     
+    @Test
+    public void getPieceIndexTest() throws Exception
+    {
+        //create piece
+        piece = new Piece(Piece.TYPE_BOO);
+        piece.setCol(1);
+        
+        //add piece
+        board.add(piece);
+        
+        //drop the piece half a row
+        piece.applyGravity();
+        
+        //assume the piece is no longer found at the original location
+        assertNull(board.getPiece(1, 0, Piece.NO_ID));
+        
+        //assume the piece is found at the new location
+        assertNotNull(board.getPiece(1, BoardHelper.ROW_DROP, Piece.NO_ID));
+        
+        //move the piece between columns
+        piece.setCol(1 + Piece.SWAP_COLUMN_RATE);
+        
+        //assume the piece isn't found in either column
+        assertNull(board.getPiece(1, BoardHelper.ROW_DROP, Piece.NO_ID));
+        assertNull(board.getPiece(2, BoardHelper.ROW_DROP, Piece.NO_ID));
+        
+        //assume the piece is found between the columns
+        assertNotNull(board.getPiece(1 + Piece.SWAP_COLUMN_RATE, BoardHelper.ROW_DROP, Piece.NO_ID));
+        
+        //finish the swap
+        piece.setCol(2);
+        
+        //assume the piece is found at the target column
+        assertNotNull(board.getPiece(2, BoardHelper.ROW_DROP, Piece.NO_ID));
+        
+        //remove the piece
+        board.remove(piece);
+        
+        //assume the piece is no longer found
+        assertNull(board.getPiece(2, BoardHelper.ROW_DROP, Piece.NO_ID));
+    }
+    
+    @Test
+    public void getPieceSharedCellTest() throws Exception
+    {
+        //create 2 pieces at the same location
+        final Piece first = new Piece(Piece.TYPE_BOO);
+        final Piece second = new Piece(Piece.TYPE_SQUID);
+        board.add(first);
+        board.add(second);
+        
+        //assume the first piece added is found
+        assertTrue(board.getPiece(0, 0, Piece.NO_ID).getId() == first.getId());
+        
+        //assume the other piece is found when we avoid the first
+        assertTrue(board.getPiece(first).getId() == second.getId());
+        
+        //remove the first piece
+        board.remove(first);
+        
+        //assume the remaining piece is found
+        assertTrue(board.getPiece(0, 0, Piece.NO_ID).getId() == second.getId());
+        
+        //assume nothing is found when avoiding the remaining piece
+        assertNull(board.getPiece(second));
+        
+        piece = second;
+    }
+    
+    @Test
+    public void columnProfileTest() throws Exception
+    {
+        final int col = 1;
+        
+        //assume an empty column
+        assertTrue(board.getColumnHeight(col) == 0);
+        assertNull(board.getColumnTop(col));
+        assertTrue(board.getColumnBottomShellCount(col) == 0);
+        
+        //place a bottom shell with a piece on top of it
+        final Piece shell = new Piece(Piece.TYPE_SHELL_BOTTOM);
+        shell.setCol(col);
+        shell.setRow(Board.ROWS - 1);
+        shell.placePiece();
+        board.add(shell);
+        
+        piece = new Piece(Piece.TYPE_BOO);
+        piece.setCol(col);
+        piece.setRow(Board.ROWS - 2);
+        piece.placePiece();
+        board.add(piece);
+        
+        //assume the profile has both pieces
+        assertTrue(board.getColumnHeight(col) == 2);
+        assertTrue(board.getColumnTop(col).getId() == piece.getId());
+        assertTrue(board.getColumnBottomShellCount(col) == 2);
+        
+        //assume the other columns are empty
+        assertTrue(board.getColumnHeight(col + 1) == 0);
+        
+        //destroy the top piece
+        piece.markDestroyed();
+        
+        //assume the destroyed piece is no longer counted, but is still the top as it is still placed
+        assertTrue(board.getColumnHeight(col) == 1);
+        assertTrue(board.getColumnTop(col).getId() == piece.getId());
+        assertTrue(board.getColumnBottomShellCount(col) == 1);
+        
+        //the bottom shell is now part of a yoshi
+        shell.markYoshi(1);
+        
+        //assume the column is empty, but the destroyed piece is still the top
+        assertTrue(board.getColumnHeight(col) == 0);
+        assertTrue(board.getColumnTop(col).getId() == piece.getId());
+        assertTrue(board.getColumnBottomShellCount(col) == 0);
+        
+        //remove the destroyed piece
+        board.remove(piece);
+        
+        //assume the yoshi piece is now the top
+        assertTrue(board.getColumnTop(col).getId() == shell.getId());
+        
+        piece = shell;
+    }
+    
+    @Test
+    public void columnProfileSwapTest() throws Exception
+    {
+        piece = new Piece(Piece.TYPE_SHELL_BOTTOM);
+        piece.setCol(1);
+        piece.setRow(Board.ROWS - 1);
+        piece.placePiece();
+        board.add(piece);
+        
+        //move the piece between columns
+        piece.setCol(1 + Piece.SWAP_COLUMN_RATE);
+        
+        //assume the piece isn't counted in either column
+        assertTrue(board.getColumnHeight(1) == 0);
+        assertTrue(board.getColumnHeight(2) == 0);
+        
+        //finish the swap
+        piece.setCol(2);
+        
+        //assume the piece is counted in the new column
+        assertTrue(board.getColumnHeight(2) == 1);
+        assertTrue(board.getColumnTop(2).getId() == piece.getId());
+        assertTrue(board.getColumnBottomShellCount(2) == 1);
+    }
+    
+    @Test
+    public void columnProfileSharedCellTest() throws Exception
+    {
+        //place 2 pieces at the same location
+        final Piece first = new Piece(Piece.TYPE_SHELL_BOTTOM);
+        final Piece second = new Piece(Piece.TYPE_BOO);
+        first.placePiece();
+        second.placePiece();
+        board.add(first);
+        board.add(second);
+        
+        //assume the first piece added is used
+        assertTrue(board.getColumnHeight(0) == 1);
+        assertTrue(board.getColumnTop(0).getId() == first.getId());
+        assertTrue(board.getColumnBottomShellCount(0) == 1);
+        
+        //remove the first piece
+        board.remove(first);
+        
+        //assume the remaining piece is found
+        assertTrue(board.getColumnHeight(0) == 1);
+        assertTrue(board.getColumnBottomShellCount(0) == 0);
+        assertTrue(board.getColumnTop(0).getId() == second.getId());
+        
+        piece = second;
+    }
+    
     @Test
     public void setGameResultTest() throws Exception
     {
@@ -122,4 +324,205 @@ public class BoardTest
         //assume the game is flagged as over
         assertTrue(board.hasGameOver());
     }
+    
+    @Test
+    public void listenerTest() throws Exception
+    {
+        //the number of times each event occurred
+        final int[] counts = new int[BoardEvent.values().length];
+        
+        board = new Board(Player.INDEX_DIFFICULTY_EASY);
+        board.addListener(new IBoardListener()
+        {
+            @Override
+            public void onBoardEvent(final Board board, final BoardEvent event, final int value)
+            {
+                counts[event.ordinal()]++;
+            }
+        });
+        
+        //place a piece in the first 2 columns
+        for (int col = 0; col < 2; col++)
+        {
+            piece = new Piece(Piece.TYPE_BOO);
+            piece.setCol(col);
+            piece.setRow(Board.ROWS - 1);
+            piece.setPlaced(true);
+            board.add(piece);
+        }
+        
+        //start swapping the columns
+        BoardHelper.startSwap(board, 0, 1);
+        
+        //assume we are notified once that the swap started
+        assertTrue(counts[BoardEvent.SwapStarted.ordinal()] == 1);
+        
+        //starting the swap again while already swapping won't notify
+        BoardHelper.startSwap(board, 0, 1);
+        assertTrue(counts[BoardEvent.SwapStarted.ordinal()] == 1);
+        
+        //lose the game more than once
+        board.setGameResult(true);
+        board.setGameResult(true);
+        
+        //assume we are notified once that the game was lost
+        assertTrue(counts[BoardEvent.GameLost.ordinal()] == 1);
+    }
+    
+    @Test
+    public void snapshotTest() throws Exception
+    {
+        //fill the board and change a few pieces
+        BoardHelper.populateBoard(board, new Random(1L));
+        board.getPieces().get(0).markDestroyed();
+        board.getPieces().get(1).markYoshi(Piece.YOSHI_SIZE_SMALL);
+        board.getTimer().setRemaining(100L);
+        
+        final Snapshot snapshot = new Snapshot();
+        board.snapshot(snapshot);
+        
+        //restore to a new board
+        final Board tmp = new Board(Player.INDEX_DIFFICULTY_EASY);
+        tmp.restore(snapshot);
+        
+        //assume the pieces and state are the same
+        assertTrue(tmp.getPieces().size() == board.getPieces().size());
+        assertTrue(tmp.getTimer().getRemaining() == 100L);
+        assertTrue(BoardHelper.hasDestroyedPieces(tmp));
+        assertTrue(BoardHelper.hasYoshi(tmp));
+        
+        for (int i = 0; i < board.getPieces().size(); i++)
+        {
+            piece = board.getPieces().get(i);
+            
+            //assume the index can locate each piece
+            assertTrue(tmp.getPiece(piece.getCol(), piece.getRow(), Piece.NO_ID).getType() == piece.getType());
+        }
+        
+        //assume a snapshot of the restored board is the same
+        final Snapshot copy = new Snapshot();
+        tmp.snapshot(copy);
+        assertTrue(Arrays.equals(snapshot.toByteArray(), copy.toByteArray()));
+        
+        //restore again, assume the existing pieces are reused
+        piece = tmp.getPieces().get(0);
+        snapshot.rewind();
+        tmp.restore(snapshot);
+        
+        assertTrue(tmp.getPieces().contains(piece));
+        assertTrue(piece.getBoard() == tmp);
+        
+        tmp.dispose();
+    }
+    
+    /**
+     * Calculate the hash of the board from scratch
+     * @param board The board
+     * @return The hash of every piece on the board
+     */
+    private static long getHash(final Board board)
+    {
+        final BoardIndex index = new BoardIndex();
+        
+        for (int i = 0; i < board.getPieces().size(); i++)
+        {
+            index.add(board.getPieces().get(i));
+        }
+        
+        return index.getHash();
+    }
+    
+    @Test
+    public void hashTest() throws Exception
+    {
+        //assume an empty board has no hash
+        assertTrue(board.getHash() == 0);
+        
+        BoardHelper.populateBoard(board, new Random(1L));
+        
+        final long start = board.getHash();
+        
+        //assume the hash is the same as checking every piece
+        assertTrue(start != 0);
+        assertTrue(start == getHash(board));
+        
+        //assume the same position has the same hash
+        final Board tmp = new Board(Player.INDEX_DIFFICULTY_EASY);
+        BoardHelper.populateBoard(tmp, new Random(1L));
+        assertTrue(tmp.getHash() == start);
+        tmp.dispose();
+        
+        //swap the first 2 columns, checking the hash at each step
+        BoardHelper.startSwap(board, 0, 1);
+        assertTrue(board.getHash() != start);
+        assertTrue(board.getHash() == getHash(board));
+        
+        while (BoardHelper.isSwappingColumns(board))
+        {
+            BoardHelper.swapPieces(board.getPieces(), 0);
+            assertTrue(board.getHash() == getHash(board));
+        }
+        
+        final long swapped = board.getHash();
+        
+        //assume the hash changed
+        assertTrue(swapped != start);
+        
+        //swap the columns back
+        BoardHelper.startSwap(board, 0, 1);
+        
+        while (BoardHelper.isSwappingColumns(board))
+        {
+            BoardHelper.swapPieces(board.getPieces(), 0);
+        }
+        
+        //assume we have the same hash as the start
+        assertTrue(board.getHash() == start);
+        
+        //drop a piece
+        piece = new Piece(Piece.TYPE_BOO);
+        board.add(piece);
+        
+        final long added = board.getHash();
+        assertTrue(added != start);
+        
+        piece.applyGravity();
+        assertTrue(board.getHash() != added);
+        assertTrue(board.getHash() == getHash(board));
+        
+        //change the state of a piece
+        board.getPieces().get(0).markDestroyed();
+        assertTrue(board.getHash() == getHash(board));
+        
+        //remove the pieces we changed, assume the hash is still correct
+        board.remove(piece);
+        board.remove(board.getPieces().get(0));
+        assertTrue(board.getHash() == getHash(board));
+        assertTrue(board.getHash() != start);
+    }
+    
+    @Test
+    public void hashSnapshotTest() throws Exception
+    {
+        BoardHelper.populateBoard(board, new Random(1L));
+        board.getPieces().get(0).markYoshi(Piece.YOSHI_SIZE_SMALL);
+        
+        final Snapshot snapshot = new Snapshot();
+        board.snapshot(snapshot);
+        
+        //assume a restored board has the same hash
+        final Board tmp = new Board(Player.INDEX_DIFFICULTY_EASY);
+        tmp.restore(snapshot);
+        assertTrue(tmp.getHash() == board.getHash());
+        
+        //change the restored board, then restore again
+        tmp.getPieces().get(1).markDestroyed();
+        assertTrue(tmp.getHash() != board.getHash());
+        
+        snapshot.rewind();
+        tmp.restore(snapshot);
+        assertTrue(tmp.getHash() == board.getHash());
+        
+        tmp.dispose();
+    }
 }
\ No newline at end of file
@@ -249,4 +249,26 @@ public class EngineTest
         engine = new Engine(main);
         assertNotNull(engine.getKeyboard());
     }
+    
+    @Test
+    public void getTimeTest() throws Exception
+    {
+        engine = new Engine(main);
+        assertTrue(engine.getTime() == main.getTime());
+    }
+    
+    @Test
+    public void headlessTest() throws Exception
+    {
+        final long seed = 7L;
+        final long time = 1000L;
+        
+        engine = new Engine(seed, time);
+        
+        //assume we use the seed and time provided
+        assertNull(engine.getMain());
+        assertTrue(engine.getSeed() == seed);
+        assertTrue(engine.getTime() == time);
+        assertNotNull(engine.getRandom());
+    }
 }
\ No newline at end of file
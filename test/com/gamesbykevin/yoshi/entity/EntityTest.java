@@ -1,5 +1,9 @@
 package com.gamesbykevin.yoshi.entity;
 
+import com.gamesbykevin.yoshi.shared.Snapshot;
+
+import java.util.Arrays;
+
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -121,4 +125,69 @@ public class EntityTest
         assertTrue(entity.getHeight() == 5);
         assertTrue(entity.getSpriteSheet().getCurrent() == key2);
     }
+    
+    @Test
+    public void keepLocationTest() throws Exception
+    {
+        entity = new MyEntity();
+        entity.setX(10);
+        entity.setY(20);
+        
+        //assume the current location is drawn until a location is kept
+        assertTrue(entity.getX(0) == 10);
+        assertTrue(entity.getY(0.5) == 20);
+        
+        entity.keepLocation();
+        entity.setX(30);
+        entity.setY(60);
+        
+        //assume the location drawn moves from the previous to the current
+        assertTrue(entity.getX(0) == 10);
+        assertTrue(entity.getY(0) == 20);
+        assertTrue(entity.getX(0.5) == 20);
+        assertTrue(entity.getY(0.25) == 30);
+        assertTrue(entity.getX(1) == 30);
+        assertTrue(entity.getY(1) == 60);
+        
+        //assume the current location is drawn once forgotten
+        entity.forgetLocation();
+        assertTrue(entity.getX(0) == 30);
+        assertTrue(entity.getY(0) == 60);
+    }
+    
+    @Test
+    public void restoreTest() throws Exception
+    {
+        entity = new MyEntity();
+        entity.addAnimation("key", 0, 0, 25, 35, 3, 10, true);
+        
+        //move part way into the second frame
+        for (int i = 0; i < 7; i++)
+        {
+            entity.updateAnimation(2);
+        }
+        
+        final Snapshot snapshot = new Snapshot();
+        entity.snapshot(snapshot);
+        
+        final MyEntity tmp = new MyEntity();
+        tmp.addAnimation("key", 0, 0, 25, 35, 3, 10, true);
+        tmp.restore(new Snapshot(snapshot.toByteArray()));
+        
+        //assume the same frame, and the same time left in that frame
+        assertTrue(tmp.getSpriteSheet().getLocation().equals(entity.getSpriteSheet().getLocation()));
+        
+        entity.updateAnimation(5);
+        tmp.updateAnimation(5);
+        assertTrue(tmp.getSpriteSheet().getLocation().equals(entity.getSpriteSheet().getLocation()));
+        
+        //assume the snapshot of both is the same
+        final Snapshot copy = new Snapshot();
+        tmp.snapshot(copy);
+        snapshot.clear();
+        entity.snapshot(snapshot);
+        assertTrue(Arrays.equals(snapshot.toByteArray(), copy.toByteArray()));
+        
+        tmp.dispose();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,96 @@
+package com.gamesbykevin.yoshi.main;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Test Accumulator class
+ * @author GOD
+ */
+public class AccumulatorTest
+{
+    private Accumulator accumulator;
+    
+    //the time of each update (nanoseconds)
+    private static final double STEP = 1000.0;
+    
+    @BeforeClass
+    public static void setUpClass()
+    {
+        assertTrue(Accumulator.DEFAULT_UPDATES_MAX > 1);
+    }
+    
+    @AfterClass
+    public static void tearDownClass()
+    {
+        
+    }
+    
+    @Before
+    public void setUp()
+    {
+        accumulator = new Accumulator(STEP, Accumulator.DEFAULT_UPDATES_MAX);
+    }
+    
+    @After
+    public void tearDown()
+    {
+        accumulator = null;
+    }
+    
+    @Test
+    public void addTest()
+    {
+        //assume no update until a full step has passed
+        assertTrue(accumulator.add(400) == 0);
+        assertTrue(accumulator.getRemaining() == STEP - 400);
+        assertTrue(accumulator.getAlpha() == 0.4);
+        
+        //assume the time carries over
+        assertTrue(accumulator.add(700) == 1);
+        assertTrue(accumulator.getRemaining() == STEP - 100);
+        
+        //assume an update for each step passed
+        assertTrue(accumulator.add(1900) == 2);
+        assertTrue(accumulator.getRemaining() == STEP);
+        assertTrue(accumulator.getAlpha() == 0);
+        assertTrue(accumulator.getDropped() == 0);
+    }
+    
+    @Test
+    public void catchUpTest()
+    {
+        //fall far behind
+        final int updates = Accumulator.DEFAULT_UPDATES_MAX + 10;
+        
+        //assume only so many updates to catch up, and the rest is dropped
+        assertTrue(accumulator.add((long)(updates * STEP) + 250) == Accumulator.DEFAULT_UPDATES_MAX);
+        assertTrue(accumulator.getDropped() == (long)(10 * STEP));
+        
+        //assume the partial step is kept
+        assertTrue(accumulator.getRemaining() == STEP - 250);
+    }
+    
+    @Test
+    public void backwardsTest()
+    {
+        accumulator.add(500);
+        
+        //assume the clock going backwards is ignored
+        assertTrue(accumulator.add(-10000) == 0);
+        assertTrue(accumulator.getRemaining() == STEP - 500);
+    }
+    
+    @Test
+    public void minimumTest()
+    {
+        accumulator = new Accumulator(STEP, 0);
+        
+        //assume at least 1 update
+        assertTrue(accumulator.add((long)(3 * STEP)) == 1);
+    }
+}
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.gamesbykevin.yoshi.main;
 
 
 import com.gamesbykevin.framework.util.Timers;
+import com.gamesbykevin.yoshi.shared.Shared;
 import javax.swing.JApplet;
 import javax.swing.JPanel;
 
@@ -116,6 +117,76 @@ public class MainTest
         assertTrue(main.getTime() == Timers.NANO_SECONDS_PER_SECOND / ups);
     }
     
+    @Test
+    public void setFixedTimestepTest()
+    {
+        main = new Main(60, panel);
+        
+        //assume the shared setting is the default
+        assertTrue(main.hasFixedTimestep() == Shared.FIXED_TIMESTEP);
+        
+        main.setFixedTimestep(true);
+        assertTrue(main.hasFixedTimestep());
+        
+        //assume the time per update doesn't change
+        assertTrue(main.getTime() == Timers.NANO_SECONDS_PER_SECOND / 60);
+        
+        main.setFixedTimestep(false);
+        assertFalse(main.hasFixedTimestep());
+    }
+    
+    @Test
+    public void setPacerTest()
+    {
+        main = new Main(60, panel);
+        
+        //assume the shared setting picks the default pacer
+        assertTrue((main.getPacer() instanceof ParkPacer) == Shared.PRECISE_PACING);
+        
+        final Pacer pacer = new SleepPacer();
+        main.setPacer(pacer);
+        assertTrue(main.getPacer() == pacer);
+    }
+    
+    @Test
+    public void setFrameRateTest()
+    {
+        main = new Main(30, panel);
+        
+        //assume the shared setting is the default
+        assertTrue(main.getFrameRate() == Shared.FRAME_RATE);
+        
+        main.setFixedTimestep(false);
+        main.setFrameRate(120);
+        assertTrue(main.getFrameRate() == 120);
+        
+        //assume we only draw between updates with a fixed timestep
+        assertFalse(main.hasInterpolation());
+        
+        main.setFixedTimestep(true);
+        assertTrue(main.hasInterpolation());
+        
+        //assume a negative frame rate draws once per update
+        main.setFrameRate(-1);
+        assertTrue(main.getFrameRate() == 0);
+        assertFalse(main.hasInterpolation());
+    }
+    
+    @Test
+    public void setRenderThreadTest()
+    {
+        main = new Main(60, panel);
+        
+        //assume the shared setting is the default
+        assertTrue(main.hasRenderThread() == Shared.RENDER_THREAD);
+        
+        main.setRenderThread(true);
+        assertTrue(main.hasRenderThread());
+        
+        main.setRenderThread(false);
+        assertFalse(main.hasRenderThread());
+    }
+    
     @Test
     public void getContainerClassTest()
     {
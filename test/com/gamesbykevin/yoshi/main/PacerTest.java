@@ -0,0 +1,110 @@
+package com.gamesbykevin.yoshi.main;
+
+import com.gamesbykevin.framework.util.Timers;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Test Pacer, SleepPacer and ParkPacer class
+ * @author GOD
+ */
+public class PacerTest
+{
+    //the time of each wait (nanoseconds)
+    private static final long WAIT = Timers.toNanoSeconds(2L);
+    
+    //the number of waits measured
+    private static final int WAITS = 5;
+    
+    @BeforeClass
+    public static void setUpClass()
+    {
+        assertTrue(ParkPacer.DEFAULT_SPIN > 0);
+    }
+    
+    @AfterClass
+    public static void tearDownClass()
+    {
+        
+    }
+    
+    @Before
+    public void setUp()
+    {
+        
+    }
+    
+    @After
+    public void tearDown()
+    {
+        
+    }
+    
+    /**
+     * Wait with the pacer and check the time waited and jitter measured
+     * @param pacer The pacer we want to check
+     * @throws Exception 
+     */
+    private void pace(final Pacer pacer) throws Exception
+    {
+        for (int i = 0; i < WAITS; i++)
+        {
+            final long start = System.nanoTime();
+            
+            pacer.pace(WAIT);
+            
+            //assume we don't wake up early
+            assertTrue(System.nanoTime() - start >= WAIT);
+        }
+        
+        //assume each wait is measured
+        assertTrue(pacer.getCount() == WAITS);
+        assertTrue(pacer.getJitterAverage() >= 0);
+        assertTrue(pacer.getJitterMax() >= pacer.getJitterAverage());
+        
+        //assume nothing is measured once reset
+        pacer.reset();
+        assertTrue(pacer.getCount() == 0);
+        assertTrue(pacer.getJitterAverage() == 0);
+        assertTrue(pacer.getJitterMax() == 0);
+    }
+    
+    @Test
+    public void sleepPacerTest() throws Exception
+    {
+        pace(new SleepPacer());
+    }
+    
+    @Test
+    public void parkPacerTest() throws Exception
+    {
+        pace(new ParkPacer(ParkPacer.DEFAULT_SPIN));
+        
+        //assume we can wait without yielding
+        pace(new ParkPacer(-1));
+    }
+    
+    @Test
+    public void noWaitTest() throws Exception
+    {
+        final Pacer pacer = new ParkPacer(ParkPacer.DEFAULT_SPIN);
+        
+        //assume nothing is waited or measured when no time remains
+        pacer.pace(0);
+        pacer.pace(-WAIT);
+        assertTrue(pacer.getCount() == 0);
+    }
+    
+    @Test(expected = InterruptedException.class)
+    public void interruptTest() throws Exception
+    {
+        //assume an interrupt is thrown the same as sleeping
+        Thread.currentThread().interrupt();
+        new ParkPacer(0).pace(WAIT);
+    }
+}
\ No newline at end of file
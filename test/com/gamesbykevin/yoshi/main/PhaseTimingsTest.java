@@ -0,0 +1,116 @@
+package com.gamesbykevin.yoshi.main;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Test PhaseTimings class
+ * @author GOD
+ */
+public class PhaseTimingsTest
+{
+    private PhaseTimings timings;
+    
+    @BeforeClass
+    public static void setUpClass()
+    {
+        //assume each phase has a name
+        for (int i = 0; i < PhaseTimings.PHASE_TOTAL; i++)
+        {
+            assertNotNull(PhaseTimings.getName(i));
+        }
+    }
+    
+    @AfterClass
+    public static void tearDownClass()
+    {
+        
+    }
+    
+    @Before
+    public void setUp() throws Exception
+    {
+        timings = new PhaseTimings();
+    }
+    
+    @After
+    public void tearDown()
+    {
+        timings = null;
+    }
+    
+    @Test
+    public void addTest()
+    {
+        //add 1 and 3 milliseconds
+        timings.add(PhaseTimings.PHASE_MANAGER, 1000000);
+        timings.add(PhaseTimings.PHASE_MANAGER, 3000000);
+        
+        //assume the time is counted in microseconds
+        assertTrue(timings.getHistogram(PhaseTimings.PHASE_MANAGER).getCount() == 2);
+        assertTrue(timings.getHistogram(PhaseTimings.PHASE_MANAGER).getMax() == 3000);
+        assertTrue(timings.getHistogram(PhaseTimings.PHASE_MANAGER).getPercentile(0.5) == 1000 + PhaseTimings.BUCKET_SIZE - 1);
+        
+        //assume the other phases are not counted
+        assertTrue(timings.getHistogram(PhaseTimings.PHASE_MENU).getCount() == 0);
+        
+        //assume a very long time is still counted
+        timings.add(PhaseTimings.PHASE_DRAW, 60000000000L);
+        assertTrue(timings.getHistogram(PhaseTimings.PHASE_DRAW).getPercentile(0.99) == 60000000);
+    }
+    
+    @Test
+    public void markTest() throws Exception
+    {
+        final long start = System.nanoTime();
+        
+        Thread.sleep(2);
+        
+        final long end = timings.mark(PhaseTimings.PHASE_RENDER, start);
+        
+        //assume the time returned is the end of the phase
+        assertTrue(end - start >= 2000000);
+        assertTrue(timings.getHistogram(PhaseTimings.PHASE_RENDER).getCount() == 1);
+        assertTrue(timings.getHistogram(PhaseTimings.PHASE_RENDER).getMax() >= 2000);
+    }
+    
+    @Test
+    public void combineTest() throws Exception
+    {
+        final PhaseTimings other = new PhaseTimings();
+        
+        timings.add(PhaseTimings.PHASE_RENDER, 1000000);
+        other.add(PhaseTimings.PHASE_DRAW, 3000000);
+        other.add(PhaseTimings.PHASE_RENDER, 2000000);
+        
+        timings.add(other);
+        
+        //assume the times of each phase are combined
+        assertTrue(timings.getHistogram(PhaseTimings.PHASE_RENDER).getCount() == 2);
+        assertTrue(timings.getHistogram(PhaseTimings.PHASE_RENDER).getMax() == 2000);
+        assertTrue(timings.getHistogram(PhaseTimings.PHASE_DRAW).getCount() == 1);
+        
+        //assume the other timings don't change
+        assertTrue(other.getHistogram(PhaseTimings.PHASE_RENDER).getCount() == 1);
+    }
+    
+    @Test
+    public void getDescTest()
+    {
+        timings.add(PhaseTimings.PHASE_LOOP, 16600000);
+        
+        final String desc = timings.getDesc();
+        
+        //assume every phase is described
+        for (int i = 0; i < PhaseTimings.PHASE_TOTAL; i++)
+        {
+            assertTrue(desc.contains(PhaseTimings.getName(i) + ": "));
+        }
+        
+        assertTrue(desc.contains("max=16600"));
+    }
+}
\ No newline at end of file
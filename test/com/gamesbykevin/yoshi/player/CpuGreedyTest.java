@@ -0,0 +1,189 @@
+package com.gamesbykevin.yoshi.player;
+
+import com.gamesbykevin.yoshi.board.Board;
+import com.gamesbykevin.yoshi.board.BoardHelper;
+import com.gamesbykevin.yoshi.board.piece.Piece;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CpuGreedy unit test
+ * @author GOD
+ */
+public class CpuGreedyTest 
+{
+    private Board board;
+    
+    private CpuView view;
+    
+    private List<Piece> falling;
+    
+    @BeforeClass
+    public static void setUpClass() 
+    {
+        
+    }
+    
+    @AfterClass
+    public static void tearDownClass() 
+    {
+        
+    }
+    
+    @Before
+    public void setUp() throws Exception
+    {
+        board = new Board(Player.INDEX_DIFFICULTY_EASY);
+        view = new CpuView();
+        falling = new ArrayList<>();
+    }
+    
+    @After
+    public void tearDown() 
+    {
+        board.dispose();
+        board = null;
+        view = null;
+        falling = null;
+    }
+    
+    /**
+     * Add a placed piece to the board
+     * @param type The type of piece
+     * @param col The column
+     * @param row The row
+     */
+    private void place(final int type, final int col, final int row) throws Exception
+    {
+        final Piece piece = new Piece(type);
+        piece.setCol(col);
+        piece.setRow(row);
+        piece.placePiece();
+        board.add(piece);
+    }
+    
+    /**
+     * Add a falling piece
+     * @param type The type of piece
+     * @param col The column
+     */
+    private void fall(final int type, final int col) throws Exception
+    {
+        final Piece piece = new Piece(type);
+        piece.setCol(col);
+        piece.setRow(0);
+        falling.add(piece);
+    }
+    
+    @Test
+    public void matchTest() throws Exception
+    {
+        place(Piece.TYPE_BOO, 0, Board.ROWS - 1);
+        place(Piece.TYPE_PLANT, 3, Board.ROWS - 1);
+        fall(Piece.TYPE_PLANT, 1);
+        fall(Piece.TYPE_BOO, 2);
+        
+        view.update(board, falling, new ArrayList<Piece>());
+        
+        final CpuPlan plan = new CpuGreedy().locate(view);
+        
+        assertTrue(plan.getCount() == CpuPlan.TARGETS_MAX);
+        
+        //assume each falling piece is matched
+        for (int i = 0; i < plan.getCount(); i++)
+        {
+            if (plan.getDestination(i) == 1)
+            {
+                assertTrue(plan.getSource(i) == 3);
+            }
+            else
+            {
+                assertTrue(plan.getDestination(i) == 2);
+                assertTrue(plan.getSource(i) == 0);
+            }
+            
+            assertTrue(plan.getScore(i) == Board.SCORE_PIECE_MATCH);
+        }
+    }
+    
+    @Test
+    public void destroyedTest() throws Exception
+    {
+        place(Piece.TYPE_BOO, 0, Board.ROWS - 1);
+        place(Piece.TYPE_PLANT, 3, Board.ROWS - 1);
+        fall(Piece.TYPE_PLANT, 1);
+        fall(Piece.TYPE_BOO, 2);
+        
+        //the plant is about to be removed, but is still placed
+        board.getPieces().get(1).markDestroyed();
+        
+        view.update(board, falling, new ArrayList<Piece>());
+        
+        final CpuPlan plan = new CpuGreedy().locate(view);
+        
+        assertTrue(plan.getCount() == CpuPlan.TARGETS_MAX);
+        
+        //assume the falling plant is still matched with the destroyed plant
+        boolean match = false;
+        
+        for (int i = 0; i < plan.getCount(); i++)
+        {
+            if (plan.getDestination(i) == 1 && plan.getScore(i) == Board.SCORE_PIECE_MATCH)
+                match = true;
+        }
+        
+        assertTrue(match);
+    }
+    
+    @Test
+    public void weightsTest() throws Exception
+    {
+        place(Piece.TYPE_PLANT, 3, Board.ROWS - 1);
+        fall(Piece.TYPE_PLANT, 1);
+        fall(Piece.TYPE_BOO, 2);
+        
+        view.update(board, falling, new ArrayList<Piece>());
+        
+        final int[] values = new CpuWeights().getValues();
+        values[CpuWeights.WEIGHT_PIECE_MATCH] = 99;
+        
+        final CpuGreedy greedy = new CpuGreedy();
+        greedy.setWeights(new CpuWeights(values));
+        
+        final CpuPlan plan = greedy.locate(view);
+        
+        //assume the match is scored with our weight
+        assertTrue(plan.getDestination(0) == 1);
+        assertTrue(plan.getSource(0) == 3);
+        assertTrue(plan.getScore(0) == 99);
+    }
+    
+    @Test
+    public void yoshiTest() throws Exception
+    {
+        place(Piece.TYPE_SHELL_BOTTOM, 2, Board.ROWS - 1);
+        place(Piece.TYPE_SQUID, 2, Board.ROWS - 2);
+        fall(Piece.TYPE_SHELL_TOP, 0);
+        fall(Piece.TYPE_GOOMBA, 3);
+        
+        view.update(board, falling, new ArrayList<Piece>());
+        
+        final CpuPlan plan = new CpuGreedy().locate(view);
+        
+        //the yoshi is the highest priority
+        assertTrue(plan.getDestination(0) == 0);
+        assertTrue(plan.getSource(0) == 2);
+        
+        //the 2nd target doesn't use the same columns
+        assertTrue(plan.getDestination(1) == 3);
+        assertTrue(plan.getSource(1) != 2);
+    }
+}
@@ -11,6 +11,8 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 import static org.junit.Assert.*;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 
 /**
@@ -50,6 +52,46 @@ public class CpuHelperTest
         assertTrue(CpuHelper.getFallingPieces(cpu.getBoard().getPieces()).size() == BoardHelper.SPAWN_TOTAL);
     }
     
+    @Test
+    public void getStartingPiecesTest() throws Exception
+    {
+        cpu = new Cpu(null, false, Player.INDEX_DIFFICULTY_EASY);
+        
+        assertTrue(CpuHelper.getStartingPieces(cpu.getBoard().getPieces()).isEmpty());
+        
+        //the spawned pieces are frozen at the top
+        BoardHelper.spawnPieces(cpu.getBoard(), new Random());
+        
+        assertTrue(CpuHelper.getStartingPieces(cpu.getBoard().getPieces()).size() == BoardHelper.SPAWN_TOTAL);
+        
+        //once dropped they are falling
+        BoardHelper.dropStartingPieces(cpu.getBoard().getPieces());
+        
+        assertTrue(CpuHelper.getStartingPieces(cpu.getBoard().getPieces()).isEmpty());
+    }
+    
+    @Test
+    public void resultListTest() throws Exception
+    {
+        cpu = new Cpu(null, false, Player.INDEX_DIFFICULTY_EASY);
+        
+        final List<Piece> result = new ArrayList<>();
+        
+        BoardHelper.spawnPieces(cpu.getBoard(), new Random());
+        
+        //the same list is returned and filled
+        assertTrue(CpuHelper.getStartingPieces(cpu.getBoard().getPieces(), result) == result);
+        assertTrue(result.size() == BoardHelper.SPAWN_TOTAL);
+        
+        //the list is cleared before it is filled again
+        assertTrue(CpuHelper.getStartingPieces(cpu.getBoard().getPieces(), result).size() == BoardHelper.SPAWN_TOTAL);
+        
+        BoardHelper.dropStartingPieces(cpu.getBoard().getPieces());
+        
+        assertTrue(CpuHelper.getStartingPieces(cpu.getBoard().getPieces(), result).isEmpty());
+        assertTrue(CpuHelper.getFallingPieces(cpu.getBoard().getPieces(), result).size() == BoardHelper.SPAWN_TOTAL);
+    }
+    
     @Test
     public void getTopPieceTest() throws Exception
     {
@@ -57,7 +99,7 @@ public class CpuHelperTest
         
         final int col = 2;
         
-        assertNull(CpuHelper.getTopPiece(cpu.getBoard().getPieces(), col));
+        assertNull(CpuHelper.getTopPiece(cpu.getBoard(), col));
         
         Piece piece = new Piece(Piece.TYPE_BOO);
         piece.setCol(col);
@@ -65,7 +107,39 @@ public class CpuHelperTest
         
         cpu.getBoard().add(piece);
         
-        assertTrue(CpuHelper.getTopPiece(cpu.getBoard().getPieces(), col).getId() == piece.getId());
+        assertTrue(CpuHelper.getTopPiece(cpu.getBoard(), col).getId() == piece.getId());
+    }
+    
+    @Test
+    public void getTopPieceDestroyedTest() throws Exception
+    {
+        cpu = new Cpu(null, false, Player.INDEX_DIFFICULTY_EASY);
+        
+        final int col = 2;
+        
+        Piece bottom = new Piece(Piece.TYPE_BOO);
+        bottom.setCol(col);
+        bottom.setRow(Board.ROWS - 1);
+        bottom.placePiece();
+        cpu.getBoard().add(bottom);
+        
+        Piece top = new Piece(Piece.TYPE_PLANT);
+        top.setCol(col);
+        top.setRow(Board.ROWS - 2);
+        top.placePiece();
+        cpu.getBoard().add(top);
+        
+        assertTrue(CpuHelper.getTopPiece(cpu.getBoard(), col).getId() == top.getId());
+        
+        //assume the destroyed piece is still the top, as it is still placed
+        top.markDestroyed();
+        
+        assertTrue(CpuHelper.getTopPiece(cpu.getBoard(), col).getId() == top.getId());
+        
+        //assume a piece part of a yoshi is still the top
+        top.markYoshi(1);
+        
+        assertTrue(CpuHelper.getTopPiece(cpu.getBoard(), col).getId() == top.getId());
     }
     
     @Test
@@ -0,0 +1,211 @@
+package com.gamesbykevin.yoshi.player;
+
+import com.gamesbykevin.yoshi.board.Board;
+import com.gamesbykevin.yoshi.board.piece.Piece;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CpuMonteCarlo unit test
+ * @author GOD
+ */
+public class CpuMonteCarloTest
+{
+    //the play outs for each column order, small enough to keep the test quick
+    private static final int PLAYOUTS = 64;
+    
+    private static final long SEED = 5L;
+    
+    private Board board;
+    
+    private List<Piece> falling;
+    
+    @BeforeClass
+    public static void setUpClass()
+    {
+        
+    }
+    
+    @AfterClass
+    public static void tearDownClass()
+    {
+        
+    }
+    
+    @Before
+    public void setUp() throws Exception
+    {
+        board = new Board(Player.INDEX_DIFFICULTY_EASY);
+        falling = new ArrayList<>();
+    }
+    
+    @After
+    public void tearDown()
+    {
+        board.dispose();
+        board = null;
+        falling = null;
+    }
+    
+    /**
+     * Place a piece at the bottom of the column
+     * @param type The type of piece
+     * @param col The column
+     */
+    private void place(final int type, final int col) throws Exception
+    {
+        final Piece piece = new Piece(type);
+        piece.setCol(col);
+        piece.setRow(Board.ROWS - 1);
+        piece.placePiece();
+        board.add(piece);
+    }
+    
+    /**
+     * Add a falling piece at the top of the column
+     * @param type The type of piece
+     * @param col The column
+     */
+    private void fall(final int type, final int col) throws Exception
+    {
+        final Piece piece = new Piece(type);
+        piece.setCol(col);
+        falling.add(piece);
+    }
+    
+    /**
+     * Get what the cpu can see
+     * @return The view of the board and falling pieces
+     */
+    private CpuView getView() throws Exception
+    {
+        final CpuView view = new CpuView();
+        view.update(board, falling, new ArrayList<Piece>());
+        return view;
+    }
+    
+    @Test
+    public void matchTest() throws Exception
+    {
+        place(Piece.TYPE_BOO, 0);
+        place(Piece.TYPE_SQUID, 1);
+        place(Piece.TYPE_GOOMBA, 2);
+        place(Piece.TYPE_PLANT, 3);
+        
+        fall(Piece.TYPE_PLANT, 0);
+        fall(Piece.TYPE_SQUID, 2);
+        
+        final CpuPlan plan = new CpuMonteCarlo(CpuMonteCarlo.BUDGET_NONE, 1, PLAYOUTS, SEED).locate(getView());
+        
+        //assume both falling pieces are matched
+        assertTrue(plan.getSource(0) == 3);
+        assertTrue(plan.getSource(1) == 1);
+    }
+    
+    @Test
+    public void seedTest() throws Exception
+    {
+        place(Piece.TYPE_BOO, 0);
+        place(Piece.TYPE_SQUID, 2);
+        
+        fall(Piece.TYPE_GOOMBA, 1);
+        fall(Piece.TYPE_PLANT, 3);
+        
+        final CpuPlan plan1 = new CpuMonteCarlo(CpuMonteCarlo.BUDGET_NONE, 1, PLAYOUTS, SEED).locate(getView());
+        final CpuPlan plan2 = new CpuMonteCarlo(CpuMonteCarlo.BUDGET_NONE, 1, PLAYOUTS, SEED).locate(getView());
+        
+        //assume the same seed without a time budget plays out the same games
+        for (int i = 0; i < CpuPlan.TARGETS_MAX; i++)
+        {
+            assertTrue(plan1.getSource(i) == plan2.getSource(i));
+            assertTrue(plan1.getDestination(i) == plan2.getDestination(i));
+            assertTrue(plan1.getScore(i) == plan2.getScore(i));
+        }
+    }
+    
+    @Test
+    public void threadsTest() throws Exception
+    {
+        place(Piece.TYPE_BOO, 0);
+        place(Piece.TYPE_SQUID, 1);
+        place(Piece.TYPE_GOOMBA, 2);
+        place(Piece.TYPE_PLANT, 3);
+        
+        fall(Piece.TYPE_PLANT, 0);
+        fall(Piece.TYPE_SQUID, 2);
+        
+        //assume the play outs split across threads find the same move
+        final CpuPlan plan = new CpuMonteCarlo(CpuMonteCarlo.BUDGET_NONE, 2, PLAYOUTS, SEED).locate(getView());
+        
+        assertTrue(plan.getSource(0) == 3);
+        assertTrue(plan.getSource(1) == 1);
+    }
+    
+    @Test
+    public void budgetTest() throws Exception
+    {
+        assertTrue(CpuMonteCarlo.getBudget(Player.INDEX_DIFFICULTY_EASY) < CpuMonteCarlo.getBudget(Player.INDEX_DIFFICULTY_MEDIUM));
+        assertTrue(CpuMonteCarlo.getBudget(Player.INDEX_DIFFICULTY_MEDIUM) < CpuMonteCarlo.getBudget(Player.INDEX_DIFFICULTY_HARD));
+        
+        fall(Piece.TYPE_GOOMBA, 1);
+        fall(Piece.TYPE_PLANT, 3);
+        
+        //assume a plan is found even with a time budget
+        final CpuMonteCarlo strategy = CpuMonteCarlo.createTimed(Player.INDEX_DIFFICULTY_EASY, SEED);
+        
+        assertTrue(strategy.hasBudget());
+        
+        final CpuPlan plan = strategy.locate(getView());
+        
+        assertTrue(plan.getCount() == CpuPlan.TARGETS_MAX);
+    }
+    
+    @Test
+    public void playoutsTest() throws Exception
+    {
+        assertTrue(CpuMonteCarlo.getPlayouts(Player.INDEX_DIFFICULTY_EASY) < CpuMonteCarlo.getPlayouts(Player.INDEX_DIFFICULTY_MEDIUM));
+        assertTrue(CpuMonteCarlo.getPlayouts(Player.INDEX_DIFFICULTY_MEDIUM) < CpuMonteCarlo.getPlayouts(Player.INDEX_DIFFICULTY_HARD));
+        
+        place(Piece.TYPE_BOO, 0);
+        place(Piece.TYPE_SQUID, 2);
+        
+        fall(Piece.TYPE_GOOMBA, 1);
+        fall(Piece.TYPE_PLANT, 3);
+        
+        //assume the strategy from the difficulty has no time budget, so the same seed makes the same decision
+        final CpuMonteCarlo strategy1 = new CpuMonteCarlo(Player.INDEX_DIFFICULTY_HARD);
+        final CpuMonteCarlo strategy2 = new CpuMonteCarlo(Player.INDEX_DIFFICULTY_HARD);
+        strategy1.setSeed(SEED);
+        strategy2.setSeed(SEED);
+        
+        final CpuPlan plan1 = strategy1.locate(getView());
+        final CpuPlan plan2 = strategy2.locate(getView());
+        
+        for (int i = 0; i < CpuPlan.TARGETS_MAX; i++)
+        {
+            assertTrue(plan1.getSource(i) == plan2.getSource(i));
+            assertTrue(plan1.getDestination(i) == plan2.getDestination(i));
+            assertTrue(plan1.getScore(i) == plan2.getScore(i));
+        }
+    }
+    
+    @Test(expected = Exception.class)
+    public void playoutsNotFoundTest() throws Exception
+    {
+        CpuMonteCarlo.getPlayouts(-1);
+    }
+    
+    @Test(expected = Exception.class)
+    public void budgetNotFoundTest() throws Exception
+    {
+        CpuMonteCarlo.getBudget(-1);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,147 @@
+package com.gamesbykevin.yoshi.player;
+
+import com.gamesbykevin.yoshi.board.Board;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * CpuPaths unit test
+ * @author GOD
+ */
+public class CpuPathsTest 
+{
+    @BeforeClass
+    public static void setUpClass() 
+    {
+        //assume these variables will not change
+        assertTrue(Board.COLUMNS == 4);
+        assertTrue(CpuPaths.getOrderCount() == 24);
+    }
+    
+    @AfterClass
+    public static void tearDownClass() 
+    {
+        
+    }
+    
+    @Before
+    public void setUp() 
+    {
+        
+    }
+    
+    @After
+    public void tearDown() 
+    {
+        
+    }
+    
+    @Test
+    public void orderIndexTest() 
+    {
+        for (int index = 0; index < CpuPaths.getOrderCount(); index++)
+        {
+            assertTrue(CpuPaths.getOrderIndex(CpuPaths.getOrder(index)) == index);
+        }
+        
+        //the columns in place are the first order
+        assertTrue(CpuPaths.getOrderIndex(new int[]{0, 1, 2, 3}) == 0);
+        
+        //not a valid order
+        assertTrue(CpuPaths.getOrderIndex(new int[]{0, 0, 2, 3}) == CpuPaths.NO_ORDER);
+    }
+    
+    @Test
+    public void moveTest() 
+    {
+        final int index = CpuPaths.getOrderIndex(new int[]{1, 0, 2, 3});
+        
+        //we are already there
+        assertTrue(CpuPaths.getMove(index, 0, index) == CpuPaths.MOVE_NONE);
+        assertTrue(CpuPaths.getDistance(index, 0, index) == 0);
+        
+        //switch the columns where we are
+        assertTrue(CpuPaths.getMove(0, 0, index) == CpuPaths.MOVE_SWITCH);
+        assertTrue(CpuPaths.getDistance(0, 0, index) == 1);
+        
+        //we need to move to the left first
+        assertTrue(CpuPaths.getMove(0, 2, index) == CpuPaths.MOVE_LEFT);
+        assertTrue(CpuPaths.getDistance(0, 2, index) == 3);
+    }
+    
+    @Test
+    public void pathTest() 
+    {
+        //follow the path from every order and location to every order
+        for (int start = 0; start < CpuPaths.getOrderCount(); start++)
+        {
+            for (int startCol = 0; startCol < Board.COLUMNS - 1; startCol++)
+            {
+                for (int goal = 0; goal < CpuPaths.getOrderCount(); goal++)
+                {
+                    final int[] order = CpuPaths.getOrder(start);
+                    
+                    int col = startCol;
+                    int moves = 0;
+                    
+                    while (CpuPaths.getOrderIndex(order) != goal)
+                    {
+                        switch (CpuPaths.getMove(CpuPaths.getOrderIndex(order), col, goal))
+                        {
+                            case CpuPaths.MOVE_LEFT:
+                                col--;
+                                break;
+                                
+                            case CpuPaths.MOVE_RIGHT:
+                                col++;
+                                break;
+                                
+                            case CpuPaths.MOVE_SWITCH:
+                                final int tmp = order[col];
+                                order[col] = order[col + 1];
+                                order[col + 1] = tmp;
+                                break;
+                                
+                            default:
+                                fail("No move found");
+                        }
+                        
+                        //the player has to stay in bounds
+                        assertTrue(col >= 0 && col < Board.COLUMNS - 1);
+                        
+                        moves++;
+                    }
+                    
+                    //assume we took the shortest path
+                    assertTrue(moves == CpuPaths.getDistance(start, startCol, goal));
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void closestTest() 
+    {
+        //we want column 3 at index 0 and column 0 at index 1
+        final int goal = CpuPaths.getClosest(0, 0, 0, 3, 1, 0);
+        
+        assertTrue(goal != CpuPaths.NO_ORDER);
+        assertTrue(CpuPaths.getOrderColumn(goal, 0) == 3);
+        assertTrue(CpuPaths.getOrderColumn(goal, 1) == 0);
+        
+        //the other orders with the columns in place are not closer
+        for (int index = 0; index < CpuPaths.getOrderCount(); index++)
+        {
+            if (CpuPaths.getOrderColumn(index, 0) == 3 && CpuPaths.getOrderColumn(index, 1) == 0)
+                assertTrue(CpuPaths.getDistance(0, 0, index) >= CpuPaths.getDistance(0, 0, goal));
+        }
+        
+        //the same column can't be in 2 places
+        assertTrue(CpuPaths.getClosest(0, 0, 0, 3, 1, 3) == CpuPaths.NO_ORDER);
+    }
+}
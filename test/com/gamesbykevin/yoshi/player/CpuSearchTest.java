@@ -0,0 +1,139 @@
+package com.gamesbykevin.yoshi.player;
+
+import com.gamesbykevin.yoshi.board.BitBoard;
+import com.gamesbykevin.yoshi.board.Board;
+import com.gamesbykevin.yoshi.board.piece.Piece;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * CpuSearch unit test
+ * @author GOD
+ */
+public class CpuSearchTest 
+{
+    private CpuSearch search;
+    
+    private BitBoard board;
+    
+    @BeforeClass
+    public static void setUpClass() 
+    {
+        //assume every order of the columns is checked
+        assertTrue(CpuSearch.getOrderCount() == 24);
+    }
+    
+    @AfterClass
+    public static void tearDownClass() 
+    {
+        
+    }
+    
+    @Before
+    public void setUp() 
+    {
+        search = new CpuSearch();
+        board = new BitBoard();
+    }
+    
+    @After
+    public void tearDown() 
+    {
+        search = null;
+        board = null;
+    }
+    
+    @Test
+    public void orderTest() 
+    {
+        for (int index = 0; index < CpuSearch.getOrderCount(); index++)
+        {
+            final boolean[] used = new boolean[Board.COLUMNS];
+            
+            //each column is used once
+            for (int col = 0; col < Board.COLUMNS; col++)
+            {
+                assertFalse(used[CpuSearch.getOrderColumn(index, col)]);
+                used[CpuSearch.getOrderColumn(index, col)] = true;
+            }
+        }
+        
+        //the first order is the current order
+        for (int col = 0; col < Board.COLUMNS; col++)
+        {
+            assertTrue(CpuSearch.getOrderColumn(0, col) == col);
+        }
+    }
+    
+    @Test
+    public void hashTest() 
+    {
+        board.drop(0, Piece.TYPE_BOO);
+        board.drop(0, Piece.TYPE_SHELL_BOTTOM);
+        board.drop(3, Piece.TYPE_PLANT);
+        
+        final BitBoard copy = new BitBoard(board);
+        
+        //the hash is the same for any order of the columns
+        copy.swap(0);
+        copy.swap(2);
+        assertTrue(CpuSearch.getHash(copy) == CpuSearch.getHash(board));
+        
+        //but not for different columns
+        copy.drop(1, Piece.TYPE_GOOMBA);
+        assertTrue(CpuSearch.getHash(copy) != CpuSearch.getHash(board));
+    }
+    
+    @Test
+    public void yoshiTest() 
+    {
+        //the bottom shell with pieces on top is in the last column
+        board.drop(3, Piece.TYPE_SHELL_BOTTOM);
+        board.drop(3, Piece.TYPE_BOO);
+        board.drop(3, Piece.TYPE_PLANT);
+        board.drop(1, Piece.TYPE_SQUID);
+        
+        //the top shell is falling in the 1st column
+        final int index = search.search(board, Piece.TYPE_SHELL_TOP, 0, 0, Piece.TYPE_GOOMBA, 2, 0, BitBoard.EMPTY, 0, BitBoard.EMPTY, 0);
+        
+        //assume we move the last column under the top shell
+        assertTrue(CpuSearch.getOrderColumn(index, 0) == 3);
+        assertTrue(search.getScore() > 0);
+    }
+    
+    @Test
+    public void matchTest() 
+    {
+        board.drop(0, Piece.TYPE_BOO);
+        board.drop(1, Piece.TYPE_SQUID);
+        board.drop(2, Piece.TYPE_GOOMBA);
+        board.drop(3, Piece.TYPE_PLANT);
+        
+        final int index = search.search(board, Piece.TYPE_GOOMBA, 1, 0, Piece.TYPE_PLANT, 2, 0, Piece.TYPE_BOO, 0, Piece.TYPE_SQUID, 3);
+        
+        //assume both falling pieces are matched
+        assertTrue(CpuSearch.getOrderColumn(index, 1) == 2);
+        assertTrue(CpuSearch.getOrderColumn(index, 2) == 3);
+    }
+    
+    @Test
+    public void timeTest() 
+    {
+        //fill the columns so the falling pieces are about to land
+        for (int row = 0; row < Board.ROWS - 1; row++)
+        {
+            board.drop(0, (row % 2 == 0) ? Piece.TYPE_BOO : Piece.TYPE_SQUID);
+            board.drop(1, (row % 2 == 0) ? Piece.TYPE_GOOMBA : Piece.TYPE_PLANT);
+        }
+        
+        //a match is in the next column, but there is no time to switch
+        final int index = search.search(board, Piece.TYPE_SQUID, 1, 0, Piece.TYPE_BOO, 3, 0, BitBoard.EMPTY, 0, BitBoard.EMPTY, 0);
+        
+        assertTrue(CpuSearch.getOrderColumn(index, 1) == 1);
+    }
+}
@@ -0,0 +1,147 @@
+package com.gamesbykevin.yoshi.player;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+/**
+ * CpuStrategies unit test
+ * @author GOD
+ */
+public class CpuStrategiesTest 
+{
+    @BeforeClass
+    public static void setUpClass() 
+    {
+        
+    }
+    
+    @AfterClass
+    public static void tearDownClass() 
+    {
+        
+    }
+    
+    @Before
+    public void setUp() 
+    {
+        
+    }
+    
+    @After
+    public void tearDown() 
+    {
+        
+    }
+    
+    @Test
+    public void createTest() throws Exception
+    {
+        assertTrue(CpuStrategies.create(CpuStrategies.NAME_GREEDY) instanceof CpuGreedy);
+        assertTrue(CpuStrategies.create(CpuStrategies.NAME_SEARCH) instanceof CpuSearch);
+        assertTrue(CpuStrategies.create(CpuStrategies.NAME_MONTE_CARLO) instanceof CpuMonteCarlo);
+        
+        //each strategy is a new object
+        assertTrue(CpuStrategies.create(CpuStrategies.NAME_GREEDY) != CpuStrategies.create(CpuStrategies.NAME_GREEDY));
+        
+        assertTrue(CpuStrategies.getNames().contains(CpuStrategies.NAME_GREEDY));
+        assertTrue(CpuStrategies.getNames().contains(CpuStrategies.NAME_SEARCH));
+        assertTrue(CpuStrategies.getNames().contains(CpuStrategies.NAME_MONTE_CARLO));
+    }
+    
+    @Test
+    public void createDifficultyTest() throws Exception
+    {
+        //the strategy that takes a difficulty is created with it
+        assertTrue(CpuStrategies.create(CpuStrategies.NAME_MONTE_CARLO, Player.INDEX_DIFFICULTY_HARD) instanceof CpuMonteCarlo);
+        
+        //the strategy that doesn't depend on the difficulty is still created
+        assertTrue(CpuStrategies.create(CpuStrategies.NAME_GREEDY, Player.INDEX_DIFFICULTY_HARD) instanceof CpuGreedy);
+        
+        //the difficulty isn't used as the look ahead of the search
+        assertTrue(((CpuSearch)CpuStrategies.create(CpuStrategies.NAME_SEARCH, Player.INDEX_DIFFICULTY_HARD)).getLookahead() == CpuSearch.LOOKAHEAD_DEFAULT);
+    }
+    
+    @Test
+    public void nameTest() throws Exception
+    {
+        assertTrue(CpuStrategies.getName(new CpuGreedy()).equals(CpuStrategies.NAME_GREEDY));
+        assertTrue(CpuStrategies.getName(new CpuSearch()).equals(CpuStrategies.NAME_SEARCH));
+        assertTrue(CpuStrategies.getName(CpuStrategies.create(CpuStrategies.NAME_MONTE_CARLO)).equals(CpuStrategies.NAME_MONTE_CARLO));
+    }
+    
+    @Test(expected = Exception.class)
+    public void createNotFoundTest() throws Exception
+    {
+        CpuStrategies.create("not a strategy");
+    }
+    
+    @Test
+    public void registerTest() throws Exception
+    {
+        CpuStrategies.register("test", CpuGreedy.class);
+        
+        assertTrue(CpuStrategies.create("test") instanceof CpuGreedy);
+    }
+    
+    @Test
+    public void defaultTest() throws Exception
+    {
+        assertTrue(CpuStrategies.getDefault(Player.INDEX_DIFFICULTY_EASY).equals(CpuStrategies.NAME_GREEDY));
+        assertTrue(CpuStrategies.getDefault(Player.INDEX_DIFFICULTY_MEDIUM).equals(CpuStrategies.NAME_GREEDY));
+        assertTrue(CpuStrategies.getDefault(Player.INDEX_DIFFICULTY_HARD).equals(CpuStrategies.NAME_SEARCH));
+        
+        assertTrue(new Cpu(null, false, Player.INDEX_DIFFICULTY_EASY).getStrategy() instanceof CpuGreedy);
+        assertTrue(new Cpu(null, false, Player.INDEX_DIFFICULTY_HARD).getStrategy() instanceof CpuSearch);
+    }
+    
+    @Test
+    public void playersTest() throws Exception
+    {
+        final Players players = new Players(Players.MODE_VS_ATTACK, Player.INDEX_DIFFICULTY_EASY, null, null, new Random(), true);
+        
+        players.setStrategy(1, CpuStrategies.NAME_SEARCH);
+        
+        assertTrue(((Cpu)players.getPlayer(0)).getStrategy() instanceof CpuGreedy);
+        assertTrue(((Cpu)players.getPlayer(1)).getStrategy() instanceof CpuSearch);
+        
+        players.setStrategy(CpuStrategies.NAME_SEARCH);
+        
+        assertTrue(((Cpu)players.getPlayer(0)).getStrategy() instanceof CpuSearch);
+        
+        players.dispose();
+    }
+    
+    @Test
+    public void liveTest() throws Exception
+    {
+        final Players players = new Players(Players.MODE_VS_ATTACK, Player.INDEX_DIFFICULTY_HARD, null, null, new Random(), true);
+        
+        //assume a headless game plays a fixed number of play outs
+        players.setStrategy(CpuStrategies.NAME_MONTE_CARLO);
+        
+        assertFalse(players.isLive());
+        assertFalse(((CpuMonteCarlo)((Cpu)players.getPlayer(0)).getStrategy()).hasBudget());
+        
+        //assume the live game has a time budget, for an existing strategy or a new one
+        players.setLive(true);
+        
+        assertTrue(((CpuMonteCarlo)((Cpu)players.getPlayer(0)).getStrategy()).hasBudget());
+        
+        players.setStrategy(1, CpuStrategies.NAME_MONTE_CARLO);
+        
+        assertTrue(((CpuMonteCarlo)((Cpu)players.getPlayer(1)).getStrategy()).hasBudget());
+        
+        //assume the other strategies are not changed
+        players.setStrategy(1, CpuStrategies.NAME_GREEDY);
+        
+        assertTrue(((Cpu)players.getPlayer(1)).getStrategy() instanceof CpuGreedy);
+        
+        players.dispose();
+    }
+}
@@ -1,5 +1,6 @@
 package com.gamesbykevin.yoshi.player;
 
+import com.gamesbykevin.yoshi.board.Board;
 import com.gamesbykevin.yoshi.engine.Engine;
 import com.gamesbykevin.yoshi.main.Main;
 import javax.swing.JPanel;
@@ -82,4 +83,30 @@ public class CpuTest
         cpu = new Cpu(null, false, Player.INDEX_DIFFICULTY_EASY);
         cpu.update(engine);
     }
+    
+    @Test
+    public void columnOrderTest() throws Exception
+    {
+        cpu = new Cpu(null, false, Player.INDEX_DIFFICULTY_EASY);
+        
+        //the columns start in order
+        for (int col = 0; col < Board.COLUMNS; col++)
+        {
+            assertTrue(cpu.getColumnOrderValue(col) == col);
+            assertTrue(cpu.getColumnOrderIndex(col) == col);
+        }
+        
+        //switch the first 2 columns
+        cpu.setCol(0);
+        assertTrue(cpu.switchColumns());
+        
+        assertTrue(cpu.getColumnOrderValue(0) == 1);
+        assertTrue(cpu.getColumnOrderValue(1) == 0);
+        
+        //assume the index of each column is updated as well
+        for (int col = 0; col < Board.COLUMNS; col++)
+        {
+            assertTrue(cpu.getColumnOrderIndex(cpu.getColumnOrderValue(col)) == col);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,156 @@
+package com.gamesbykevin.yoshi.player;
+
+import com.gamesbykevin.yoshi.board.Board;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileOutputStream;
+
+/**
+ * CpuWeights unit test
+ * @author GOD
+ */
+public class CpuWeightsTest 
+{
+    //the file we save the weights to
+    private File file;
+    
+    @BeforeClass
+    public static void setUpClass() 
+    {
+        
+    }
+    
+    @AfterClass
+    public static void tearDownClass() 
+    {
+        
+    }
+    
+    @Before
+    public void setUp() throws Exception
+    {
+        file = File.createTempFile("cpu", ".weights");
+    }
+    
+    @After
+    public void tearDown() 
+    {
+        file.delete();
+        file = null;
+    }
+    
+    @Test
+    public void defaultTest() 
+    {
+        final CpuWeights weights = new CpuWeights();
+        
+        //assume the hand picked weights are the scores on the board
+        assertTrue(weights.get(CpuWeights.WEIGHT_YOSHI_PIECE) == Board.SCORE_YOSHI_PIECE);
+        assertTrue(weights.get(CpuWeights.WEIGHT_PIECE_MATCH) == Board.SCORE_PIECE_MATCH);
+        assertTrue(weights.get(CpuWeights.WEIGHT_PIECE_HEIGHT) == Board.SCORE_PIECE_HEIGHT);
+        assertTrue(weights.get(CpuWeights.WEIGHT_BOTTOM_SHELL_HEIGHT) == Board.SCORE_BOTTOM_SHELL_HEIGHT);
+        assertTrue(weights.get(CpuWeights.WEIGHT_COLUMN_SWITCH) == CpuSearch.SCORE_COLUMN_SWITCH);
+        
+        //each weight has its own name
+        for (int index = 0; index < CpuWeights.WEIGHT_TOTAL; index++)
+        {
+            for (int other = index + 1; other < CpuWeights.WEIGHT_TOTAL; other++)
+            {
+                assertFalse(CpuWeights.getName(index).equals(CpuWeights.getName(other)));
+            }
+        }
+    }
+    
+    @Test
+    public void saveTest() throws Exception
+    {
+        final int[] values = new int[CpuWeights.WEIGHT_TOTAL];
+        
+        for (int index = 0; index < values.length; index++)
+        {
+            values[index] = index - 4;
+        }
+        
+        final CpuWeights weights = new CpuWeights(values);
+        
+        //assume the weights are copied
+        values[0] = 100;
+        assertTrue(weights.get(0) == -4);
+        
+        weights.save(file, null);
+        
+        //assume the weights are the same once loaded
+        assertTrue(CpuWeights.load(file).hasSameValues(weights));
+        assertFalse(CpuWeights.load(file).hasSameValues(new CpuWeights()));
+    }
+    
+    @Test
+    public void missingTest() throws Exception
+    {
+        try (FileOutputStream output = new FileOutputStream(file))
+        {
+            output.write((CpuWeights.getName(CpuWeights.WEIGHT_PIECE_MATCH) + "=12\n").getBytes("UTF-8"));
+        }
+        
+        final CpuWeights weights = CpuWeights.load(file);
+        
+        //assume only the weight in the file changes
+        assertTrue(weights.get(CpuWeights.WEIGHT_PIECE_MATCH) == 12);
+        assertTrue(weights.get(CpuWeights.WEIGHT_YOSHI_PIECE) == Board.SCORE_YOSHI_PIECE);
+    }
+    
+    @Test
+    public void tunedTest() throws Exception
+    {
+        //assume the hand picked weights are used if the file doesn't exist
+        file.delete();
+        assertTrue(CpuWeights.getTuned(file) == CpuWeights.getDefault());
+        
+        final int[] values = new CpuWeights().getValues();
+        values[CpuWeights.WEIGHT_PIECE_MATCH] = 12;
+        new CpuWeights(values).save(file, null);
+        
+        //assume the saved weights are used
+        assertTrue(CpuWeights.getTuned(file).get(CpuWeights.WEIGHT_PIECE_MATCH) == 12);
+        
+        try (FileOutputStream output = new FileOutputStream(file))
+        {
+            output.write((CpuWeights.getName(CpuWeights.WEIGHT_PIECE_MATCH) + "=abc\n").getBytes("UTF-8"));
+        }
+        
+        //assume a bad file uses the hand picked weights
+        assertTrue(CpuWeights.getTuned(file) == CpuWeights.getDefault());
+    }
+    
+    @Test(expected = Exception.class)
+    public void sizeTest() throws Exception
+    {
+        new CpuWeights(new int[CpuWeights.WEIGHT_TOTAL - 1]);
+    }
+    
+    @Test
+    public void cpuTest() throws Exception
+    {
+        final Cpu cpu = new Cpu(null, false, Player.INDEX_DIFFICULTY_EASY);
+        
+        //assume the cpu starts with the hand picked weights
+        assertTrue(cpu.getWeights() == CpuWeights.getDefault());
+        assertTrue(cpu.getWeights().hasSameValues(new CpuWeights()));
+        
+        final CpuWeights weights = new CpuWeights();
+        cpu.setWeights(weights);
+        
+        assertTrue(cpu.getWeights() == weights);
+        
+        //assume a new strategy keeps the weights of the cpu
+        cpu.setStrategy(new CpuSearch());
+        assertTrue(cpu.getWeights() == weights);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,245 @@
+package com.gamesbykevin.yoshi.player;
+
+import com.gamesbykevin.yoshi.board.Board;
+import com.gamesbykevin.yoshi.board.piece.Piece;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * CpuWorker unit test
+ * @author GOD
+ */
+public class CpuWorkerTest
+{
+    //the longest time we will wait on the worker
+    private static final long WAIT_MAX = 5000L;
+    
+    private Board board;
+    
+    private CpuView view;
+    
+    private CpuWorker worker;
+    
+    @BeforeClass
+    public static void setUpClass()
+    {
+        
+    }
+    
+    @AfterClass
+    public static void tearDownClass()
+    {
+        
+    }
+    
+    @Before
+    public void setUp() throws Exception
+    {
+        board = new Board(Player.INDEX_DIFFICULTY_EASY);
+        
+        Piece piece = new Piece(Piece.TYPE_BOO);
+        piece.setCol(0);
+        piece.setRow(Board.ROWS - 1);
+        piece.placePiece();
+        board.add(piece);
+        
+        final List<Piece> falling = new ArrayList<>();
+        
+        piece = new Piece(Piece.TYPE_BOO);
+        piece.setCol(1);
+        falling.add(piece);
+        
+        piece = new Piece(Piece.TYPE_PLANT);
+        piece.setCol(2);
+        falling.add(piece);
+        
+        view = new CpuView();
+        view.update(board, falling, new ArrayList<Piece>());
+    }
+    
+    @After
+    public void tearDown()
+    {
+        if (worker != null)
+        {
+            worker.dispose();
+            worker = null;
+        }
+        
+        board.dispose();
+        board = null;
+        view = null;
+    }
+    
+    /**
+     * Wait until the worker has a plan
+     * @param plan Where we want to copy the plan
+     * @return true if a plan was taken, false if we waited too long
+     */
+    private boolean take(final CpuPlan plan) throws Exception
+    {
+        final long start = System.currentTimeMillis();
+        
+        while (!worker.take(plan))
+        {
+            if (System.currentTimeMillis() - start > WAIT_MAX)
+                return false;
+            
+            Thread.sleep(1L);
+        }
+        
+        return true;
+    }
+    
+    @Test
+    public void takeTest() throws Exception
+    {
+        worker = new CpuWorker(new CpuGreedy());
+        worker.start();
+        
+        final CpuPlan plan = new CpuPlan();
+        
+        //assume no plan before a request
+        assertFalse(worker.take(plan));
+        assertTrue(worker.getLevel() == CpuWorker.NO_LEVEL);
+        
+        worker.request(view);
+        
+        assertTrue(take(plan));
+        assertTrue(worker.getLevel() == 0);
+        
+        //assume the same plan as the strategy on the game thread
+        final CpuPlan expected = new CpuGreedy().locate(view);
+        
+        assertTrue(plan.getCount() == expected.getCount());
+        
+        for (int i = 0; i < plan.getCount(); i++)
+        {
+            assertTrue(plan.getDestination(i) == expected.getDestination(i));
+            assertTrue(plan.getSource(i) == expected.getSource(i));
+            assertTrue(plan.getScore(i) == expected.getScore(i));
+        }
+        
+        //assume the plan can only be taken once it has been requested again
+        worker.cancel();
+        worker.request(view);
+        
+        assertTrue(take(plan));
+    }
+    
+    @Test
+    public void levelTest() throws Exception
+    {
+        worker = new CpuWorker();
+        worker.start();
+        
+        assertTrue(worker.getLevelCount() == CpuWorker.LOOKAHEAD_LEVELS.length);
+        
+        worker.request(view);
+        
+        final CpuPlan plan = new CpuPlan();
+        
+        //assume a plan from one of the searches
+        assertTrue(take(plan));
+        assertTrue(worker.getLevel() >= 0 && worker.getLevel() < worker.getLevelCount());
+        assertTrue(plan.getCount() == CpuPlan.TARGETS_MAX);
+    }
+    
+    @Test
+    public void createTest() throws Exception
+    {
+        //assume greedy is run once, so it doesn't play at search strength
+        worker = CpuWorker.create(new CpuGreedy(), Player.INDEX_DIFFICULTY_EASY, 0L);
+        
+        assertTrue(worker.getLevelCount() == 1);
+        
+        worker.start();
+        worker.request(view);
+        
+        final CpuPlan plan = new CpuPlan();
+        
+        assertTrue(take(plan));
+        
+        //assume the same plan as greedy on the game thread
+        final CpuPlan expected = new CpuGreedy().locate(view);
+        
+        for (int i = 0; i < plan.getCount(); i++)
+        {
+            assertTrue(plan.getDestination(i) == expected.getDestination(i));
+            assertTrue(plan.getSource(i) == expected.getSource(i));
+        }
+        
+        worker.dispose();
+        
+        //assume a search goes no deeper than its own look ahead
+        worker = CpuWorker.create(new CpuSearch(CpuSearch.LOOKAHEAD_DEFAULT), Player.INDEX_DIFFICULTY_HARD, 0L);
+        
+        assertTrue(worker.getLevelCount() == CpuSearch.LOOKAHEAD_DEFAULT + 1);
+        
+        worker.dispose();
+        
+        //assume monte carlo stays monte carlo
+        worker = CpuWorker.create(new CpuMonteCarlo(), Player.INDEX_DIFFICULTY_MEDIUM, 0L);
+        
+        assertTrue(worker.getLevelCount() == 1);
+        
+        worker.start();
+        worker.request(view);
+        
+        assertTrue(take(plan));
+        assertTrue(plan.getCount() == CpuPlan.TARGETS_MAX);
+    }
+    
+    @Test
+    public void playersTest() throws Exception
+    {
+        final Players players = new Players(Players.MODE_VS_ATTACK, Player.INDEX_DIFFICULTY_EASY, null, null, new Random(), true);
+        
+        players.setStrategy(1, CpuStrategies.NAME_MONTE_CARLO);
+        players.setBackground(true);
+        
+        //assume each cpu has a worker for its own strategy
+        assertTrue(((Cpu)players.getPlayer(0)).getWorker().getLevelCount() == 1);
+        assertTrue(((Cpu)players.getPlayer(1)).getWorker().getLevelCount() == 1);
+        
+        players.setBackground(false);
+        
+        assertNull(((Cpu)players.getPlayer(0)).getWorker());
+        
+        players.dispose();
+    }
+    
+    @Test
+    public void interruptTest() throws Exception
+    {
+        final CpuSearch search = new CpuSearch();
+        
+        //assume an interrupted search doesn't return a plan
+        Thread.currentThread().interrupt();
+        
+        boolean interrupted = false;
+        
+        try
+        {
+            search.locate(view);
+        }
+        catch (Exception e)
+        {
+            interrupted = Thread.interrupted();
+        }
+        
+        assertTrue(interrupted);
+        
+        //assume the search works once the interrupt is cleared
+        assertTrue(search.locate(view).getCount() == CpuPlan.TARGETS_MAX);
+    }
+}
\ No newline at end of file
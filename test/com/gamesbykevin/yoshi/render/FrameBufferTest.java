@@ -0,0 +1,84 @@
+package com.gamesbykevin.yoshi.render;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Test FrameBuffer class
+ * @author GOD
+ */
+public class FrameBufferTest
+{
+    private FrameBuffer buffer;
+    
+    private FrameBuilder builder;
+    
+    @BeforeClass
+    public static void setUpClass()
+    {
+        
+    }
+    
+    @AfterClass
+    public static void tearDownClass()
+    {
+        
+    }
+    
+    @Before
+    public void setUp()
+    {
+        buffer = new FrameBuffer();
+        builder = new FrameBuilder();
+    }
+    
+    @After
+    public void tearDown()
+    {
+        buffer = null;
+        builder = null;
+    }
+    
+    @Test
+    public void takeTest()
+    {
+        //assume nothing to take before a frame is published
+        assertTrue(buffer.take() == null);
+        
+        final Frame frame = builder.build();
+        buffer.publish(frame);
+        
+        //assume the frame can only be taken once
+        assertTrue(buffer.take() == frame);
+        assertTrue(buffer.take() == null);
+        assertTrue(buffer.getSkipped() == 0);
+    }
+    
+    @Test
+    public void publishTest()
+    {
+        final AtomicBoolean lease = new AtomicBoolean(true);
+        
+        builder.setLease(lease);
+        final Frame first = builder.build();
+        
+        builder.clear();
+        final Frame second = builder.build();
+        
+        buffer.publish(first);
+        buffer.publish(second);
+        
+        //assume the replaced frame is released and skipped
+        assertFalse(lease.get());
+        assertTrue(buffer.getSkipped() == 1);
+        
+        //assume the newest frame is taken
+        assertTrue(buffer.take() == second);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,135 @@
+package com.gamesbykevin.yoshi.render;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Test Frame and FrameBuilder class
+ * @author GOD
+ */
+public class FrameTest
+{
+    private FrameBuilder builder;
+    
+    //the image we draw the frames onto
+    private BufferedImage canvas;
+    
+    //a sprite sheet with 2 colored cells
+    private static BufferedImage sheet;
+    
+    private static final int SIZE = 8;
+    
+    @BeforeClass
+    public static void setUpClass()
+    {
+        sheet = new BufferedImage(SIZE * 2, SIZE, BufferedImage.TYPE_INT_ARGB);
+        
+        final Graphics graphics = sheet.getGraphics();
+        graphics.setColor(Color.RED);
+        graphics.fillRect(0, 0, SIZE, SIZE);
+        graphics.setColor(Color.BLUE);
+        graphics.fillRect(SIZE, 0, SIZE, SIZE);
+        graphics.dispose();
+    }
+    
+    @AfterClass
+    public static void tearDownClass()
+    {
+        sheet = null;
+    }
+    
+    @Before
+    public void setUp()
+    {
+        builder = new FrameBuilder();
+        canvas = new BufferedImage(SIZE * 4, SIZE * 4, BufferedImage.TYPE_INT_ARGB);
+    }
+    
+    @After
+    public void tearDown()
+    {
+        builder = null;
+        canvas = null;
+    }
+    
+    @Test
+    public void buildTest()
+    {
+        builder.addImage(sheet, 0, 0);
+        builder.addSprite(sheet, new Rectangle(SIZE, 0, SIZE, SIZE), 0, SIZE, SIZE, SIZE);
+        assertTrue(builder.getSize() == 2);
+        
+        final Frame frame = builder.build();
+        assertTrue(frame.getSize() == 2);
+        
+        //assume changing the builder doesn't change the frame
+        builder.clear();
+        builder.addImage(sheet, 0, 0);
+        assertTrue(builder.getSize() == 1);
+        assertTrue(frame.getSize() == 2);
+    }
+    
+    @Test
+    public void nullTest()
+    {
+        //assume nothing is added without an image or font
+        builder.addImage(null, 0, 0);
+        builder.addSprite(null, new Rectangle(0, 0, SIZE, SIZE), 0, 0, SIZE, SIZE);
+        builder.addText("Score", null, Color.BLACK, 0, 0);
+        assertTrue(builder.getSize() == 0);
+        assertTrue(builder.build().getSize() == 0);
+    }
+    
+    @Test
+    public void drawTest()
+    {
+        //draw the blue cell larger than the sheet
+        builder.addSprite(sheet, new Rectangle(SIZE, 0, SIZE, SIZE), SIZE, SIZE, SIZE * 2, SIZE * 2);
+        builder.addImage(sheet, 0, 0);
+        
+        final Graphics graphics = canvas.getGraphics();
+        builder.build().draw(graphics);
+        graphics.dispose();
+        
+        //assume each item is drawn where it was added
+        assertTrue(canvas.getRGB(0, 0) == Color.RED.getRGB());
+        assertTrue(canvas.getRGB(SIZE + 1, 0) == Color.BLUE.getRGB());
+        assertTrue(canvas.getRGB(SIZE * 3 - 1, SIZE * 3 - 1) == Color.BLUE.getRGB());
+        
+        //assume nothing is drawn outside the items
+        assertTrue(canvas.getRGB(SIZE * 3, SIZE * 3) == 0);
+    }
+    
+    @Test
+    public void releaseTest()
+    {
+        final AtomicBoolean lease = new AtomicBoolean(true);
+        
+        builder.addImage(sheet, 0, 0);
+        builder.setLease(lease);
+        
+        final Frame frame = builder.build();
+        assertTrue(lease.get());
+        
+        //assume the image can be used again once released
+        frame.release();
+        assertFalse(lease.get());
+        
+        //assume a cleared builder doesn't keep the lease
+        builder.clear();
+        lease.set(true);
+        builder.build().release();
+        assertTrue(lease.get());
+    }
+}
\ No newline at end of file
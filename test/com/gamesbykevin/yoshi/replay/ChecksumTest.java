@@ -0,0 +1,285 @@
+package com.gamesbykevin.yoshi.replay;
+
+import com.gamesbykevin.yoshi.board.BitBoard;
+import com.gamesbykevin.yoshi.board.Board;
+import com.gamesbykevin.yoshi.player.CpuStrategies;
+import com.gamesbykevin.yoshi.player.CpuWeights;
+import com.gamesbykevin.yoshi.player.Player;
+import com.gamesbykevin.yoshi.player.Players;
+import com.gamesbykevin.yoshi.simulation.Simulation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Test the methods in ChecksumWriter, ChecksumReader and ChecksumCompare
+ * @author GOD
+ */
+public class ChecksumTest
+{
+    private Simulation simulation;
+    
+    //the seed we will use for testing
+    private static final long SEED = 1L;
+    
+    //the number of updates we will test
+    private static final long LIMIT = 2000L;
+    
+    //the update where we will change the game
+    private static final long CHANGE = 1500L;
+    
+    @BeforeClass
+    public static void setUpClass()
+    {
+        
+    }
+    
+    @AfterClass
+    public static void tearDownClass()
+    {
+        
+    }
+    
+    @Before
+    public void setUp() throws Exception
+    {
+        simulation = new Simulation(Players.MODE_VS_ATTACK, Player.INDEX_DIFFICULTY_HARD, SEED, true);
+    }
+    
+    @After
+    public void tearDown()
+    {
+        simulation.dispose();
+        simulation = null;
+    }
+    
+    /**
+     * Play the simulation while writing the checksums
+     * @param simulation The game we want to play
+     * @param limit The maximum number of updates
+     * @return The checksums of the game
+     * @throws Exception
+     */
+    private static byte[] run(final Simulation simulation, final long limit) throws Exception
+    {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        
+        final ChecksumWriter checksums = simulation.checksum(bytes);
+        simulation.run(limit);
+        checksums.close();
+        
+        return bytes.toByteArray();
+    }
+    
+    /**
+     * Compare the checksums
+     * @param bytes1 The checksums of the first run
+     * @param bytes2 The checksums of the second run
+     * @return The comparison, already compared
+     * @throws Exception
+     */
+    private static ChecksumCompare compare(final byte[] bytes1, final byte[] bytes2) throws Exception
+    {
+        final ChecksumCompare compare = new ChecksumCompare(
+            new ChecksumReader(new ByteArrayInputStream(bytes1)), new ChecksumReader(new ByteArrayInputStream(bytes2)));
+        
+        compare.compare();
+        
+        return compare;
+    }
+    
+    @Test
+    public void readTest() throws Exception
+    {
+        final byte[] bytes = run(simulation, LIMIT);
+        
+        final ChecksumReader reader = new ChecksumReader(new ByteArrayInputStream(bytes));
+        
+        assertTrue(reader.getSeed() == SEED);
+        assertTrue(reader.getTime() == Simulation.DEFAULT_TIME);
+        assertTrue(reader.getModeIndex() == Players.MODE_VS_ATTACK);
+        assertTrue(reader.getDifficultyIndex() == Player.INDEX_DIFFICULTY_HARD);
+        assertTrue(reader.hasCpu());
+        assertTrue(reader.getPlayerCount() == 2);
+        assertTrue(reader.getValueCount() == ChecksumHelper.getValueCount(2));
+        
+        //assume the strategy and weights of each cpu
+        for (int index = 0; index < 2; index++)
+        {
+            assertTrue(reader.getStrategy(index).equals(CpuStrategies.getDefault(Player.INDEX_DIFFICULTY_HARD)));
+            
+            for (int weight = 0; weight < CpuWeights.WEIGHT_TOTAL; weight++)
+            {
+                assertTrue(reader.getWeights(index)[weight] == CpuWeights.getDefault().get(weight));
+            }
+        }
+        
+        //assume the starting state and every update after
+        long tick = 0;
+        
+        while (reader.next())
+        {
+            assertTrue(reader.getTick() == tick);
+            tick++;
+        }
+        
+        assertTrue(reader.hasFinished());
+        assertTrue(reader.getTick() == simulation.getTicks());
+        
+        //assume the last values are the end of the game
+        for (int index = 0; index < 2; index++)
+        {
+            final Player player = simulation.getPlayers().getPlayer(index);
+            
+            assertTrue(reader.getValue(ChecksumHelper.getIndex(index, ChecksumHelper.VALUE_BOARD)) == player.getBoard().getHash());
+            assertTrue(reader.getValue(ChecksumHelper.getIndex(index, ChecksumHelper.VALUE_PIECES)) == player.getBoard().getPieces().size());
+            assertTrue(reader.getValue(ChecksumHelper.getIndex(index, ChecksumHelper.VALUE_SCORE)) == simulation.getScore(index));
+            assertTrue(reader.getValue(ChecksumHelper.getIndex(index, ChecksumHelper.VALUE_LEVEL)) == player.getStats().getStatLevel().getValue());
+            assertTrue(reader.getValue(ChecksumHelper.getIndex(index, ChecksumHelper.VALUE_COL)) == Double.doubleToLongBits(player.getCol()));
+            assertTrue(reader.getValue(ChecksumHelper.getIndex(index, ChecksumHelper.VALUE_FRONT)) == (player.hasFront() ? 1 : 0));
+            
+            final BitBoard columns = new BitBoard(player.getBoard());
+            
+            for (int col = 0; col < Board.COLUMNS; col++)
+            {
+                assertTrue(reader.getValue(ChecksumHelper.getIndex(index, ChecksumHelper.VALUE_COLUMN + col)) == columns.getColumn(col));
+            }
+        }
+        
+        //assume only the values that changed are written
+        assertTrue(bytes.length < simulation.getTicks() * ChecksumHelper.getValueCount(2) * 8);
+    }
+    
+    @Test
+    public void sameTest() throws Exception
+    {
+        final byte[] bytes1 = run(simulation, LIMIT);
+        final byte[] bytes2 = run(new Simulation(Players.MODE_VS_ATTACK, Player.INDEX_DIFFICULTY_HARD, SEED, true), LIMIT);
+        
+        final ChecksumCompare compare = compare(bytes1, bytes2);
+        
+        //assume the same seed plays the same game
+        assertNull(compare.getDiff());
+        assertTrue(compare.getTick() == simulation.getTicks());
+    }
+    
+    @Test
+    public void differentTest() throws Exception
+    {
+        final byte[] bytes1 = run(simulation, LIMIT);
+        
+        //play the same game, but change the score of the second player part way
+        final Simulation tmp = new Simulation(Players.MODE_VS_ATTACK, Player.INDEX_DIFFICULTY_HARD, SEED, true);
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final ChecksumWriter checksums = tmp.checksum(bytes);
+        
+        tmp.run(CHANGE);
+        tmp.getPlayers().getPlayer(1).getStats().getStatScore().setValue(tmp.getScore(1) + 1);
+        tmp.run(LIMIT);
+        checksums.close();
+        
+        final ChecksumCompare compare = compare(bytes1, bytes.toByteArray());
+        
+        //assume the difference is found at the next update
+        assertNotNull(compare.getDiff());
+        assertTrue(compare.getTick() == CHANGE + 1);
+        assertTrue(compare.getDiff().contains(ChecksumHelper.getName(ChecksumHelper.getIndex(1, ChecksumHelper.VALUE_SCORE))));
+        assertTrue(compare.getDiff().contains(ChecksumHelper.getName(ChecksumHelper.getIndex(1, ChecksumHelper.VALUE_STATE))));
+        assertFalse(compare.getDiff().contains(ChecksumHelper.getName(ChecksumHelper.getIndex(0, ChecksumHelper.VALUE_STATE))));
+        
+        tmp.dispose();
+    }
+    
+    @Test
+    public void endTest() throws Exception
+    {
+        final byte[] bytes1 = run(simulation, LIMIT);
+        final byte[] bytes2 = run(new Simulation(Players.MODE_VS_ATTACK, Player.INDEX_DIFFICULTY_HARD, SEED, true), CHANGE);
+        
+        final ChecksumCompare compare = compare(bytes1, bytes2);
+        
+        //assume the shorter run is found
+        assertNotNull(compare.getDiff());
+        assertTrue(compare.getTick() == CHANGE);
+    }
+    
+    @Test
+    public void replayTest() throws Exception
+    {
+        //record a game with checksums
+        final ReplayWriter writer = simulation.record();
+        final byte[] bytes1 = run(simulation, LIMIT);
+        
+        if (!writer.hasFinished())
+            writer.finish(simulation.getTicks());
+        
+        //assume the replay plays the same game
+        final byte[] bytes2 = run(new Simulation(new ReplayReader(writer.getBytes())), Long.MAX_VALUE);
+        
+        assertNull(compare(bytes1, bytes2).getDiff());
+    }
+    
+    @Test(expected = Exception.class)
+    public void seedTest() throws Exception
+    {
+        final byte[] bytes1 = run(simulation, CHANGE);
+        final byte[] bytes2 = run(new Simulation(Players.MODE_VS_ATTACK, Player.INDEX_DIFFICULTY_HARD, SEED + 1, true), CHANGE);
+        
+        compare(bytes1, bytes2);
+    }
+    
+    @Test
+    public void descTest() throws Exception
+    {
+        //assume each field of a player is named
+        assertTrue(ChecksumHelper.getName(ChecksumHelper.getIndex(1, ChecksumHelper.VALUE_ORDER)).equals("player 2 order"));
+        assertTrue(ChecksumHelper.getName(ChecksumHelper.getIndex(1, ChecksumHelper.VALUE_COLUMN + 2)).equals("player 2 column 3"));
+        assertTrue(ChecksumHelper.getName(ChecksumHelper.getIndex(0, ChecksumHelper.VALUE_STATE)).equals("player 1 state"));
+        
+        //assume the field values are decoded
+        assertTrue(ChecksumHelper.getDesc(ChecksumHelper.getIndex(0, ChecksumHelper.VALUE_ORDER), 0x0123L).equals("3210"));
+        assertTrue(ChecksumHelper.getDesc(ChecksumHelper.getIndex(0, ChecksumHelper.VALUE_COLUMN), 012L).equals("12"));
+        assertTrue(ChecksumHelper.getDesc(ChecksumHelper.getIndex(0, ChecksumHelper.VALUE_COL), Double.doubleToLongBits(1.5)).equals("1.5"));
+        assertTrue(ChecksumHelper.getDesc(ChecksumHelper.getIndex(0, ChecksumHelper.VALUE_FRONT), 1L).equals("true"));
+    }
+    
+    @Test(expected = Exception.class)
+    public void strategyTest() throws Exception
+    {
+        final byte[] bytes1 = run(simulation, CHANGE);
+        
+        final Simulation tmp = new Simulation(Players.MODE_VS_ATTACK, Player.INDEX_DIFFICULTY_HARD, SEED, true);
+        tmp.getPlayers().setStrategy(CpuStrategies.NAME_GREEDY);
+        
+        //assume a different strategy is not compared
+        compare(bytes1, run(tmp, CHANGE));
+    }
+    
+    @Test(expected = Exception.class)
+    public void weightsTest() throws Exception
+    {
+        final byte[] bytes1 = run(simulation, CHANGE);
+        
+        final int[] values = CpuWeights.getDefault().getValues();
+        values[CpuWeights.WEIGHT_PIECE_MATCH]++;
+        
+        final Simulation tmp = new Simulation(Players.MODE_VS_ATTACK, Player.INDEX_DIFFICULTY_HARD, SEED, true);
+        tmp.getPlayers().setWeights(new CpuWeights(values));
+        
+        //assume different weights are not compared
+        compare(bytes1, run(tmp, CHANGE));
+    }
+    
+    @Test(expected = Exception.class)
+    public void magicTest() throws Exception
+    {
+        new ChecksumReader(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5}));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,194 @@
+package com.gamesbykevin.yoshi.replay;
+
+import com.gamesbykevin.yoshi.player.Input;
+import com.gamesbykevin.yoshi.player.Player;
+import com.gamesbykevin.yoshi.player.Players;
+import com.gamesbykevin.yoshi.shared.Snapshot;
+import com.gamesbykevin.yoshi.simulation.Simulation;
+
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Test the methods in ReplayWriter and ReplayReader
+ * @author GOD
+ */
+public class ReplayTest 
+{
+    private ReplayWriter writer;
+    
+    //the seed we will use for testing
+    private static final long SEED = 1L;
+    
+    //the number of updates we will test
+    private static final long LIMIT = 5000L;
+    
+    @BeforeClass
+    public static void setUpClass() 
+    {
+        
+    }
+    
+    @AfterClass
+    public static void tearDownClass() 
+    {
+        
+    }
+    
+    @Before
+    public void setUp() throws Exception
+    {
+        writer = new ReplayWriter(SEED, Simulation.DEFAULT_TIME, Players.MODE_VS_ATTACK, Player.INDEX_DIFFICULTY_HARD, true);
+    }
+    
+    @After
+    public void tearDown() 
+    {
+        writer = null;
+    }
+    
+    @Test
+    public void readTest() throws Exception
+    {
+        writer.record(0, 0, Input.MoveLeft);
+        writer.record(200, 1, Input.SwitchColumns);
+        writer.record(100000, 0, Input.ApplyGravity);
+        writer.finish(100001);
+        
+        assertTrue(writer.hasFinished());
+        
+        final ReplayReader reader = new ReplayReader(writer.getBytes());
+        
+        assertTrue(reader.getSeed() == SEED);
+        assertTrue(reader.getTime() == Simulation.DEFAULT_TIME);
+        assertTrue(reader.getModeIndex() == Players.MODE_VS_ATTACK);
+        assertTrue(reader.getDifficultyIndex() == Player.INDEX_DIFFICULTY_HARD);
+        assertTrue(reader.hasCpu());
+        
+        assertTrue(reader.getTick() == 0 && reader.getPlayer() == 0 && reader.getInput() == Input.MoveLeft);
+        reader.next();
+        assertTrue(reader.getTick() == 200 && reader.getPlayer() == 1 && reader.getInput() == Input.SwitchColumns);
+        reader.next();
+        assertTrue(reader.getTick() == 100000 && reader.getPlayer() == 0 && reader.getInput() == Input.ApplyGravity);
+        reader.next();
+        
+        //once finished the tick is the total number of updates
+        assertTrue(reader.hasFinished());
+        assertTrue(reader.getInput() == null);
+        assertTrue(reader.getTick() == 100001);
+    }
+    
+    @Test(expected = Exception.class)
+    public void orderTest() throws Exception
+    {
+        writer.record(10, 0, Input.MoveLeft);
+        writer.record(5, 0, Input.MoveRight);
+    }
+    
+    @Test(expected = Exception.class)
+    public void finishTest() throws Exception
+    {
+        writer.finish(10);
+        writer.record(10, 0, Input.MoveLeft);
+    }
+    
+    @Test(expected = Exception.class)
+    public void magicTest() throws Exception
+    {
+        new ReplayReader(new byte[]{1, 2, 3, 4, 5});
+    }
+    
+    @Test
+    public void playbackTest() throws Exception
+    {
+        //record a game
+        Simulation simulation = new Simulation(Players.MODE_VS_ATTACK, Player.INDEX_DIFFICULTY_HARD, SEED, true);
+        writer = simulation.record();
+        simulation.run(LIMIT);
+        
+        if (!writer.hasFinished())
+            writer.finish(simulation.getTicks());
+        
+        final long ticks = simulation.getTicks();
+        final int score1 = simulation.getScore(0);
+        final int score2 = simulation.getScore(1);
+        final boolean gameover = simulation.hasGameOver();
+        
+        simulation.dispose();
+        
+        //play the game back and assume the same result
+        simulation = new Simulation(new ReplayReader(writer.getBytes()));
+        simulation.run(Long.MAX_VALUE);
+        
+        assertTrue(simulation.getTicks() == ticks);
+        assertTrue(simulation.getScore(0) == score1);
+        assertTrue(simulation.getScore(1) == score2);
+        assertTrue(simulation.hasGameOver() == gameover);
+        
+        simulation.dispose();
+    }
+    
+    @Test
+    public void seekTest() throws Exception
+    {
+        //record a game
+        Simulation simulation = new Simulation(Players.MODE_VS_ATTACK, Player.INDEX_DIFFICULTY_HARD, SEED, true);
+        writer = simulation.record();
+        simulation.run(LIMIT);
+        
+        if (!writer.hasFinished())
+            writer.finish(simulation.getTicks());
+        
+        simulation.dispose();
+        
+        final ReplayReader reader = new ReplayReader(writer.getBytes());
+        
+        //assume a snapshot for the start and every interval after
+        assertTrue(reader.getSnapshotCount() > 1);
+        assertTrue(reader.getSnapshotTick(0) == 0);
+        assertTrue(reader.getSnapshotTick(1) == ReplayHelper.SNAPSHOT_INTERVAL);
+        
+        //the update between snapshots we want to check
+        final long tick = ReplayHelper.SNAPSHOT_INTERVAL + (ReplayHelper.SNAPSHOT_INTERVAL / 2);
+        
+        //play the replay up to the update
+        simulation = new Simulation(new ReplayReader(writer.getBytes()));
+        simulation.run(tick);
+        final byte[] expected = getState(simulation);
+        
+        //then seek forward and back, assume the game is the same
+        simulation.seek(LIMIT);
+        simulation.seek(tick);
+        
+        assertTrue(simulation.getTicks() == tick);
+        assertTrue(Arrays.equals(expected, getState(simulation)));
+        
+        //a new replay that only seeks will also be the same
+        simulation.dispose();
+        simulation = new Simulation(new ReplayReader(writer.getBytes()));
+        simulation.seek(tick);
+        
+        assertTrue(Arrays.equals(expected, getState(simulation)));
+        
+        simulation.dispose();
+    }
+    
+    /**
+     * Get the state of the players in the simulation
+     * @param simulation The simulation we want to check
+     * @return The snapshot of the players
+     */
+    private static byte[] getState(final Simulation simulation)
+    {
+        final Snapshot snapshot = new Snapshot();
+        simulation.getPlayers().snapshot(snapshot);
+        
+        return snapshot.toByteArray();
+    }
+}
\ No newline at end of file
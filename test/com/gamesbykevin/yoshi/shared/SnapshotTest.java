@@ -0,0 +1,89 @@
+package com.gamesbykevin.yoshi.shared;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Test the methods in Snapshot
+ * @author GOD
+ */
+public class SnapshotTest 
+{
+    private Snapshot snapshot;
+    
+    @BeforeClass
+    public static void setUpClass() 
+    {
+        
+    }
+    
+    @AfterClass
+    public static void tearDownClass() 
+    {
+        
+    }
+    
+    @Before
+    public void setUp() 
+    {
+        snapshot = new Snapshot();
+    }
+    
+    @After
+    public void tearDown() 
+    {
+        snapshot = null;
+    }
+    
+    @Test
+    public void readTest() throws Exception
+    {
+        snapshot.writeByte(200);
+        snapshot.writeBoolean(true);
+        snapshot.writeInt(-123456789);
+        snapshot.writeLong(Long.MIN_VALUE + 5);
+        snapshot.writeDouble(2.1);
+        
+        assertTrue(snapshot.getSize() == 1 + 1 + 4 + 8 + 8);
+        
+        //read from a copy of the bytes
+        final Snapshot tmp = new Snapshot(snapshot.toByteArray());
+        
+        assertTrue(tmp.readByte() == 200);
+        assertTrue(tmp.readBoolean());
+        assertTrue(tmp.readInt() == -123456789);
+        assertTrue(tmp.readLong() == Long.MIN_VALUE + 5);
+        assertTrue(tmp.readDouble() == 2.1);
+    }
+    
+    @Test
+    public void clearTest() throws Exception
+    {
+        //write more than the default capacity
+        for (int i = 0; i < 1000; i++)
+        {
+            snapshot.writeLong(i);
+        }
+        
+        assertTrue(snapshot.getSize() == 8000);
+        assertTrue(snapshot.readLong() == 0);
+        
+        //assume we can write again from the start
+        snapshot.clear();
+        assertTrue(snapshot.getSize() == 0);
+        
+        snapshot.writeInt(7);
+        assertTrue(snapshot.readInt() == 7);
+    }
+    
+    @Test(expected = Exception.class)
+    public void remainingTest() throws Exception
+    {
+        snapshot.writeByte(1);
+        snapshot.readInt();
+    }
+}
@@ -0,0 +1,74 @@
+package com.gamesbykevin.yoshi.simulation;
+
+import com.gamesbykevin.yoshi.player.Player;
+import com.gamesbykevin.yoshi.player.Players;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Test the methods in Batch
+ * @author GOD
+ */
+public class BatchTest 
+{
+    //the seed we will use for testing
+    private static final long SEED = 1L;
+    
+    //the number of games and updates we will test
+    private static final int GAMES = 10;
+    private static final long LIMIT = 2000L;
+    
+    @BeforeClass
+    public static void setUpClass() 
+    {
+        
+    }
+    
+    @AfterClass
+    public static void tearDownClass() 
+    {
+        
+    }
+    
+    @Before
+    public void setUp() 
+    {
+        
+    }
+    
+    @After
+    public void tearDown() 
+    {
+        
+    }
+    
+    @Test
+    public void runTest() throws Exception
+    {
+        final BatchResult result = Batch.run(Players.MODE_VS_ATTACK, Player.INDEX_DIFFICULTY_HARD, SEED, GAMES, LIMIT, 2);
+        
+        //assume every game was played by 2 players
+        assertTrue(result.getGames() == GAMES);
+        assertTrue(result.getScore().getCount() == GAMES * 2);
+        assertTrue(result.getTicks().getMax() <= LIMIT);
+    }
+    
+    @Test
+    public void repeatTest() throws Exception
+    {
+        final BatchResult result1 = Batch.run(Players.MODE_SINGLE_PLAYER_CPU, Player.INDEX_DIFFICULTY_HARD, SEED, GAMES, LIMIT, 1);
+        final BatchResult result2 = Batch.run(Players.MODE_SINGLE_PLAYER_CPU, Player.INDEX_DIFFICULTY_HARD, SEED, GAMES, LIMIT, 4);
+        
+        //assume the number of threads doesn't change the results
+        assertTrue(result1.getScore().getMean() == result2.getScore().getMean());
+        assertTrue(result1.getYoshis().getMean() == result2.getYoshis().getMean());
+        assertTrue(result1.getDrops().getMean() == result2.getDrops().getMean());
+        assertTrue(result1.getTicks().getMean() == result2.getTicks().getMean());
+        assertTrue(result1.getGameOvers() == result2.getGameOvers());
+    }
+}
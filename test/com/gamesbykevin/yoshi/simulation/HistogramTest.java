@@ -0,0 +1,137 @@
+package com.gamesbykevin.yoshi.simulation;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Test the methods in Histogram
+ * @author GOD
+ */
+public class HistogramTest 
+{
+    private Histogram histogram;
+    
+    @BeforeClass
+    public static void setUpClass() 
+    {
+        
+    }
+    
+    @AfterClass
+    public static void tearDownClass() 
+    {
+        
+    }
+    
+    @Before
+    public void setUp() throws Exception
+    {
+        histogram = new Histogram(10);
+    }
+    
+    @After
+    public void tearDown() 
+    {
+        histogram = null;
+    }
+    
+    @Test(expected = Exception.class)
+    public void sizeTest() throws Exception
+    {
+        histogram = new Histogram(0);
+    }
+    
+    @Test
+    public void addTest() throws Exception
+    {
+        //assume nothing has been added
+        assertTrue(histogram.getCount() == 0);
+        assertTrue(histogram.getMin() == 0);
+        assertTrue(histogram.getMax() == 0);
+        assertTrue(histogram.getPercentile(0.5) == 0);
+        
+        for (int value = 1; value <= 100; value++)
+        {
+            histogram.add(value);
+        }
+        
+        assertTrue(histogram.getCount() == 100);
+        assertTrue(histogram.getMin() == 1);
+        assertTrue(histogram.getMax() == 100);
+        assertTrue(histogram.getMean() == 50.5);
+        
+        //the end of the bucket is returned
+        assertTrue(histogram.getPercentile(0.5) == 59);
+        assertTrue(histogram.getPercentile(1.0) == 100);
+        
+        //a large value will add more buckets
+        histogram.add(100000);
+        assertTrue(histogram.getMax() == 100000);
+        assertTrue(histogram.getPercentile(1.0) == 100000);
+    }
+    
+    @Test
+    public void mergeTest() throws Exception
+    {
+        final Histogram other = new Histogram(10);
+        
+        histogram.add(5);
+        other.add(500);
+        other.add(-5);
+        
+        histogram.add(other);
+        
+        assertTrue(histogram.getCount() == 3);
+        assertTrue(histogram.getMin() == -5);
+        assertTrue(histogram.getMax() == 500);
+    }
+    
+    @Test(expected = Exception.class)
+    public void mergeSizeTest() throws Exception
+    {
+        histogram.add(new Histogram(5));
+    }
+    
+    @Test
+    public void fixedTest() throws Exception
+    {
+        histogram = new Histogram(10, 5);
+        
+        for (int value = 0; value < 40; value++)
+        {
+            histogram.add(value);
+        }
+        
+        //assume the end of the bucket is returned
+        assertTrue(histogram.getPercentile(0.5) == 19);
+        
+        //assume a large value is counted in the last bucket
+        histogram.add(100000);
+        assertTrue(histogram.getCount() == 41);
+        assertTrue(histogram.getMax() == 100000);
+        assertTrue(histogram.getPercentile(1.0) == 100000);
+        
+        //assume a histogram with no more buckets can be combined
+        final Histogram other = new Histogram(10, 3);
+        other.add(5);
+        histogram.add(other);
+        assertTrue(histogram.getCount() == 42);
+    }
+    
+    @Test(expected = Exception.class)
+    public void fixedCountTest() throws Exception
+    {
+        histogram = new Histogram(10, 0);
+    }
+    
+    @Test(expected = Exception.class)
+    public void mergeFixedTest() throws Exception
+    {
+        //assume more buckets can't be combined into a fixed histogram
+        new Histogram(10, 5).add(new Histogram(10));
+    }
+}
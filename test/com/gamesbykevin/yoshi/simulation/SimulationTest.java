@@ -0,0 +1,119 @@
+package com.gamesbykevin.yoshi.simulation;
+
+import com.gamesbykevin.yoshi.player.CpuStrategies;
+import com.gamesbykevin.yoshi.player.Player;
+import com.gamesbykevin.yoshi.player.Players;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Test the methods in Simulation
+ * @author GOD
+ */
+public class SimulationTest 
+{
+    private Simulation simulation;
+    
+    //the seed we will use for testing
+    private static final long SEED = 1L;
+    
+    //the number of updates we will test
+    private static final long LIMIT = 5000L;
+    
+    @BeforeClass
+    public static void setUpClass() 
+    {
+        
+    }
+    
+    @AfterClass
+    public static void tearDownClass() 
+    {
+        
+    }
+    
+    @Before
+    public void setUp() 
+    {
+        
+    }
+    
+    @After
+    public void tearDown() 
+    {
+        simulation.dispose();
+        simulation = null;
+    }
+    
+    @Test
+    public void simulationTest() throws Exception
+    {
+        simulation = new Simulation(Players.MODE_SINGLE_PLAYER_CPU, Player.INDEX_DIFFICULTY_HARD, SEED);
+        
+        assertTrue(simulation.getSeed() == SEED);
+        assertTrue(simulation.getTicks() == 0);
+        assertFalse(simulation.hasGameOver());
+        
+        simulation.update();
+        
+        assertTrue(simulation.getTicks() == 1);
+    }
+    
+    @Test
+    public void runTest() throws Exception
+    {
+        simulation = new Simulation(Players.MODE_VS_ATTACK, Player.INDEX_DIFFICULTY_HARD, SEED);
+        
+        //assume we stop at the game over or the limit
+        final boolean gameover = simulation.run(LIMIT);
+        
+        assertTrue(gameover == simulation.hasGameOver());
+        assertTrue(gameover || simulation.getTicks() == LIMIT);
+        assertTrue(simulation.getTicks() <= LIMIT);
+    }
+    
+    @Test
+    public void repeatTest() throws Exception
+    {
+        simulation = new Simulation(Players.MODE_SINGLE_PLAYER_CPU, Player.INDEX_DIFFICULTY_MEDIUM, SEED);
+        simulation.run(LIMIT);
+        
+        final long ticks = simulation.getTicks();
+        final int score = simulation.getPlayers().getPlayer(0).getStats().getStatScore().getValue();
+        
+        simulation.dispose();
+        
+        //assume the same seed plays the same game
+        simulation = new Simulation(Players.MODE_SINGLE_PLAYER_CPU, Player.INDEX_DIFFICULTY_MEDIUM, SEED);
+        simulation.run(LIMIT);
+        
+        assertTrue(simulation.getTicks() == ticks);
+        assertTrue(simulation.getPlayers().getPlayer(0).getStats().getStatScore().getValue() == score);
+    }
+    
+    @Test
+    public void repeatMonteCarloTest() throws Exception
+    {
+        simulation = new Simulation(Players.MODE_VS_HIGH_SCORE, Player.INDEX_DIFFICULTY_EASY, SEED, true);
+        simulation.getPlayers().setStrategy(CpuStrategies.NAME_MONTE_CARLO);
+        simulation.run(LIMIT);
+        
+        final long hash1 = simulation.getPlayers().getPlayer(0).getBoard().getHash();
+        final long hash2 = simulation.getPlayers().getPlayer(1).getBoard().getHash();
+        
+        simulation.dispose();
+        
+        //assume the random play outs come from the seed, so the same seed plays the same game
+        simulation = new Simulation(Players.MODE_VS_HIGH_SCORE, Player.INDEX_DIFFICULTY_EASY, SEED, true);
+        simulation.getPlayers().setStrategy(CpuStrategies.NAME_MONTE_CARLO);
+        simulation.run(LIMIT);
+        
+        assertTrue(simulation.getPlayers().getPlayer(0).getBoard().getHash() == hash1);
+        assertTrue(simulation.getPlayers().getPlayer(1).getBoard().getHash() == hash2);
+    }
+}
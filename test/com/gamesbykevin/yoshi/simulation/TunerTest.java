@@ -0,0 +1,106 @@
+package com.gamesbykevin.yoshi.simulation;
+
+import com.gamesbykevin.yoshi.player.CpuStrategies;
+import com.gamesbykevin.yoshi.player.CpuWeights;
+import com.gamesbykevin.yoshi.player.Player;
+import com.gamesbykevin.yoshi.player.Players;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Test the methods in Tuner
+ * @author GOD
+ */
+public class TunerTest 
+{
+    //the seed we will use for testing
+    private static final long SEED = 1L;
+    
+    //the number of weights, games and updates we will test
+    private static final int POPULATION = 4;
+    private static final int GAMES = 2;
+    private static final long LIMIT = 1000L;
+    
+    @BeforeClass
+    public static void setUpClass() 
+    {
+        
+    }
+    
+    @AfterClass
+    public static void tearDownClass() 
+    {
+        
+    }
+    
+    @Before
+    public void setUp() 
+    {
+        
+    }
+    
+    @After
+    public void tearDown() 
+    {
+        
+    }
+    
+    /**
+     * Create a small tuner
+     * @return The tuner
+     * @throws Exception 
+     */
+    private Tuner create() throws Exception
+    {
+        return new Tuner(Players.MODE_SINGLE_PLAYER_CPU, Player.INDEX_DIFFICULTY_EASY, SEED, GAMES, LIMIT, 1, CpuStrategies.NAME_GREEDY, new CpuWeights(), POPULATION, Tuner.DEFAULT_MUTATION);
+    }
+    
+    @Test
+    public void evolveTest() throws Exception
+    {
+        final Tuner tuner = create();
+        
+        //assume we start from the starting weights
+        assertTrue(tuner.getGeneration() == 0);
+        assertTrue(tuner.getBest().hasSameValues(new CpuWeights()));
+        
+        tuner.evolve();
+        tuner.evolve();
+        
+        assertTrue(tuner.getGeneration() == 2);
+        assertTrue(tuner.getPopulation() == POPULATION);
+        
+        //assume the best is at least as good as the average
+        assertTrue(tuner.getBestFitness() >= tuner.getMeanFitness());
+        
+        //assume the starting weights are scored the same as a batch playing the same games
+        final BatchResult result = Batch.run(Players.MODE_SINGLE_PLAYER_CPU, Player.INDEX_DIFFICULTY_EASY, SEED, GAMES, LIMIT, 1, CpuStrategies.NAME_GREEDY, new CpuWeights());
+        
+        assertTrue(tuner.getStartFitness() == result.getScore().getMean() - (Tuner.FITNESS_GAME_OVER * (double)result.getGameOvers() / result.getGames()));
+    }
+    
+    @Test
+    public void repeatTest() throws Exception
+    {
+        final Tuner tuner1 = create();
+        final Tuner tuner2 = create();
+        
+        tuner1.evolve();
+        tuner2.evolve();
+        
+        //assume the same seed tunes the same weights
+        assertTrue(tuner1.getBest().hasSameValues(tuner2.getBest()));
+        assertTrue(tuner1.getBestFitness() == tuner2.getBestFitness());
+    }
+    
+    @Test(expected = Exception.class)
+    public void populationTest() throws Exception
+    {
+        new Tuner(Players.MODE_SINGLE_PLAYER_CPU, Player.INDEX_DIFFICULTY_EASY, SEED, GAMES, LIMIT, 1, null, new CpuWeights(), 1, Tuner.DEFAULT_MUTATION);
+    }
+}
\ No newline at end of file